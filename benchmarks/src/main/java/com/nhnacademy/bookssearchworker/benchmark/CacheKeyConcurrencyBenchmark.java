@@ -0,0 +1,49 @@
+package com.nhnacademy.bookssearchworker.benchmark;
+
+import com.nhnacademy.bookssearchworker.search.component.QueryAnalyzer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시 호출 64개에서 캐시 키 생성 처리량
+ * - analyzerPoolSize=1, memoSize=0 : 분석기 하나를 순서대로 빌려 쓰는 경우 (풀/메모 도입 전과 같은 분석 비용)
+ * - analyzerPoolSize=4            : 분석기 풀
+ * - memoSize=10000                : 같은 검색어 반복 시 분석 생략
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class CacheKeyConcurrencyBenchmark {
+
+    @Param({"1", "4"})
+    public int analyzerPoolSize;
+
+    @Param({"0", "10000"})
+    public int memoSize;
+
+    private QueryAnalyzer queryAnalyzer;
+
+    @Setup
+    public void setUp() {
+        queryAnalyzer = new QueryAnalyzer(analyzerPoolSize, memoSize);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        String query() {
+            return Fixtures.QUERIES[next++ % Fixtures.QUERIES.length];
+        }
+    }
+
+    @Benchmark
+    public String generateCacheKey(Cursor cursor) {
+        return queryAnalyzer.analyze(cursor.query()).cacheKey("ai");
+    }
+}
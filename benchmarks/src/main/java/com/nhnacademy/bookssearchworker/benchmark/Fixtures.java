@@ -0,0 +1,59 @@
+package com.nhnacademy.bookssearchworker.benchmark;
+
+import com.nhnacademy.bookssearchworker.search.domain.Book;
+import com.nhnacademy.bookssearchworker.worker.message.BookUpsertMessage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// 벤치마크 공통 입력 데이터 (실제 검색 결과/메시지 크기에 맞춤)
+public final class Fixtures {
+
+    public static final String[] QUERIES = {
+            "스프링 부트로 웹 서비스 만들 때 도움이 될만한 책 추천해줘",
+            "c언어 처음 공부하고 싶은데 입문서 좀 알려줘",
+            "자바 ORM 표준 JPA 프로그래밍 관련 도서",
+            "sql 튜닝에 대해서 공부하고 싶어",
+            "해리포터"
+    };
+
+    private static final String DESCRIPTION = """
+            <p>이 책은 <b>실무</b>에서 바로 쓸 수 있는 예제와 함께 핵심 개념을 설명한다.</p>
+            <p>기초 문법부터 테스트, 배포, 운영까지 전 과정을 다루며 각 장마다 연습 문제를 제공한다.</p>
+            """.repeat(3);
+
+    private Fixtures() {
+    }
+
+    public static List<Book> books(int size) {
+        List<Book> books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            books.add(Book.builder()
+                    .id("id-" + i)
+                    .isbn(isbn(i))
+                    .title("도서 제목 " + i)
+                    .author("저자 " + (i % 7))
+                    .publisher("출판사 " + (i % 5))
+                    .description(DESCRIPTION)
+                    .price(15000 + i * 100)
+                    .categories(List.of("IT", "프로그래밍"))
+                    .publisherId((long) (i % 5))
+                    .categoryId((long) (i % 3))
+                    .build());
+        }
+        return books;
+    }
+
+    public static BookUpsertMessage.BookPayload payload(int i) {
+        return new BookUpsertMessage.BookPayload(
+                (long) i, isbn(i), "도서 제목 " + i, "저자 " + i, "출판사",
+                DESCRIPTION, LocalDate.of(2025, 1, 1), 20000, List.of("IT", "프로그래밍"),
+                "https://img.example/" + i, 10L, 20L
+        );
+    }
+
+    public static String isbn(int i) {
+        return String.format("979116224%04d", i);
+    }
+}
@@ -0,0 +1,44 @@
+package com.nhnacademy.bookssearchworker.benchmark;
+
+import com.nhnacademy.bookssearchworker.search.component.QueryAnalyzer;
+import com.nhnacademy.bookssearchworker.search.component.QueryPreprocessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색어 전처리: 불용어/정규식 처리(QueryPreprocessor) + Komoran 형태소 분석 캐시 키(QueryAnalyzer)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryPreprocessingBenchmark {
+
+    @Param({"0", "1", "2", "3", "4"})
+    public int queryIndex;
+
+    private QueryPreprocessor queryPreprocessor;
+    private QueryAnalyzer queryAnalyzer;
+    private String query;
+
+    @Setup
+    public void setUp() {
+        queryPreprocessor = new QueryPreprocessor();
+        // Komoran 모델 로딩은 한 번만 (측정 대상 아님), 메모를 꺼서 매번 형태소 분석을 측정
+        queryAnalyzer = new QueryAnalyzer(1, 0);
+        query = Fixtures.QUERIES[queryIndex];
+    }
+
+    @Benchmark
+    public String extractKeywords() {
+        return queryPreprocessor.extractKeywords(query);
+    }
+
+    @Benchmark
+    public String generateCacheKey() {
+        return queryAnalyzer.analyze(query).cacheKey("ai");
+    }
+}
@@ -0,0 +1,126 @@
+package com.nhnacademy.bookssearchworker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.bookssearchworker.search.component.BookMapper;
+import com.nhnacademy.bookssearchworker.search.component.SearchMetrics;
+import com.nhnacademy.bookssearchworker.search.component.assembler.SearchResultAssembler;
+import com.nhnacademy.bookssearchworker.search.domain.Book;
+import com.nhnacademy.bookssearchworker.search.dto.AiResultDto;
+import com.nhnacademy.bookssearchworker.search.dto.BookResponseDto;
+import com.nhnacademy.bookssearchworker.search.dto.BookWithScore;
+import com.nhnacademy.bookssearchworker.search.dto.SearchResponseDto;
+import com.nhnacademy.bookssearchworker.search.service.DiscountPolicyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결과 조립: 리랭킹 점수 반영, AI 결과 병합 + 할인 적용
+ * Redis는 고정 정책을 돌려주는 스텁으로 대체 (네트워크 비용 제외, 역직렬화/계산만 측정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchResultAssemblyBenchmark {
+
+    // ES 후보 수 (AI 검색 기본 50건, 리랭킹 상위 10건)
+    @Param({"10", "50"})
+    public int candidates;
+
+    private SearchResultAssembler assembler;
+    private DiscountPolicyService discountPolicyService;
+    private BookMapper bookMapper;
+
+    private List<Book> books;
+    private List<Map<String, Object>> scores;
+    private List<BookWithScore> ranked;
+    private Map<String, AiResultDto> aiAnalysis;
+
+    @Setup
+    public void setUp() {
+        discountPolicyService = new DiscountPolicyService(stubRedis(), new ObjectMapper());
+        bookMapper = new BookMapper();
+        assembler = new SearchResultAssembler(
+                bookMapper,
+                discountPolicyService,
+                new SearchMetrics(new SimpleMeterRegistry(), ObservationRegistry.NOOP)
+        );
+
+        books = Fixtures.books(candidates);
+        scores = new ArrayList<>();
+        for (int i = 0; i < Math.min(10, candidates); i++) {
+            scores.add(Map.of("index", i, "score", 1.0 / (i + 2)));
+        }
+        ranked = assembler.applyRerankScores(books, scores, 10);
+
+        aiAnalysis = new HashMap<>();
+        for (int i = 0; i < 5; i++) {
+            aiAnalysis.put(Fixtures.isbn(i), new AiResultDto("질문과 직접 연결되는 추천 이유 " + i, 90 - i));
+        }
+    }
+
+    @Benchmark
+    public List<BookWithScore> applyRerankScores() {
+        return assembler.applyRerankScores(books, scores, 10);
+    }
+
+    @Benchmark
+    public SearchResponseDto assembleAiResult() {
+        return assembler.assembleAiResult(ranked, aiAnalysis);
+    }
+
+    @Benchmark
+    public List<BookResponseDto> applyDiscounts() {
+        List<BookResponseDto> dtos = bookMapper.toDtoList(books, 50);
+        discountPolicyService.applyDiscounts(dtos);
+        return dtos;
+    }
+
+    // GLOBAL 5% + 카테고리별 10% + 출판사별 1000원 정책을 돌려주는 Redis 스텁
+    @SuppressWarnings("unchecked")
+    private static StringRedisTemplate stubRedis() {
+        ValueOperations<String, String> ops = (ValueOperations<String, String>) Proxy.newProxyInstance(
+                ValueOperations.class.getClassLoader(),
+                new Class<?>[]{ValueOperations.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("multiGet")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    List<String> values = new ArrayList<>();
+                    for (Object key : (Collection<?>) args[0]) {
+                        values.add(policyJson(String.valueOf(key)));
+                    }
+                    return values;
+                });
+
+        return new StringRedisTemplate() {
+            @Override
+            public ValueOperations<String, String> opsForValue() {
+                return ops;
+            }
+        };
+    }
+
+    private static String policyJson(String key) {
+        if (key.endsWith("GLOBAL")) {
+            return "{\"targetType\":\"GLOBAL\",\"discountType\":\"PERCENTAGE\",\"discountValue\":5.0}";
+        }
+        if (key.contains("CATEGORY")) {
+            return "{\"targetType\":\"CATEGORY\",\"discountType\":\"PERCENTAGE\",\"discountValue\":10.0}";
+        }
+        return "{\"targetType\":\"PUBLISHER\",\"discountType\":\"FIXED_AMOUNT\",\"discountValue\":1000.0}";
+    }
+}
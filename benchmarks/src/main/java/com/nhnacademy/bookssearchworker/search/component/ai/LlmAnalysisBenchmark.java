@@ -0,0 +1,77 @@
+package com.nhnacademy.bookssearchworker.search.component.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.bookssearchworker.benchmark.Fixtures;
+import com.nhnacademy.bookssearchworker.search.domain.Book;
+import com.nhnacademy.bookssearchworker.search.dto.AiResultDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 경로의 CPU 구간: 프롬프트 생성(HTML 제거 포함) + 스트리밍 응답 증분 파싱
+ * (createEvaluationPrompt가 package-private이라 같은 패키지에 둔다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LlmAnalysisBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Book> books;
+
+    @Setup
+    public void setUp() {
+        books = Fixtures.books(5);
+    }
+
+    // 스트리밍 파싱 전용 상태 (chunkSize 파라미터가 buildPrompt에는 붙지 않도록 분리)
+    @State(Scope.Benchmark)
+    public static class StreamResponse {
+
+        // 스트리밍 응답 조각 크기 (SSE 청크 하나에 들어오는 대략적인 글자 수)
+        @Param({"64", "1024"})
+        public int chunkSize;
+
+        String[] chunks;
+
+        @Setup
+        public void setUp() throws Exception {
+            List<Book> books = Fixtures.books(5);
+            Map<String, AiResultDto> results = new HashMap<>();
+            for (int i = 0; i < books.size(); i++) {
+                results.put(books.get(i).getIsbn(),
+                        new AiResultDto("질문에서 찾는 내용을 예제 중심으로 설명하고 있어 입문자에게 적합합니다. " + i, 95 - i));
+            }
+            String response = "```json\n" + new ObjectMapper().writeValueAsString(results) + "\n```";
+
+            int count = (response.length() + chunkSize - 1) / chunkSize;
+            chunks = new String[count];
+            for (int i = 0; i < count; i++) {
+                chunks[i] = response.substring(i * chunkSize, Math.min(response.length(), (i + 1) * chunkSize));
+            }
+        }
+    }
+
+    @Benchmark
+    public String buildPrompt() {
+        return LlmAnalysisClient.createEvaluationPrompt(Fixtures.QUERIES[0], books);
+    }
+
+    @Benchmark
+    public int parseStream(StreamResponse response) {
+        AiResultStreamParser parser = new AiResultStreamParser(objectMapper);
+        int parsed = 0;
+        for (String chunk : response.chunks) {
+            parsed += parser.feed(chunk).size();
+        }
+        return parsed;
+    }
+}
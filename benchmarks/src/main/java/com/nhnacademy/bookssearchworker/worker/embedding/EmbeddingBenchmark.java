@@ -0,0 +1,67 @@
+package com.nhnacademy.bookssearchworker.worker.embedding;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.bookssearchworker.benchmark.Fixtures;
+import com.nhnacademy.bookssearchworker.worker.message.BookUpsertMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 워커 임베딩 경로: 임베딩 입력 텍스트 생성 + Ollama 응답(1024차원) 역직렬화/변환
+ * (parseEmbedding이 package-private이라 같은 패키지에 둔다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmbeddingBenchmark {
+
+    private static final int DIMENSIONS = 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EmbeddingTextBuilder textBuilder = new EmbeddingTextBuilder();
+
+    private BookUpsertMessage.BookPayload payload;
+    private String responseJson;
+    private Map<String, Object> response;
+
+    @Setup
+    public void setUp() throws Exception {
+        payload = Fixtures.payload(1);
+
+        SplittableRandom random = new SplittableRandom(42);
+        double[] vector = new double[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = random.nextDouble(-1, 1);
+        }
+        responseJson = objectMapper.writeValueAsString(Map.of("embedding", vector));
+        response = readResponse();
+    }
+
+    @Benchmark
+    public String buildText() {
+        return textBuilder.build(payload);
+    }
+
+    // WebClient가 하는 응답 역직렬화(Map<String, Object>)까지 포함
+    @Benchmark
+    public List<Float> decodeAndParse() throws Exception {
+        return OllamaEmbeddingClient.parseEmbedding(readResponse());
+    }
+
+    @Benchmark
+    public List<Float> parseOnly() {
+        return OllamaEmbeddingClient.parseEmbedding(response);
+    }
+
+    private Map<String, Object> readResponse() throws Exception {
+        return objectMapper.readValue(responseJson, new TypeReference<>() {});
+    }
+}
@@ -0,0 +1,92 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+/**
+ * 응답 시간 기반 적응형 동시 호출 제한 (Gradient 방식 + 드롭 시 곱셈 감소)
+ * - longRtt: 장기 평균 응답 시간(EWMA), shortRtt: 최근 응답 시간(EWMA)
+ * - gradient = longRtt / shortRtt (0.5 ~ 1.0): 최근이 느려질수록 limit을 줄인다
+ * - 새 limit = limit * gradient + sqrt(limit) (여유 큐), smoothing으로 완만하게 반영
+ * - 타임아웃 등 드롭이 나면 limit * backoffRatio (AIMD의 multiplicative decrease)
+ * - limit 이상 동시에 들어오면 기다리지 않고 즉시 거절한다
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LONG_WINDOW = 600.0;
+    private static final double SHORT_WINDOW = 10.0;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double smoothing;
+
+    private double limit;
+    private int inFlight;
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double backoffRatio, double smoothing) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.smoothing = smoothing;
+        this.limit = clamp(initialLimit);
+    }
+
+    // 여유가 있으면 슬롯 하나를 차지, 없으면 즉시 false
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) return false;
+        inFlight++;
+        return true;
+    }
+
+    // 정상 응답: 응답 시간으로 limit 갱신
+    public synchronized void onSuccess(long rttNanos) {
+        release();
+        if (rttNanos <= 0) return;
+
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+            shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+        }
+
+        // 장기 평균이 계속 높아진 상태를 기준으로 굳히지 않도록, 최근이 더 빠르면 장기 평균도 끌어내린다
+        if (longRttNanos > shortRttNanos * 2) longRttNanos = shortRttNanos * 2;
+
+        // 현재 limit을 절반도 못 쓰고 있으면(호출이 적으면) 늘릴 근거가 없다
+        if (inFlight + 1 < limit / 2) return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, longRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    // 타임아웃/과부하 응답: limit을 곱셈으로 줄인다
+    public synchronized void onDropped() {
+        release();
+        limit = clamp(limit * backoffRatio);
+    }
+
+    // 결과를 판단할 수 없는 호출(취소, 4xx 등): 슬롯만 반환
+    public synchronized void onIgnored() {
+        release();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void release() {
+        if (inFlight > 0) inFlight--;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,121 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 카운트 기반 슬라이딩 윈도우 서킷 브레이커
+ * - CLOSED: 최근 windowSize건 중 실패율이 임계치를 넘으면(최소 minimumCalls건 이후) OPEN
+ * - OPEN: openDuration 동안 호출 자체를 차단 (즉시 실패)
+ * - HALF_OPEN: halfOpenPermits건만 시험 호출, 모두 성공하면 CLOSED / 하나라도 실패하면 다시 OPEN
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenPermits;
+    private final LongSupplier clock;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openDurationNanos, int halfOpenPermits, LongSupplier clock) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDurationNanos;
+        this.halfOpenPermits = Math.max(1, halfOpenPermits);
+        this.clock = clock;
+        this.window = new boolean[this.windowSize];
+    }
+
+    // 호출해도 되는지 확인 (HALF_OPEN이면 시험 호출 슬롯을 하나 차지)
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.CLOSED) return true;
+
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openDurationNanos) return false;
+            state = State.HALF_OPEN;
+            halfOpenInFlight = 0;
+            halfOpenSuccesses = 0;
+        }
+
+        if (halfOpenInFlight < halfOpenPermits) {
+            halfOpenInFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            releaseHalfOpenSlot();
+            if (++halfOpenSuccesses >= halfOpenPermits) toClosed();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onError() {
+        if (state == State.HALF_OPEN) {
+            toOpen();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && failureRate() >= failureRateThreshold) toOpen();
+        }
+    }
+
+    // 취소 등 결과를 알 수 없는 호출: 통계에는 넣지 않고 시험 호출 슬롯만 반환
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) releaseHalfOpenSlot();
+    }
+
+    public synchronized State getState() {
+        // OPEN 유지 시간이 지났으면 다음 호출은 시험 호출이 된다
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openDurationNanos) return State.HALF_OPEN;
+        return state;
+    }
+
+    // 실패율(%)
+    public synchronized double failureRate() {
+        return windowCount == 0 ? 0.0 : windowFailures * 100.0 / windowCount;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == windowSize) {
+            if (window[windowIndex]) windowFailures--;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) windowFailures++;
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+
+    private void releaseHalfOpenSlot() {
+        if (halfOpenInFlight > 0) halfOpenInFlight--;
+    }
+
+    private void toOpen() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void toClosed() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+}
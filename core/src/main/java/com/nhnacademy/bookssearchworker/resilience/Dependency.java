@@ -0,0 +1,25 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+/**
+ * 장애 격리(서킷 브레이커/타임아웃) 단위가 되는 외부 의존성
+ */
+public enum Dependency {
+    EMBEDDING("embedding"),
+    EMBEDDING_WORKER("embedding-worker"),
+    // 색인 워커의 배치 임베딩 (/api/embed): 단건과 응답 시간이 달라 서킷/타임아웃을 따로 둔다 (WebClient는 embedding-worker 공유)
+    EMBEDDING_WORKER_BATCH("embedding-worker-batch"),
+    RERANKER("reranker"),
+    GEMINI("gemini"),
+    ELASTICSEARCH("elasticsearch");
+
+    private final String key;
+
+    Dependency(String key) {
+        this.key = key;
+    }
+
+    // 설정 키(app.resilience.<key>.*) 및 로그/메트릭 태그에 사용
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,183 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 외부 의존성 하나에 대한 보호막
+ * - 서킷 브레이커: 장애가 이어지면 호출 없이 즉시 실패 (fallback이 바로 동작하도록)
+ * - 적응형 타임아웃: 고정값 대신 최근 응답 시간 p99 * 배수 (설정한 최대 타임아웃이 상한)
+ * - 적응형 동시 호출 제한: 한도를 넘는 호출은 커넥션 풀에서 기다리지 않고 즉시 거절
+ */
+public class DependencyGuard {
+
+    private final Dependency dependency;
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyTracker latency;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    private final Duration maxTimeout;
+    private final Duration minTimeout;
+    private final double timeoutQuantile;
+    private final double timeoutMultiplier;
+    private final int minSamples;
+
+    public DependencyGuard(Dependency dependency, CircuitBreaker circuitBreaker, LatencyTracker latency,
+                           AdaptiveConcurrencyLimiter limiter, Duration maxTimeout, Duration minTimeout,
+                           double timeoutQuantile, double timeoutMultiplier, int minSamples) {
+        this.dependency = dependency;
+        this.circuitBreaker = circuitBreaker;
+        this.latency = latency;
+        this.limiter = limiter;
+        this.maxTimeout = maxTimeout;
+        this.minTimeout = minTimeout.compareTo(maxTimeout) > 0 ? maxTimeout : minTimeout;
+        this.timeoutQuantile = timeoutQuantile;
+        this.timeoutMultiplier = timeoutMultiplier;
+        this.minSamples = minSamples;
+    }
+
+    public Dependency dependency() {
+        return dependency;
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public LatencyTracker latency() {
+        return latency;
+    }
+
+    public AdaptiveConcurrencyLimiter limiter() {
+        return limiter;
+    }
+
+    /**
+     * 현재 적용할 타임아웃
+     * - 샘플이 충분하지 않으면 최대 타임아웃
+     * - 그 외에는 p99 * 배수를 [min, max] 범위로 제한
+     */
+    public Duration timeout() {
+        if (latency.sampleCount() < minSamples) return maxTimeout;
+
+        long p = latency.percentileNanos(timeoutQuantile);
+        long adaptive = (long) (p * timeoutMultiplier);
+        if (adaptive < minTimeout.toNanos()) return minTimeout;
+        if (adaptive > maxTimeout.toNanos()) return maxTimeout;
+        return Duration.ofNanos(adaptive);
+    }
+
+    /**
+     * 시도 1회 단위: 적응형 타임아웃 적용 + 응답 시간 기록
+     * 타임아웃도 그 시간만큼 걸린 것으로 기록해서, 의존성이 느려지면 타임아웃이 따라서 늘어나게 한다.
+     * (retryWhen 앞에 두면 재시도마다 새로 측정된다)
+     */
+    public <T> Mono<T> timed(Mono<T> attempt) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return attempt.timeout(timeout())
+                    .doOnSuccess(v -> latency.record(System.nanoTime() - start))
+                    .doOnError(TimeoutException.class, e -> latency.record(System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * 시도 1회 단위 (retryWhen 안쪽에 둔다: 재시도 백오프 대기가 리미터 RTT 샘플에 섞이면 큐잉으로 오인해 한도를 줄인다)
+     * - 서킷이 열려 있거나 동시 호출 한도를 넘으면 호출 없이 즉시 DependencyUnavailableException
+     * - 결과에 따라 서킷 통계와 동시 호출 한도를 갱신
+     */
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            DependencyUnavailableException rejected = tryAdmit();
+            if (rejected != null) return Mono.error(rejected);
+
+            Outcome outcome = new Outcome();
+            return call
+                    .doOnSuccess(v -> outcome.success())
+                    .doOnError(outcome::error)
+                    .doOnCancel(outcome::ignored);
+        });
+    }
+
+    // 스트리밍 호출용 protect
+    public <T> Flux<T> protectMany(Flux<T> call) {
+        return Flux.defer(() -> {
+            DependencyUnavailableException rejected = tryAdmit();
+            if (rejected != null) return Flux.error(rejected);
+
+            Outcome outcome = new Outcome();
+            return call
+                    .doOnComplete(outcome::success)
+                    .doOnError(outcome::error)
+                    .doOnCancel(outcome::ignored);
+        });
+    }
+
+    /**
+     * 블로킹 호출용 (ES 클라이언트 등): 서킷/동시 호출 한도 확인 + 응답 시간/결과 기록
+     */
+    public <T> T call(Supplier<T> supplier) {
+        DependencyUnavailableException rejected = tryAdmit();
+        if (rejected != null) throw rejected;
+
+        Outcome outcome = new Outcome();
+        try {
+            T result = supplier.get();
+            latency.record(System.nanoTime() - outcome.start);
+            outcome.success();
+            return result;
+        } catch (RuntimeException e) {
+            outcome.error(e);
+            throw e;
+        }
+    }
+
+    private DependencyUnavailableException tryAdmit() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return new DependencyUnavailableException(dependency, DependencyUnavailableException.Reason.CIRCUIT_OPEN);
+        }
+        if (!limiter.tryAcquire()) {
+            circuitBreaker.onIgnored();
+            return new DependencyUnavailableException(dependency, DependencyUnavailableException.Reason.LIMIT_EXCEEDED);
+        }
+        return null;
+    }
+
+    // 타임아웃은 과부하 신호로 보고 동시 호출 한도를 줄인다
+    private static boolean isTimeout(Throwable t) {
+        for (Throwable cur = t; cur != null; cur = cur.getCause() == cur ? null : cur.getCause()) {
+            if (cur instanceof TimeoutException) return true;
+        }
+        return false;
+    }
+
+    // 호출 1건의 결과를 서킷/리미터에 정확히 한 번만 반영
+    private final class Outcome {
+        private final long start = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        void success() {
+            if (!done.compareAndSet(false, true)) return;
+            circuitBreaker.onSuccess();
+            limiter.onSuccess(System.nanoTime() - start);
+        }
+
+        void error(Throwable e) {
+            if (!done.compareAndSet(false, true)) return;
+            circuitBreaker.onError();
+            if (isTimeout(e)) limiter.onDropped();
+            else limiter.onIgnored();
+        }
+
+        void ignored() {
+            if (!done.compareAndSet(false, true)) return;
+            circuitBreaker.onIgnored();
+            limiter.onIgnored();
+        }
+    }
+}
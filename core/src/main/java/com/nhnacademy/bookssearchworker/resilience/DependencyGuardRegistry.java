@@ -0,0 +1,124 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 의존성별 DependencyGuard 보관소
+ *
+ * 설정 (모두 선택, 괄호는 기본값)
+ * app.resilience.<key>.sliding-window-size (20)
+ * app.resilience.<key>.minimum-calls (10)
+ * app.resilience.<key>.failure-rate-threshold (50, %)
+ * app.resilience.<key>.open-duration-ms (10000)
+ * app.resilience.<key>.half-open-permits (1)
+ * app.resilience.<key>.timeout-quantile (0.99)
+ * app.resilience.<key>.timeout-multiplier (2.0)
+ * app.resilience.<key>.min-timeout-ms (300)
+ * app.resilience.<key>.min-samples (20)
+ * app.resilience.<key>.limiter.initial-limit (10)
+ * app.resilience.<key>.limiter.min-limit (1)
+ * app.resilience.<key>.limiter.max-limit (50)
+ * app.resilience.<key>.limiter.backoff-ratio (0.9)
+ * app.resilience.<key>.limiter.smoothing (0.2)
+ * app.resilience.<key>.hedging.enabled (false)
+ * app.resilience.<key>.hedging.quantile (0.95)
+ * app.resilience.<key>.hedging.budget-percent (5, 전체 요청 대비 헤지 비율 상한)
+ * app.resilience.<key>.hedging.min-delay-ms (20)
+ *
+ * 최대 타임아웃은 기존 설정(app.ai.timeout.*, spring.elasticsearch.socket-timeout)을 그대로 상한으로 사용한다.
+ * 배치 임베딩(embedding-worker-batch)은 app.ai.timeout.embedding-batch-seconds (120)
+ */
+@Slf4j
+@Component
+public class DependencyGuardRegistry {
+
+    private static final String PREFIX = "app.resilience.";
+
+    private final Map<Dependency, DependencyGuard> guards = new EnumMap<>(Dependency.class);
+    private final Map<Dependency, HedgingPolicy> hedgingPolicies = new EnumMap<>(Dependency.class);
+
+    public DependencyGuardRegistry(Environment env) {
+        for (Dependency dependency : Dependency.values()) {
+            DependencyGuard guard = create(env, dependency);
+            guards.put(dependency, guard);
+            hedgingPolicies.put(dependency, createHedging(env, guard));
+        }
+    }
+
+    public DependencyGuard get(Dependency dependency) {
+        return guards.get(dependency);
+    }
+
+    // 헤지 정책 (p95는 해당 의존성 guard가 기록한 응답 시간을 사용)
+    public HedgingPolicy hedging(Dependency dependency) {
+        return hedgingPolicies.get(dependency);
+    }
+
+    private DependencyGuard create(Environment env, Dependency dependency) {
+        String p = PREFIX + dependency.key() + ".";
+
+        CircuitBreaker breaker = new CircuitBreaker(
+                env.getProperty(p + "sliding-window-size", Integer.class, 20),
+                env.getProperty(p + "minimum-calls", Integer.class, 10),
+                env.getProperty(p + "failure-rate-threshold", Double.class, 50.0),
+                Duration.ofMillis(env.getProperty(p + "open-duration-ms", Long.class, 10_000L)).toNanos(),
+                env.getProperty(p + "half-open-permits", Integer.class, 1),
+                System::nanoTime
+        );
+
+        Duration maxTimeout = maxTimeout(env, dependency);
+        DependencyGuard guard = new DependencyGuard(
+                dependency,
+                breaker,
+                new LatencyTracker(256),
+                new AdaptiveConcurrencyLimiter(
+                        env.getProperty(p + "limiter.initial-limit", Integer.class, 10),
+                        env.getProperty(p + "limiter.min-limit", Integer.class, 1),
+                        env.getProperty(p + "limiter.max-limit", Integer.class, 50),
+                        env.getProperty(p + "limiter.backoff-ratio", Double.class, 0.9),
+                        env.getProperty(p + "limiter.smoothing", Double.class, 0.2)
+                ),
+                maxTimeout,
+                Duration.ofMillis(env.getProperty(p + "min-timeout-ms", Long.class, 300L)),
+                env.getProperty(p + "timeout-quantile", Double.class, 0.99),
+                env.getProperty(p + "timeout-multiplier", Double.class, 2.0),
+                env.getProperty(p + "min-samples", Integer.class, 20)
+        );
+
+        log.info("[DependencyGuard] {} 등록. maxTimeout={}", dependency.key(), maxTimeout);
+        return guard;
+    }
+
+    private HedgingPolicy createHedging(Environment env, DependencyGuard guard) {
+        String p = PREFIX + guard.dependency().key() + ".hedging.";
+
+        return new HedgingPolicy(
+                env.getProperty(p + "enabled", Boolean.class, false),
+                guard.latency(),
+                env.getProperty(p + "quantile", Double.class, 0.95),
+                Duration.ofMillis(env.getProperty(p + "min-delay-ms", Long.class, 20L)),
+                env.getProperty(PREFIX + guard.dependency().key() + ".min-samples", Integer.class, 20),
+                env.getProperty(p + "budget-percent", Double.class, 5.0)
+        );
+    }
+
+    private Duration maxTimeout(Environment env, Dependency dependency) {
+        return switch (dependency) {
+            case EMBEDDING, EMBEDDING_WORKER -> Duration.ofSeconds(env.getProperty("app.ai.timeout.embedding-seconds", Long.class, 60L));
+            case EMBEDDING_WORKER_BATCH -> Duration.ofSeconds(env.getProperty("app.ai.timeout.embedding-batch-seconds", Long.class, 120L));
+            case RERANKER -> Duration.ofSeconds(env.getProperty("app.ai.timeout.rerank-seconds", Long.class, 60L));
+            case GEMINI -> Duration.ofSeconds(env.getProperty("app.ai.timeout.gemini-seconds", Long.class, 120L));
+            case ELASTICSEARCH -> {
+                String socketTimeout = env.getProperty("spring.elasticsearch.socket-timeout");
+                yield socketTimeout == null ? Duration.ofSeconds(60) : DurationStyle.detectAndParse(socketTimeout);
+            }
+        };
+    }
+}
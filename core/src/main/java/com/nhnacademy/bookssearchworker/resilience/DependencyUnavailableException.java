@@ -0,0 +1,28 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+/**
+ * 외부 호출을 아예 시도하지 않고 즉시 실패시켰을 때 던지는 예외
+ * - CIRCUIT_OPEN: 서킷이 열려 있음
+ * - LIMIT_EXCEEDED: 적응형 동시 호출 제한 초과 (과부하)
+ */
+public class DependencyUnavailableException extends RuntimeException {
+
+    public enum Reason { CIRCUIT_OPEN, LIMIT_EXCEEDED }
+
+    private final Dependency dependency;
+    private final Reason reason;
+
+    public DependencyUnavailableException(Dependency dependency, Reason reason) {
+        super("[" + dependency.key() + "] " + reason);
+        this.dependency = dependency;
+        this.reason = reason;
+    }
+
+    public Dependency getDependency() {
+        return dependency;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
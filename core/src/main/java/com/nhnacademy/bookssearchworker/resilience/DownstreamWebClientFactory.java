@@ -0,0 +1,143 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.ObservationRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientRequestObservationContext;
+import org.springframework.web.reactive.function.client.DefaultClientRequestObservationConvention;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 외부 HTTP 의존성별 WebClient 생성 (검색 API / 색인 워커가 각자 쓰는 의존성만 넘겨서 만든다)
+ *
+ * 설정 (모두 선택, 없으면 app.http.* 공통값 -> 괄호 기본값)
+ * app.http.<key>.max-connections (50)
+ * app.http.<key>.pending-acquire-max-count (50)
+ * app.http.<key>.pending-acquire-timeout-ms (2000)
+ * app.http.<key>.event-loop-threads (2)
+ *
+ * 동시 호출량은 의존성별 AdaptiveConcurrencyLimiter가 먼저 제한하므로
+ * 풀 대기열은 짧게 두고, 넘치면 몇 분씩 기다리지 않고 바로 실패시킨다.
+ * 풀 지표는 reactor.netty.connection.provider.* (name=<key>)로 노출된다.
+ */
+public final class DownstreamWebClientFactory {
+
+    private DownstreamWebClientFactory() {
+    }
+
+    public static DownstreamWebClients create(
+            Environment env,
+            MeterRegistry registry,
+            ObservationRegistry observations,
+            List<Dependency> dependencies
+    ) {
+        Map<Dependency, WebClient> clients = new EnumMap<>(Dependency.class);
+        List<Disposable> resources = new ArrayList<>();
+
+        for (Dependency dependency : dependencies) {
+            String key = dependency.key();
+
+            ConnectionProvider provider = ConnectionProvider.builder(key)
+                    .maxConnections(httpProperty(env, key, "max-connections", Integer.class, 50))
+                    .pendingAcquireMaxCount(httpProperty(env, key, "pending-acquire-max-count", Integer.class, 50))
+                    .pendingAcquireTimeout(Duration.ofMillis(httpProperty(env, key, "pending-acquire-timeout-ms", Long.class, 2000L)))
+                    .maxIdleTime(Duration.ofSeconds(30))
+                    .lifo()
+                    .metrics(true)
+                    .build();
+            LoopResources loops = LoopResources.create(
+                    "http-" + key, httpProperty(env, key, "event-loop-threads", Integer.class, 2), true);
+
+            clients.put(dependency, webClient(provider, loops, statusMetrics(registry, key), observations));
+            resources.add(provider);
+            resources.add(loops);
+        }
+        return new DownstreamWebClients(clients, resources);
+    }
+
+    private static WebClient webClient(
+            ConnectionProvider provider,
+            LoopResources loops,
+            ExchangeFilterFunction filter,
+            ObservationRegistry observations
+    ) {
+        HttpClient httpClient = HttpClient.create(provider)
+                .runOn(loops)
+                // 연결 시도 타임아웃 (서버가 꺼진 경우엔 10초면 충분)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000)
+
+                // 응답 타임아웃: 5분 (300초)
+                .responseTimeout(Duration.ofMinutes(5))
+                .doOnConnected(conn ->
+                        conn.addHandlerLast(new ReadTimeoutHandler(300, TimeUnit.SECONDS)) // 읽기 5분
+                                .addHandlerLast(new WriteTimeoutHandler(300, TimeUnit.SECONDS)) // 쓰기 5분
+                );
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(20 * 1024 * 1024))
+                .filter(filter)
+                // 클라이언트 스팬 + traceparent 헤더 전파 (Gemini API key가 스팬에 남지 않도록 query string 제거)
+                .observationRegistry(observations)
+                .observationConvention(new QueryStrippingConvention())
+                .build();
+    }
+
+    private static class QueryStrippingConvention extends DefaultClientRequestObservationConvention {
+        @Override
+        protected KeyValue httpUrl(ClientRequestObservationContext context) {
+            ClientRequest request = context.getRequest();
+            if (request == null) return super.httpUrl(context);
+            URI url = request.url();
+            String stripped = url.getScheme() + "://" + url.getRawAuthority() + url.getRawPath();
+            return KeyValue.of("http.url", stripped);
+        }
+    }
+
+    // downstream.http.requests{dependency, status}: 상태 코드별 호출 수/소요 시간
+    // 응답 전에 끊긴 호출은 예외 이름, 타임아웃/헤지로 취소된 호출은 CANCELLED
+    private static ExchangeFilterFunction statusMetrics(MeterRegistry registry, String key) {
+        return (request, next) -> {
+            Timer.Sample sample = Timer.start(registry);
+            AtomicBoolean recorded = new AtomicBoolean();
+            Consumer<String> record = status -> {
+                if (recorded.compareAndSet(false, true)) {
+                    sample.stop(Timer.builder("downstream.http.requests")
+                            .tag("dependency", key)
+                            .tag("status", status)
+                            .register(registry));
+                }
+            };
+            return next.exchange(request)
+                    .doOnNext(response -> record.accept(String.valueOf(response.statusCode().value())))
+                    .doOnError(e -> record.accept(e.getClass().getSimpleName()))
+                    .doOnCancel(() -> record.accept("CANCELLED"));
+        };
+    }
+
+    private static <T> T httpProperty(Environment env, String key, String name, Class<T> type, T defaultValue) {
+        T shared = env.getProperty("app.http." + name, type, defaultValue);
+        return env.getProperty("app.http." + key + "." + name, type, shared);
+    }
+}
@@ -0,0 +1,44 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 의존성별 WebClient 보관소 (벌크헤드)
+ *
+ * 의존성마다 커넥션 풀과 이벤트 루프를 따로 두어서,
+ * 워커 백필이 임베딩 풀을 다 써도 검색의 Gemini/리랭커 호출은 영향을 받지 않게 한다.
+ * 풀/루프 자원은 컨텍스트 종료 시 함께 정리한다.
+ */
+public class DownstreamWebClients implements DisposableBean {
+
+    private final Map<Dependency, WebClient> clients;
+    private final List<Disposable> resources;
+
+    public DownstreamWebClients(Map<Dependency, WebClient> clients) {
+        this(clients, List.of());
+    }
+
+    public DownstreamWebClients(Map<Dependency, WebClient> clients, List<Disposable> resources) {
+        this.clients = clients.isEmpty() ? new EnumMap<>(Dependency.class) : new EnumMap<>(clients);
+        this.resources = List.copyOf(resources);
+    }
+
+    public WebClient get(Dependency dependency) {
+        WebClient client = clients.get(dependency);
+        if (client == null) {
+            throw new IllegalStateException("no WebClient registered for " + dependency.key());
+        }
+        return client;
+    }
+
+    @Override
+    public void destroy() {
+        resources.forEach(Disposable::dispose);
+    }
+}
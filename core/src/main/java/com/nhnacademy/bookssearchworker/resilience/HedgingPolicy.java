@@ -0,0 +1,104 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 헤지 요청(hedged request) 정책
+ * - 첫 요청이 관측된 p95 안에 응답하지 않으면 같은(또는 다른) 엔드포인트로 두 번째 요청을 보낸다
+ * - 먼저 도착한 응답을 쓰고, 나머지 요청은 취소한다
+ * - 예산: 전체 요청 대비 헤지 비율이 budgetPercent를 넘지 않도록 토큰 버킷으로 제한
+ */
+public class HedgingPolicy {
+
+    // 예산 토큰 최대 적립량 (조용하던 뒤 한꺼번에 헤지가 몰리지 않도록)
+    private static final double MAX_BUDGET_TOKENS = 10.0;
+
+    private final boolean enabled;
+    private final LatencyTracker latency;
+    private final double quantile;
+    private final Duration minDelay;
+    private final int minSamples;
+    private final double tokensPerRequest;
+
+    private double budgetTokens;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+
+    public HedgingPolicy(boolean enabled, LatencyTracker latency, double quantile,
+                         Duration minDelay, int minSamples, double budgetPercent) {
+        this.enabled = enabled;
+        this.latency = latency;
+        this.quantile = quantile;
+        this.minDelay = minDelay;
+        this.minSamples = minSamples;
+        this.tokensPerRequest = Math.max(0.0, budgetPercent) / 100.0;
+    }
+
+    /**
+     * @param primary 첫 번째 요청
+     * @param backup  헤지 요청 (같은 엔드포인트면 primary와 같은 Supplier를 넘겨도 된다)
+     */
+    public <T> Mono<T> hedge(Supplier<Mono<T>> primary, Supplier<Mono<T>> backup) {
+        return Mono.defer(() -> {
+            requests.incrementAndGet();
+            if (!enabled) return primary.get();
+
+            depositBudget();
+            Duration delay = hedgeDelay();
+            if (delay == null) return primary.get();
+
+            // 헤지를 보낸 뒤에는 둘 다 실패해야 실패로 본다
+            AtomicBoolean hedgeStarted = new AtomicBoolean();
+            AtomicInteger failures = new AtomicInteger();
+
+            Mono<T> first = primary.get()
+                    .onErrorResume(e -> hedgeStarted.get() && failures.incrementAndGet() < 2 ? Mono.never() : Mono.error(e));
+
+            Mono<T> second = Mono.delay(delay)
+                    .flatMap(tick -> {
+                        if (!tryConsumeBudget()) return Mono.<T>never();
+                        hedgeStarted.set(true);
+                        hedges.incrementAndGet();
+                        return backup.get()
+                                .onErrorResume(e -> failures.incrementAndGet() < 2 ? Mono.never() : Mono.error(e));
+                    });
+
+            // 먼저 신호를 낸 쪽이 이기고, 진 쪽은 취소된다
+            return Mono.firstWithSignal(first, second);
+        });
+    }
+
+    /**
+     * 헤지 지연 시간 (관측 p95). 샘플이 부족하면 null -> 헤지하지 않음
+     */
+    public Duration hedgeDelay() {
+        if (latency.sampleCount() < minSamples) return null;
+        Duration p = Duration.ofNanos(latency.percentileNanos(quantile));
+        return p.compareTo(minDelay) < 0 ? minDelay : p;
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    public long hedgeCount() {
+        return hedges.get();
+    }
+
+    private synchronized void depositBudget() {
+        budgetTokens = Math.min(MAX_BUDGET_TOKENS, budgetTokens + tokensPerRequest);
+    }
+
+    private synchronized boolean tryConsumeBudget() {
+        if (budgetTokens < 1.0) return false;
+        budgetTokens -= 1.0;
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+import java.util.Arrays;
+
+/**
+ * 최근 N건의 응답 시간을 링버퍼로 보관하고 백분위수를 계산한다.
+ */
+public class LatencyTracker {
+
+    private final long[] samples;
+    private int index;
+    private int count;
+
+    public LatencyTracker(int capacity) {
+        this.samples = new long[Math.max(1, capacity)];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[index] = nanos;
+        index = (index + 1) % samples.length;
+        if (count < samples.length) count++;
+    }
+
+    public synchronized int sampleCount() {
+        return count;
+    }
+
+    /**
+     * @param quantile 0.0 ~ 1.0 (예: 0.99)
+     * @return 해당 백분위 응답 시간(ns), 샘플이 없으면 -1
+     */
+    public long percentileNanos(double quantile) {
+        long[] copy;
+        synchronized (this) {
+            if (count == 0) return -1;
+            copy = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(copy);
+        int rank = (int) Math.ceil(quantile * copy.length) - 1;
+        return copy[Math.min(Math.max(rank, 0), copy.length - 1)];
+    }
+}
@@ -0,0 +1,76 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+
+    @Test
+    @DisplayName("limit만큼만 동시에 허용하고, 초과분은 즉시 거절한다")
+    void rejectsAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.9, 0.2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.onIgnored();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("응답 시간이 안정적이고 한도를 충분히 쓰면 limit이 늘어난다 (max 이하)")
+    void stableLatency_growsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 20, 0.9, 0.2);
+
+        for (int round = 0; round < 50; round++) {
+            int permits = limiter.getLimit();
+            for (int i = 0; i < permits; i++) limiter.tryAcquire();
+            for (int i = 0; i < permits; i++) limiter.onSuccess(FAST);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(4).isLessThanOrEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("최근 응답 시간이 장기 평균보다 느려지면 limit이 줄어든다")
+    void risingLatency_shrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 20, 0.9, 0.2);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+        int before = limiter.getLimit();
+
+        for (int round = 0; round < 30; round++) {
+            int permits = limiter.getLimit();
+            for (int i = 0; i < permits; i++) limiter.tryAcquire();
+            for (int i = 0; i < permits; i++) limiter.onSuccess(FAST * 10);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("드롭(타임아웃)이 나면 곱셈으로 줄고 min 아래로는 내려가지 않는다")
+    void drops_multiplicativeDecrease_boundedByMin() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 10, 0.5, 0.2);
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
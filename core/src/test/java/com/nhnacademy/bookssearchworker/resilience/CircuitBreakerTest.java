@@ -0,0 +1,81 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    // window=10, 최소 4건, 실패율 50%, OPEN 1000ns, 시험 호출 1건
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker(10, 4, 50.0, 1_000, 1, now::get);
+    }
+
+    @Test
+    @DisplayName("최소 호출 수 이전에는 실패해도 열리지 않는다")
+    void staysClosedBelowMinimumCalls() {
+        CircuitBreaker cb = breaker();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cb.tryAcquirePermission()).isTrue();
+            cb.onError();
+        }
+
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("실패율이 임계치를 넘으면 OPEN 되고, 유지 시간 동안 호출을 차단한다")
+    void opensOnFailureRate_andRejectsWhileOpen() {
+        CircuitBreaker cb = breaker();
+        cb.onSuccess();
+        cb.onSuccess();
+        cb.onError();
+        cb.onError();
+
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(cb.tryAcquirePermission()).isFalse();
+
+        now.addAndGet(999);
+        assertThat(cb.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    @DisplayName("OPEN 유지 시간이 지나면 시험 호출 1건만 허용하고, 성공하면 CLOSED")
+    void halfOpenProbe_successCloses() {
+        CircuitBreaker cb = breaker();
+        for (int i = 0; i < 4; i++) cb.onError();
+
+        now.addAndGet(1_000);
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(cb.tryAcquirePermission()).isTrue();
+        assertThat(cb.tryAcquirePermission()).as("시험 호출은 1건만").isFalse();
+
+        cb.onSuccess();
+
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(cb.failureRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("시험 호출이 실패하면 다시 OPEN, 취소되면 슬롯만 돌려준다")
+    void halfOpenProbe_failureReopens_cancelReleasesSlot() {
+        CircuitBreaker cb = breaker();
+        for (int i = 0; i < 4; i++) cb.onError();
+        now.addAndGet(1_000);
+
+        assertThat(cb.tryAcquirePermission()).isTrue();
+        cb.onIgnored();
+        assertThat(cb.tryAcquirePermission()).as("취소된 시험 호출 슬롯은 재사용").isTrue();
+
+        cb.onError();
+
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(cb.tryAcquirePermission()).isFalse();
+    }
+}
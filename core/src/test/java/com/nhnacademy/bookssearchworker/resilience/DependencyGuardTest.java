@@ -0,0 +1,155 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DependencyGuardTest {
+
+    private static DependencyGuard guard(int minSamples) {
+        return guard(minSamples, 10);
+    }
+
+    private static DependencyGuard guard(int minSamples, int concurrencyLimit) {
+        return new DependencyGuard(
+                Dependency.RERANKER,
+                new CircuitBreaker(4, 2, 50.0, Duration.ofMinutes(1).toNanos(), 1, System::nanoTime),
+                new LatencyTracker(100),
+                new AdaptiveConcurrencyLimiter(concurrencyLimit, 1, concurrencyLimit, 0.5, 0.2),
+                Duration.ofSeconds(60),
+                Duration.ofMillis(50),
+                0.99, 2.0, minSamples
+        );
+    }
+
+    @Test
+    @DisplayName("샘플이 부족하면 최대 타임아웃, 충분하면 p99 * 배수를 [min, max]로 제한")
+    void adaptiveTimeout_followsP99() {
+        DependencyGuard guard = guard(10);
+        assertThat(guard.timeout()).isEqualTo(Duration.ofSeconds(60));
+
+        for (int i = 0; i < 100; i++) guard.latency().record(Duration.ofMillis(100).toNanos());
+        assertThat(guard.timeout()).isEqualTo(Duration.ofMillis(200));
+
+        for (int i = 0; i < 100; i++) guard.latency().record(Duration.ofMillis(1).toNanos());
+        assertThat(guard.timeout()).as("하한").isEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("timed: 적응형 타임아웃을 넘기면 TimeoutException, 그 시간도 샘플로 기록한다")
+    void timed_appliesTimeout_andRecordsTimeoutAsSample() {
+        DependencyGuard guard = guard(1);
+        guard.latency().record(Duration.ofMillis(10).toNanos());
+
+        Mono<String> slow = Mono.delay(Duration.ofSeconds(5)).thenReturn("late");
+
+        assertThatThrownBy(() -> slow.transform(guard::timed).block())
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(guard.latency().sampleCount()).isEqualTo(2);
+        assertThat(guard.latency().percentileNanos(1.0)).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    @DisplayName("protect: 서킷이 열리면 원본을 구독하지 않고 즉시 DependencyUnavailableException")
+    void protect_failsFastWhenOpen() {
+        DependencyGuard guard = guard(10);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.error(new IllegalStateException("down"));
+        });
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> failing.transform(guard::protect).block()).isInstanceOf(IllegalStateException.class);
+        }
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> failing.transform(guard::protect).block())
+                .isInstanceOf(DependencyUnavailableException.class)
+                .extracting("reason").isEqualTo(DependencyUnavailableException.Reason.CIRCUIT_OPEN);
+        assertThat(System.nanoTime() - start).isLessThan(Duration.ofMillis(50).toNanos());
+        assertThat(subscriptions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("call: 블로킹 호출도 실패를 기록하고 서킷이 열리면 즉시 실패한다")
+    void call_blockingVariant() {
+        DependencyGuard guard = guard(10);
+
+        assertThat(guard.call(() -> "ok")).isEqualTo("ok");
+        assertThatThrownBy(() -> guard.call(() -> { throw new IllegalStateException("down"); }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThatThrownBy(() -> guard.call(() -> "never"))
+                .isInstanceOf(DependencyUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("protect: 동시 호출 한도를 넘으면 기다리지 않고 LIMIT_EXCEEDED로 거절, 끝나면 슬롯을 돌려준다")
+    void protect_rejectsAboveConcurrencyLimit() {
+        DependencyGuard guard = guard(10, 1);
+        Sinks.One<String> pending = Sinks.one();
+
+        Disposable inFlight = pending.asMono().transform(guard::protect).subscribe();
+
+        assertThatThrownBy(() -> Mono.just("x").transform(guard::protect).block())
+                .isInstanceOf(DependencyUnavailableException.class)
+                .extracting("reason").isEqualTo(DependencyUnavailableException.Reason.LIMIT_EXCEEDED);
+
+        pending.tryEmitValue("done");
+        assertThat(inFlight.isDisposed()).isTrue();
+        assertThat(guard.limiter().getInFlight()).isZero();
+        assertThat(Mono.just("ok").transform(guard::protect).block()).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("protect: 타임아웃 실패는 동시 호출 한도를 줄인다")
+    void protect_timeoutShrinksLimit() {
+        DependencyGuard guard = guard(10, 8);
+
+        assertThatThrownBy(() -> Mono.error(new TimeoutException("slow")).transform(guard::protect).block())
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        assertThat(guard.limiter().getLimit()).isEqualTo(4);
+        assertThat(guard.limiter().getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("protect를 retryWhen 안쪽에 두면 시도마다 따로 반영되고, 재시도 대기 시간은 리미터 RTT에 들어가지 않는다")
+    void protectPerAttempt_excludesRetryBackoffFromRtt() {
+        AtomicLong lastRtt = new AtomicLong();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 10, 0.5, 0.2) {
+            @Override
+            public synchronized void onSuccess(long rttNanos) {
+                lastRtt.set(rttNanos);
+                super.onSuccess(rttNanos);
+            }
+        };
+        CircuitBreaker breaker = new CircuitBreaker(10, 10, 50.0, Duration.ofMinutes(1).toNanos(), 1, System::nanoTime);
+        DependencyGuard guard = new DependencyGuard(Dependency.RERANKER, breaker, new LatencyTracker(100), limiter,
+                Duration.ofSeconds(60), Duration.ofMillis(50), 0.99, 2.0, 10);
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> flaky = Mono.defer(() -> attempts.getAndIncrement() < 2
+                ? Mono.error(new IllegalStateException("flaky"))
+                : Mono.just("ok"));
+
+        String result = flaky.transform(guard::protect)
+                .retryWhen(Retry.backoff(2, Duration.ofMillis(200)))
+                .block();
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(breaker.failureRate()).as("실패 2 + 성공 1").isCloseTo(66.7, within(0.1));
+        assertThat(lastRtt.get()).as("마지막 시도만의 RTT").isLessThan(Duration.ofMillis(100).toNanos());
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,102 @@
+package com.nhnacademy.bookssearchworker.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HedgingPolicyTest {
+
+    // p95 = 20ms 가 되도록 샘플을 채운 tracker
+    private static LatencyTracker warmedUp() {
+        LatencyTracker tracker = new LatencyTracker(100);
+        for (int i = 0; i < 100; i++) tracker.record(Duration.ofMillis(20).toNanos());
+        return tracker;
+    }
+
+    private static HedgingPolicy policy(boolean enabled, double budgetPercent) {
+        return new HedgingPolicy(enabled, warmedUp(), 0.95, Duration.ofMillis(10), 10, budgetPercent);
+    }
+
+    @Test
+    @DisplayName("비활성화면 헤지 없이 첫 요청만 보낸다")
+    void disabled_singleRequest() {
+        HedgingPolicy policy = policy(false, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = policy.hedge(
+                () -> Mono.delay(Duration.ofMillis(100)).map(t -> "primary-" + calls.incrementAndGet()),
+                () -> Mono.just("backup")
+        ).block();
+
+        assertThat(result).isEqualTo("primary-1");
+        assertThat(policy.hedgeCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("p95 안에 응답이 없으면 헤지 요청을 보내고, 먼저 온 응답을 쓰며 느린 요청은 취소한다")
+    void slowPrimary_hedgeWins_andPrimaryCancelled() {
+        HedgingPolicy policy = policy(true, 100);
+        policy.hedge(() -> Mono.just("warm"), () -> Mono.just("warm")).block(); // 예산 적립
+
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+
+        String result = policy.hedge(
+                () -> Mono.delay(Duration.ofSeconds(5)).thenReturn("primary").doOnCancel(() -> primaryCancelled.set(true)),
+                () -> Mono.just("backup")
+        ).block(Duration.ofSeconds(2));
+
+        assertThat(result).isEqualTo("backup");
+        assertThat(primaryCancelled).isTrue();
+        assertThat(policy.hedgeCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("헤지 전에 첫 요청이 실패하면 바로 실패를 전달한다")
+    void primaryFailsFast_errorPropagates() {
+        HedgingPolicy policy = policy(true, 100);
+        AtomicInteger backups = new AtomicInteger();
+
+        assertThatThrownBy(() -> policy.hedge(
+                () -> Mono.<String>error(new IllegalStateException("boom")),
+                () -> Mono.fromCallable(() -> "backup-" + backups.incrementAndGet())
+        ).block()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(backups).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("헤지를 보낸 뒤에는 한쪽이 실패해도 다른 쪽 응답을 기다린다")
+    void primaryFailsAfterHedge_backupStillWins() {
+        HedgingPolicy policy = policy(true, 100);
+        policy.hedge(() -> Mono.just("warm"), () -> Mono.just("warm")).block();
+
+        String result = policy.hedge(
+                () -> Mono.delay(Duration.ofMillis(40)).then(Mono.<String>error(new IllegalStateException("late boom"))),
+                () -> Mono.delay(Duration.ofMillis(60)).thenReturn("backup")
+        ).block(Duration.ofSeconds(2));
+
+        assertThat(result).isEqualTo("backup");
+    }
+
+    @Test
+    @DisplayName("예산 비율을 넘겨서 헤지하지 않는다")
+    void budgetCapsHedgeRate() {
+        HedgingPolicy policy = policy(true, 25);
+
+        for (int i = 0; i < 12; i++) {
+            policy.hedge(
+                    () -> Mono.delay(Duration.ofMillis(40)).thenReturn("primary"),
+                    () -> Mono.delay(Duration.ofMillis(40)).thenReturn("backup")
+            ).block(Duration.ofSeconds(2));
+        }
+
+        assertThat(policy.requestCount()).isEqualTo(12);
+        assertThat(policy.hedgeCount()).isPositive().isLessThanOrEqualTo(3);
+    }
+}
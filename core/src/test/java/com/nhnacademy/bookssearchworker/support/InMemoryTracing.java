@@ -0,0 +1,56 @@
+package com.nhnacademy.bookssearchworker.support;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+import java.util.List;
+
+/**
+ * 테스트용 트레이싱: Observation -> Micrometer Tracing(OTel 브리지) -> 메모리 exporter
+ * 끝난 스팬은 spans()로 바로 확인할 수 있다. (외부 전송 없음)
+ */
+public final class InMemoryTracing {
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private final Tracer tracer;
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    public InMemoryTracing() {
+        SdkTracerProvider provider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+
+        OtelCurrentTraceContext context = new OtelCurrentTraceContext();
+        this.tracer = new OtelTracer(
+                provider.get("test"),
+                context,
+                event -> { },
+                new OtelBaggageManager(context, List.of(), List.of())
+        );
+        observationRegistry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+    }
+
+    public ObservationRegistry observationRegistry() {
+        return observationRegistry;
+    }
+
+    public Tracer tracer() {
+        return tracer;
+    }
+
+    public List<SpanData> spans() {
+        return exporter.getFinishedSpanItems();
+    }
+
+    public void reset() {
+        exporter.reset();
+    }
+}
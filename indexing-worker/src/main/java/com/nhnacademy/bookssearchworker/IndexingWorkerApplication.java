@@ -4,10 +4,10 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 @SpringBootApplication
-public class BooksSearchWorkerApplication {
+public class IndexingWorkerApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(BooksSearchWorkerApplication.class, args);
+        SpringApplication.run(IndexingWorkerApplication.class, args);
     }
 
 }
@@ -0,0 +1,51 @@
+package com.nhnacademy.bookssearchworker.worker.config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 필드 단위 변경 큐 선언 (RabbitAdmin이 기동 시 브로커에 만든다)
+ *
+ * upsert/delete 큐는 발행 쪽에서 만들어 두지만 field-update 큐는 워커에서 새로 추가한 것이라 직접 선언한다.
+ * 리스너는 큐가 없으면 기동에 실패하므로 (missingQueuesFatal) 리스너보다 먼저 선언돼야 한다.
+ *
+ * main  exchange --book-field-update-------> field-update 큐
+ * retry exchange --book-field-update-retry-> field-update 큐 (재시도 단계 대기 큐에서 넘어온 메시지)
+ * dlx   exchange --book-field-update-fail--> field-update fail 큐 (DLQ 재처리 작업이 읽는다)
+ *
+ * exchange는 발행 쪽에서 만든 것을 그대로 쓴다 (이름으로 바인딩만 하고 다시 선언하지 않는다)
+ */
+@Configuration
+public class FieldUpdateQueueConfig {
+
+    @Bean
+    public Declarables fieldUpdateQueues(
+            @Value("${rabbitmq.exchange.main:team3.booksearch.exchange}") String mainExchange,
+            @Value("${rabbitmq.exchange.retry:team3.booksearch.retry.dlx}") String retryExchange,
+            @Value("${rabbitmq.exchange.dlx:team3.booksearch.dlx}") String dlxExchange,
+            @Value("${rabbitmq.queue.book-field-update}") String queueName,
+            @Value("${rabbitmq.queue.book-field-update-fail}") String failQueueName,
+            @Value("${rabbitmq.routing.book-field-update}") String routingKey,
+            @Value("${rabbitmq.routing.book-field-update-retry}") String retryRoutingKey,
+            @Value("${rabbitmq.routing.book-field-update-fail}") String failRoutingKey
+    ) {
+        Queue queue = QueueBuilder.durable(queueName).build();
+        Queue failQueue = QueueBuilder.durable(failQueueName).build();
+        return new Declarables(
+                queue,
+                failQueue,
+                bind(queueName, mainExchange, routingKey),
+                bind(queueName, retryExchange, retryRoutingKey),
+                bind(failQueueName, dlxExchange, failRoutingKey)
+        );
+    }
+
+    private static Binding bind(String queue, String exchange, String routingKey) {
+        return new Binding(queue, Binding.DestinationType.QUEUE, exchange, routingKey, null);
+    }
+}
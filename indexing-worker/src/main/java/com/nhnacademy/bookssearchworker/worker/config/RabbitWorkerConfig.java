@@ -0,0 +1,92 @@
+package com.nhnacademy.bookssearchworker.worker.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitWorkerConfig {
+
+    @Bean
+    public MessageConverter messageConverter() {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new JavaTimeModule());
+        om.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(om);
+
+        // 리스너 메서드 파라미터 타입 기준으로 역직렬화
+        converter.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.INFERRED);
+
+        return converter;
+    }
+
+    @Bean
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
+        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(messageConverter);
+        // 발행 시 현재 트레이스 컨텍스트를 메시지 헤더(traceparent)에 싣는다 (재시도/DLQ 재발행 포함)
+        template.setObservationEnabled(true);
+        return template;
+    }
+
+    @Bean(name = "rabbitListenerContainerFactory")
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            @Value("${spring.rabbitmq.listener.simple.auto-startup:true}") boolean autoStartup
+    ) {
+        SimpleRabbitListenerContainerFactory factory = baseFactory(connectionFactory, messageConverter, autoStartup);
+        // 수신 메시지 헤더의 트레이스 컨텍스트를 이어받아 리스너 스팬 생성
+        factory.setObservationEnabled(true);
+        return factory;
+    }
+
+    /**
+     * 배치 upsert용 리스너 팩토리 (app.worker.batch.enabled=true 일 때 BookUpsertBatchConsumer가 사용)
+     * 최대 batch.size건, 또는 첫 메시지 후 batch.receive-timeout-ms 동안 모인 메시지를 한 번에 넘긴다.
+     * prefetch가 batch.size보다 작으면 배치가 차지 않으므로 batch.size로 맞춘다.
+     * 배치 리스너는 메시지별 수신 스팬을 만들지 않는다. (단계 스팬은 WorkerTracing.batchStage)
+     */
+    @Bean(name = "batchRabbitListenerContainerFactory")
+    public SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            @Value("${spring.rabbitmq.listener.simple.auto-startup:true}") boolean autoStartup,
+            @Value("${app.worker.batch.size:100}") int batchSize,
+            @Value("${app.worker.batch.receive-timeout-ms:500}") long receiveTimeoutMs
+    ) {
+        SimpleRabbitListenerContainerFactory factory = baseFactory(connectionFactory, messageConverter, autoStartup);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setBatchReceiveTimeout(receiveTimeoutMs);
+        factory.setPrefetchCount(batchSize);
+        return factory;
+    }
+
+    private static SimpleRabbitListenerContainerFactory baseFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            boolean autoStartup
+    ) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(messageConverter);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setDefaultRequeueRejected(false);
+        // 직접 만든 팩토리라 Boot 속성이 자동 적용되지 않음 (부하 테스트처럼 브로커 없이 기동할 때 false)
+        factory.setAutoStartup(autoStartup);
+        return factory;
+    }
+}
@@ -0,0 +1,56 @@
+package com.nhnacademy.bookssearchworker.worker.config;
+
+import com.nhnacademy.bookssearchworker.worker.rabbit.RetryBackoff;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 재시도 단계 대기 큐 선언 (RabbitAdmin이 기동 시 브로커에 만든다)
+ *
+ * 재시도 routing key(upsert/delete/field-update)마다 단계 수만큼 큐를 만든다.
+ * 메시지 TTL(expiration)이 지나면 retry exchange로 원래 재시도 routing key를 달고 넘어간다.
+ * 큐 자체 TTL은 두지 않는다 (지연은 메시지마다 지터를 넣은 값)
+ * 단계 값을 바꾸면 새 큐가 생기고, 안 쓰는 예전 단계 큐는 비워진 뒤 직접 지운다.
+ */
+@Configuration
+public class RetryDelayQueueConfig {
+
+    @Bean
+    public Declarables retryDelayQueues(
+            RetryBackoff backoff,
+            @Value("${rabbitmq.exchange.retry-delay:team3.booksearch.retry.delay}") String retryDelayExchange,
+            @Value("${rabbitmq.exchange.retry:team3.booksearch.retry.dlx}") String retryExchange,
+            @Value("${rabbitmq.routing.book-upsert-retry}") String upsertRetry,
+            @Value("${rabbitmq.routing.book-delete-retry}") String deleteRetry,
+            @Value("${rabbitmq.routing.book-field-update-retry}") String fieldUpdateRetry
+    ) {
+        DirectExchange exchange = new DirectExchange(retryDelayExchange, true, false);
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(exchange);
+
+        for (String retryRoutingKey : List.of(upsertRetry, deleteRetry, fieldUpdateRetry)) {
+            for (long tier : backoff.tiers()) {
+                String name = RetryBackoff.delayQueue(retryRoutingKey, tier);
+                Queue queue = QueueBuilder.durable(name)
+                        .deadLetterExchange(retryExchange)
+                        .deadLetterRoutingKey(retryRoutingKey)
+                        .build();
+                Binding binding = BindingBuilder.bind(queue).to(exchange).with(name);
+                declarables.add(queue);
+                declarables.add(binding);
+            }
+        }
+        return new Declarables(declarables);
+    }
+}
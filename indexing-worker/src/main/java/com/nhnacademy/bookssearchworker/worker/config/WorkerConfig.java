@@ -0,0 +1,37 @@
+package com.nhnacademy.bookssearchworker.worker.config;
+
+import com.nhnacademy.bookssearchworker.resilience.Dependency;
+import com.nhnacademy.bookssearchworker.resilience.DownstreamWebClientFactory;
+import com.nhnacademy.bookssearchworker.resilience.DownstreamWebClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+@Configuration
+public class WorkerConfig {
+
+    // 색인 워커는 임베딩 서버만 HTTP로 호출한다 (ES는 자체 RestClient)
+    private static final List<Dependency> HTTP_DEPENDENCIES = List.of(Dependency.EMBEDDING_WORKER);
+
+    /**
+     * 외부 HTTP 의존성별 WebClient (풀/타임아웃 설정은 DownstreamWebClientFactory 참고)
+     */
+    @Bean
+    public DownstreamWebClients downstreamWebClients(
+            Environment env,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<ObservationRegistry> observationRegistry
+    ) {
+        return DownstreamWebClientFactory.create(
+                env,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP),
+                HTTP_DEPENDENCIES);
+    }
+}
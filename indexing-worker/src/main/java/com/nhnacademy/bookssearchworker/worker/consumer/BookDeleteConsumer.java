@@ -1,6 +1,6 @@
 package com.nhnacademy.bookssearchworker.worker.consumer;
 
-import com.nhnacademy.bookssearchworker.worker.es.EsBookDocumentClient;
+import com.nhnacademy.bookssearchworker.worker.es.BulkIndexer;
 import com.nhnacademy.bookssearchworker.worker.exception.WorkerProcessingException;
 import com.nhnacademy.bookssearchworker.worker.message.BookDeleteMessage;
 import com.nhnacademy.bookssearchworker.worker.rabbit.RabbitRetryPublisher;
@@ -10,7 +10,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.support.AmqpHeaders;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
@@ -19,13 +18,12 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class BookDeleteConsumer {
 
-    private final EsBookDocumentClient es;
+    private final BulkIndexer indexer;
     private final RabbitRetryPublisher retryPublisher;
-
-    @Value("${rabbitmq.routing.book-delete-retry}")
-    private String RK_RETRY;
-    @Value("${rabbitmq.routing.book-delete-fail}")
-    private String RK_FAIL;
+    private final WorkerTracing tracing;
+    private final IsbnStripedExecutor stripes;
+    private final UpsertCoalescer coalescer;
+    private final BookDeleteFailureHandler failureHandler;
 
     @RabbitListener(queues = "${rabbitmq.queue.book-delete}", containerFactory = "rabbitListenerContainerFactory")
     public void consume(
@@ -33,40 +31,41 @@ public class BookDeleteConsumer {
             Message amqpMessage,
             Channel channel,
             @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag
-    ) throws Exception {
+    ) {
+        String isbn = (msg == null) ? null : msg.isbn();
+        tracing.tagMessage(isbn, (msg == null) ? null : msg.requestId());
+
+        // 대기 중인 더 오래된 upsert는 버린다 (삭제 뒤에 실행돼 문서가 되살아나지 않도록)
+        coalescer.discard(isbn, (msg == null) ? 0 : msg.ts());
+
+        // upsert와 같은 stripe: 같은 isbn의 upsert/delete가 동시에 처리되지 않는다
+        stripes.execute(isbn, tracing.propagate(() -> process(msg, amqpMessage, channel, deliveryTag)));
+    }
+
+    private void process(BookDeleteMessage msg, Message amqpMessage, Channel channel, long deliveryTag) {
         int retryCount = retryPublisher.getRetryCount(amqpMessage.getMessageProperties());
 
         try {
             String isbn = (msg == null) ? null : msg.isbn();
+            String requestId = (msg == null) ? null : msg.requestId();
 
-            log.info("[BOOK_DELETE] consume isbn={}, requestId={}, retryCount={}", isbn, msg == null ? null : msg.requestId(), retryCount);
+            log.info("[BOOK_DELETE] consume isbn={}, requestId={}, retryCount={}", isbn, requestId, retryCount);
 
             if (isbn == null || isbn.isBlank()) {
                 throw new WorkerProcessingException(WorkerProcessingException.ErrorCode.INVALID_MESSAGE, "BookDeleteMessage.isbn is null/blank");
             }
 
-            es.deleteById(isbn);
+            tracing.stage("es-delete", isbn, requestId, () -> IndexResults.require(isbn, indexer.delete(isbn, msg.ts())));
 
             channel.basicAck(deliveryTag, false);
             log.info("[BOOK_DELETE] success isbn={}", isbn);
         } catch (Exception e) {
-            WorkerProcessingException wpe = wrap(e);
-
-            if (retryCount < RabbitRetryPublisher.MAX_RETRY_COUNT) {
-                int next = retryCount + 1;
-                retryPublisher.toRetry(amqpMessage, RK_RETRY, next);
-                channel.basicAck(deliveryTag, false);
-                log.warn("[BOOK_DELETE] failed -> retry rk={}, nextRetry={}, cause={}", RK_RETRY, next, wpe.getMessage());
-            } else {
-                retryPublisher.toDlq(amqpMessage, RK_FAIL, wpe);
-                channel.basicAck(deliveryTag, false);
-                log.error("[BOOK_DELETE] failed -> dlq rk={}, retries={}, cause={}", RK_FAIL, retryCount, wpe.getMessage(), wpe);
+            try {
+                failureHandler.handle(amqpMessage, channel, deliveryTag, e);
+            } catch (Exception publishError) {
+                // 재시도 발행/ack 실패: ack하지 않았으므로 채널이 닫히면 브로커가 다시 보낸다
+                log.error("[BOOK_DELETE] failure handling failed deliveryTag={}, cause={}", deliveryTag, publishError.getMessage(), publishError);
             }
         }
     }
-
-    private WorkerProcessingException wrap(Exception e) {
-        if (e instanceof WorkerProcessingException w) return w;
-        return new WorkerProcessingException(WorkerProcessingException.ErrorCode.UNKNOWN, e.getMessage(), e);
-    }
 }
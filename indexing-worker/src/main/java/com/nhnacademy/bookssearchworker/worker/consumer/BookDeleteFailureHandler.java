@@ -0,0 +1,20 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.nhnacademy.bookssearchworker.worker.rabbit.RabbitRetryPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 삭제 실패 메시지 처리
+ */
+@Component
+public class BookDeleteFailureHandler extends MessageFailureHandler {
+
+    public BookDeleteFailureHandler(
+            RabbitRetryPublisher retryPublisher,
+            @Value("${rabbitmq.routing.book-delete-retry}") String retryRoutingKey,
+            @Value("${rabbitmq.routing.book-delete-fail}") String failRoutingKey
+    ) {
+        super(retryPublisher, "BOOK_DELETE", retryRoutingKey, failRoutingKey);
+    }
+}
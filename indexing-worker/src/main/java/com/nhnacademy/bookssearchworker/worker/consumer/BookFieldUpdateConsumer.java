@@ -0,0 +1,102 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.nhnacademy.bookssearchworker.worker.es.BulkIndexer;
+import com.nhnacademy.bookssearchworker.worker.es.BulkItemResult;
+import com.nhnacademy.bookssearchworker.worker.exception.WorkerProcessingException;
+import com.nhnacademy.bookssearchworker.worker.message.BookFieldUpdateMessage;
+import com.rabbitmq.client.Channel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 도서 필드 단위 변경 처리 (가격/카테고리/출판사/이미지)
+ *
+ * 임베딩 없이 바뀐 필드만 부분 update로 보낸다 (벡터는 그대로).
+ * 카탈로그 전체 가격 변경처럼 메시지가 몰리는 경우를 위해 항상 배치 리스너로 받고,
+ * BulkIndexer가 _bulk로 묶어 보내므로 처리 속도는 ES 처리량에 맞춰진다.
+ * 출판사명은 임베딩 입력에 포함되지만 여기서는 다시 임베딩하지 않는다.
+ * (저장된 지문과 달라지므로 다음 전체 upsert 때 다시 임베딩된다 - EmbeddingReuse)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookFieldUpdateConsumer {
+
+    private final BulkIndexer indexer;
+    private final MessageConverter messageConverter;
+    private final WorkerTracing tracing;
+    private final BookFieldUpdateFailureHandler failureHandler;
+
+    private record Pending(Message message, String isbn, CompletableFuture<BulkItemResult> result) {}
+
+    @RabbitListener(queues = "${rabbitmq.queue.book-field-update}", containerFactory = "batchRabbitListenerContainerFactory")
+    public void consumeBatch(List<Message> messages, Channel channel) throws Exception {
+        log.info("[BOOK_FIELD_UPDATE] consume size={}", messages.size());
+
+        // 1) 검증 후 색인기에 넣기 (잘못된 메시지는 바로 재시도/DLQ)
+        List<Pending> pending = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                BookFieldUpdateMessage msg = convert(message);
+                pending.add(new Pending(message, msg.isbn(), indexer.update(msg.isbn(), msg.changedFields(), msg.ts())));
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                fail(message, channel, e);
+            }
+        }
+        if (pending.isEmpty()) return;
+
+        // 2) 모두 끝날 때까지 기다린 뒤 메시지별 ack / 재시도 / DLQ
+        tracing.batchStage("es-write", pending.size(), () -> CompletableFuture
+                .allOf(pending.stream().map(Pending::result).toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .join());
+
+        int failed = 0;
+        for (Pending p : pending) {
+            try {
+                IndexResults.require(p.isbn(), p.result());
+                channel.basicAck(p.message().getMessageProperties().getDeliveryTag(), false);
+            } catch (WorkerProcessingException e) {
+                failed++;
+                fail(p.message(), channel, e);
+            }
+        }
+        log.info("[BOOK_FIELD_UPDATE] done size={}, updated={}, failed={}",
+                messages.size(), pending.size() - failed, messages.size() - pending.size() + failed);
+    }
+
+    private BookFieldUpdateMessage convert(Message message) {
+        message.getMessageProperties().setInferredArgumentType(BookFieldUpdateMessage.class);
+        Object converted = messageConverter.fromMessage(message);
+        if (!(converted instanceof BookFieldUpdateMessage msg)) {
+            throw new WorkerProcessingException(
+                    WorkerProcessingException.ErrorCode.INVALID_MESSAGE,
+                    "Unexpected message payload: " + (converted == null ? "null" : converted.getClass().getSimpleName())
+            );
+        }
+        if (msg.isbn() == null || msg.isbn().isBlank()) {
+            throw new WorkerProcessingException(WorkerProcessingException.ErrorCode.INVALID_MESSAGE, "BookFieldUpdateMessage.isbn is null/blank");
+        }
+        Map<String, Object> fields = msg.changedFields();
+        if (fields.isEmpty()) {
+            throw new WorkerProcessingException(WorkerProcessingException.ErrorCode.INVALID_MESSAGE, "BookFieldUpdateMessage has no changed fields isbn=" + msg.isbn());
+        }
+        return msg;
+    }
+
+    private void fail(Message message, Channel channel, Exception e) throws IOException {
+        failureHandler.handle(message, channel, message.getMessageProperties().getDeliveryTag(), e);
+    }
+}
@@ -0,0 +1,20 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.nhnacademy.bookssearchworker.worker.rabbit.RabbitRetryPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 필드 단위 변경 실패 메시지 처리
+ */
+@Component
+public class BookFieldUpdateFailureHandler extends MessageFailureHandler {
+
+    public BookFieldUpdateFailureHandler(
+            RabbitRetryPublisher retryPublisher,
+            @Value("${rabbitmq.routing.book-field-update-retry}") String retryRoutingKey,
+            @Value("${rabbitmq.routing.book-field-update-fail}") String failRoutingKey
+    ) {
+        super(retryPublisher, "BOOK_FIELD_UPDATE", retryRoutingKey, failRoutingKey);
+    }
+}
@@ -0,0 +1,185 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingTextBuilder;
+import com.nhnacademy.bookssearchworker.worker.embedding.OllamaEmbeddingClient;
+import com.nhnacademy.bookssearchworker.worker.es.BookUpsertDoc;
+import com.nhnacademy.bookssearchworker.worker.es.BulkIndexer;
+import com.nhnacademy.bookssearchworker.worker.es.BulkItemResult;
+import com.nhnacademy.bookssearchworker.worker.exception.WorkerProcessingException;
+import com.nhnacademy.bookssearchworker.worker.message.BookUpsertMessage;
+import com.rabbitmq.client.Channel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * 도서 upsert 배치 처리 (app.worker.batch.enabled=true)
+ *
+ * 대량 등록(카탈로그 import) 때 메시지마다 임베딩 호출 1번 + _update 1번을 하면 너무 느려서,
+ * 모인 메시지를 한 번에 처리한다.
+ * 1) 메시지별 역직렬화/검증/임베딩 텍스트 생성
+ * 2) 임베딩 한 번 호출 (여러 입력, 저장된 지문과 입력이 같은 문서는 제외 - EmbeddingReuse)
+ * 3) BulkIndexer로 색인 (doc_as_upsert, 한도에 맞춰 _bulk로 묶인다)
+ * 4) 메시지마다 자기 결과대로 ack 또는 재시도/DLQ (실패한 건만 다시 처리된다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.worker.batch.enabled", havingValue = "true")
+public class BookUpsertBatchConsumer {
+
+    private final BulkIndexer indexer;
+    private final EmbeddingTextBuilder textBuilder;
+    private final OllamaEmbeddingClient embeddingClient;
+    private final EmbeddingReuse embeddingReuse;
+    private final MessageConverter messageConverter;
+    private final BookUpsertFailureHandler failureHandler;
+    private final WorkerTracing tracing;
+
+    // 검증을 통과해 임베딩/색인할 메시지 한 건
+    private record Pending(Message message, long deliveryTag, String isbn, BookUpsertMessage.BookPayload book,
+                           long ts, String text, String fingerprint) {}
+
+    @RabbitListener(queues = "${rabbitmq.queue.book-upsert}", containerFactory = "batchRabbitListenerContainerFactory")
+    public void consumeBatch(List<Message> messages, Channel channel) throws Exception {
+        log.info("[BOOK_UPSERT_BATCH] consume size={}", messages.size());
+
+        // 1) 검증: 잘못된 메시지는 배치에서 빼고 바로 재시도/DLQ
+        List<Pending> pending = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                pending.add(prepare(message));
+            } catch (Exception e) {
+                fail(message, channel, e);
+            }
+        }
+        if (pending.isEmpty()) return;
+
+        // 2) 임베딩: 저장된 지문과 같으면 건너뛴다
+        //    같은 isbn이 배치에 여러 번 있으면 순서가 꼬일 수 있어 모두 다시 임베딩
+        Map<String, Long> isbnCounts = pending.stream()
+                .collect(Collectors.groupingBy(Pending::isbn, Collectors.counting()));
+        Map<String, String> stored = embeddingReuse.storedFingerprints(isbnCounts.keySet());
+
+        BookUpsertDoc[] docs = new BookUpsertDoc[pending.size()];
+        List<Integer> toEmbed = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            Pending p = pending.get(i);
+            if (isbnCounts.get(p.isbn()) == 1 && p.fingerprint().equals(stored.get(p.isbn()))) {
+                docs[i] = BookUpsertDocs.toDocKeepingEmbedding(p.isbn(), p.book());
+            } else {
+                toEmbed.add(i);
+            }
+        }
+
+        if (!toEmbed.isEmpty()) {
+            // 호출이 실패하면 임베딩할 문서 전체가 같은 이유로 실패 (건너뛴 문서는 그대로 색인)
+            List<List<Float>> vectors = null;
+            try {
+                List<String> texts = toEmbed.stream().map(i -> pending.get(i).text()).toList();
+                vectors = tracing.batchStage("embedding", texts.size(), () -> embeddingClient.embedAll(texts));
+            } catch (Exception e) {
+                failAll(toEmbed.stream().map(pending::get).toList(), channel, e);
+            }
+            for (int j = 0; vectors != null && j < toEmbed.size(); j++) {
+                int i = toEmbed.get(j);
+                Pending p = pending.get(i);
+                try {
+                    List<Float> vec = vectors.get(j);
+                    BookUpsertDocs.requireEmbedding(vec);
+                    docs[i] = BookUpsertDocs.toDoc(p.isbn(), p.book(), vec, p.fingerprint());
+                } catch (Exception e) {
+                    fail(p.message(), channel, e);
+                }
+            }
+        }
+
+        // 메시지 순서대로 색인
+        List<Pending> writable = new ArrayList<>(pending.size());
+        List<BookUpsertDoc> writableDocs = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            if (docs[i] == null) continue;
+            writable.add(pending.get(i));
+            writableDocs.add(docs[i]);
+        }
+        if (writable.isEmpty()) return;
+        log.info("[BOOK_UPSERT_BATCH] embedding size={}, skipped(unchanged)={}",
+                toEmbed.size(), pending.size() - toEmbed.size());
+
+        // 3) 색인: 전부 넣고 모두 끝날 때까지 기다린다 (결과는 문서별)
+        List<CompletableFuture<BulkItemResult>> results = tracing.batchStage("es-write", writable.size(), () -> {
+            List<CompletableFuture<BulkItemResult>> futures = new ArrayList<>(writable.size());
+            for (int i = 0; i < writable.size(); i++) {
+                futures.add(upsert(writable.get(i), writableDocs.get(i)));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+            return futures;
+        });
+
+        // 4) 메시지별 ack / 재시도 / DLQ
+        int failed = 0;
+        for (int i = 0; i < writable.size(); i++) {
+            Pending p = writable.get(i);
+            try {
+                IndexResults.require(p.isbn(), results.get(i));
+                channel.basicAck(p.deliveryTag(), false);
+            } catch (WorkerProcessingException e) {
+                failed++;
+                fail(p.message(), channel, e);
+            }
+        }
+        log.info("[BOOK_UPSERT_BATCH] done size={}, indexed={}, failed={}",
+                messages.size(), writable.size() - failed, messages.size() - writable.size() + failed);
+    }
+
+    private Pending prepare(Message message) throws Exception {
+        // 단건 리스너와 같이 파라미터 타입(BookUpsertMessage) 기준으로 역직렬화
+        message.getMessageProperties().setInferredArgumentType(BookUpsertMessage.class);
+        Object converted = messageConverter.fromMessage(message);
+        if (!(converted instanceof BookUpsertMessage msg)) {
+            throw new WorkerProcessingException(
+                    WorkerProcessingException.ErrorCode.INVALID_MESSAGE,
+                    "Unexpected message payload: " + (converted == null ? "null" : converted.getClass().getSimpleName())
+            );
+        }
+
+        String isbn = BookUpsertDocs.requireIsbn(msg);
+        String text = textBuilder.build(msg.book());
+        BookUpsertDocs.requireText(text);
+        return new Pending(message, message.getMessageProperties().getDeliveryTag(), isbn, msg.book(),
+                msg.ts(), text, embeddingReuse.fingerprint(text));
+    }
+
+    // 직렬화 실패 등은 그 문서의 실패 결과로 바꾼다
+    private CompletableFuture<BulkItemResult> upsert(Pending p, BookUpsertDoc doc) throws InterruptedException {
+        try {
+            return indexer.upsert(p.isbn(), doc, p.ts());
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void failAll(List<Pending> pending, Channel channel, Exception e) throws IOException {
+        log.warn("[BOOK_UPSERT_BATCH] batch failed size={}, cause={}", pending.size(), e.getMessage());
+        for (Pending p : pending) {
+            fail(p.message(), channel, e);
+        }
+    }
+
+    private void fail(Message message, Channel channel, Exception e) throws IOException {
+        failureHandler.handle(message, channel, message.getMessageProperties().getDeliveryTag(), e);
+    }
+}
@@ -0,0 +1,106 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingTextBuilder;
+import com.nhnacademy.bookssearchworker.worker.embedding.OllamaEmbeddingClient;
+import com.nhnacademy.bookssearchworker.worker.es.BookUpsertDoc;
+import com.nhnacademy.bookssearchworker.worker.es.BulkIndexer;
+import com.nhnacademy.bookssearchworker.worker.message.BookUpsertMessage;
+import com.nhnacademy.bookssearchworker.worker.rabbit.RabbitRetryPublisher;
+import com.rabbitmq.client.Channel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 도서 upsert 단건 처리 (기본 모드)
+ * app.worker.batch.enabled=true 이면 BookUpsertBatchConsumer가 대신 같은 큐를 소비한다.
+ * app.worker.parallel.stripes > 1 이면 ISBN별 순서를 지키며 병렬 처리 (IsbnStripedExecutor)
+ * app.worker.coalesce.delay-ms > 0 이면 같은 ISBN 연속 upsert 중 마지막 한 건만 처리 (UpsertCoalescer)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.worker.batch.enabled", havingValue = "false", matchIfMissing = true)
+public class BookUpsertConsumer {
+
+    private final BulkIndexer indexer;
+    private final EmbeddingTextBuilder textBuilder;
+    private final OllamaEmbeddingClient embeddingClient;
+    private final EmbeddingReuse embeddingReuse;
+    private final RabbitRetryPublisher retryPublisher;
+    private final BookUpsertFailureHandler failureHandler;
+    private final WorkerTracing tracing;
+    private final IsbnStripedExecutor stripes;
+    private final UpsertCoalescer coalescer;
+
+    @RabbitListener(queues = "${rabbitmq.queue.book-upsert}", containerFactory = "rabbitListenerContainerFactory")
+    public void consume(
+            BookUpsertMessage msg,
+            Message amqpMessage,
+            Channel channel,
+            @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag
+    ) {
+        BookUpsertMessage.BookPayload book = (msg == null) ? null : msg.book();
+        String isbn = (book == null) ? null : book.isbn();
+        tracing.tagMessage(isbn, (msg == null) ? null : msg.requestId());
+
+        // 같은 isbn은 같은 stripe에서 순서대로 (stripes=1이면 이 스레드에서 바로)
+        // 몰아 처리가 켜져 있으면 delay 동안 더 최신 메시지가 오는지 기다렸다가 넘긴다
+        Runnable task = tracing.propagate(() -> process(msg, amqpMessage, channel, deliveryTag));
+        coalescer.submit(isbn, (msg == null) ? 0 : msg.ts(), channel, deliveryTag, () -> stripes.execute(isbn, task));
+    }
+
+    private void process(BookUpsertMessage msg, Message amqpMessage, Channel channel, long deliveryTag) {
+        int retryCount = retryPublisher.getRetryCount(amqpMessage.getMessageProperties());
+
+        try {
+            BookUpsertMessage.BookPayload book = (msg == null) ? null : msg.book();
+            String isbn = (book == null) ? null : book.isbn();
+            String requestId = (msg == null) ? null : msg.requestId();
+
+            log.info("[BOOK_UPSERT] consume isbn={}, requestId={}, retryCount={}",
+                    isbn, requestId, retryCount);
+
+            BookUpsertDocs.requireIsbn(msg);
+
+            String text = tracing.stage("build-text", isbn, requestId, () -> textBuilder.build(book));
+            BookUpsertDocs.requireText(text);
+
+            String fingerprint = embeddingReuse.fingerprint(text);
+            BookUpsertDoc doc = tracing.stage("embedding", isbn, requestId, () -> {
+                if (fingerprint.equals(embeddingReuse.storedFingerprints(List.of(isbn)).get(isbn))) {
+                    log.info("[BOOK_UPSERT] embedding input unchanged -> skip embedding isbn={}", isbn);
+                    return BookUpsertDocs.toDocKeepingEmbedding(isbn, book);
+                }
+                List<Float> vec = embeddingClient.embed(text);
+                BookUpsertDocs.requireEmbedding(vec);
+                log.info("[BOOK_UPSERT] embedding ok isbn={}, dims={}", isbn, vec.size());
+                return BookUpsertDocs.toDoc(isbn, book, vec, fingerprint);
+            });
+
+            // 다른 stripe / 리스너의 쓰기와 함께 _bulk로 나간다
+            tracing.stage("es-write", isbn, requestId, () -> IndexResults.require(isbn, indexer.upsert(isbn, doc, msg.ts())));
+
+            channel.basicAck(deliveryTag, false);
+            log.info("[BOOK_UPSERT] success isbn={}", isbn);
+        } catch (Exception e) {
+            handleFailure(amqpMessage, channel, deliveryTag, e);
+        }
+    }
+
+    private void handleFailure(Message amqpMessage, Channel channel, long deliveryTag, Exception e) {
+        try {
+            failureHandler.handle(amqpMessage, channel, deliveryTag, e);
+        } catch (Exception publishError) {
+            // 재시도 발행/ack 실패: ack하지 않았으므로 채널이 닫히면 브로커가 다시 보낸다
+            log.error("[BOOK_UPSERT] failure handling failed deliveryTag={}, cause={}", deliveryTag, publishError.getMessage(), publishError);
+        }
+    }
+}
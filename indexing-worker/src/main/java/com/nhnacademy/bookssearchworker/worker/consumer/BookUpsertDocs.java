@@ -0,0 +1,79 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.nhnacademy.bookssearchworker.worker.es.BookUpsertDoc;
+import com.nhnacademy.bookssearchworker.worker.exception.WorkerProcessingException;
+import com.nhnacademy.bookssearchworker.worker.message.BookUpsertMessage;
+
+import java.util.List;
+
+/**
+ * upsert 메시지 검증 + ES 문서 변환 (단건/배치 컨슈머 공통, 카탈로그 재색인도 같은 변환을 쓴다)
+ */
+public final class BookUpsertDocs {
+
+    static final int EXPECTED_EMBEDDING_DIMS = 1024;
+
+    private BookUpsertDocs() {
+    }
+
+    static String requireIsbn(BookUpsertMessage msg) {
+        BookUpsertMessage.BookPayload book = (msg == null) ? null : msg.book();
+        String isbn = (book == null) ? null : book.isbn();
+        if (isbn == null || isbn.isBlank()) {
+            throw new WorkerProcessingException(
+                    WorkerProcessingException.ErrorCode.INVALID_MESSAGE,
+                    "BookUpsertMessage.book.isbn is null/blank"
+            );
+        }
+        return isbn;
+    }
+
+    static void requireText(String text) {
+        if (text == null || text.isBlank()) {
+            throw new WorkerProcessingException(
+                    WorkerProcessingException.ErrorCode.INVALID_MESSAGE,
+                    "Embedding input text is blank (title/author/publisher/description are all empty?)"
+            );
+        }
+    }
+
+    // 핵심: ES에 빈 embedding(0차원) 보내지 못하게 차단
+    static void requireEmbedding(List<Float> vec) {
+        if (vec == null || vec.isEmpty()) {
+            throw new WorkerProcessingException(
+                    WorkerProcessingException.ErrorCode.EMBEDDING_FAILED,
+                    "Embedding is empty (size=0). Check embedding server response."
+            );
+        }
+        if (vec.size() != EXPECTED_EMBEDDING_DIMS) {
+            throw new WorkerProcessingException(
+                    WorkerProcessingException.ErrorCode.EMBEDDING_FAILED,
+                    "Embedding dimension mismatch: got=" + vec.size() + ", expected=" + EXPECTED_EMBEDDING_DIMS
+            );
+        }
+    }
+
+    // 임베딩 입력이 그대로인 경우: embedding / embedding_fingerprint를 빼고 나머지 필드만 갱신
+    static BookUpsertDoc toDocKeepingEmbedding(String isbn, BookUpsertMessage.BookPayload book) {
+        return toDoc(isbn, book, null, null);
+    }
+
+    public static BookUpsertDoc toDoc(String isbn, BookUpsertMessage.BookPayload book, List<Float> vec, String fingerprint) {
+        return new BookUpsertDoc(
+                isbn,
+                book.id(),
+                book.title(),
+                book.author(),
+                book.publisher(),
+                book.description(),
+                book.pubDate(),
+                book.price(),
+                book.categories(),
+                book.imageUrl(),
+                book.publisherId(),
+                book.categoryId(),
+                vec,
+                fingerprint
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.nhnacademy.bookssearchworker.worker.rabbit.RabbitRetryPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * upsert 실패 메시지 처리 (단건/배치 컨슈머 공통)
+ */
+@Component
+public class BookUpsertFailureHandler extends MessageFailureHandler {
+
+    public BookUpsertFailureHandler(
+            RabbitRetryPublisher retryPublisher,
+            @Value("${rabbitmq.routing.book-upsert-retry}") String retryRoutingKey,
+            @Value("${rabbitmq.routing.book-upsert-fail}") String failRoutingKey
+    ) {
+        super(retryPublisher, "BOOK_UPSERT", retryRoutingKey, failRoutingKey);
+    }
+}
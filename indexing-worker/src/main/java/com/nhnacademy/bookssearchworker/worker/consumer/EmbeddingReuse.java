@@ -0,0 +1,56 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingFingerprint;
+import com.nhnacademy.bookssearchworker.worker.es.EsBookDocumentClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 임베딩 재사용 판단 (단건/배치 컨슈머 공통)
+ *
+ * upsert 대부분은 가격/카테고리/이미지 변경이라 임베딩 입력(제목/저자/출판사/설명)이 그대로다.
+ * 메시지의 임베딩 입력 지문이 ES 문서에 저장된 지문과 같으면 임베딩을 건너뛰고 기존 벡터를 유지한다.
+ * 지문은 벡터와 같이만 저장되므로, 지문이 있는 문서는 그 지문에 해당하는 벡터를 갖고 있다.
+ *
+ * app.worker.skip-unchanged-embedding (true) : false면 항상 다시 임베딩
+ */
+@Slf4j
+@Component
+public class EmbeddingReuse {
+
+    private final EsBookDocumentClient es;
+    private final EmbeddingFingerprint fingerprint;
+    private final boolean enabled;
+
+    public EmbeddingReuse(
+            EsBookDocumentClient es,
+            EmbeddingFingerprint fingerprint,
+            @Value("${app.worker.skip-unchanged-embedding:true}") boolean enabled
+    ) {
+        this.es = es;
+        this.fingerprint = fingerprint;
+        this.enabled = enabled;
+    }
+
+    public String fingerprint(String text) {
+        return fingerprint.of(text);
+    }
+
+    /**
+     * 저장된 지문 (isbn -> 지문)
+     * 조회가 실패하면 빈 맵 -> 전부 다시 임베딩 (지문 확인 때문에 색인이 막히지 않게)
+     */
+    public Map<String, String> storedFingerprints(Collection<String> isbns) {
+        if (!enabled) return Map.of();
+        try {
+            return es.findEmbeddingFingerprints(isbns);
+        } catch (Exception e) {
+            log.warn("[EmbeddingReuse] fingerprint lookup failed size={}, cause={}", isbns.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.nhnacademy.bookssearchworker.worker.es.BulkItemResult;
+import com.nhnacademy.bookssearchworker.worker.exception.WorkerProcessingException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * BulkIndexer 결과 -> 메시지 처리 결과 (실패는 ES_ERROR로 재시도/DLQ)
+ */
+final class IndexResults {
+
+    private IndexResults() {}
+
+    static void require(String isbn, CompletableFuture<BulkItemResult> future) throws InterruptedException {
+        BulkItemResult result;
+        try {
+            result = future.get();
+        } catch (ExecutionException e) {
+            throw new WorkerProcessingException(
+                    WorkerProcessingException.ErrorCode.ES_ERROR,
+                    "bulk request failed isbn=" + isbn + ", cause=" + e.getCause().getMessage(),
+                    e.getCause()
+            );
+        }
+        if (!result.isSuccess()) {
+            throw new WorkerProcessingException(
+                    WorkerProcessingException.ErrorCode.ES_ERROR,
+                    "bulk item failed isbn=" + isbn + ", status=" + result.status() + ", error=" + result.error()
+            );
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ISBN별 순서를 지키는 병렬 처리 (단건 upsert / delete 컨슈머 공통)
+ *
+ * 리스너 스레드는 메시지를 ISBN 해시로 고른 stripe(단일 스레드)에 넘기고 바로 다음 메시지를 받는다.
+ * 같은 ISBN은 항상 같은 stripe에서 도착 순서대로 처리되고(upsert 큐와 delete 큐 사이도 직렬화),
+ * 다른 ISBN끼리는 stripe 수만큼 동시에 처리된다.
+ * 동시에 처리 중인 메시지 수는 리스너 prefetch로 제한된다 (ack 전까지 브로커가 더 보내지 않음).
+ * ack/재시도 발행은 stripe 스레드에서 하며, basicAck는 단일 프레임이라 채널을 공유해도 안전하다.
+ *
+ * 몰아 처리(UpsertCoalescer)가 켜져 있으면 stripes=1이어도 stripe 스레드를 하나 둔다:
+ * 잡아 둔 upsert를 타이머 스레드에서 임베딩/ES 쓰기까지 하지 않고, 같은 isbn의 delete와 한 줄로 처리하기 위해서다.
+ *
+ * app.worker.parallel.stripes (1) : 1이면 리스너 스레드에서 바로 처리 (기존 동작, 몰아 처리가 꺼져 있을 때)
+ */
+@Slf4j
+@Component
+public class IsbnStripedExecutor implements DisposableBean {
+
+    private final ExecutorService[] stripes;
+    // stripe에 넘겼지만 아직 끝나지 않은 작업 수 (재색인 전 리스너를 멈추고 남은 쓰기를 기다릴 때)
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public IsbnStripedExecutor(int stripeCount) {
+        this(stripeCount, 0);
+    }
+
+    @Autowired
+    public IsbnStripedExecutor(
+            @Value("${app.worker.parallel.stripes:1}") int stripeCount,
+            @Value("${app.worker.coalesce.delay-ms:0}") long coalesceDelayMs
+    ) {
+        int threads = (stripeCount > 1) ? stripeCount : (coalesceDelayMs > 0 ? 1 : 0);
+        this.stripes = new ExecutorService[threads];
+        for (int i = 0; i < threads; i++) {
+            this.stripes[i] = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("worker-stripe-" + i).factory());
+        }
+        if (threads > 0) log.info("[IsbnStripedExecutor] stripes={}", threads);
+    }
+
+    public void execute(String isbn, Runnable task) {
+        if (stripes.length == 0) {
+            task.run();
+            return;
+        }
+        // isbn이 없는 메시지(검증 실패 예정)는 0번 stripe
+        int index = (isbn == null) ? 0 : Math.floorMod(isbn.hashCode(), stripes.length);
+        inFlight.incrementAndGet();
+        try {
+            stripes[index].execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            throw e;
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int stripeCount() {
+        return Math.max(1, stripes.length);
+    }
+
+    // 리스너 컨테이너가 먼저 멈춘 뒤 호출된다. 받은 메시지는 끝까지 처리 (못 끝낸 건 ack 전이라 재전달)
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ExecutorService stripe : stripes) stripe.shutdown();
+        for (ExecutorService stripe : stripes) {
+            if (!stripe.awaitTermination(30, TimeUnit.SECONDS)) stripe.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.nhnacademy.bookssearchworker.resilience.DependencyUnavailableException;
+import com.nhnacademy.bookssearchworker.worker.exception.WorkerProcessingException;
+import com.nhnacademy.bookssearchworker.worker.rabbit.RabbitRetryPublisher;
+import com.rabbitmq.client.Channel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+
+import java.io.IOException;
+
+/**
+ * 실패 메시지 처리 (컨슈머 공통, 메시지 종류별 재시도/DLQ routing key만 다르다)
+ * 재시도 횟수가 남았으면 단계 대기 큐를 거쳐 재시도, 아니면 DLQ로 보내고 원본은 ack 한다.
+ * 메시지 종류별 빈: BookUpsertFailureHandler / BookDeleteFailureHandler / BookFieldUpdateFailureHandler
+ */
+@Slf4j
+public class MessageFailureHandler {
+
+    private final RabbitRetryPublisher retryPublisher;
+    private final String tag;
+    private final String retryRoutingKey;
+    private final String failRoutingKey;
+
+    protected MessageFailureHandler(RabbitRetryPublisher retryPublisher, String tag, String retryRoutingKey, String failRoutingKey) {
+        this.retryPublisher = retryPublisher;
+        this.tag = tag;
+        this.retryRoutingKey = retryRoutingKey;
+        this.failRoutingKey = failRoutingKey;
+    }
+
+    public void handle(Message amqpMessage, Channel channel, long deliveryTag, Exception e) throws IOException {
+        int retryCount = retryPublisher.getRetryCount(amqpMessage.getMessageProperties());
+        WorkerProcessingException wpe = wrap(e);
+
+        if (retryCount < RabbitRetryPublisher.MAX_RETRY_COUNT) {
+            int next = retryCount + 1;
+            // 재시도 횟수/에러 코드별 지연 (서킷 오픈/과부하는 더 길게, RetryBackoff)
+            retryPublisher.toRetry(amqpMessage, retryRoutingKey, next, wpe.getErrorCode());
+            channel.basicAck(deliveryTag, false);
+            log.warn("[{}] failed -> retry rk={}, nextRetry={}, cause={}", tag, retryRoutingKey, next, wpe.getMessage());
+        } else {
+            retryPublisher.toDlq(amqpMessage, failRoutingKey, wpe);
+            channel.basicAck(deliveryTag, false);
+            log.error("[{}] failed -> dlq rk={}, retries={}, cause={}", tag, failRoutingKey, retryCount, wpe.getMessage(), wpe);
+        }
+    }
+
+    static WorkerProcessingException wrap(Exception e) {
+        if (e instanceof WorkerProcessingException w) return w;
+        if (e instanceof DependencyUnavailableException d) {
+            return new WorkerProcessingException(WorkerProcessingException.ErrorCode.DOWNSTREAM_UNAVAILABLE, d.getMessage(), d);
+        }
+        return new WorkerProcessingException(WorkerProcessingException.ErrorCode.UNKNOWN, e.getMessage(), e);
+    }
+}
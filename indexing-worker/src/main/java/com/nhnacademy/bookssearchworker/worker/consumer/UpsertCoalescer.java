@@ -0,0 +1,156 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 같은 ISBN upsert 몰아서 한 번만 처리 (단건 upsert 컨슈머)
+ *
+ * 관리자 화면에서 저장을 여러 번 누르면 몇 초 안에 같은 책 upsert가 여러 건 오고, 건마다 임베딩 + ES 쓰기를 한다.
+ * ISBN별 첫 메시지가 오면 delay-ms 동안 잡아 두고, 그 사이 온 메시지로 바꿔치기한 뒤 마지막 한 건만 처리한다.
+ * 밀려난 메시지는 바로 ack (최신 메시지가 같은 책 전체를 다시 쓰므로 잃는 내용이 없다).
+ * - 창은 첫 메시지 기준으로 고정 (계속 저장해도 delay-ms마다 한 번은 반영)
+ * - 둘 다 ts가 있으면 ts가 더 큰 쪽이 남는다 (늦게 도착한 옛 메시지가 최신을 밀어내지 않음)
+ * - 삭제가 오면 그보다 오래된 대기 upsert는 버린다 (discard)
+ * - 잡아 둔 메시지는 ack 전이라 prefetch를 차지한다 (편집 중인 ISBN 수만큼)
+ * - 종료 시 잡아 둔 메시지는 처리하지 않는다 (ack 전이라 채널이 닫히면 재전달)
+ * - 창이 끝나면 task는 stripe에 넘기기만 한다 (IsbnStripedExecutor가 몰아 처리 중엔 항상 stripe 스레드를 둠):
+ *   타이머 스레드는 다른 창을 제때 닫을 수 있고, 같은 isbn의 delete와 같은 stripe에서 순서대로 처리된다
+ *
+ * app.worker.coalesce.delay-ms (0) : 0이면 몰아 처리하지 않고 바로 실행 (기존 동작)
+ */
+@Slf4j
+@Component
+public class UpsertCoalescer implements DisposableBean {
+
+    // 잡아 둔 메시지 한 건 (task가 실제 처리)
+    private record Held(long ts, Channel channel, long deliveryTag, Runnable task) {}
+
+    private final long delayMs;
+    private final ConcurrentHashMap<String, Held> held = new ConcurrentHashMap<>();
+    // 창에서 꺼내 stripe에 넘기는 중인 건수 (heldCount에 포함: 재색인 전 대기에서 빠지지 않도록)
+    private final AtomicInteger firing = new AtomicInteger();
+    private final ScheduledExecutorService timer;
+    private final Counter supersededCounter;
+
+    @Autowired
+    public UpsertCoalescer(
+            @Value("${app.worker.coalesce.delay-ms:0}") long delayMs,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this(delayMs, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    UpsertCoalescer(long delayMs, MeterRegistry registry) {
+        this.delayMs = delayMs;
+        this.timer = (delayMs <= 0) ? null
+                : Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("upsert-coalescer").daemon().factory());
+        this.supersededCounter = Counter.builder("worker.coalesce.superseded").register(registry);
+        Gauge.builder("worker.coalesce.held", held, ConcurrentHashMap::size).register(registry);
+        if (timer != null) log.info("[UpsertCoalescer] delayMs={}", delayMs);
+    }
+
+    /**
+     * isbn의 마지막 메시지만 delay-ms 뒤 실행 (isbn이 없거나 꺼져 있으면 바로 실행)
+     * task는 처리 + ack를 책임지고, 밀려난 메시지는 여기서 ack 한다.
+     */
+    public void submit(String isbn, long ts, Channel channel, long deliveryTag, Runnable task) {
+        if (timer == null || isbn == null || isbn.isBlank()) {
+            task.run();
+            return;
+        }
+
+        Held incoming = new Held(ts, channel, deliveryTag, task);
+        Held[] superseded = new Held[1];
+        held.compute(isbn, (key, current) -> {
+            if (current == null) {
+                timer.schedule(() -> fire(key), delayMs, TimeUnit.MILLISECONDS);
+                return incoming;
+            }
+            if (isOlder(incoming.ts(), current.ts())) {
+                superseded[0] = incoming;
+                return current;
+            }
+            superseded[0] = current;
+            return incoming;
+        });
+
+        if (superseded[0] != null) ackSuperseded(isbn, superseded[0]);
+    }
+
+    /**
+     * 삭제 메시지가 오면 ts가 그보다 오래된(또는 ts가 없는) 대기 upsert를 버린다
+     * 버리지 않으면 삭제 뒤에 옛 upsert가 실행돼 문서가 다시 생긴다.
+     */
+    public void discard(String isbn, long deleteTs) {
+        if (timer == null || isbn == null) return;
+
+        Held[] dropped = new Held[1];
+        held.computeIfPresent(isbn, (key, current) -> {
+            if (isOlder(deleteTs, current.ts())) return current;
+            dropped[0] = current;
+            return null;
+        });
+
+        if (dropped[0] != null) ackSuperseded(isbn, dropped[0]);
+    }
+
+    // 잡아 두었거나 stripe에 넘기는 중인 메시지 수 (넘긴 뒤에는 IsbnStripedExecutor.inFlight로 잡힌다)
+    public int heldCount() {
+        return held.size() + firing.get();
+    }
+
+    private void fire(String isbn) {
+        firing.incrementAndGet();
+        try {
+            Held survivor = held.remove(isbn);
+            if (survivor == null) return;
+            survivor.task().run();
+        } catch (Exception e) {
+            // task 안에서 실패 처리까지 하므로 여기까지 오면 처리 전달 실패 (ack 전이라 재전달)
+            log.error("[UpsertCoalescer] task failed isbn={}, cause={}", isbn, e.getMessage(), e);
+        } finally {
+            firing.decrementAndGet();
+        }
+    }
+
+    // 둘 다 ts가 있을 때만 비교, 아니면 나중에 온 쪽이 최신
+    private static boolean isOlder(long ts, long than) {
+        return ts > 0 && than > 0 && ts < than;
+    }
+
+    private void ackSuperseded(String isbn, Held superseded) {
+        supersededCounter.increment();
+        try {
+            superseded.channel().basicAck(superseded.deliveryTag(), false);
+            log.info("[UpsertCoalescer] superseded isbn={}, deliveryTag={}", isbn, superseded.deliveryTag());
+        } catch (Exception e) {
+            // ack 실패: 채널이 닫히면 재전달되고, ts 비교로 최신 문서를 덮지 않는다
+            log.warn("[UpsertCoalescer] superseded ack failed isbn={}, cause={}", isbn, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (timer == null) return;
+        timer.shutdownNow();
+        int left = held.size();
+        held.clear();
+        if (left > 0) log.info("[UpsertCoalescer] shutdown, {} held message(s) left for redelivery", left);
+    }
+}
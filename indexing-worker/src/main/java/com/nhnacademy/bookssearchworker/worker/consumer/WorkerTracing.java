@@ -0,0 +1,93 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 워커 메시지 처리 트레이싱
+ *
+ * 리스너 스팬(RabbitMQ 헤더의 traceparent를 이어받음) 아래에
+ * 처리 단계별 worker.stage{stage} 스팬을 만들고, isbn/requestId를 태그로 남긴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkerTracing {
+
+    private final ObservationRegistry observationRegistry;
+
+    @FunctionalInterface
+    public interface Step<T> {
+        T run() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface VoidStep {
+        void run() throws Exception;
+    }
+
+    // 현재 처리 중인 메시지(리스너 스팬)에 식별자 태그 추가
+    public void tagMessage(String isbn, String requestId) {
+        Observation current = observationRegistry.getCurrentObservation();
+        if (current == null) return;
+        current.highCardinalityKeyValue("book.isbn", nullToEmpty(isbn));
+        current.highCardinalityKeyValue("book.request-id", nullToEmpty(requestId));
+    }
+
+    public <T> T stage(String stage, String isbn, String requestId, Step<T> step) throws Exception {
+        Observation observation = Observation.createNotStarted("worker.stage", observationRegistry)
+                .contextualName("worker." + stage)
+                .lowCardinalityKeyValue("stage", stage)
+                .highCardinalityKeyValue("book.isbn", nullToEmpty(isbn))
+                .highCardinalityKeyValue("book.request-id", nullToEmpty(requestId))
+                .start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            return step.run();
+        } catch (Exception e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    public void stage(String stage, String isbn, String requestId, VoidStep step) throws Exception {
+        stage(stage, isbn, requestId, () -> {
+            step.run();
+            return null;
+        });
+    }
+
+    // 다른 스레드(IsbnStripedExecutor)에서 이어 처리해도 단계 스팬이 리스너 스팬 아래에 남도록 현재 컨텍스트를 넘긴다
+    public Runnable propagate(Runnable task) {
+        Observation current = observationRegistry.getCurrentObservation();
+        if (current == null) return task;
+        return () -> {
+            try (Observation.Scope ignored = current.openScope()) {
+                task.run();
+            }
+        };
+    }
+
+    // 배치 처리 단계: 메시지 여러 건을 한 번에 처리하므로 isbn 대신 건수를 태그로 남긴다
+    public <T> T batchStage(String stage, int size, Step<T> step) throws Exception {
+        Observation observation = Observation.createNotStarted("worker.stage", observationRegistry)
+                .contextualName("worker." + stage)
+                .lowCardinalityKeyValue("stage", stage)
+                .highCardinalityKeyValue("batch.size", String.valueOf(size))
+                .start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            return step.run();
+        } catch (Exception e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+}
@@ -0,0 +1,43 @@
+package com.nhnacademy.bookssearchworker.worker.embedding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 임베딩 입력의 지문 (SHA-256(모델명 + 입력 텍스트))
+ *
+ * ES 문서에 벡터와 같이 저장해 두고(embedding_fingerprint), 다음 upsert의 지문이 같으면
+ * 임베딩 호출 없이 나머지 필드만 갱신한다 (가격/카테고리/이미지만 바뀐 경우).
+ * 모델을 바꾸면 지문도 달라져 다시 임베딩된다.
+ */
+@Component
+public class EmbeddingFingerprint {
+
+    private final String model;
+
+    public EmbeddingFingerprint(@Value("${app.ai.embedding-model}") String model) {
+        this.model = model;
+    }
+
+    public String of(String text) {
+        return of(model, text);
+    }
+
+    // 다른 모델 기준 지문 (재임베딩 작업이 새 모델로 만든 벡터에 붙인다)
+    public String of(String model, String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -4,12 +4,18 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.nhnacademy.bookssearchworker.worker.message.BookUpsertMessage;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * ES 문서 / 메시지 -> 임베딩 입력 텍스트 생성(SRP)
  */
 @Component
 public class EmbeddingTextBuilder {
 
+    // build(JsonNode)가 읽는 ES 문서 필드 (스캔할 때 _source를 이 필드만 받는다)
+    public static final List<String> SOURCE_FIELDS =
+            List.of("title", "author", "publisher", "description", "reviewSummary", "review_content");
+
     public String build(JsonNode src) {
         if (src == null || src.isNull()) return "";
 
@@ -0,0 +1,203 @@
+package com.nhnacademy.bookssearchworker.worker.embedding;
+
+import com.nhnacademy.bookssearchworker.resilience.Dependency;
+import com.nhnacademy.bookssearchworker.resilience.DependencyGuard;
+import com.nhnacademy.bookssearchworker.resilience.DependencyGuardRegistry;
+import com.nhnacademy.bookssearchworker.resilience.DownstreamWebClients;
+import com.nhnacademy.bookssearchworker.resilience.HedgingPolicy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class OllamaEmbeddingClient {
+
+    private final DownstreamWebClients webClients;
+    private final DependencyGuardRegistry guards;
+
+    @Value("${app.ai.embedding-url}")
+    private String embeddingUrl;
+
+    // 헤지 요청을 보낼 임베딩 엔드포인트 (비어 있으면 embeddingUrl 재사용)
+    @Value("${app.ai.embedding-hedge-url:}")
+    private String embeddingHedgeUrl;
+
+    // 여러 문장을 한 번에 임베딩하는 엔드포인트 (Ollama /api/embed, input 배열). 비어 있으면 한 건씩 embed()
+    @Value("${app.ai.embedding-batch-url:}")
+    private String embeddingBatchUrl;
+
+    @Value("${app.ai.embedding-model}")
+    private String model;
+
+    // 너희 ES mapping이 1024라면 이 값도 같이 맞춰서 강제 검증
+    @Value("${app.ai.embedding-dim:1024}")
+    private int expectedDim;
+
+    public List<Float> embed(String text) {
+        return embed(text, model, expectedDim);
+    }
+
+    // 설정과 다른 모델/차원으로 임베딩 (재임베딩 작업용)
+    public List<Float> embed(String text, String model, int expectedDim) {
+        if (text == null) text = "";
+
+        // Ollama embeddings는 prompt 키가 맞는 환경
+        Map<String, Object> body = Map.of(
+                "model", model,
+                "prompt", text
+        );
+
+        // 타임아웃은 관측 p99 기반(상한 app.ai.timeout.embedding-seconds),
+        // 헤지가 켜져 있으면 p95 안에 응답이 없을 때 두 번째 요청을 보낸다.
+        // 서킷이 열렸거나 동시 호출 한도를 넘으면 DependencyUnavailableException (-> consumer가 지연 재시도)
+        DependencyGuard guard = guards.get(Dependency.EMBEDDING_WORKER);
+        HedgingPolicy hedging = guards.hedging(Dependency.EMBEDDING_WORKER);
+        String hedgeUrl = (embeddingHedgeUrl == null || embeddingHedgeUrl.isBlank()) ? embeddingUrl : embeddingHedgeUrl;
+
+        Map<String, Object> resp = hedging
+                .hedge(() -> request(embeddingUrl, body).transform(guard::timed),
+                        () -> request(hedgeUrl, body).transform(guard::timed))
+                .transform(guard::protect)
+                .block();
+
+        if (resp == null) {
+            throw new IllegalStateException("embedding response is null");
+        }
+
+        List<Float> vec = parseEmbedding(resp);
+
+        // 길이 검증 (여기서 걸러서 ES 400 재시도 지옥 방지)
+        if (vec == null || vec.isEmpty()) {
+            throw new IllegalStateException("embedding is empty");
+        }
+        if (expectedDim > 0 && vec.size() != expectedDim) {
+            throw new IllegalStateException("embedding dimension mismatch: got=" + vec.size() + ", expected=" + expectedDim);
+        }
+
+        return vec;
+    }
+
+    /**
+     * 여러 텍스트를 한 번의 호출로 임베딩 (배치 색인용)
+     * 결과는 입력 순서와 같고, 개수나 차원이 맞지 않으면 배치 전체를 실패로 본다.
+     * 배치 호출은 무거워서 헤지하지 않고, 타임아웃/서킷/동시 호출 제한만 적용한다.
+     * 단건과 응답 시간 분포가 달라 guard를 따로 쓴다 (EMBEDDING_WORKER_BATCH, app.resilience.embedding-worker-batch.*):
+     * 단건 p99로 배치 타임아웃을 잡거나, 배치 실패로 단건 서킷이 열리거나, 배치 응답 시간이 단건 헤지 기준을 흔들지 않도록
+     */
+    public List<List<Float>> embedAll(List<String> texts) {
+        return embedAll(texts, model, expectedDim);
+    }
+
+    public List<List<Float>> embedAll(List<String> texts, String model, int expectedDim) {
+        if (texts.isEmpty()) return List.of();
+        if (embeddingBatchUrl == null || embeddingBatchUrl.isBlank()) {
+            return texts.stream().map(t -> embed(t, model, expectedDim)).toList();
+        }
+
+        List<String> input = texts.stream().map(t -> t == null ? "" : t).toList();
+        Map<String, Object> body = Map.of(
+                "model", model,
+                "input", input
+        );
+
+        DependencyGuard guard = guards.get(Dependency.EMBEDDING_WORKER_BATCH);
+        Map<String, Object> resp = request(embeddingBatchUrl, body)
+                .transform(guard::timed)
+                .transform(guard::protect)
+                .block();
+
+        if (resp == null) {
+            throw new IllegalStateException("embedding response is null");
+        }
+
+        List<List<Float>> vectors = parseEmbeddings(resp);
+        if (vectors.size() != texts.size()) {
+            throw new IllegalStateException("embedding count mismatch: got=" + vectors.size() + ", expected=" + texts.size());
+        }
+        for (List<Float> vec : vectors) {
+            if (vec.isEmpty()) {
+                throw new IllegalStateException("embedding is empty");
+            }
+            if (expectedDim > 0 && vec.size() != expectedDim) {
+                throw new IllegalStateException("embedding dimension mismatch: got=" + vec.size() + ", expected=" + expectedDim);
+            }
+        }
+        return vectors;
+    }
+
+    private Mono<Map<String, Object>> request(String url, Map<String, Object> body) {
+        return webClients.get(Dependency.EMBEDDING_WORKER).post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {});
+    }
+
+    // package-private: benchmarks 모듈에서 직접 측정
+    @SuppressWarnings("unchecked")
+    static List<Float> parseEmbedding(Map<String, Object> resp) {
+        // 케이스1) { "embedding": [...] }
+        if (resp.containsKey("embedding")) {
+            Object raw = resp.get("embedding");
+            if (raw instanceof List<?> list) {
+                return list.stream()
+                        .map(x -> ((Number) x).floatValue())
+                        .toList();
+            }
+        }
+
+        // 케이스2) { "data": [ { "embedding": [...] } ] }
+        if (resp.containsKey("data")) {
+            Object raw = resp.get("data");
+            if (raw instanceof List<?> data && !data.isEmpty()) {
+                Object first = data.get(0);
+                if (first instanceof Map<?, ?> m) {
+                    Object emb = m.get("embedding");
+                    if (emb instanceof List<?> list) {
+                        return list.stream()
+                                .map(x -> ((Number) x).floatValue())
+                                .toList();
+                    }
+                }
+            }
+        }
+
+        throw new IllegalStateException("Unknown embedding response schema: " + resp.keySet());
+    }
+
+    static List<List<Float>> parseEmbeddings(Map<String, Object> resp) {
+        // 케이스1) Ollama /api/embed { "embeddings": [[...], [...]] }
+        if (resp.get("embeddings") instanceof List<?> list) {
+            return list.stream()
+                    .map(OllamaEmbeddingClient::toFloats)
+                    .toList();
+        }
+
+        // 케이스2) { "data": [ { "embedding": [...] }, ... ] }
+        if (resp.get("data") instanceof List<?> data) {
+            return data.stream()
+                    .map(item -> item instanceof Map<?, ?> m ? m.get("embedding") : null)
+                    .map(OllamaEmbeddingClient::toFloats)
+                    .toList();
+        }
+
+        throw new IllegalStateException("Unknown embedding response schema: " + resp.keySet());
+    }
+
+    private static List<Float> toFloats(Object raw) {
+        if (!(raw instanceof List<?> list)) {
+            throw new IllegalStateException("embedding is not an array");
+        }
+        return list.stream()
+                .map(x -> ((Number) x).floatValue())
+                .toList();
+    }
+}
@@ -1,10 +1,13 @@
 package com.nhnacademy.bookssearchworker.worker.es;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDate;
 import java.util.List;
 
 /**
  * ES upsert용 도서 문서
+ * embedding / embedding_fingerprint가 null이면 필드를 빼고 보낸다 (임베딩 입력이 그대로면 기존 벡터 유지)
  */
 public record BookUpsertDoc(
         String isbn,
@@ -19,5 +22,6 @@ public record BookUpsertDoc(
         String image_url,
         Long publisherId,
         Long categoryId,
-        List<Float> embedding
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<Float> embedding,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String embedding_fingerprint
 ) {}
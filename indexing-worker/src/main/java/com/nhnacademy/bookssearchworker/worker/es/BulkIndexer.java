@@ -0,0 +1,342 @@
+package com.nhnacademy.bookssearchworker.worker.es;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.client.ResponseException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ES 쓰기(upsert/delete)를 모아 _bulk로 보내는 색인기
+ *
+ * 컨슈머는 upsert/delete로 작업을 넣고 돌려받은 future로 자기 문서의 결과(BulkItemResult)를 기다린다.
+ * 전용 스레드 하나가 버퍼를 비우며, 한 번에 _bulk 요청 하나만 보낸다.
+ * - 플러시: 현재 배치 한도(건수) / max-bytes / 가장 오래된 작업이 flush-interval-ms 지남 중 먼저 오는 것
+ * - 배치 한도 조정 (AIMD)
+ *   429(es_rejected_execution_exception)가 하나라도 있으면 절반, 응답이 target-latency-ms 보다 느리면 0.8배,
+ *   한도를 꽉 채운 배치가 빨리 끝나면 10%씩 늘린다 (min-actions ~ max-actions)
+ * - 429로 거절된 작업은 버퍼 맨 앞에 다시 넣고 rejected-backoff-ms * 시도 횟수만큼 쉬었다가 보낸다.
+ *   rejected-retries번 넘게 거절되면 429 결과를 그대로 돌려준다 (메시지 재시도/DLQ는 컨슈머 몫)
+ * - 버퍼에 max-pending건이 쌓이면 넣는 쪽(리스너 스레드)이 기다린다 -> 큐 소비 속도가 ES 처리량으로 제한된다
+ *
+ * 설정 (괄호는 기본값)
+ * app.worker.bulk.initial-actions (100)
+ * app.worker.bulk.min-actions (10)
+ * app.worker.bulk.max-actions (1000)
+ * app.worker.bulk.max-bytes (5242880)
+ * app.worker.bulk.flush-interval-ms (20)
+ * app.worker.bulk.target-latency-ms (1000)
+ * app.worker.bulk.max-pending (5000)
+ * app.worker.bulk.rejected-retries (3)
+ * app.worker.bulk.rejected-backoff-ms (200)
+ *
+ * 지표: worker.bulk.requests(타이머), worker.bulk.rejected(거절된 작업 수), worker.bulk.limit / worker.bulk.pending(게이지),
+ *       worker.bulk.stale(저장된 문서보다 오래된 메시지라 noop 처리된 쓰기)
+ */
+@Slf4j
+@Component
+public class BulkIndexer implements DisposableBean {
+
+    private static final String REJECTED_ERROR = "es_rejected_execution_exception: bulk request rejected";
+
+    record Settings(
+            int initialActions,
+            int minActions,
+            int maxActions,
+            long maxBytes,
+            long flushIntervalMs,
+            long targetLatencyMs,
+            int maxPending,
+            int rejectedRetries,
+            long rejectedBackoffMs
+    ) {}
+
+    // 버퍼에 들어간 작업 한 건 (attempts: 429로 거절된 횟수)
+    private record Entry(BulkOperation op, CompletableFuture<BulkItemResult> future, long enqueuedNanos, int attempts) {
+        Entry retried() {
+            return new Entry(op, future, System.nanoTime(), attempts + 1);
+        }
+    }
+
+    private final EsBookDocumentClient es;
+    private final Settings settings;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushable = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<Entry> buffer = new ArrayDeque<>();
+    private long bufferedBytes;
+    private boolean running = true;
+
+    // 플러시 스레드만 바꾼다
+    private volatile int limit;
+
+    private final Timer bulkTimer;
+    private final Counter rejectedCounter;
+    private final Counter staleCounter;
+    private final Thread flusher;
+
+    @Autowired
+    public BulkIndexer(
+            EsBookDocumentClient es,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.worker.bulk.initial-actions:100}") int initialActions,
+            @Value("${app.worker.bulk.min-actions:10}") int minActions,
+            @Value("${app.worker.bulk.max-actions:1000}") int maxActions,
+            @Value("${app.worker.bulk.max-bytes:5242880}") long maxBytes,
+            @Value("${app.worker.bulk.flush-interval-ms:20}") long flushIntervalMs,
+            @Value("${app.worker.bulk.target-latency-ms:1000}") long targetLatencyMs,
+            @Value("${app.worker.bulk.max-pending:5000}") int maxPending,
+            @Value("${app.worker.bulk.rejected-retries:3}") int rejectedRetries,
+            @Value("${app.worker.bulk.rejected-backoff-ms:200}") long rejectedBackoffMs
+    ) {
+        this(es, new Settings(initialActions, minActions, maxActions, maxBytes, flushIntervalMs,
+                        targetLatencyMs, maxPending, rejectedRetries, rejectedBackoffMs),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    BulkIndexer(EsBookDocumentClient es, Settings settings, MeterRegistry registry) {
+        this.es = es;
+        this.settings = settings;
+        this.limit = Math.clamp(settings.initialActions(), settings.minActions(), settings.maxActions());
+
+        this.bulkTimer = Timer.builder("worker.bulk.requests").register(registry);
+        this.rejectedCounter = Counter.builder("worker.bulk.rejected").register(registry);
+        this.staleCounter = Counter.builder("worker.bulk.stale").register(registry);
+        Gauge.builder("worker.bulk.limit", this, BulkIndexer::currentLimit).register(registry);
+        Gauge.builder("worker.bulk.pending", this, BulkIndexer::pending).register(registry);
+
+        this.flusher = Thread.ofPlatform().name("es-bulk-indexer").daemon().start(this::runFlusher);
+    }
+
+    /**
+     * 문서 upsert (doc_as_upsert) 예약
+     * ts는 메시지 발행 시각: 문서에 저장된 source_ts보다 오래되면 반영되지 않는다 (결과 noop, 0이면 비교 안 함)
+     */
+    public CompletableFuture<BulkItemResult> upsert(String isbnId, Object partialDoc, long ts) throws Exception {
+        return enqueue(es.upsertOperation(isbnId, partialDoc, ts));
+    }
+
+    /**
+     * 있는 문서의 일부 필드만 갱신 예약 (벡터 등 나머지 필드는 그대로, 문서가 없으면 404 실패 결과)
+     * ts는 필드별로 저장된 시각(field_ts)과 비교한다 (더 최신 필드는 건너뜀, 모두 건너뛰면 noop)
+     */
+    public CompletableFuture<BulkItemResult> update(String isbnId, Map<String, Object> fields, long ts) throws Exception {
+        return enqueue(es.partialUpdateOperation(isbnId, fields, ts));
+    }
+
+    /**
+     * 문서 삭제 예약 (이미 없는 문서도 성공)
+     */
+    public CompletableFuture<BulkItemResult> delete(String isbnId, long ts) throws Exception {
+        return enqueue(es.deleteOperation(isbnId, ts));
+    }
+
+    public int currentLimit() {
+        return limit;
+    }
+
+    public int pending() {
+        lock.lock();
+        try {
+            return buffer.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CompletableFuture<BulkItemResult> enqueue(BulkOperation op) throws InterruptedException {
+        CompletableFuture<BulkItemResult> future = new CompletableFuture<>();
+        lock.lockInterruptibly();
+        try {
+            while (running && buffer.size() >= settings.maxPending()) {
+                notFull.await();
+            }
+            if (!running) {
+                throw new IllegalStateException("bulk indexer is closed");
+            }
+            buffer.addLast(new Entry(op, future, System.nanoTime(), 0));
+            bufferedBytes += op.estimatedBytes();
+            // 첫 작업(플러시 타이머 시작) 또는 한도를 채웠을 때만 깨운다
+            if (buffer.size() == 1 || buffer.size() >= limit || bufferedBytes >= settings.maxBytes()) {
+                flushable.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return future;
+    }
+
+    private void runFlusher() {
+        while (true) {
+            List<Entry> batch;
+            try {
+                batch = takeBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch.isEmpty()) return;
+            flush(batch);
+        }
+    }
+
+    // 플러시 조건이 될 때까지 기다렸다가 한도만큼 꺼낸다 (닫혔고 버퍼도 비었으면 빈 리스트)
+    private List<Entry> takeBatch() throws InterruptedException {
+        lock.lock();
+        try {
+            while (buffer.isEmpty()) {
+                if (!running) return List.of();
+                flushable.await();
+            }
+            long intervalNanos = TimeUnit.MILLISECONDS.toNanos(settings.flushIntervalMs());
+            while (running && buffer.size() < limit && bufferedBytes < settings.maxBytes()) {
+                long waitNanos = buffer.peekFirst().enqueuedNanos() + intervalNanos - System.nanoTime();
+                if (waitNanos <= 0) break;
+                flushable.awaitNanos(waitNanos);
+            }
+
+            List<Entry> batch = new ArrayList<>(Math.min(buffer.size(), limit));
+            long bytes = 0;
+            while (!buffer.isEmpty() && batch.size() < limit) {
+                int size = buffer.peekFirst().op().estimatedBytes();
+                // 한 건이 max-bytes보다 커도 최소 한 건은 보낸다
+                if (!batch.isEmpty() && bytes + size > settings.maxBytes()) break;
+                batch.add(buffer.pollFirst());
+                bytes += size;
+            }
+            bufferedBytes -= bytes;
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        List<BulkOperation> ops = batch.stream().map(Entry::op).toList();
+
+        long start = System.nanoTime();
+        List<BulkItemResult> results;
+        try {
+            results = es.bulk(ops);
+        } catch (Exception e) {
+            if (!isRejected(e)) {
+                log.warn("[BulkIndexer] bulk failed size={}, cause={}", batch.size(), e.getMessage());
+                batch.forEach(entry -> entry.future().completeExceptionally(e));
+                return;
+            }
+            // 요청 전체가 거절됨 (circuit_breaking 등): 모든 작업을 거절 결과로 본다
+            results = ops.stream().map(op -> new BulkItemResult(op.id(), 429, REJECTED_ERROR)).toList();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        bulkTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        // 한도를 먼저 조정한 뒤 결과를 알린다 (결과를 받은 쪽이 바로 다음 작업을 넣을 수 있다)
+        int rejected = (int) results.stream().filter(BulkItemResult::isRejected).count();
+        adjustLimit(batch.size(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rejected);
+
+        List<Entry> retry = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Entry entry = batch.get(i);
+            BulkItemResult result = results.get(i);
+            if (result.isRejected() && entry.attempts() < settings.rejectedRetries()) {
+                retry.add(entry.retried());
+            } else {
+                if (entry.op().isGuarded() && result.isNoop()) {
+                    staleCounter.increment();
+                    log.info("[BulkIndexer] stale write skipped id={}, ts={}", entry.op().id(), entry.op().version());
+                }
+                entry.future().complete(result);
+            }
+        }
+
+        rejectedCounter.increment(rejected);
+        if (!retry.isEmpty()) {
+            requeueFirst(retry);
+            int attempts = retry.stream().mapToInt(Entry::attempts).max().orElse(1);
+            backoff(settings.rejectedBackoffMs() * attempts);
+        }
+    }
+
+    private static boolean isRejected(Exception e) {
+        return e instanceof ResponseException re && re.getResponse().getStatusLine().getStatusCode() == 429;
+    }
+
+    private void adjustLimit(int batchSize, long elapsedMs, int rejected) {
+        int before = limit;
+        int after;
+        String reason;
+        if (rejected > 0) {
+            after = Math.max(settings.minActions(), before / 2);
+            reason = "rejected=" + rejected;
+        } else if (elapsedMs > settings.targetLatencyMs()) {
+            after = Math.max(settings.minActions(), (int) (before * 0.8));
+            reason = "slow " + elapsedMs + "ms";
+        } else if (batchSize >= before) {
+            after = Math.min(settings.maxActions(), before + Math.max(1, before / 10));
+            reason = "fast " + elapsedMs + "ms";
+        } else {
+            return;
+        }
+        if (after == before) return;
+        limit = after;
+        if (after < before) {
+            log.warn("[BulkIndexer] limit {} -> {} ({})", before, after, reason);
+        } else {
+            log.debug("[BulkIndexer] limit {} -> {} ({})", before, after, reason);
+        }
+    }
+
+    // 거절된 작업은 원래 순서대로 버퍼 맨 앞에 (같은 문서의 뒤 작업보다 먼저 나가야 한다)
+    private void requeueFirst(List<Entry> entries) {
+        lock.lock();
+        try {
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                Entry entry = entries.get(i);
+                buffer.addFirst(entry);
+                bufferedBytes += entry.op().estimatedBytes();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void backoff(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 남은 작업을 모두 보낸 뒤 종료 (리스너 컨테이너가 먼저 멈춰 새 작업은 더 들어오지 않는다)
+    @Override
+    public void destroy() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            flushable.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+    }
+}
@@ -0,0 +1,33 @@
+package com.nhnacademy.bookssearchworker.worker.es;
+
+/**
+ * _bulk 응답의 item 한 건 (요청 순서와 같다)
+ * - status : 문서 단위 HTTP 상태 (200/201 성공, 404 삭제 대상 없음, 429 ES 과부하로 거절, 그 외 4xx는 문서 자체 문제)
+ * - error  : 실패 시 "type: reason", 성공이면 null
+ * - result : created / updated / deleted / noop 등 (noop = 저장된 문서보다 오래된 메시지라 반영하지 않음)
+ */
+public record BulkItemResult(
+        String id,
+        int status,
+        String error,
+        String result
+) {
+    public BulkItemResult(String id, int status, String error) {
+        this(id, status, error, null);
+    }
+
+    // ES가 error를 붙이지 않은 item은 성공 (이미 없는 문서 삭제(404 not_found)도 결과적으로 지워진 상태)
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    // 스크립트가 ctx.op = 'noop'으로 건너뜀 (오래된 메시지)
+    public boolean isNoop() {
+        return "noop".equals(result);
+    }
+
+    // 쓰기 스레드 풀 포화(es_rejected_execution_exception): 문서 문제가 아니라 잠시 뒤 다시 보내면 된다
+    public boolean isRejected() {
+        return status == 429;
+    }
+}
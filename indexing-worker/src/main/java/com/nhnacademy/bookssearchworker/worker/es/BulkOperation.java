@@ -0,0 +1,57 @@
+package com.nhnacademy.bookssearchworker.worker.es;
+
+/**
+ * _bulk 요청의 작업 한 건 (EsBookDocumentClient.upsertOperation / deleteOperation 으로 만든다)
+ * body는 미리 직렬화한 본문 줄 (DELETE는 null). 버퍼 크기(바이트) 계산과 NDJSON 조립에 그대로 쓴다.
+ * version은 메시지 ts (0이면 순서 비교 없이 무조건 반영)
+ * shadowBody는 재색인 중 새 인덱스에 보낼 본문 (null이면 body와 같음)
+ */
+public record BulkOperation(
+        Action action,
+        String id,
+        String body,
+        long version,
+        String shadowBody
+) {
+    public BulkOperation(Action action, String id, String body) {
+        this(action, id, body, 0);
+    }
+
+    public BulkOperation(Action action, String id, String body, long version) {
+        this(action, id, body, version, null);
+    }
+
+    // 새 인덱스 쪽 본문
+    @Override
+    public String shadowBody() {
+        return shadowBody == null ? body : shadowBody;
+    }
+
+    public enum Action {
+        UPDATE("update"),
+        DELETE("delete"),
+        // source_ts 비교 스크립트로 tombstone을 남기는 _update (없는 문서에도 tombstone을 만든다)
+        GUARDED_DELETE("update");
+
+        private final String key;
+
+        Action(String key) {
+            this.key = key;
+        }
+
+        // _bulk 액션 이름 (요청/응답 JSON 키)
+        public String key() {
+            return key;
+        }
+    }
+
+    // 저장된 문서보다 오래된 메시지면 ES에서 noop 처리되는 조건부 쓰기
+    public boolean isGuarded() {
+        return version > 0;
+    }
+
+    // 액션 줄(_index/_id) 몫을 더한 대략적인 요청 크기
+    public int estimatedBytes() {
+        return 64 + id.length() + (body == null ? 0 : body.length());
+    }
+}
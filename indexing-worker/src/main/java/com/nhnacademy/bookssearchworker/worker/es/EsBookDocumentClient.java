@@ -0,0 +1,315 @@
+package com.nhnacademy.bookssearchworker.worker.es;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EsBookDocumentClient {
+
+    private final RestClient restClient;
+    private final ObjectMapper om;
+
+    private static final String EMBEDDING_FINGERPRINT = "embedding_fingerprint";
+    private static final String SOURCE_TS = "source_ts";
+    // 삭제 표시(tombstone): 문서 대신 {deleted: true, source_ts}만 남겨 삭제 시각을 기억한다 (검색에서 제외)
+    public static final String DELETED = "deleted";
+
+    /*
+     * 쓰기 시각은 두 가지로 나눠 저장한다
+     * source_ts        : 마지막 전체 upsert(내용/벡터) 시각
+     * field_ts.<필드>   : 필드 단위 변경(가격/카테고리 등)으로 마지막에 바뀐 필드별 시각
+     * 전체 upsert는 source_ts와, 필드 단위 변경은 자기 필드의 시각과만 비교한다.
+     * (t2 가격 변경 뒤에 늦게 온 t1 upsert도 제목/설명은 반영되고, 가격만 t2 값으로 남는다)
+     *
+     * 삭제는 문서를 지우지 않고 tombstone으로 바꾼다 (source_ts = 삭제 시각, 내용/벡터는 비움)
+     * 문서를 지우면 비교할 source_ts도 사라져, 재시도로 늦게 온 옛 upsert가 지운 책을 되살린다.
+     * 삭제보다 최신인 upsert가 오면 다시 일반 문서가 된다 (deleted 제거).
+     */
+
+    // 저장된 source_ts보다 오래되면 noop, 아니면 반영 + source_ts 갱신 (더 최신 필드 단위 변경이 있는 필드만 건너뜀)
+    private static final String GUARDED_UPDATE = """
+            if (ctx._source.source_ts != null && ctx._source.source_ts > params.ts) { ctx.op = 'noop'; }
+            else {
+              Map fieldTs = ctx._source.field_ts;
+              for (entry in params.doc.entrySet()) {
+                def last = fieldTs == null ? null : fieldTs.get(entry.getKey());
+                if (last == null || last <= params.ts) {
+                  ctx._source[entry.getKey()] = entry.getValue();
+                  if (last != null) { fieldTs.remove(entry.getKey()); }
+                }
+              }
+              ctx._source.source_ts = params.ts;
+              ctx._source.remove('deleted');
+            }
+            """;
+    // 필드별로 field_ts(없으면 그 값을 써 넣은 전체 upsert의 source_ts)보다 오래되면 건너뜀, 반영된 필드가 없으면 noop
+    private static final String GUARDED_FIELD_UPDATE = """
+            Map fieldTs = ctx._source.field_ts;
+            boolean applied = false;
+            for (entry in params.doc.entrySet()) {
+              def last = fieldTs == null ? null : fieldTs.get(entry.getKey());
+              if (last == null) { last = ctx._source.source_ts; }
+              if (last == null || last <= params.ts) {
+                ctx._source[entry.getKey()] = entry.getValue();
+                if (fieldTs == null) { fieldTs = new HashMap(); ctx._source.field_ts = fieldTs; }
+                fieldTs.put(entry.getKey(), params.ts);
+                applied = true;
+              }
+            }
+            if (!applied) { ctx.op = 'noop'; }
+            """;
+    // 저장된 source_ts보다 오래되면 noop, 아니면 tombstone으로 교체 (없는 문서도 scripted_upsert로 tombstone을 남긴다)
+    private static final String GUARDED_DELETE = """
+            if (ctx._source.source_ts != null && ctx._source.source_ts > params.ts) { ctx.op = 'noop'; }
+            else {
+              ctx._source.clear();
+              ctx._source.deleted = true;
+              ctx._source.source_ts = params.ts;
+            }
+            """;
+
+    @Value("${booksearch.es.index}")
+    private String index;
+
+    // 카탈로그 재색인 중인 새 인덱스: 있으면 bulk(operations)가 같은 작업을 이 인덱스에도 보낸다 (리스너를 멈추지 않는 이중 쓰기)
+    private volatile String shadowIndex;
+    // 새 인덱스 쪽 쓰기 실패 수 (재색인은 0이 아니면 alias를 옮기지 않는다)
+    private final AtomicLong shadowFailures = new AtomicLong();
+
+    public Optional<JsonNode> getSourceById(String isbnId) throws Exception {
+        Request req = new Request("GET", "/" + index + "/_source/" + isbnId);
+        Response resp = restClient.performRequest(req);
+        String json = EntityUtils.toString(resp.getEntity(), StandardCharsets.UTF_8);
+        return Optional.of(om.readTree(json));
+    }
+
+    /**
+     * 문서별로 저장된 임베딩 지문 조회 (_mget, 지문 필드만)
+     * 문서가 없거나 지문이 없는 문서(지문 도입 전 색인)는 결과에서 빠진다.
+     */
+    public Map<String, String> findEmbeddingFingerprints(Collection<String> isbnIds) throws Exception {
+        if (isbnIds.isEmpty()) return Map.of();
+
+        Request req = new Request("POST", "/" + index + "/_mget");
+        req.addParameter("_source_includes", EMBEDDING_FINGERPRINT);
+        req.addParameter("filter_path", "docs._id,docs._source");
+        req.setJsonEntity(om.writeValueAsString(Map.of("ids", isbnIds)));
+        Response resp = restClient.performRequest(req);
+
+        Map<String, String> fingerprints = new HashMap<>();
+        for (JsonNode doc : om.readTree(EntityUtils.toString(resp.getEntity(), StandardCharsets.UTF_8)).path("docs")) {
+            JsonNode fingerprint = doc.path("_source").path(EMBEDDING_FINGERPRINT);
+            if (fingerprint.isTextual()) {
+                fingerprints.put(doc.path("_id").asText(), fingerprint.asText());
+            }
+        }
+        return fingerprints;
+    }
+
+    public void updateById(String isbnId, Object partialDoc) throws Exception {
+        // doc/doc_as_upsert JSON 확정
+        String body = om.writeValueAsString(new UpdateRequest(partialDoc, true));
+
+        Request req = new Request("POST", "/" + index + "/_update/" + isbnId);
+        req.setJsonEntity(body);
+        restClient.performRequest(req);
+    }
+
+    /**
+     * upsert (doc_as_upsert)
+     * ts(메시지 발행 시각)가 있으면 저장된 source_ts보다 오래된 쓰기는 ES에서 noop 처리되는 조건부 스크립트로 보낸다.
+     * (_update는 external version을 지원하지 않아 스크립트로 비교, 같은 ts는 재시도로 보고 다시 적용)
+     */
+    public BulkOperation upsertOperation(String isbnId, Object partialDoc, long ts) throws Exception {
+        if (ts <= 0) {
+            // 순서 비교 없이 덮어쓰는 경우에도 tombstone 위라면 다시 보이게 한다
+            Map<String, Object> doc = new LinkedHashMap<>(toMap(partialDoc));
+            doc.put(DELETED, false);
+            return new BulkOperation(BulkOperation.Action.UPDATE, isbnId, om.writeValueAsString(new UpdateRequest(doc, true)));
+        }
+        Map<String, Object> doc = toMap(partialDoc);
+        Map<String, Object> upsert = new LinkedHashMap<>(doc);
+        upsert.put(SOURCE_TS, ts);
+        return new BulkOperation(BulkOperation.Action.UPDATE, isbnId, om.writeValueAsString(
+                new ScriptedUpdateRequest(new Script(GUARDED_UPDATE, Map.of("doc", doc, "ts", ts)), upsert, null)), ts);
+    }
+
+    /**
+     * 있는 문서의 일부 필드만 갱신 (upsert 아님: 문서가 없으면 404 document_missing_exception)
+     * ts가 있으면 필드마다 field_ts와 비교하고, 반영된 필드의 field_ts만 갱신한다 (source_ts는 그대로)
+     * tombstone에는 삭제보다 최신인 필드만 기록된다 (검색에는 안 보이고, 다음 upsert가 그 필드를 덮지 않는다)
+     * 재색인 중 새 인덱스에는 아직 적재 전일 수 있어 숨긴 문서(deleted=true)로 만들어 둔다 (카탈로그 적재가 나머지를 채우고 다시 보이게 함)
+     */
+    public BulkOperation partialUpdateOperation(String isbnId, Map<String, Object> fields, long ts) throws Exception {
+        if (ts <= 0) {
+            return new BulkOperation(BulkOperation.Action.UPDATE, isbnId, om.writeValueAsString(new UpdateRequest(fields, false)));
+        }
+        Script script = new Script(GUARDED_FIELD_UPDATE, Map.of("doc", fields, "ts", ts));
+        return new BulkOperation(BulkOperation.Action.UPDATE, isbnId,
+                om.writeValueAsString(new ScriptedUpdateRequest(script, null, null)), ts,
+                om.writeValueAsString(new ScriptedUpdateRequest(script, Map.of(DELETED, true), true)));
+    }
+
+    /**
+     * ts가 있으면 tombstone으로 바꾼다 (문서의 source_ts가 더 최신이면(삭제 뒤 다시 등록됨) noop)
+     * ts가 없으면 비교할 기준이 없으므로 그냥 지운다
+     */
+    public BulkOperation deleteOperation(String isbnId, long ts) throws Exception {
+        if (ts <= 0) {
+            return new BulkOperation(BulkOperation.Action.DELETE, isbnId, null);
+        }
+        return new BulkOperation(BulkOperation.Action.GUARDED_DELETE, isbnId, om.writeValueAsString(
+                new ScriptedUpdateRequest(new Script(GUARDED_DELETE, Map.of("ts", ts)), Map.of(), true)), ts);
+    }
+
+    /**
+     * 이후 bulk(operations)를 새 인덱스에도 함께 보낸다 (alias를 옮길 때까지)
+     * 새 인덱스 쪽 결과는 429면 그 작업 결과로 돌려줘 BulkIndexer가 다시 보내게 하고 (조건부 쓰기라 다시 보내도 같음),
+     * 그 밖의 실패는 shadowFailures로 센다 (404: ts 없는 부분 update/삭제의 대상이 아직 안 적재된 경우는 제외)
+     */
+    public void startShadowWrites(String targetIndex) {
+        shadowFailures.set(0);
+        shadowIndex = targetIndex;
+    }
+
+    public void stopShadowWrites() {
+        shadowIndex = null;
+    }
+
+    public long shadowFailures() {
+        return shadowFailures.get();
+    }
+
+    /**
+     * 여러 작업을 한 번의 _bulk 요청으로 보낸다 (보통 BulkIndexer를 거쳐 호출)
+     * 요청 자체가 실패하면(연결 실패, 429/5xx 응답 등) 예외, 문서 단위 실패는 결과의 status/error로 돌려준다.
+     *
+     * @return 요청 순서와 같은 순서의 문서별 결과
+     */
+    public List<BulkItemResult> bulk(List<BulkOperation> operations) throws Exception {
+        return bulk(index, shadowIndex, operations);
+    }
+
+    /**
+     * alias 대신 지정한 인덱스로 보내는 _bulk (재색인: 아직 alias가 가리키지 않는 새 인덱스 적재)
+     */
+    public List<BulkItemResult> bulk(String targetIndex, List<BulkOperation> operations) throws Exception {
+        return bulk(targetIndex, null, operations);
+    }
+
+    private List<BulkItemResult> bulk(String targetIndex, String shadow, List<BulkOperation> operations) throws Exception {
+        if (operations.isEmpty()) return List.of();
+
+        // NDJSON: 액션 줄 + 본문 줄(delete는 없음), 마지막 줄도 개행으로 끝나야 한다
+        // 이중 쓰기 중이면 작업마다 기존 인덱스 -> 새 인덱스 순으로 두 번
+        int copies = (shadow == null) ? 1 : 2;
+        StringBuilder body = new StringBuilder(operations.stream().mapToInt(BulkOperation::estimatedBytes).sum() * copies);
+        for (BulkOperation op : operations) {
+            body.append(om.writeValueAsString(Map.of(op.action().key(), new BulkTarget(targetIndex, op.id())))).append('\n');
+            if (op.body() != null) body.append(op.body()).append('\n');
+            if (shadow != null) {
+                body.append(om.writeValueAsString(Map.of(op.action().key(), new BulkTarget(shadow, op.id())))).append('\n');
+                if (op.shadowBody() != null) body.append(op.shadowBody()).append('\n');
+            }
+        }
+
+        Request req = new Request("POST", "/_bulk");
+        // 응답에서 문서별 결과 판단에 필요한 필드만 받는다 (성공 item의 _shards/_version 등 생략)
+        req.addParameter("filter_path", "items.*._id,items.*.status,items.*.result,items.*.error.type,items.*.error.reason");
+        req.setJsonEntity(body.toString());
+        Response resp = restClient.performRequest(req);
+
+        JsonNode items = om.readTree(EntityUtils.toString(resp.getEntity(), StandardCharsets.UTF_8)).path("items");
+        if (items.size() != operations.size() * copies) {
+            throw new IllegalStateException("bulk item count mismatch: got=" + items.size() + ", expected=" + operations.size() * copies);
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            BulkOperation op = operations.get(i);
+            BulkItemResult result = itemResult(op, items.get(i * copies));
+            if (shadow != null) {
+                BulkItemResult shadowResult = itemResult(op, items.get(i * copies + 1));
+                if (shadowResult.isRejected() && result.isSuccess()) {
+                    result = shadowResult;
+                } else if (!shadowResult.isSuccess() && !shadowResult.isRejected() && shadowResult.status() != 404) {
+                    shadowFailures.incrementAndGet();
+                    log.warn("[ES] shadow write failed index={}, id={}, error={}", shadow, op.id(), shadowResult.error());
+                }
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static BulkItemResult itemResult(BulkOperation op, JsonNode items) {
+        JsonNode item = items.path(op.action().key());
+        JsonNode error = item.path("error");
+        return new BulkItemResult(
+                op.id(),
+                item.path("status").asInt(500),
+                error.isMissingNode() ? null : error.path("type").asText() + ": " + error.path("reason").asText(),
+                item.path("result").asText(null)
+        );
+    }
+
+    public void deleteById(String isbnId) throws Exception {
+        Request req = new Request("DELETE", "/" + index + "/_doc/" + isbnId);
+        restClient.performRequest(req);
+    }
+
+    private record BulkTarget(
+            @JsonProperty("_index") String index,
+            @JsonProperty("_id") String id
+    ) {}
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toMap(Object partialDoc) {
+        return om.convertValue(partialDoc, Map.class);
+    }
+
+    private record Script(
+            @JsonProperty("source") String source,
+            @JsonProperty("lang") String lang,
+            @JsonProperty("params") Map<String, Object> params
+    ) {
+        Script(String source, Map<String, Object> params) {
+            this(source, "painless", params);
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private record ScriptedUpdateRequest(
+            @JsonProperty("script") Script script,
+            @JsonProperty("upsert") Map<String, Object> upsert,
+            // true면 문서가 없을 때도 upsert(빈 문서)에 스크립트를 돌린다
+            @JsonProperty("scripted_upsert") Boolean scriptedUpsert
+    ) {}
+
+    private record UpdateRequest(
+            @JsonProperty("doc") Object doc,
+            @JsonProperty("doc_as_upsert") boolean docAsUpsert
+    ) {}
+}
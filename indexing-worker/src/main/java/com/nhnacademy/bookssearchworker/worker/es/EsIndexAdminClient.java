@@ -0,0 +1,232 @@
+package com.nhnacademy.bookssearchworker.worker.es;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인덱스 단위 작업용 ES 클라이언트 (재색인/재임베딩: 인덱스 생성/설정/매핑, 전체 스캔, 대량 적재, alias 교체)
+ * 문서 단위 색인은 EsBookDocumentClient / BulkIndexer
+ */
+@Component
+@RequiredArgsConstructor
+public class EsIndexAdminClient {
+
+    // 새 인덱스로 옮길 index 설정 (uuid/생성 시각 같은 인덱스 고유 값은 제외)
+    private static final List<String> COPIED_SETTINGS = List.of(
+            "number_of_shards", "analysis", "similarity", "max_result_window", "knn", "mapping", "codec");
+
+    // 삭제 tombstone(deleted=true)을 뺀 문서
+    private static final Map<String, Object> DELETED_DOCS = Map.of("term", Map.of(EsBookDocumentClient.DELETED, true));
+    private static final Map<String, Object> LIVE_DOCS = Map.of("bool", Map.of("must_not", DELETED_DOCS));
+
+    private final RestClient restClient;
+    private final ObjectMapper om;
+
+    /**
+     * 이름(alias 또는 인덱스)이 가리키는 인덱스 정의
+     * @param alias true면 이름이 alias, false면 같은 이름의 실제 인덱스
+     */
+    public record IndexDefinition(String index, boolean alias, JsonNode settings, JsonNode mappings) {
+
+        // 적재 중 바꿨다가 되돌릴 값 (없으면 null = 기본값)
+        public String replicas() {
+            return settings.path("number_of_replicas").asText(null);
+        }
+
+        public String refreshInterval() {
+            return settings.path("refresh_interval").asText(null);
+        }
+    }
+
+    public record Hit(String id, JsonNode source, JsonNode sort) {}
+
+    public record ScanPage(String pitId, List<Hit> hits) {}
+
+    public IndexDefinition describe(String name) throws Exception {
+        JsonNode root = read(restClient.performRequest(new Request("GET", "/" + name)));
+        if (root.size() != 1) {
+            throw new IllegalStateException(name + " points to " + root.size() + " indices (expected 1)");
+        }
+        Map.Entry<String, JsonNode> entry = root.properties().iterator().next();
+        JsonNode body = entry.getValue();
+        return new IndexDefinition(entry.getKey(), !entry.getKey().equals(name),
+                body.path("settings").path("index"), body.path("mappings"));
+    }
+
+    /**
+     * source와 같은 매핑/분석기로 빈 인덱스 생성 (적재용: replicas=0, refresh 끔)
+     */
+    public void createForBulkLoad(String index, IndexDefinition source) throws Exception {
+        ObjectNode settings = om.createObjectNode();
+        for (String key : COPIED_SETTINGS) {
+            if (source.settings().has(key)) settings.set(key, source.settings().get(key));
+        }
+        settings.put("number_of_replicas", 0);
+        settings.put("refresh_interval", "-1");
+
+        Request req = new Request("PUT", "/" + index);
+        req.setJsonEntity(om.writeValueAsString(Map.of(
+                "settings", Map.of("index", settings),
+                "mappings", source.mappings())));
+        restClient.performRequest(req);
+    }
+
+    // 적재가 끝나면 원래 replicas / refresh_interval로 되돌린다 (null이면 기본값)
+    public void restoreSettings(String index, String replicas, String refreshInterval) throws Exception {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("number_of_replicas", replicas);
+        settings.put("refresh_interval", refreshInterval);
+
+        Request req = new Request("PUT", "/" + index + "/_settings");
+        req.setJsonEntity(om.writeValueAsString(Map.of("index", settings)));
+        restClient.performRequest(req);
+    }
+
+    public void refresh(String index) throws Exception {
+        restClient.performRequest(new Request("POST", "/" + index + "/_refresh"));
+    }
+
+    // tombstone 포함 전체 문서 수 (인덱스 복사 검증용)
+    public long count(String index) throws Exception {
+        return read(restClient.performRequest(new Request("GET", "/" + index + "/_count"))).path("count").asLong();
+    }
+
+    // tombstone을 뺀 문서 수
+    public long countLive(String index) throws Exception {
+        Request req = new Request("POST", "/" + index + "/_count");
+        req.setJsonEntity(om.writeValueAsString(Map.of("query", LIVE_DOCS)));
+        return read(restClient.performRequest(req)).path("count").asLong();
+    }
+
+    public String openPit(String index, String keepAlive) throws Exception {
+        Request req = new Request("POST", "/" + index + "/_pit");
+        req.addParameter("keep_alive", keepAlive);
+        return read(restClient.performRequest(req)).path("id").asText();
+    }
+
+    /**
+     * PIT + search_after 한 페이지 (_shard_doc 순서, 메모리는 페이지 크기만큼만)
+     * @param after 이전 페이지 마지막 hit의 sort (첫 페이지는 null)
+     */
+    public ScanPage scan(String pitId, String keepAlive, int size, JsonNode after) throws Exception {
+        return search(pitId, keepAlive, size, Map.of("_shard_doc", "asc"), after, null, null);
+    }
+
+    /**
+     * 삭제 tombstone만 읽는 scan (source_ts만 받는다, 카탈로그 재적재 때 삭제 기록을 새 인덱스로 옮기는 용도)
+     */
+    public ScanPage scanDeleted(String pitId, String keepAlive, int size, JsonNode after) throws Exception {
+        return search(pitId, keepAlive, size, Map.of("_shard_doc", "asc"), after, List.of("source_ts"), DELETED_DOCS);
+    }
+
+    /**
+     * 필드 순서 스캔 (PIT가 바뀌어도 마지막 sort 값부터 이어 읽을 수 있다: 재시작 후 이어서 처리)
+     * tombstone은 빼고 읽는다 (정렬 필드도 내용도 없음)
+     * @param sortField 문서마다 값이 다른 keyword 필드
+     * @param includes 받을 _source 필드 (null이면 전체)
+     */
+    public ScanPage scanSorted(String pitId, String keepAlive, int size, String sortField, JsonNode after,
+                               List<String> includes) throws Exception {
+        return search(pitId, keepAlive, size, Map.of(sortField, "asc"), after, includes, LIVE_DOCS);
+    }
+
+    private ScanPage search(String pitId, String keepAlive, int size, Map<String, String> sort, JsonNode after,
+                            List<String> includes, Map<String, Object> query) throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("size", size);
+        if (query != null) body.put("query", query);
+        body.put("pit", Map.of("id", pitId, "keep_alive", keepAlive));
+        body.put("sort", List.of(sort));
+        body.put("track_total_hits", false);
+        if (includes != null) body.put("_source", includes);
+        if (after != null) body.put("search_after", after);
+
+        Request req = new Request("POST", "/_search");
+        req.addParameter("filter_path", "pit_id,hits.hits._id,hits.hits._source,hits.hits.sort");
+        req.setJsonEntity(om.writeValueAsString(body));
+        JsonNode root = read(restClient.performRequest(req));
+
+        List<Hit> hits = new ArrayList<>();
+        for (JsonNode hit : root.path("hits").path("hits")) {
+            hits.add(new Hit(hit.path("_id").asText(), hit.path("_source"), hit.path("sort")));
+        }
+        return new ScanPage(root.path("pit_id").asText(pitId), hits);
+    }
+
+    public void closePit(String pitId) throws Exception {
+        Request req = new Request("DELETE", "/_pit");
+        req.setJsonEntity(om.writeValueAsString(Map.of("id", pitId)));
+        restClient.performRequest(req);
+    }
+
+    /**
+     * 문서 원본을 그대로 index 액션으로 적재
+     * @return 요청 순서와 같은 순서의 문서별 결과
+     */
+    public List<BulkItemResult> bulkIndex(String index, List<Hit> hits) throws Exception {
+        if (hits.isEmpty()) return List.of();
+
+        StringBuilder body = new StringBuilder();
+        for (Hit hit : hits) {
+            body.append(om.writeValueAsString(Map.of("index", Map.of("_index", index, "_id", hit.id())))).append('\n');
+            body.append(om.writeValueAsString(hit.source())).append('\n');
+        }
+
+        Request req = new Request("POST", "/_bulk");
+        req.addParameter("filter_path", "items.*._id,items.*.status,items.*.error.type,items.*.error.reason");
+        req.setJsonEntity(body.toString());
+        JsonNode items = read(restClient.performRequest(req)).path("items");
+
+        List<BulkItemResult> results = new ArrayList<>(hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            JsonNode item = items.path(i).path("index");
+            JsonNode error = item.path("error");
+            results.add(new BulkItemResult(hits.get(i).id(), item.path("status").asInt(500),
+                    error.isMissingNode() ? null : error.path("type").asText() + ": " + error.path("reason").asText()));
+        }
+        return results;
+    }
+
+    // 필드 추가 (이미 있는 필드의 타입/차원은 바꿀 수 없다: ES 400)
+    public void putMapping(String index, JsonNode properties) throws Exception {
+        Request req = new Request("PUT", "/" + index + "/_mapping");
+        req.setJsonEntity(om.writeValueAsString(Map.of("properties", properties)));
+        restClient.performRequest(req);
+    }
+
+    /**
+     * alias를 새 인덱스로 한 번에(원자적으로) 옮긴다
+     * source가 alias가 아니라 같은 이름의 실제 인덱스면 그 인덱스를 지우고 같은 요청에서 alias를 만든다.
+     */
+    public void swapAlias(String alias, IndexDefinition source, String newIndex) throws Exception {
+        List<Map<String, Object>> actions = new ArrayList<>();
+        actions.add(Map.of("add", Map.of("index", newIndex, "alias", alias)));
+        if (source.alias()) {
+            actions.add(Map.of("remove", Map.of("index", source.index(), "alias", alias)));
+        } else {
+            actions.add(Map.of("remove_index", Map.of("index", source.index())));
+        }
+
+        Request req = new Request("POST", "/_aliases");
+        req.setJsonEntity(om.writeValueAsString(Map.of("actions", actions)));
+        restClient.performRequest(req);
+    }
+
+    private JsonNode read(Response resp) throws Exception {
+        return om.readTree(EntityUtils.toString(resp.getEntity(), StandardCharsets.UTF_8));
+    }
+}
@@ -25,6 +25,7 @@ public class WorkerProcessingException extends RuntimeException {
         AI_API_ERROR,
         EMBEDDING_ERROR,
         EMBEDDING_FAILED,
+        DOWNSTREAM_UNAVAILABLE,
         UNKNOWN
     }
 }
@@ -0,0 +1,34 @@
+package com.nhnacademy.bookssearchworker.worker.message;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 도서 필드 단위 변경 (가격/카테고리/출판사/이미지)
+ * null인 필드는 바뀌지 않은 것으로 보고 보내지 않는다 (값을 지우는 용도로는 쓸 수 없다).
+ */
+public record BookFieldUpdateMessage(
+        String requestId,
+        String isbn,
+        Integer price,
+        List<String> categories,
+        Long categoryId,
+        String publisher,
+        Long publisherId,
+        String imageUrl,
+        long ts,
+        String reason
+) {
+    // ES 문서 필드명 기준 부분 문서 (BookUpsertDoc과 같은 이름)
+    public Map<String, Object> changedFields() {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (price != null) fields.put("price", price);
+        if (categories != null) fields.put("categories", categories);
+        if (categoryId != null) fields.put("categoryId", categoryId);
+        if (publisher != null) fields.put("publisher", publisher);
+        if (publisherId != null) fields.put("publisherId", publisherId);
+        if (imageUrl != null) fields.put("image_url", imageUrl);
+        return fields;
+    }
+}
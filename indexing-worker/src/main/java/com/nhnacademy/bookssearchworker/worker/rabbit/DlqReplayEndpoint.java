@@ -0,0 +1,49 @@
+package com.nhnacademy.bookssearchworker.worker.rabbit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * DLQ 재처리 actuator 엔드포인트 (/actuator/dlqreplay)
+ *
+ * GET    : 진행 중 / 마지막 작업 상태
+ * POST   : {"source":"book-upsert","errorCode":"DOWNSTREAM_UNAVAILABLE","dryRun":true,"maxMessages":500,"ratePerSecond":10}
+ * DELETE : 진행 중 작업 중단
+ *
+ * 기본은 읽기만 허용되고 노출도 안 된다. 쓰려면 두 설정이 모두 필요
+ * management.endpoints.web.exposure.include 에 dlqreplay 추가, management.endpoint.dlqreplay.access=unrestricted
+ */
+@Component
+@Endpoint(id = "dlqreplay", defaultAccess = Access.READ_ONLY)
+@RequiredArgsConstructor
+public class DlqReplayEndpoint {
+
+    private final DlqReplayer replayer;
+
+    @ReadOperation
+    public DlqReplayer.Status status() {
+        return replayer.status();
+    }
+
+    @WriteOperation
+    public DlqReplayer.Status replay(
+            String source,
+            @Nullable String errorCode,
+            @Nullable Boolean dryRun,
+            @Nullable Integer maxMessages,
+            @Nullable Double ratePerSecond
+    ) {
+        return replayer.start(source, errorCode, dryRun, maxMessages, ratePerSecond);
+    }
+
+    @DeleteOperation
+    public DlqReplayer.Status cancel() {
+        return replayer.cancel();
+    }
+}
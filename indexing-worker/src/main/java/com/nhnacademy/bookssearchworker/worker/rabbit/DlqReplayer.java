@@ -0,0 +1,252 @@
+package com.nhnacademy.bookssearchworker.worker.rabbit;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.GetResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DLQ 메시지를 메인 exchange로 되돌리는 작업 (장애 복구 후 실패 메시지 재처리)
+ *
+ * DLQ에서 basicGet으로 한 건씩 꺼내 x-error-code 필터에 맞으면 메인 exchange / 원래 routing key로 다시 발행하고 ack 한다.
+ * - 재발행 메시지는 x-retry-count / x-error-code / x-error-message를 지운다 (재시도 횟수 처음부터)
+ * - 초당 rate-per-second건으로 발행 속도를 제한한다 (임베딩 서버에 한꺼번에 몰리지 않도록)
+ * - publisher confirm으로 브로커가 받은 것을 확인한 뒤에만 원본을 ack 한다 (발행 유실 방지)
+ * - 필터에 안 맞는 메시지는 DLQ 맨 뒤로 다시 넣고 ack 한다 (앞쪽에 쌓인 불일치 메시지가 뒤의 대상을 막지 않도록)
+ *   시작할 때 DLQ에 있던 건수까지만 보므로 뒤로 보낸 메시지를 다시 꺼내지 않는다
+ * - max-messages는 재발행할 최대 건수 (필터에 안 맞는 메시지는 세지 않는다)
+ * - dry-run은 아무것도 발행하지 않고 건수만 센 뒤 끝날 때 DLQ에 그대로 되돌린다 (nack requeue)
+ * - 한 번에 작업 하나만 (백그라운드 스레드), 진행 상황은 status(), 중간에 cancel() 가능
+ *
+ * app.worker.dlq-replay.rate-per-second   (20)   : 0 이하면 제한 없음
+ * app.worker.dlq-replay.max-messages      (1000)
+ * app.worker.dlq-replay.confirm-timeout-ms (5000) : 발행 확인 대기, 넘으면 작업 실패 (원본은 DLQ에 남음)
+ * rabbitmq.queue.<source>-fail                   : DLQ 큐 이름 (source = book-upsert / book-delete / book-field-update)
+ */
+@Slf4j
+@Component
+public class DlqReplayer implements DisposableBean {
+
+    public enum State { RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    // DLQ 큐와 되돌려 보낼 메인 routing key
+    public record Source(String queue, String routingKey) {}
+
+    public record Request(String source, String errorCode, boolean dryRun, int maxMessages, double ratePerSecond) {}
+
+    public record Status(Request request, State state, int scanned, int matched, int replayed,
+                         Instant startedAt, Instant finishedAt, String error) {}
+
+    private static final String ENCODING = "UTF-8";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String mainExchange;
+    private final Map<String, Source> sources;
+    private final int defaultMaxMessages;
+    private final double defaultRatePerSecond;
+    private final long confirmTimeoutMs;
+    private final MessagePropertiesConverter converter = new DefaultMessagePropertiesConverter();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("dlq-replay").daemon().factory());
+
+    private volatile Job current;
+
+    public DlqReplayer(
+            RabbitTemplate rabbitTemplate,
+            @Value("${rabbitmq.exchange.main:team3.booksearch.exchange}") String mainExchange,
+            @Value("${rabbitmq.queue.book-upsert-fail:team3.booksearch.book.upsert.fail.queue}") String upsertDlq,
+            @Value("${rabbitmq.queue.book-delete-fail:team3.booksearch.book.delete.fail.queue}") String deleteDlq,
+            @Value("${rabbitmq.queue.book-field-update-fail:team3.booksearch.book.field-update.fail.queue}") String fieldUpdateDlq,
+            @Value("${rabbitmq.routing.book-upsert:team3.booksearch.book.upsert}") String upsertRk,
+            @Value("${rabbitmq.routing.book-delete:team3.booksearch.book.delete}") String deleteRk,
+            @Value("${rabbitmq.routing.book-field-update:team3.booksearch.book.field-update}") String fieldUpdateRk,
+            @Value("${app.worker.dlq-replay.max-messages:1000}") int defaultMaxMessages,
+            @Value("${app.worker.dlq-replay.rate-per-second:20}") double defaultRatePerSecond,
+            @Value("${app.worker.dlq-replay.confirm-timeout-ms:5000}") long confirmTimeoutMs
+    ) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.mainExchange = mainExchange;
+        this.sources = Map.of(
+                "book-upsert", new Source(upsertDlq, upsertRk),
+                "book-delete", new Source(deleteDlq, deleteRk),
+                "book-field-update", new Source(fieldUpdateDlq, fieldUpdateRk));
+        this.defaultMaxMessages = defaultMaxMessages;
+        this.defaultRatePerSecond = defaultRatePerSecond;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    public Map<String, Source> sources() {
+        return sources;
+    }
+
+    /**
+     * 작업 요청 (null이면 기본값), 이미 돌고 있으면 새로 시작하지 않고 지금 작업 상태를 돌려준다
+     */
+    public synchronized Status start(String source, String errorCode, Boolean dryRun, Integer maxMessages, Double ratePerSecond) {
+        if (!sources.containsKey(source)) {
+            throw new IllegalArgumentException("unknown dlq source: " + source + " (expected " + sources.keySet() + ")");
+        }
+        if (current != null && current.state == State.RUNNING) {
+            log.warn("[DLQ_REPLAY] already running source={}", current.request.source());
+            return current.status();
+        }
+
+        Request request = new Request(
+                source,
+                (errorCode == null || errorCode.isBlank()) ? null : errorCode,
+                dryRun != null && dryRun,
+                (maxMessages == null || maxMessages <= 0) ? defaultMaxMessages : maxMessages,
+                (ratePerSecond == null) ? defaultRatePerSecond : ratePerSecond);
+        Job job = new Job(request);
+        current = job;
+        executor.execute(() -> run(job));
+        return job.status();
+    }
+
+    public Status status() {
+        Job job = current;
+        return (job == null) ? null : job.status();
+    }
+
+    public Status cancel() {
+        Job job = current;
+        if (job == null) return null;
+        job.cancelled = true;
+        return job.status();
+    }
+
+    // 백그라운드 스레드에서 실행 (테스트는 직접 호출)
+    void run(Job job) {
+        Request req = job.request;
+        log.info("[DLQ_REPLAY] start source={}, errorCode={}, dryRun={}, max={}, rate={}/s",
+                req.source(), req.errorCode(), req.dryRun(), req.maxMessages(), req.ratePerSecond());
+        try {
+            rabbitTemplate.execute(channel -> {
+                replay(channel, job);
+                return null;
+            });
+            job.finish(job.cancelled ? State.CANCELLED : State.COMPLETED, null);
+        } catch (Exception e) {
+            job.finish(State.FAILED, e.getMessage());
+            log.error("[DLQ_REPLAY] failed source={}, cause={}", req.source(), e.getMessage(), e);
+        }
+        log.info("[DLQ_REPLAY] {} source={}, scanned={}, matched={}, replayed={}",
+                job.state, req.source(), job.scanned.get(), job.matched.get(), job.replayed.get());
+    }
+
+    private void replay(Channel channel, Job job) throws Exception {
+        Request req = job.request;
+        Source source = sources.get(req.source());
+        long intervalNanos = (req.ratePerSecond() > 0) ? (long) (TimeUnit.SECONDS.toNanos(1) / req.ratePerSecond()) : 0;
+        long nextAt = System.nanoTime();
+        long skippedUpTo = -1;
+        long inFlight = -1;
+
+        // 시작 시점 건수까지만 (뒤로 다시 넣은 불일치 메시지를 또 꺼내지 않도록)
+        long depth = channel.messageCount(source.queue());
+        if (!req.dryRun()) channel.confirmSelect();
+
+        try {
+            while (!job.cancelled && job.scanned.get() < depth && job.matched.get() < req.maxMessages()) {
+                GetResponse response = channel.basicGet(source.queue(), false);
+                if (response == null) break;
+                long tag = response.getEnvelope().getDeliveryTag();
+                job.scanned.incrementAndGet();
+
+                MessageProperties props = converter.toMessageProperties(response.getProps(), response.getEnvelope(), ENCODING);
+                Object code = props.getHeaders().get(RabbitRetryPublisher.HDR_ERROR_CODE);
+                boolean matches = req.errorCode() == null || req.errorCode().equals(code == null ? null : code.toString());
+                if (req.dryRun()) {
+                    if (matches) job.matched.incrementAndGet();
+                    skippedUpTo = tag;
+                    continue;
+                }
+                inFlight = tag;
+
+                if (!matches) {
+                    // DLQ 맨 뒤로 (기본 exchange, 헤더는 그대로)
+                    channel.basicPublish("", source.queue(), false, response.getProps(), response.getBody());
+                    channel.waitForConfirmsOrDie(confirmTimeoutMs);
+                    channel.basicAck(tag, false);
+                    inFlight = -1;
+                    continue;
+                }
+                job.matched.incrementAndGet();
+
+                // 발행 속도 제한
+                long waitNanos = nextAt - System.nanoTime();
+                if (waitNanos > 0) TimeUnit.NANOSECONDS.sleep(waitNanos);
+                nextAt = Math.max(nextAt, System.nanoTime()) + intervalNanos;
+
+                props.getHeaders().remove(RabbitRetryPublisher.HDR_RETRY_COUNT);
+                props.getHeaders().remove(RabbitRetryPublisher.HDR_ERROR_CODE);
+                props.getHeaders().remove(RabbitRetryPublisher.HDR_ERROR_MESSAGE);
+                channel.basicPublish(mainExchange, source.routingKey(), false,
+                        converter.fromMessageProperties(props, ENCODING), response.getBody());
+                channel.waitForConfirmsOrDie(confirmTimeoutMs);
+                channel.basicAck(tag, false);
+                inFlight = -1;
+                job.replayed.incrementAndGet();
+            }
+        } finally {
+            // dry-run으로 본 메시지와 발행 도중 실패한 메시지는 DLQ로 되돌린다
+            // (multiple: 그 tag까지 ack 안 된 메시지 전부, 이미 ack한 메시지는 해당 없음)
+            long requeueUpTo = Math.max(skippedUpTo, inFlight);
+            if (requeueUpTo >= 0) requeue(channel, requeueUpTo);
+        }
+    }
+
+    private void requeue(Channel channel, long upToTag) {
+        try {
+            channel.basicNack(upToTag, true, true);
+        } catch (Exception e) {
+            // 발행 확인 실패로 채널이 닫힌 경우: ack 안 된 메시지는 브로커가 DLQ로 되돌린다
+            log.warn("[DLQ_REPLAY] requeue failed upToTag={}, cause={}", upToTag, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Job job = current;
+        if (job != null) job.cancelled = true;
+        executor.shutdown();
+    }
+
+    static final class Job {
+        final Request request;
+        final Instant startedAt = Instant.now();
+        final AtomicInteger scanned = new AtomicInteger();
+        final AtomicInteger matched = new AtomicInteger();
+        final AtomicInteger replayed = new AtomicInteger();
+        volatile boolean cancelled;
+        volatile State state = State.RUNNING;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Job(Request request) {
+            this.request = request;
+        }
+
+        void finish(State state, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = state;
+        }
+
+        Status status() {
+            return new Status(request, state, scanned.get(), matched.get(), replayed.get(), startedAt, finishedAt, error);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.nhnacademy.bookssearchworker.worker.rabbit;
 
 import com.nhnacademy.bookssearchworker.worker.exception.WorkerProcessingException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -12,35 +13,49 @@ import java.util.Map;
 
 /**
  * RabbitMQ 재시도 및 DLQ 발행 전담 컴포넌트
+ * 컨슈머의 재시도는 toRetry(..., errorCode): 재시도 횟수/에러 코드로 고른 단계 대기 큐를 거친다 (RetryBackoff)
  */
+@Slf4j
 @Component
 public class RabbitRetryPublisher {
 
     private final RabbitTemplate rabbitTemplate;
+    private final RetryBackoff backoff;
 
     @Value("${rabbitmq.exchange.main:team3.booksearch.exchange}")
     private String mainExchange;
 
-    @Value("${rabbitmq.exchange.retry:team3.booksearch.retry.dlx}")
-    private String retryExchange;
-
     @Value("${rabbitmq.exchange.dlx:team3.booksearch.dlx}")
     private String dlxExchange;
 
+    @Value("${rabbitmq.exchange.retry-delay:team3.booksearch.retry.delay}")
+    private String retryDelayExchange;
+
     public static final String HDR_RETRY_COUNT = "x-retry-count";
     public static final String HDR_ERROR_CODE = "x-error-code";
     public static final String HDR_ERROR_MESSAGE = "x-error-message";
     public static final int MAX_RETRY_COUNT = 3;
 
-    public RabbitRetryPublisher(RabbitTemplate rabbitTemplate) {
+    public RabbitRetryPublisher(RabbitTemplate rabbitTemplate, RetryBackoff backoff) {
         this.rabbitTemplate = rabbitTemplate;
+        this.backoff = backoff;
     }
 
-    // 재시도 큐로 메시지 발행
-    public void toRetry(Message original, String retryRoutingKey, int nextRetryCount) {
+    /**
+     * 단계 대기 큐를 거쳐 재시도 (지연은 재시도 횟수/에러 코드로 고른 단계 ± 지터)
+     * 대기 큐에서 만료되면 retry exchange로 retryRoutingKey를 달고 넘어간다
+     */
+    public void toRetry(Message original, String retryRoutingKey, int nextRetryCount, WorkerProcessingException.ErrorCode errorCode) {
+        int tier = backoff.tierIndex(nextRetryCount, errorCode);
+        long delayMs = backoff.jitteredDelayMs(tier);
+
         MessageProperties props = copyProperties(original.getMessageProperties());
         props.getHeaders().put(HDR_RETRY_COUNT, nextRetryCount);
-        rabbitTemplate.send(retryExchange, retryRoutingKey, new Message(original.getBody(), props));
+        props.setExpiration(String.valueOf(delayMs));
+
+        String delayQueue = RetryBackoff.delayQueue(retryRoutingKey, backoff.tierDelayMs(tier));
+        rabbitTemplate.send(retryDelayExchange, delayQueue, new Message(original.getBody(), props));
+        log.debug("[RETRY] delayed queue={}, delayMs={}, errorCode={}", delayQueue, delayMs, errorCode);
     }
 
     // DLQ로 메시지 발행
@@ -64,17 +79,6 @@ public class RabbitRetryPublisher {
         return 0;
     }
 
-    // 원하는 시간 지연 후 재시도 큐로 메시지 발행(TTL 활용)
-    public void publishToRetryWithDelay(Message original, String retryRoutingKey, int nextRetryCount, long delayMs) {
-        MessageProperties props = copyProperties(original.getMessageProperties());
-
-        props.getHeaders().put(HDR_RETRY_COUNT, nextRetryCount);
-        // RabbitMQ 메시지 만료 시간 설정 (String으로 넣어야 함)
-        props.setExpiration(String.valueOf(delayMs));
-
-        rabbitTemplate.send(retryExchange, retryRoutingKey, new Message(original.getBody(), props));
-    }
-
     // 메시지 내용을 안전하게 자르기
     private static String safeMsg(String s) {
         if (s == null) return "";
@@ -95,7 +99,8 @@ public class RabbitRetryPublisher {
         dst.setTimestamp(src.getTimestamp());
         dst.setDeliveryMode(src.getDeliveryMode());
 
-        // headers 복사
+        // headers 복사 (traceparent 포함: 발행 시 RabbitTemplate observation이 현재 스팬 기준으로 덮어써서
+        // 재시도/DLQ 메시지도 원래 요청의 트레이스에 이어진다)
         Map<String, Object> headers = new HashMap<>();
         if (src.getHeaders() != null) {
             headers.putAll(src.getHeaders());
@@ -0,0 +1,76 @@
+package com.nhnacademy.bookssearchworker.worker.rabbit;
+
+import com.nhnacademy.bookssearchworker.worker.exception.WorkerProcessingException.ErrorCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 재시도 지연 단계 (지수 백오프 + 지터)
+ *
+ * 재시도 메시지는 단계별 대기 큐(<재시도 routing key>.delay.<단계 ms>)에 TTL(expiration)을 달고 들어갔다가
+ * 만료되면 기존 재시도 경로(retry exchange)로 넘어간다. 단계마다 큐를 나눠서 긴 TTL 메시지가 큐 앞에 있어도
+ * 짧은 TTL 메시지가 막히지 않는다 (RabbitMQ는 큐 맨 앞 메시지만 만료시킨다).
+ * - n번째 재시도는 n번째 단계 (단계보다 많으면 마지막 단계)
+ * - DOWNSTREAM_UNAVAILABLE(서킷 오픈/과부하)은 한 단계 건너뛴다 (바로 다시 보내면 같은 이유로 거절)
+ * - INVALID_MESSAGE는 기다려도 내용이 바뀌지 않으므로 항상 첫 단계 (빨리 DLQ로)
+ * - 지연은 단계 값의 ±jitter 비율 안에서 흔든다 (같은 장애로 실패한 메시지가 한꺼번에 돌아오지 않도록)
+ *
+ * app.worker.retry.delays-ms (1000,10000,60000) : 단계별 지연
+ * app.worker.retry.jitter    (0.2)              : 0이면 지터 없음
+ */
+@Component
+public class RetryBackoff {
+
+    private final long[] tiers;
+    private final double jitter;
+    private final DoubleSupplier random;
+
+    @Autowired
+    public RetryBackoff(
+            @Value("${app.worker.retry.delays-ms:1000,10000,60000}") long[] tiers,
+            @Value("${app.worker.retry.jitter:0.2}") double jitter
+    ) {
+        this(tiers, jitter, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    RetryBackoff(long[] tiers, double jitter, DoubleSupplier random) {
+        if (tiers.length == 0) throw new IllegalArgumentException("app.worker.retry.delays-ms is empty");
+        this.tiers = Arrays.copyOf(tiers, tiers.length);
+        this.jitter = Math.clamp(jitter, 0.0, 1.0);
+        this.random = random;
+    }
+
+    public long[] tiers() {
+        return Arrays.copyOf(tiers, tiers.length);
+    }
+
+    // nextRetryCount는 1부터 (첫 재시도 = 1)
+    public int tierIndex(int nextRetryCount, ErrorCode code) {
+        int index = switch (code) {
+            case INVALID_MESSAGE -> 0;
+            case DOWNSTREAM_UNAVAILABLE -> nextRetryCount;
+            default -> nextRetryCount - 1;
+        };
+        return Math.clamp(index, 0, tiers.length - 1);
+    }
+
+    public long tierDelayMs(int tierIndex) {
+        return tiers[tierIndex];
+    }
+
+    // 단계 지연 ± jitter (최소 1ms)
+    public long jitteredDelayMs(int tierIndex) {
+        double factor = 1.0 + jitter * (2 * random.getAsDouble() - 1);
+        return Math.max(1, Math.round(tiers[tierIndex] * factor));
+    }
+
+    // 단계 대기 큐 이름 (= delay exchange에 묶인 routing key)
+    public static String delayQueue(String retryRoutingKey, long tierDelayMs) {
+        return retryRoutingKey + ".delay." + tierDelayMs;
+    }
+}
@@ -0,0 +1,372 @@
+package com.nhnacademy.bookssearchworker.worker.reembed;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingFingerprint;
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingTextBuilder;
+import com.nhnacademy.bookssearchworker.worker.embedding.OllamaEmbeddingClient;
+import com.nhnacademy.bookssearchworker.worker.es.BulkItemResult;
+import com.nhnacademy.bookssearchworker.worker.es.BulkOperation;
+import com.nhnacademy.bookssearchworker.worker.es.EsBookDocumentClient;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient.Hit;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient.IndexDefinition;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient.ScanPage;
+import com.nhnacademy.bookssearchworker.worker.reembed.ReembedCheckpointStore.Checkpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 임베딩 모델 교체용 재임베딩 작업 (shadow 벡터 필드 채우기)
+ *
+ * 1) 대상 필드(target-field, 기본 embedding_next)가 매핑에 없으면 기존 embedding 매핑을 본떠 dense_vector(dims)로 추가
+ * 2) isbn 순서로 PIT + search_after 스캔, 배치마다 EmbeddingTextBuilder로 텍스트를 만들어 새 모델로 임베딩
+ * 3) 벡터와 지문(<target-field>_fingerprint = SHA-256(새 모델 + 텍스트))을 부분 update로 기록 (source_ts는 건드리지 않음)
+ * 4) 배치를 쓴 뒤 마지막 isbn과 건수를 Redis에 체크포인트 -> 워커가 죽어도 다시 시작하면 그 다음 isbn부터 이어서 처리
+ * 지문이 이미 같은 문서는 임베딩 없이 건너뛰므로, 끝난 뒤 다시 돌리면 그 사이 내용이 바뀐 문서만 다시 임베딩한다 (전환 직전 따라잡기).
+ * 검색 쪽 전환(search-api가 읽는 필드/모델 변경)은 이 작업 범위 밖이다.
+ *
+ * app.worker.reembed.model        (app.ai.embedding-model)
+ * app.worker.reembed.dims         (app.ai.embedding-dim, 1024)
+ * app.worker.reembed.target-field (embedding_next)
+ * app.worker.reembed.batch-size   (64) : 스캔 페이지 = 임베딩 호출 = _bulk 한 번 = 체크포인트 한 번
+ */
+@Slf4j
+@Component
+public class BookReembedder implements DisposableBean {
+
+    public enum State { RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    /**
+     * @param docsPerSecond 이번 실행(이어서 시작한 경우 재시작 이후)의 처리 속도
+     * @param etaSeconds    남은 문서 / docsPerSecond (속도를 아직 모르면 null)
+     */
+    public record Status(String index, String model, String targetField, State state, String phase,
+                         long total, long processed, long embedded, long skipped, long failed,
+                         double docsPerSecond, Long etaSeconds, String resumedAfter,
+                         Instant startedAt, Instant finishedAt, String error) {}
+
+    private static final String SORT_FIELD = "isbn";
+    private static final String SOURCE_VECTOR_FIELD = "embedding";
+    private static final String PIT_KEEP_ALIVE = "5m";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(5);
+    private static final int EMBED_RETRIES = 3;
+    private static final int REJECTED_RETRIES = 3;
+
+    private final EsIndexAdminClient es;
+    private final EsBookDocumentClient documents;
+    private final OllamaEmbeddingClient embeddings;
+    private final EmbeddingTextBuilder textBuilder;
+    private final EmbeddingFingerprint fingerprints;
+    private final ReembedCheckpointStore checkpoints;
+    private final MeterRegistry meterRegistry;
+    private final String index;
+    private final String model;
+    private final int dims;
+    private final String targetField;
+    private final String fingerprintField;
+    private final int batchSize;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("book-reembed").daemon().factory());
+
+    private volatile Job current;
+
+    @Autowired
+    public BookReembedder(
+            EsIndexAdminClient es,
+            EsBookDocumentClient documents,
+            OllamaEmbeddingClient embeddings,
+            EmbeddingTextBuilder textBuilder,
+            EmbeddingFingerprint fingerprints,
+            ReembedCheckpointStore checkpoints,
+            MeterRegistry meterRegistry,
+            @Value("${booksearch.es.index}") String index,
+            @Value("${app.worker.reembed.model:${app.ai.embedding-model}}") String model,
+            @Value("${app.worker.reembed.dims:${app.ai.embedding-dim:1024}}") int dims,
+            @Value("${app.worker.reembed.target-field:embedding_next}") String targetField,
+            @Value("${app.worker.reembed.batch-size:64}") int batchSize
+    ) {
+        this.es = es;
+        this.documents = documents;
+        this.embeddings = embeddings;
+        this.textBuilder = textBuilder;
+        this.fingerprints = fingerprints;
+        this.checkpoints = checkpoints;
+        this.meterRegistry = meterRegistry;
+        this.index = index;
+        this.model = model;
+        this.dims = dims;
+        this.targetField = targetField;
+        this.fingerprintField = targetField + "_fingerprint";
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * 재임베딩 시작 (체크포인트가 있으면 이어서), 이미 돌고 있으면 지금 작업 상태를 돌려준다
+     * @param restart true면 체크포인트를 무시하고 처음부터 스캔 (지문이 같은 문서는 그래도 건너뜀)
+     */
+    public synchronized Status start(boolean restart) {
+        if (current != null && current.state == State.RUNNING) {
+            log.warn("[REEMBED] already running model={}, field={}", model, targetField);
+            return current.status();
+        }
+        Job job = new Job(restart);
+        current = job;
+        executor.execute(() -> run(job));
+        return job.status();
+    }
+
+    public Status status() {
+        Job job = current;
+        return (job == null) ? null : job.status();
+    }
+
+    // 진행 위치는 체크포인트에 남아 다음 start에서 이어진다
+    public Status cancel() {
+        Job job = current;
+        if (job == null) return null;
+        job.cancelled = true;
+        return job.status();
+    }
+
+    // 백그라운드 스레드에서 실행 (테스트는 직접 호출)
+    void run(Job job) {
+        if (!checkpoints.lock(index, targetField, job.id, LOCK_TTL)) {
+            job.finish(State.FAILED, "another re-embedding job holds the lock (expires within " + LOCK_TTL.toMinutes() + "m if it died)");
+            log.warn("[REEMBED] lock busy index={}, field={}", index, targetField);
+            return;
+        }
+        String pitId = null;
+        try {
+            job.phase = "prepare";
+            ensureTargetField(es.describe(index));
+            Checkpoint checkpoint = job.restart ? null
+                    : checkpoints.load(index, targetField).filter(c -> model.equals(c.model())).orElse(null);
+            if (checkpoint != null) job.resume(checkpoint);
+            job.total = es.countLive(index);
+            log.info("[REEMBED] start index={}, model={}, field={}, total={}, resumeAfter={}",
+                    index, model, targetField, job.total, job.resumedAfter);
+
+            job.phase = "embed";
+            pitId = es.openPit(index, PIT_KEEP_ALIVE);
+            JsonNode after = (job.resumedAfter == null) ? null : resumeAfter(job.resumedAfter);
+            List<String> includes = new ArrayList<>(EmbeddingTextBuilder.SOURCE_FIELDS);
+            includes.add(fingerprintField);
+            while (!job.cancelled) {
+                ScanPage page = es.scanSorted(pitId, PIT_KEEP_ALIVE, batchSize, SORT_FIELD, after, includes);
+                pitId = page.pitId();
+                if (page.hits().isEmpty()) break;
+
+                process(job, page.hits());
+                after = page.hits().getLast().sort();
+                job.after = after.path(0).asText();
+                checkpoints.save(index, targetField, job.checkpoint());
+                if (!checkpoints.renew(index, targetField, job.id, LOCK_TTL)) {
+                    throw new IllegalStateException("lost the re-embedding lock (batch took longer than " + LOCK_TTL + ")");
+                }
+            }
+
+            if (job.cancelled) {
+                job.finish(State.CANCELLED, null);
+            } else {
+                // 다음 실행은 처음부터 (지문이 같은 문서는 건너뛰므로 바뀐 문서만 다시 임베딩)
+                checkpoints.delete(index, targetField);
+                job.finish(State.COMPLETED, null);
+            }
+        } catch (Exception e) {
+            job.finish(State.FAILED, e.getMessage());
+            log.error("[REEMBED] failed phase={}, after={}, cause={}", job.phase, job.after, e.getMessage(), e);
+        } finally {
+            if (pitId != null) {
+                try {
+                    es.closePit(pitId);
+                } catch (Exception e) {
+                    log.warn("[REEMBED] close pit failed (expires in {}) cause={}", PIT_KEEP_ALIVE, e.getMessage());
+                }
+            }
+            checkpoints.unlock(index, targetField, job.id);
+            log.info("[REEMBED] {} model={}, field={}, processed={}, embedded={}, skipped={}, failed={}, after={}",
+                    job.state, model, targetField, job.processed.get(), job.embedded.get(), job.skipped.get(),
+                    job.failed.get(), job.after);
+        }
+    }
+
+    // 대상 필드가 없으면 기존 embedding 매핑(similarity/index_options)을 본떠 dims만 바꿔 추가
+    private void ensureTargetField(IndexDefinition definition) throws Exception {
+        JsonNode properties = definition.mappings().path("properties");
+        JsonNode existing = properties.path(targetField);
+        if (!existing.isMissingNode()) {
+            if (existing.path("dims").asInt(dims) != dims) {
+                throw new IllegalStateException(targetField + " is mapped with dims=" + existing.path("dims").asInt()
+                        + " (expected " + dims + "), use another target-field");
+            }
+            return;
+        }
+
+        JsonNode source = properties.path(SOURCE_VECTOR_FIELD);
+        ObjectNode vector = source.isObject() ? ((ObjectNode) source).deepCopy() : JsonNodeFactory.instance.objectNode()
+                .put("type", "dense_vector").put("index", true).put("similarity", "cosine");
+        vector.put("dims", dims);
+        ObjectNode added = JsonNodeFactory.instance.objectNode();
+        added.set(targetField, vector);
+        added.set(fingerprintField, JsonNodeFactory.instance.objectNode().put("type", "keyword").put("index", false));
+        es.putMapping(index, added);
+        log.info("[REEMBED] mapped {} (dense_vector, dims={}) on {}", targetField, dims, definition.index());
+    }
+
+    /**
+     * 체크포인트 isbn 다음부터 이어서 스캔할 search_after
+     * PIT 검색은 정렬 끝에 _shard_doc 값을 붙이므로 search_after도 [isbn, tiebreaker] 두 개여야 한다.
+     * isbn은 문서마다 하나뿐이라 그 isbn 문서는 이미 처리했으므로, tiebreaker를 최댓값으로 두면 다음 isbn부터 나온다.
+     */
+    static JsonNode resumeAfter(String isbn) {
+        return JsonNodeFactory.instance.arrayNode().add(isbn).add(Long.MAX_VALUE);
+    }
+
+    private void process(Job job, List<Hit> hits) throws Exception {
+        List<Hit> pending = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        List<String> prints = new ArrayList<>();
+        for (Hit hit : hits) {
+            String text = textBuilder.build(hit.source());
+            String fingerprint = fingerprints.of(model, text);
+            if (fingerprint.equals(hit.source().path(fingerprintField).asText(null))) {
+                count(job.skipped, "skipped");
+                continue;
+            }
+            pending.add(hit);
+            texts.add(text);
+            prints.add(fingerprint);
+        }
+
+        if (!pending.isEmpty()) {
+            List<List<Float>> vectors = embed(job, texts);
+            List<BulkOperation> operations = new ArrayList<>(pending.size());
+            for (int i = 0; i < pending.size(); i++) {
+                operations.add(documents.partialUpdateOperation(pending.get(i).id(),
+                        Map.of(targetField, vectors.get(i), fingerprintField, prints.get(i)), 0));
+            }
+            write(job, operations);
+        }
+        job.processed.addAndGet(hits.size());
+    }
+
+    // 임베딩 서버 일시 장애(서킷 오픈/타임아웃)는 잠시 쉬었다 같은 배치를 다시, 계속 실패하면 작업 실패 (체크포인트부터 재시작)
+    private List<List<Float>> embed(Job job, List<String> texts) throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return embeddings.embedAll(texts, model, dims);
+            } catch (RuntimeException e) {
+                if (attempt >= EMBED_RETRIES || job.cancelled) throw e;
+                log.warn("[REEMBED] embedding failed attempt={}, cause={}", attempt + 1, e.getMessage());
+                TimeUnit.SECONDS.sleep(1L << attempt);
+            }
+        }
+    }
+
+    // 429는 다시 보내고, 404(그 사이 삭제)는 건너뜀, 그 밖의 실패는 건수만 센다 (다음 실행에서 지문이 달라 다시 처리됨)
+    private void write(Job job, List<BulkOperation> operations) throws Exception {
+        List<BulkOperation> pending = operations;
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            List<BulkItemResult> results = documents.bulk(pending);
+            List<BulkOperation> rejected = new ArrayList<>();
+            for (int i = 0; i < results.size(); i++) {
+                BulkItemResult result = results.get(i);
+                if (result.isSuccess()) {
+                    count(job.embedded, "embedded");
+                } else if (result.status() == 404) {
+                    count(job.skipped, "skipped");
+                } else if (result.isRejected() && attempt < REJECTED_RETRIES) {
+                    rejected.add(pending.get(i));
+                } else {
+                    count(job.failed, "failed");
+                    log.warn("[REEMBED] update failed id={}, status={}, error={}", result.id(), result.status(), result.error());
+                }
+            }
+            if (!rejected.isEmpty()) TimeUnit.MILLISECONDS.sleep(200L << attempt);
+            pending = rejected;
+        }
+    }
+
+    private void count(AtomicLong counter, String result) {
+        counter.incrementAndGet();
+        meterRegistry.counter("worker.reembed.documents", "result", result).increment();
+    }
+
+    @Override
+    public void destroy() {
+        Job job = current;
+        if (job != null) job.cancelled = true;
+        executor.shutdown();
+    }
+
+    final class Job {
+        final String id = UUID.randomUUID().toString();
+        final boolean restart;
+        final Instant startedAt = Instant.now();
+        final long startedNanos = System.nanoTime();
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong embedded = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        volatile long resumedProcessed;
+        volatile String resumedAfter;
+        volatile String after;
+        volatile long total;
+        volatile String phase = "queued";
+        volatile boolean cancelled;
+        volatile State state = State.RUNNING;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Job(boolean restart) {
+            this.restart = restart;
+        }
+
+        void resume(Checkpoint checkpoint) {
+            resumedAfter = checkpoint.after();
+            after = checkpoint.after();
+            resumedProcessed = checkpoint.processed();
+            processed.set(checkpoint.processed());
+            embedded.set(checkpoint.embedded());
+            skipped.set(checkpoint.skipped());
+            failed.set(checkpoint.failed());
+        }
+
+        Checkpoint checkpoint() {
+            return new Checkpoint(model, after, processed.get(), embedded.get(), skipped.get(), failed.get());
+        }
+
+        void finish(State state, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = state;
+        }
+
+        Status status() {
+            long done = processed.get();
+            long end = (finishedAt == null) ? System.nanoTime() : startedNanos + Duration.between(startedAt, finishedAt).toNanos();
+            double seconds = (end - startedNanos) / 1e9;
+            double rate = (seconds > 0) ? (done - resumedProcessed) / seconds : 0;
+            Long eta = (state != State.RUNNING) ? null
+                    : (rate > 0) ? (long) Math.ceil(Math.max(0, total - done) / rate) : null;
+            return new Status(index, model, targetField, state, phase, total, done, embedded.get(), skipped.get(),
+                    failed.get(), Math.round(rate * 10) / 10.0, eta, resumedAfter, startedAt, finishedAt, error);
+        }
+    }
+}
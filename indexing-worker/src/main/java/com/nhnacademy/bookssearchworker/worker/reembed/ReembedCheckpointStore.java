@@ -0,0 +1,72 @@
+package com.nhnacademy.bookssearchworker.worker.reembed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 재임베딩 진행 위치 저장 (Redis)
+ *
+ * 체크포인트 : booksearch:reembed:<index>:<field>       -> Checkpoint JSON (배치를 ES에 쓴 뒤 갱신)
+ * 실행 잠금   : booksearch:reembed:<index>:<field>:lock  -> 실행 중인 작업 id (TTL, 배치마다 연장)
+ * 워커가 여러 대여도 한 곳에서만 돌고, 죽으면 잠금이 만료된 뒤 어느 워커에서든 이어서 시작할 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReembedCheckpointStore {
+
+    private static final String PREFIX = "booksearch:reembed:";
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper om;
+
+    /**
+     * @param after 마지막으로 처리한 문서의 isbn (여기 다음부터 이어서 스캔)
+     */
+    public record Checkpoint(String model, String after, long processed, long embedded, long skipped, long failed) {}
+
+    public Optional<Checkpoint> load(String index, String field) throws Exception {
+        String json = redis.opsForValue().get(key(index, field));
+        if (json == null || json.isBlank()) return Optional.empty();
+        return Optional.of(om.readValue(json, Checkpoint.class));
+    }
+
+    public void save(String index, String field, Checkpoint checkpoint) throws Exception {
+        redis.opsForValue().set(key(index, field), om.writeValueAsString(checkpoint));
+    }
+
+    public void delete(String index, String field) {
+        redis.delete(key(index, field));
+    }
+
+    // 다른 작업이 잡고 있으면 false
+    public boolean lock(String index, String field, String owner, Duration ttl) {
+        return Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(lockKey(index, field), owner, ttl));
+    }
+
+    // 잠금이 아직 내 것이면 TTL 연장, 만료돼서 다른 작업이 가져갔으면 false
+    public boolean renew(String index, String field, String owner, Duration ttl) {
+        String key = lockKey(index, field);
+        if (!owner.equals(redis.opsForValue().get(key))) return false;
+        return Boolean.TRUE.equals(redis.expire(key, ttl));
+    }
+
+    public void unlock(String index, String field, String owner) {
+        String key = lockKey(index, field);
+        if (owner.equals(redis.opsForValue().get(key))) {
+            redis.delete(key);
+        }
+    }
+
+    private static String key(String index, String field) {
+        return PREFIX + index + ":" + field;
+    }
+
+    private static String lockKey(String index, String field) {
+        return key(index, field) + ":lock";
+    }
+}
@@ -0,0 +1,43 @@
+package com.nhnacademy.bookssearchworker.worker.reembed;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재임베딩 actuator 엔드포인트 (/actuator/reembed)
+ *
+ * GET    : 진행 중 / 마지막 작업 상태 (처리 속도 docsPerSecond, 남은 시간 etaSeconds)
+ * POST   : {} (체크포인트가 있으면 이어서) 또는 {"restart":true} (처음부터)
+ * DELETE : 진행 중 작업 중단 (체크포인트는 남음)
+ *
+ * reindex와 같이 기본은 읽기만 허용되고 노출도 안 된다.
+ * management.endpoints.web.exposure.include 에 reembed 추가, management.endpoint.reembed.access=unrestricted
+ */
+@Component
+@Endpoint(id = "reembed", defaultAccess = Access.READ_ONLY)
+@RequiredArgsConstructor
+public class ReembedEndpoint {
+
+    private final BookReembedder reembedder;
+
+    @ReadOperation
+    public BookReembedder.Status status() {
+        return reembedder.status();
+    }
+
+    @WriteOperation
+    public BookReembedder.Status start(@Nullable Boolean restart) {
+        return reembedder.start(restart != null && restart);
+    }
+
+    @DeleteOperation
+    public BookReembedder.Status cancel() {
+        return reembedder.cancel();
+    }
+}
@@ -0,0 +1,489 @@
+package com.nhnacademy.bookssearchworker.worker.reindex;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.nhnacademy.bookssearchworker.worker.consumer.BookUpsertDocs;
+import com.nhnacademy.bookssearchworker.worker.consumer.IsbnStripedExecutor;
+import com.nhnacademy.bookssearchworker.worker.consumer.UpsertCoalescer;
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingFingerprint;
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingTextBuilder;
+import com.nhnacademy.bookssearchworker.worker.embedding.OllamaEmbeddingClient;
+import com.nhnacademy.bookssearchworker.worker.es.BulkIndexer;
+import com.nhnacademy.bookssearchworker.worker.es.BulkItemResult;
+import com.nhnacademy.bookssearchworker.worker.es.BulkOperation;
+import com.nhnacademy.bookssearchworker.worker.es.EsBookDocumentClient;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient.Hit;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient.IndexDefinition;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient.ScanPage;
+import com.nhnacademy.bookssearchworker.worker.message.BookUpsertMessage.BookPayload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 도서 인덱스 전체 재색인 (새 버전 인덱스에 적재 후 alias 교체)
+ *
+ * 1) alias(booksearch.es.index)가 가리키는 인덱스의 매핑/분석기 설정으로 <alias>-v<UTC 시각> 인덱스를 만든다 (replicas=0, refresh 끔)
+ * 2) CATALOG    : 리스너는 그대로 두고, 처리되는 메시지를 기존 인덱스와 새 인덱스에 함께 쓴다 (EsBookDocumentClient 이중 쓰기)
+ *                 적재가 몇 시간 걸려도 변경은 계속 검색에 반영되고, 새 인덱스에서는 스냅숏보다 최신인 메시지가 이긴다
+ *    INDEX_COPY : 리스너를 멈추고 남은 쓰기(stripe/몰아 처리 대기/BulkIndexer 버퍼)가 끝나길 기다린다
+ *                 복사는 원본을 그대로 index로 덮어 순서 비교가 없으므로, 멈춘 동안 온 메시지는 큐에 쌓였다가 alias 교체 뒤 새 인덱스에 반영된다
+ * 3) 원본에 따라 새 인덱스를 채운다 (동시에 parallel-bulks개 배치)
+ *    CATALOG    (기본) : 카탈로그 DB를 스트리밍으로 읽어 catalog.batch-size건씩 임베딩(embedAll) 후 _bulk
+ *                       빠졌거나 깨진 문서도 되살리고, 벡터도 지금 모델로 다시 만든다
+ *                       문서는 읽기 시작 시각(스냅숏)을 source_ts로 한 조건부 upsert로 쓴다 (그보다 최신 메시지가 이긴다)
+ *                       끝나면 기존 인덱스의 삭제 tombstone도 같은 조건부 삭제로 옮긴다 (카탈로그에 없는 책)
+ *    INDEX_COPY        : 기존 인덱스를 PIT + search_after로 스캔해 원본 그대로 _bulk (임베딩은 그대로, 매핑/설정만 바꿀 때)
+ * 4) replicas / refresh_interval 원복, refresh, 건수 확인 후 alias를 한 번에 옮긴다
+ *    CATALOG는 적재 중에도 메시지가 문서를 더하거나 지우므로 건수 대신 문서별 결과와 이중 쓰기 실패 수로 확인한다
+ * 실패/중단하면 alias는 그대로 두고 새 인덱스는 확인용으로 남긴다. 기존 인덱스도 지우지 않는다 (되돌릴 때 alias만 다시 옮김)
+ * 단, alias가 아니라 같은 이름의 실제 인덱스면 replaceConcreteIndex=true일 때만 그 인덱스를 지우고 alias로 바꾼다.
+ *
+ * app.worker.reindex.page-size          (500) : INDEX_COPY 스캔 페이지 크기
+ * app.worker.reindex.parallel-bulks     (2)
+ * app.worker.reindex.drain-timeout-ms   (30000) : INDEX_COPY에서 리스너를 멈춘 뒤 남은 쓰기를 기다리는 최대 시간
+ * app.worker.reindex.catalog.batch-size (100) : CATALOG 임베딩 한 번 = _bulk 한 번 건수
+ */
+@Slf4j
+@Component
+public class BookReindexer implements DisposableBean {
+
+    public enum State { RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    // 새 인덱스를 채울 원본
+    public enum Mode { CATALOG, INDEX_COPY }
+
+    public record Status(String alias, Mode mode, String sourceIndex, String targetIndex, State state, String phase,
+                         long scanned, long indexed, long skipped, long failed,
+                         Instant startedAt, Instant finishedAt, String error) {}
+
+    private static final String PIT_KEEP_ALIVE = "5m";
+    private static final int REJECTED_RETRIES = 3;
+    private static final int EMBED_RETRIES = 3;
+    private static final DateTimeFormatter VERSION = DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneOffset.UTC);
+
+    private final EsIndexAdminClient es;
+    private final EsBookDocumentClient documents;
+    private final ObjectProvider<RabbitListenerEndpointRegistry> listeners;
+    private final IsbnStripedExecutor stripes;
+    private final UpsertCoalescer coalescer;
+    private final BulkIndexer indexer;
+    private final CatalogBookReader catalog;
+    private final OllamaEmbeddingClient embeddings;
+    private final EmbeddingTextBuilder textBuilder;
+    private final EmbeddingFingerprint fingerprints;
+    private final String alias;
+    private final int pageSize;
+    private final int parallelBulks;
+    private final long drainTimeoutMs;
+    private final int catalogBatchSize;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("book-reindex").daemon().factory());
+
+    private volatile Job current;
+
+    @Autowired
+    public BookReindexer(
+            EsIndexAdminClient es,
+            EsBookDocumentClient documents,
+            ObjectProvider<RabbitListenerEndpointRegistry> listeners,
+            IsbnStripedExecutor stripes,
+            UpsertCoalescer coalescer,
+            BulkIndexer indexer,
+            CatalogBookReader catalog,
+            OllamaEmbeddingClient embeddings,
+            EmbeddingTextBuilder textBuilder,
+            EmbeddingFingerprint fingerprints,
+            @Value("${booksearch.es.index}") String alias,
+            @Value("${app.worker.reindex.page-size:500}") int pageSize,
+            @Value("${app.worker.reindex.parallel-bulks:2}") int parallelBulks,
+            @Value("${app.worker.reindex.drain-timeout-ms:30000}") long drainTimeoutMs,
+            @Value("${app.worker.reindex.catalog.batch-size:100}") int catalogBatchSize
+    ) {
+        this.es = es;
+        this.documents = documents;
+        this.listeners = listeners;
+        this.stripes = stripes;
+        this.coalescer = coalescer;
+        this.indexer = indexer;
+        this.catalog = catalog;
+        this.embeddings = embeddings;
+        this.textBuilder = textBuilder;
+        this.fingerprints = fingerprints;
+        this.alias = alias;
+        this.pageSize = pageSize;
+        this.parallelBulks = Math.max(1, parallelBulks);
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.catalogBatchSize = Math.max(1, catalogBatchSize);
+    }
+
+    /**
+     * 재색인 시작, 이미 돌고 있으면 새로 시작하지 않고 지금 작업 상태를 돌려준다
+     */
+    public synchronized Status start(Mode mode, boolean replaceConcreteIndex) {
+        if (current != null && current.state == State.RUNNING) {
+            log.warn("[REINDEX] already running target={}", current.targetIndex);
+            return current.status();
+        }
+        Job job = new Job(alias, alias + "-v" + VERSION.format(Instant.now()), mode, replaceConcreteIndex);
+        current = job;
+        executor.execute(() -> run(job));
+        return job.status();
+    }
+
+    public Status status() {
+        Job job = current;
+        return (job == null) ? null : job.status();
+    }
+
+    public Status cancel() {
+        Job job = current;
+        if (job == null) return null;
+        job.cancelled = true;
+        return job.status();
+    }
+
+    // 백그라운드 스레드에서 실행 (테스트는 직접 호출)
+    void run(Job job) {
+        RabbitListenerEndpointRegistry registry = listeners.getIfAvailable();
+        boolean paused = false;
+        boolean shadowing = false;
+        try {
+            job.phase = "prepare";
+            IndexDefinition source = es.describe(alias);
+            job.sourceIndex = source.index();
+            if (!source.alias() && !job.replaceConcreteIndex) {
+                throw new IllegalStateException(alias + " is a concrete index, not an alias (start with replaceConcreteIndex=true to convert it)");
+            }
+            es.createForBulkLoad(job.targetIndex, source);
+            log.info("[REINDEX] start alias={}, mode={}, source={}, target={}", alias, job.mode, source.index(), job.targetIndex);
+
+            if (job.mode == Mode.CATALOG) {
+                // 스냅숏 시각(rebuild)보다 먼저 켜야 그 뒤에 발행된 메시지가 모두 새 인덱스에도 들어간다
+                documents.startShadowWrites(job.targetIndex);
+                shadowing = true;
+                job.phase = "catalog";
+                rebuild(job);
+                if (!job.cancelled) {
+                    job.phase = "tombstones";
+                    copyTombstones(job, source.index());
+                }
+            } else {
+                job.phase = "drain";
+                if (registry != null && registry.isRunning()) {
+                    registry.stop();
+                    paused = true;
+                }
+                awaitDrained();
+                job.phase = "copy";
+                copy(job, source.index());
+            }
+            if (job.cancelled) {
+                job.finish(State.CANCELLED, null);
+                return;
+            }
+            if (job.failed.get() > 0) {
+                throw new IllegalStateException(job.failed.get() + " document(s) failed to index");
+            }
+
+            job.phase = "finalize";
+            es.restoreSettings(job.targetIndex, source.replicas(), source.refreshInterval());
+            es.refresh(job.targetIndex);
+            if (job.mode == Mode.CATALOG) {
+                if (documents.shadowFailures() > 0) {
+                    throw new IllegalStateException(documents.shadowFailures() + " message write(s) to the new index failed");
+                }
+            } else {
+                long count = es.count(job.targetIndex);
+                long expected = job.scanned.get() - job.skipped.get();
+                if (count != expected) {
+                    throw new IllegalStateException("count mismatch: target=" + count + ", expected=" + expected
+                            + " (scanned=" + job.scanned.get() + ", skipped=" + job.skipped.get() + ")");
+                }
+            }
+            es.swapAlias(alias, source, job.targetIndex);
+            job.finish(State.COMPLETED, null);
+        } catch (Exception e) {
+            job.finish(State.FAILED, e.getMessage());
+            log.error("[REINDEX] failed target={}, phase={}, cause={}", job.targetIndex, job.phase, e.getMessage(), e);
+        } finally {
+            // alias를 옮긴 뒤에 끈다 (그 사이 쓰기는 같은 인덱스에 두 번 가지만 조건부/멱등이라 결과는 같다)
+            if (shadowing) documents.stopShadowWrites();
+            if (paused) registry.start();
+            log.info("[REINDEX] {} alias={}, mode={}, target={}, scanned={}, indexed={}, skipped={}, failed={}, tombstones={}",
+                    job.state, alias, job.mode, job.targetIndex, job.scanned.get(), job.indexed.get(), job.skipped.get(),
+                    job.failed.get(), job.tombstones.get());
+        }
+    }
+
+    private void awaitDrained() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        // 메시지가 흘러가는 순서(coalescer -> stripe -> bulk)대로 확인해야 단계 사이로 넘어가는 작업을 놓치지 않는다
+        while (coalescer.heldCount() > 0 || stripes.inFlight() > 0 || indexer.pending() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("writes did not drain within " + drainTimeoutMs + "ms");
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private void copy(Job job, String sourceIndex) throws Exception {
+        String pitId = es.openPit(sourceIndex, PIT_KEEP_ALIVE);
+        try (Loader loader = new Loader()) {
+            JsonNode after = null;
+            while (!job.cancelled) {
+                ScanPage page = es.scan(pitId, PIT_KEEP_ALIVE, pageSize, after);
+                pitId = page.pitId();
+                if (page.hits().isEmpty()) break;
+                job.scanned.addAndGet(page.hits().size());
+                after = page.hits().getLast().sort();
+
+                // 다음 페이지를 읽는 동안 앞 페이지 적재
+                List<Hit> hits = page.hits();
+                loader.submit(() -> {
+                    load(job, hits, batch -> es.bulkIndex(job.targetIndex, batch), result -> job.indexed.incrementAndGet());
+                    return null;
+                });
+            }
+            loader.await();
+        } finally {
+            closePit(pitId);
+        }
+    }
+
+    // 기존 인덱스의 tombstone을 같은 source_ts의 조건부 삭제로 옮긴다 (스냅숏 이후에 다시 등록된 책은 noop)
+    // 카탈로그에서 빠진 책도 삭제 기록이 남아, 교체 뒤 늦게 온 옛 upsert가 되살리지 않는다
+    private void copyTombstones(Job job, String sourceIndex) throws Exception {
+        String pitId = es.openPit(sourceIndex, PIT_KEEP_ALIVE);
+        try (Loader loader = new Loader()) {
+            JsonNode after = null;
+            while (!job.cancelled) {
+                ScanPage page = es.scanDeleted(pitId, PIT_KEEP_ALIVE, pageSize, after);
+                pitId = page.pitId();
+                if (page.hits().isEmpty()) break;
+                after = page.hits().getLast().sort();
+
+                List<BulkOperation> operations = new ArrayList<>(page.hits().size());
+                for (Hit hit : page.hits()) {
+                    long ts = hit.source().path("source_ts").asLong(0);
+                    if (ts > 0) operations.add(documents.deleteOperation(hit.id(), ts));
+                }
+                loader.submit(() -> {
+                    // 새로 생긴 tombstone만 센다 (카탈로그 문서를 바꾸거나 noop인 경우 제외)
+                    load(job, operations, batch -> documents.bulk(job.targetIndex, batch), result -> {
+                        if ("created".equals(result.result())) job.tombstones.incrementAndGet();
+                    });
+                    return null;
+                });
+            }
+            loader.await();
+        } finally {
+            closePit(pitId);
+        }
+    }
+
+    private void closePit(String pitId) {
+        try {
+            es.closePit(pitId);
+        } catch (Exception e) {
+            log.warn("[REINDEX] close pit failed (expires in {}) cause={}", PIT_KEEP_ALIVE, e.getMessage());
+        }
+    }
+
+    // 카탈로그를 스트리밍으로 읽으면서 batch-size건씩 임베딩 + 적재 (적재 슬롯이 차면 읽기도 기다린다)
+    private void rebuild(Job job) throws Exception {
+        // 스트림을 열기 전 시각: 이 시각까지 반영된 DB 내용을 읽으므로, 그보다 최신 메시지만 문서를 덮을 수 있다
+        job.snapshotTs = System.currentTimeMillis();
+        try (Loader loader = new Loader(); Stream<BookPayload> rows = catalog.stream()) {
+            List<BookPayload> batch = new ArrayList<>(catalogBatchSize);
+            for (Iterator<BookPayload> it = rows.iterator(); it.hasNext() && !job.cancelled; ) {
+                batch.add(it.next());
+                job.scanned.incrementAndGet();
+                if (batch.size() == catalogBatchSize) {
+                    List<BookPayload> books = batch;
+                    loader.submit(() -> {
+                        embedAndLoad(job, books);
+                        return null;
+                    });
+                    batch = new ArrayList<>(catalogBatchSize);
+                }
+            }
+            if (!batch.isEmpty() && !job.cancelled) {
+                List<BookPayload> books = batch;
+                loader.submit(() -> {
+                    embedAndLoad(job, books);
+                    return null;
+                });
+            }
+            loader.await();
+        }
+    }
+
+    // upsert 컨슈머와 같은 텍스트/지문/문서 변환 (이후 upsert 메시지는 지문이 같으면 벡터를 그대로 쓴다)
+    private void embedAndLoad(Job job, List<BookPayload> books) throws Exception {
+        List<BookPayload> valid = new ArrayList<>(books.size());
+        List<String> texts = new ArrayList<>(books.size());
+        for (BookPayload book : books) {
+            if (book.isbn() == null || book.isbn().isBlank()) {
+                job.skipped.incrementAndGet();
+                log.warn("[REINDEX] catalog row without isbn skipped id={}", book.id());
+                continue;
+            }
+            valid.add(book);
+            texts.add(textBuilder.build(book));
+        }
+        if (valid.isEmpty()) return;
+
+        List<List<Float>> vectors = embed(job, texts);
+        List<BulkOperation> operations = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            BookPayload book = valid.get(i);
+            operations.add(documents.upsertOperation(book.isbn(),
+                    BookUpsertDocs.toDoc(book.isbn(), book, vectors.get(i), fingerprints.of(texts.get(i))), job.snapshotTs));
+        }
+        load(job, operations, batch -> documents.bulk(job.targetIndex, batch), result -> job.indexed.incrementAndGet());
+    }
+
+    // 임베딩 서버 일시 장애(서킷 오픈/타임아웃)는 잠시 쉬었다 같은 배치를 다시, 계속 실패하면 작업 실패 (alias는 그대로)
+    private List<List<Float>> embed(Job job, List<String> texts) throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return embeddings.embedAll(texts);
+            } catch (RuntimeException e) {
+                if (attempt >= EMBED_RETRIES || job.cancelled) throw e;
+                log.warn("[REINDEX] embedding failed attempt={}, cause={}", attempt + 1, e.getMessage());
+                TimeUnit.SECONDS.sleep(1L << attempt);
+            }
+        }
+    }
+
+    // 새 인덱스로 보내는 _bulk 한 번 (INDEX_COPY는 Hit 그대로 index, CATALOG는 조건부 update)
+    @FunctionalInterface
+    private interface BulkCall<T> {
+        List<BulkItemResult> send(List<T> items) throws Exception;
+    }
+
+    // 429로 거절된 문서만 잠시 쉬었다 다시 보낸다, 그 밖의 실패는 건수만 센다
+    private <T> void load(Job job, List<T> items, BulkCall<T> call, Consumer<BulkItemResult> onSuccess) throws Exception {
+        List<T> pending = items;
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            List<BulkItemResult> results = call.send(pending);
+            List<T> rejected = new ArrayList<>();
+            for (int i = 0; i < results.size(); i++) {
+                BulkItemResult result = results.get(i);
+                if (result.isSuccess()) {
+                    onSuccess.accept(result);
+                } else if (result.isRejected() && attempt < REJECTED_RETRIES) {
+                    rejected.add(pending.get(i));
+                } else {
+                    job.failed.incrementAndGet();
+                    log.warn("[REINDEX] index failed id={}, status={}, error={}", result.id(), result.status(), result.error());
+                }
+            }
+            if (!rejected.isEmpty()) TimeUnit.MILLISECONDS.sleep(200L << attempt);
+            pending = rejected;
+        }
+    }
+
+    // 동시에 parallel-bulks개까지 적재, 슬롯이 차면 submit이 기다린다 (끝난 적재가 실패했으면 바로 예외)
+    private final class Loader implements AutoCloseable {
+
+        private final ExecutorService workers =
+                Executors.newFixedThreadPool(parallelBulks, Thread.ofPlatform().name("book-reindex-bulk-", 0).factory());
+        private final Semaphore slots = new Semaphore(parallelBulks);
+        private final List<Future<?>> inFlight = new ArrayList<>();
+
+        void submit(Callable<?> task) throws Exception {
+            slots.acquire();
+            inFlight.add(workers.submit(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    slots.release();
+                }
+            }));
+            for (var it = inFlight.iterator(); it.hasNext(); ) {
+                Future<?> f = it.next();
+                if (f.isDone()) {
+                    f.get();
+                    it.remove();
+                }
+            }
+        }
+
+        void await() throws Exception {
+            for (Future<?> f : inFlight) f.get();
+        }
+
+        @Override
+        public void close() {
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Job job = current;
+        if (job != null) job.cancelled = true;
+        executor.shutdown();
+    }
+
+    static final class Job {
+        final String alias;
+        final String targetIndex;
+        final Mode mode;
+        final boolean replaceConcreteIndex;
+        final Instant startedAt = Instant.now();
+        final AtomicLong scanned = new AtomicLong();
+        final AtomicLong indexed = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        // 기존 인덱스에서 옮겨 새로 만든 tombstone 수 (CATALOG)
+        final AtomicLong tombstones = new AtomicLong();
+        volatile String sourceIndex;
+        // CATALOG 문서의 source_ts (카탈로그를 읽기 시작한 시각, epoch ms)
+        volatile long snapshotTs;
+        volatile String phase = "queued";
+        volatile boolean cancelled;
+        volatile State state = State.RUNNING;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Job(String alias, String targetIndex, Mode mode, boolean replaceConcreteIndex) {
+            this.alias = alias;
+            this.targetIndex = targetIndex;
+            this.mode = mode;
+            this.replaceConcreteIndex = replaceConcreteIndex;
+        }
+
+        void finish(State state, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = state;
+        }
+
+        Status status() {
+            return new Status(alias, mode, sourceIndex, targetIndex, state, phase,
+                    scanned.get(), indexed.get(), skipped.get(), failed.get(), startedAt, finishedAt, error);
+        }
+    }
+}
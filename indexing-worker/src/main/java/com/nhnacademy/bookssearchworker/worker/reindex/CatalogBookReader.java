@@ -0,0 +1,77 @@
+package com.nhnacademy.bookssearchworker.worker.reindex;
+
+import com.nhnacademy.bookssearchworker.worker.message.BookUpsertMessage.BookPayload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 카탈로그(MySQL) 도서 원본 읽기 (전체 재색인용, 읽기 전용)
+ *
+ * 쿼리 결과를 fetch-size건씩 스트리밍으로 읽는다 (전체를 메모리에 올리지 않음, forward-only / read-only ResultSet)
+ * MySQL은 URL에 useCursorFetch=true가 있어야 fetch-size대로 나눠 받는다 (없으면 드라이버가 결과 전체를 받아 둔다)
+ * 커넥션 풀은 spring.datasource.hikari.read-only=true (세션 자체가 읽기 전용), 계정도 SELECT 권한만 주는 것을 권장
+ *
+ * 결과 컬럼 (이름으로 읽음, 메시지의 BookPayload와 같은 값):
+ * isbn, id, title, author, publisher, description, pub_date, price,
+ * categories(쉼표로 이은 문자열, 예: GROUP_CONCAT), image_url, publisher_id, category_id
+ *
+ * app.worker.reindex.catalog.query      (SELECT ... FROM book_search_catalog)
+ * app.worker.reindex.catalog.fetch-size (1000)
+ */
+@Component
+public class CatalogBookReader {
+
+    private final JdbcTemplate jdbc;
+    private final String query;
+
+    public CatalogBookReader(
+            DataSource dataSource,
+            @Value("${app.worker.reindex.catalog.query:SELECT isbn, id, title, author, publisher, description, pub_date, price, categories, image_url, publisher_id, category_id FROM book_search_catalog}") String query,
+            @Value("${app.worker.reindex.catalog.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(fetchSize);
+        this.query = query;
+    }
+
+    /**
+     * 카탈로그 전체를 한 행씩 읽는 스트림 (커넥션을 잡고 있으므로 반드시 close, try-with-resources)
+     */
+    public Stream<BookPayload> stream() {
+        return jdbc.queryForStream(query, (rs, rowNum) -> toBook(rs));
+    }
+
+    static BookPayload toBook(ResultSet rs) throws SQLException {
+        return new BookPayload(
+                rs.getObject("id", Long.class),
+                rs.getString("isbn"),
+                rs.getString("title"),
+                rs.getString("author"),
+                rs.getString("publisher"),
+                rs.getString("description"),
+                rs.getObject("pub_date", LocalDate.class),
+                rs.getObject("price", Integer.class),
+                categories(rs.getString("categories")),
+                rs.getString("image_url"),
+                rs.getObject("publisher_id", Long.class),
+                rs.getObject("category_id", Long.class)
+        );
+    }
+
+    private static List<String> categories(String joined) {
+        if (joined == null || joined.isBlank()) return List.of();
+        return Arrays.stream(joined.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+}
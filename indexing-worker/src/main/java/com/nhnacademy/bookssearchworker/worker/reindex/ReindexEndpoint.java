@@ -0,0 +1,54 @@
+package com.nhnacademy.bookssearchworker.worker.reindex;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * 전체 재색인 actuator 엔드포인트 (/actuator/reindex)
+ *
+ * GET    : 진행 중 / 마지막 작업 상태
+ * POST   : {} (카탈로그 DB에서 다시 만들기) 또는 {"mode":"index-copy"} (기존 인덱스 원본 그대로 복사)
+ *          {"replaceConcreteIndex":true} : books가 alias가 아니라 실제 인덱스일 때 처음 한 번
+ * DELETE : 진행 중 작업 중단 (alias는 그대로)
+ *
+ * dlqreplay와 같이 기본은 읽기만 허용되고 노출도 안 된다.
+ * management.endpoints.web.exposure.include 에 reindex 추가, management.endpoint.reindex.access=unrestricted
+ */
+@Component
+@Endpoint(id = "reindex", defaultAccess = Access.READ_ONLY)
+@RequiredArgsConstructor
+public class ReindexEndpoint {
+
+    private final BookReindexer reindexer;
+
+    @ReadOperation
+    public BookReindexer.Status status() {
+        return reindexer.status();
+    }
+
+    @WriteOperation
+    public BookReindexer.Status start(@Nullable String mode, @Nullable Boolean replaceConcreteIndex) {
+        return reindexer.start(mode(mode), replaceConcreteIndex != null && replaceConcreteIndex);
+    }
+
+    @DeleteOperation
+    public BookReindexer.Status cancel() {
+        return reindexer.cancel();
+    }
+
+    // catalog(기본) / index-copy
+    static BookReindexer.Mode mode(String mode) {
+        if (mode == null || mode.isBlank()) return BookReindexer.Mode.CATALOG;
+        try {
+            return BookReindexer.Mode.valueOf(mode.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown reindex mode: " + mode + " (expected catalog / index-copy)");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.nhnacademy.bookssearchworker.worker.config;
+
+import com.nhnacademy.bookssearchworker.resilience.Dependency;
+import com.nhnacademy.bookssearchworker.resilience.DownstreamWebClients;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = WorkerConfig.class)
+class WorkerConfigTest {
+
+    @Autowired
+    DownstreamWebClients webClients;
+
+    @Test
+    @DisplayName("WorkerConfig: 워커 전용 임베딩 WebClient만 만든다(외부 호출 없음)")
+    void webClients_onlyEmbeddingWorker() {
+        assertNotNull(webClients.get(Dependency.EMBEDDING_WORKER), "embedding-worker WebClient should exist");
+
+        // 검색 쪽 의존성은 검색 API 프로세스에만 풀을 만든다
+        assertThrows(IllegalStateException.class, () -> webClients.get(Dependency.EMBEDDING));
+        assertThrows(IllegalStateException.class, () -> webClients.get(Dependency.RERANKER));
+        assertThrows(IllegalStateException.class, () -> webClients.get(Dependency.GEMINI));
+    }
+
+    @Test
+    @DisplayName("WorkerConfig: ES는 자체 클라이언트를 쓰므로 WebClient가 없다")
+    void webClients_noElasticsearch() {
+        assertThrows(IllegalStateException.class, () -> webClients.get(Dependency.ELASTICSEARCH));
+    }
+}
@@ -6,21 +6,25 @@
  */
 package com.nhnacademy.bookssearchworker.worker.consumer;
 
-import com.nhnacademy.bookssearchworker.worker.es.EsBookDocumentClient;
+import com.nhnacademy.bookssearchworker.worker.es.BulkIndexer;
+import com.nhnacademy.bookssearchworker.worker.es.BulkItemResult;
 import com.nhnacademy.bookssearchworker.worker.message.BookDeleteMessage;
 import com.nhnacademy.bookssearchworker.worker.rabbit.RabbitRetryPublisher;
 import com.rabbitmq.client.Channel;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,10 +36,12 @@ import static org.mockito.Mockito.*;
 })
 class BookDeleteConsumerTest {
 
-    @Import(BookDeleteConsumer.class)
-    static class TestConfig { }
+    @Import({BookDeleteConsumer.class, BookDeleteFailureHandler.class, WorkerTracing.class, IsbnStripedExecutor.class, UpsertCoalescer.class})
+    static class TestConfig {
+        @Bean ObservationRegistry observationRegistry() { return ObservationRegistry.create(); }
+    }
 
-    @MockitoBean EsBookDocumentClient es;
+    @MockitoBean BulkIndexer indexer;
     @MockitoBean RabbitRetryPublisher retryPublisher;
 
     @MockitoBean Channel channel;
@@ -44,19 +50,21 @@ class BookDeleteConsumerTest {
     BookDeleteConsumer consumer;
 
     @Test
-    @DisplayName("정상 처리: ES delete 호출 + ack")
+    @DisplayName("정상 처리: BulkIndexer delete + ack")
     void consume_success() throws Exception {
         BookDeleteMessage msg = new BookDeleteMessage("req-1", "9780000000001", System.currentTimeMillis(), "test");
         Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
 
         when(retryPublisher.getRetryCount(any())).thenReturn(0);
+        when(indexer.delete(eq("9780000000001"), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(new BulkItemResult("9780000000001", 200, null)));
 
         consumer.consume(msg, amqp, channel, 10L);
 
         assertAll(
-                () -> verify(es).deleteById("9780000000001"),
+                () -> verify(indexer).delete(eq("9780000000001"), anyLong()),
                 () -> verify(channel).basicAck(10L, false),
-                () -> verify(retryPublisher, never()).toRetry(any(), anyString(), anyInt()),
+                () -> verify(retryPublisher, never()).toRetry(any(), anyString(), anyInt(), any()),
                 () -> verify(retryPublisher, never()).toDlq(any(), anyString(), any())
         );
     }
@@ -72,9 +80,9 @@ class BookDeleteConsumerTest {
         consumer.consume(msg, amqp, channel, 11L);
 
         assertAll(
-                () -> verify(retryPublisher).toRetry(eq(amqp), eq("rk.delete.retry"), eq(1)),
+                () -> verify(retryPublisher).toRetry(eq(amqp), eq("rk.delete.retry"), eq(1), any()),
                 () -> verify(channel).basicAck(11L, false),
-                () -> verify(es, never()).deleteById(anyString()),
+                () -> verify(indexer, never()).delete(anyString(), anyLong()),
                 () -> verify(retryPublisher, never()).toDlq(any(), anyString(), any())
         );
     }
@@ -92,8 +100,26 @@ class BookDeleteConsumerTest {
         assertAll(
                 () -> verify(retryPublisher).toDlq(eq(amqp), eq("rk.delete.fail"), any()),
                 () -> verify(channel).basicAck(12L, false),
-                () -> verify(retryPublisher, never()).toRetry(any(), anyString(), anyInt()),
-                () -> verify(es, never()).deleteById(anyString())
+                () -> verify(retryPublisher, never()).toRetry(any(), anyString(), anyInt(), any()),
+                () -> verify(indexer, never()).delete(anyString(), anyLong())
+        );
+    }
+
+    @Test
+    @DisplayName("ES 실패: _bulk 요청이 실패하면 retry 발행 + ack")
+    void consume_bulkFailed_toRetry() throws Exception {
+        BookDeleteMessage msg = new BookDeleteMessage("req-4", "9780000000001", System.currentTimeMillis(), "test");
+        Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        when(retryPublisher.getRetryCount(any())).thenReturn(0);
+        when(indexer.delete(eq("9780000000001"), anyLong())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("es down")));
+
+        consumer.consume(msg, amqp, channel, 13L);
+
+        assertAll(
+                () -> verify(retryPublisher).toRetry(eq(amqp), eq("rk.delete.retry"), eq(1), any()),
+                () -> verify(channel).basicAck(13L, false),
+                () -> verify(retryPublisher, never()).toDlq(any(), anyString(), any())
         );
     }
 }
@@ -0,0 +1,134 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nhnacademy.bookssearchworker.worker.es.BulkIndexer;
+import com.nhnacademy.bookssearchworker.worker.es.BulkItemResult;
+import com.nhnacademy.bookssearchworker.worker.rabbit.RabbitRetryPublisher;
+import com.rabbitmq.client.Channel;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = BookFieldUpdateConsumerTest.TestConfig.class)
+@TestPropertySource(properties = {
+        "rabbitmq.routing.book-field-update-retry=rk.field.retry",
+        "rabbitmq.routing.book-field-update-fail=rk.field.fail"
+})
+class BookFieldUpdateConsumerTest {
+
+    @Import({BookFieldUpdateConsumer.class, BookFieldUpdateFailureHandler.class, WorkerTracing.class})
+    static class TestConfig {
+        @Bean ObservationRegistry observationRegistry() { return ObservationRegistry.create(); }
+
+        // RabbitWorkerConfig와 같은 설정의 컨버터
+        @Bean MessageConverter messageConverter() {
+            ObjectMapper om = new ObjectMapper();
+            om.registerModule(new JavaTimeModule());
+            Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(om);
+            converter.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.INFERRED);
+            return converter;
+        }
+    }
+
+    @MockitoBean BulkIndexer indexer;
+    @MockitoBean RabbitRetryPublisher retryPublisher;
+    @MockitoBean Channel channel;
+
+    @Autowired
+    BookFieldUpdateConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        when(retryPublisher.getRetryCount(any())).thenReturn(0);
+    }
+
+    private static Message message(long deliveryTag, String fieldsJson) {
+        String json = """
+                {"requestId":"req-%d",%s,"ts":1,"reason":"test"}
+                """.formatted(deliveryTag, fieldsJson);
+        MessageProperties props = new MessageProperties();
+        props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        props.setDeliveryTag(deliveryTag);
+        return new Message(json.getBytes(StandardCharsets.UTF_8), props);
+    }
+
+    private static CompletableFuture<BulkItemResult> result(String isbn, int status, String error) {
+        return CompletableFuture.completedFuture(new BulkItemResult(isbn, status, error));
+    }
+
+    @Test
+    @DisplayName("바뀐 필드만 ES 필드명으로 부분 update, 성공하면 ack")
+    void consumeBatch_updatesOnlyChangedFields() throws Exception {
+        Message price = message(1, "\"isbn\":\"978-1\",\"price\":9000");
+        Message image = message(2, "\"isbn\":\"978-2\",\"imageUrl\":\"img2\",\"categoryId\":7");
+        when(indexer.update(anyString(), anyMap(), anyLong())).thenAnswer(inv -> result(inv.getArgument(0), 200, null));
+
+        consumer.consumeBatch(List.of(price, image), channel);
+
+        assertAll(
+                () -> verify(indexer).update(eq("978-1"), eq(Map.of("price", 9000)), anyLong()),
+                () -> verify(indexer).update(eq("978-2"), eq(Map.of("image_url", "img2", "categoryId", 7L)), anyLong()),
+                () -> verify(channel).basicAck(1L, false),
+                () -> verify(channel).basicAck(2L, false),
+                () -> verify(retryPublisher, never()).toRetry(any(), anyString(), anyInt(), any())
+        );
+    }
+
+    @Test
+    @DisplayName("바뀐 필드가 없거나 isbn이 없으면 색인하지 않고 retry")
+    void consumeBatch_invalidMessage_toRetry() throws Exception {
+        Message noFields = message(1, "\"isbn\":\"978-1\"");
+        Message noIsbn = message(2, "\"price\":1000");
+
+        consumer.consumeBatch(List.of(noFields, noIsbn), channel);
+
+        assertAll(
+                () -> verify(indexer, never()).update(anyString(), anyMap(), anyLong()),
+                () -> verify(retryPublisher).toRetry(eq(noFields), eq("rk.field.retry"), eq(1), any()),
+                () -> verify(retryPublisher).toRetry(eq(noIsbn), eq("rk.field.retry"), eq(1), any()),
+                () -> verify(channel).basicAck(1L, false),
+                () -> verify(channel).basicAck(2L, false)
+        );
+    }
+
+    @Test
+    @DisplayName("문서 없음(404): 그 메시지만 retry, 재시도 소진이면 DLQ")
+    void consumeBatch_documentMissing_retriedThenDlq() throws Exception {
+        Message missing = message(1, "\"isbn\":\"978-1\",\"price\":1000");
+        Message exhausted = message(2, "\"isbn\":\"978-2\",\"price\":1000");
+        when(retryPublisher.getRetryCount(exhausted.getMessageProperties())).thenReturn(RabbitRetryPublisher.MAX_RETRY_COUNT);
+        when(indexer.update(anyString(), anyMap(), anyLong())).thenAnswer(inv ->
+                result(inv.getArgument(0), 404, "document_missing_exception: document missing"));
+
+        consumer.consumeBatch(List.of(missing, exhausted), channel);
+
+        assertAll(
+                () -> verify(retryPublisher).toRetry(eq(missing), eq("rk.field.retry"), eq(1), any()),
+                () -> verify(retryPublisher).toDlq(eq(exhausted), eq("rk.field.fail"), any()),
+                () -> verify(channel).basicAck(1L, false),
+                () -> verify(channel).basicAck(2L, false)
+        );
+    }
+}
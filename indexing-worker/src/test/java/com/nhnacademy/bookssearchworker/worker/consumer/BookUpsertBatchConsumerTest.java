@@ -0,0 +1,248 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nhnacademy.bookssearchworker.resilience.Dependency;
+import com.nhnacademy.bookssearchworker.resilience.DependencyUnavailableException;
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingFingerprint;
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingTextBuilder;
+import com.nhnacademy.bookssearchworker.worker.embedding.OllamaEmbeddingClient;
+import com.nhnacademy.bookssearchworker.worker.es.BulkIndexer;
+import com.nhnacademy.bookssearchworker.worker.es.BookUpsertDoc;
+import com.nhnacademy.bookssearchworker.worker.es.BulkItemResult;
+import com.nhnacademy.bookssearchworker.worker.es.EsBookDocumentClient;
+import com.nhnacademy.bookssearchworker.worker.exception.WorkerProcessingException;
+import com.nhnacademy.bookssearchworker.worker.message.BookUpsertMessage;
+import com.nhnacademy.bookssearchworker.worker.rabbit.RabbitRetryPublisher;
+import com.rabbitmq.client.Channel;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = BookUpsertBatchConsumerTest.TestConfig.class)
+@TestPropertySource(properties = {
+        "app.worker.batch.enabled=true",
+        "rabbitmq.routing.book-upsert-retry=rk.upsert.retry",
+        "rabbitmq.routing.book-upsert-fail=rk.upsert.fail",
+        "app.ai.embedding-model=bge-m3"
+})
+class BookUpsertBatchConsumerTest {
+
+    @Import({BookUpsertBatchConsumer.class, BookUpsertFailureHandler.class, WorkerTracing.class, EmbeddingReuse.class, EmbeddingFingerprint.class})
+    static class TestConfig {
+        @Bean ObservationRegistry observationRegistry() { return ObservationRegistry.create(); }
+
+        // RabbitWorkerConfig와 같은 설정의 컨버터
+        @Bean MessageConverter messageConverter() {
+            ObjectMapper om = new ObjectMapper();
+            om.registerModule(new JavaTimeModule());
+            Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(om);
+            converter.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.INFERRED);
+            return converter;
+        }
+    }
+
+    @MockitoBean BulkIndexer indexer;
+    @MockitoBean EsBookDocumentClient es;
+    @MockitoBean EmbeddingTextBuilder textBuilder;
+    @MockitoBean OllamaEmbeddingClient embeddingClient;
+    @MockitoBean RabbitRetryPublisher retryPublisher;
+    @MockitoBean Channel channel;
+
+    @Autowired
+    BookUpsertBatchConsumer consumer;
+
+    @Autowired
+    EmbeddingFingerprint fingerprint;
+
+    @BeforeEach
+    void setUp() {
+        when(retryPublisher.getRetryCount(any())).thenReturn(0);
+        when(textBuilder.build(any(BookUpsertMessage.BookPayload.class))).thenReturn("text");
+    }
+
+    private static Message message(long deliveryTag, String isbn) {
+        String json = """
+                {"requestId":"req-%d","book":{"id":%d,"isbn":"%s","title":"Title","pubDate":"2025-01-01"},"ts":1,"reason":"test"}
+                """.formatted(deliveryTag, deliveryTag, isbn);
+        MessageProperties props = new MessageProperties();
+        props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        props.setDeliveryTag(deliveryTag);
+        return new Message(json.getBytes(StandardCharsets.UTF_8), props);
+    }
+
+    private static List<Float> vec(int dims) {
+        ArrayList<Float> v = new ArrayList<>(dims);
+        for (int i = 0; i < dims; i++) v.add(0.01f);
+        return v;
+    }
+
+    private static CompletableFuture<BulkItemResult> result(String isbn, int status, String error) {
+        return CompletableFuture.completedFuture(new BulkItemResult(isbn, status, error));
+    }
+
+    @Test
+    @DisplayName("배치 처리: 임베딩 1번 + 문서별 BulkIndexer 결과대로 ack / 재시도")
+    void consumeBatch_perItemOutcome() throws Exception {
+        Message ok = message(1, "978-1");
+        Message rejected = message(2, "978-2");
+        when(embeddingClient.embedAll(anyList())).thenReturn(List.of(vec(1024), vec(1024)));
+        when(indexer.upsert(eq("978-1"), any(), anyLong())).thenReturn(result("978-1", 200, null));
+        when(indexer.upsert(eq("978-2"), any(), anyLong())).thenReturn(result("978-2", 400, "mapper_parsing_exception: bad"));
+
+        consumer.consumeBatch(List.of(ok, rejected), channel);
+
+        assertAll(
+                () -> verify(embeddingClient, times(1)).embedAll(anyList()),
+                () -> verify(indexer, times(2)).upsert(anyString(), any(), anyLong()),
+                () -> verify(channel).basicAck(1L, false),
+                () -> verify(retryPublisher).toRetry(eq(rejected), eq("rk.upsert.retry"), eq(1), any()),
+                () -> verify(channel).basicAck(2L, false),
+                () -> verify(retryPublisher, never()).toRetry(eq(ok), anyString(), anyInt(), any())
+        );
+    }
+
+    @Test
+    @DisplayName("검증 실패: isbn 없는 메시지만 재시도로 빠지고 나머지는 색인된다")
+    void consumeBatch_invalidMessage_excludedFromBatch() throws Exception {
+        Message invalid = message(1, " ");
+        Message valid = message(2, "978-2");
+        when(embeddingClient.embedAll(anyList())).thenReturn(List.of(vec(1024)));
+        when(indexer.upsert(eq("978-2"), any(), anyLong())).thenReturn(result("978-2", 201, null));
+
+        consumer.consumeBatch(List.of(invalid, valid), channel);
+
+        assertAll(
+                () -> verify(retryPublisher).toRetry(eq(invalid), eq("rk.upsert.retry"), eq(1), any()),
+                () -> verify(channel).basicAck(1L, false),
+                () -> verify(embeddingClient).embedAll(argThat(texts -> texts.size() == 1)),
+                () -> verify(channel).basicAck(2L, false),
+                () -> verify(retryPublisher, never()).toRetry(eq(valid), anyString(), anyInt(), any())
+        );
+    }
+
+    @Test
+    @DisplayName("임베딩 서버 과부하: 배치 전체가 DOWNSTREAM_UNAVAILABLE 단계 지연 재시도, ES 호출 없음")
+    void consumeBatch_embeddingUnavailable_allDelayed() throws Exception {
+        Message a = message(1, "978-1");
+        Message b = message(2, "978-2");
+        when(embeddingClient.embedAll(anyList())).thenThrow(new DependencyUnavailableException(
+                Dependency.EMBEDDING_WORKER, DependencyUnavailableException.Reason.LIMIT_EXCEEDED));
+
+        consumer.consumeBatch(List.of(a, b), channel);
+
+        assertAll(
+                () -> verify(retryPublisher).toRetry(eq(a), eq("rk.upsert.retry"), eq(1), eq(WorkerProcessingException.ErrorCode.DOWNSTREAM_UNAVAILABLE)),
+                () -> verify(retryPublisher).toRetry(eq(b), eq("rk.upsert.retry"), eq(1), eq(WorkerProcessingException.ErrorCode.DOWNSTREAM_UNAVAILABLE)),
+                () -> verify(channel).basicAck(1L, false),
+                () -> verify(channel).basicAck(2L, false),
+                () -> verify(indexer, never()).upsert(anyString(), any(), anyLong())
+        );
+    }
+
+    @Test
+    @DisplayName("임베딩 차원 불일치: 해당 문서만 빼고 색인")
+    void consumeBatch_dimMismatch_onlyThatItemRetried() throws Exception {
+        Message bad = message(1, "978-1");
+        Message good = message(2, "978-2");
+        when(embeddingClient.embedAll(anyList())).thenReturn(List.of(vec(3), vec(1024)));
+        when(indexer.upsert(eq("978-2"), any(), anyLong())).thenReturn(result("978-2", 200, null));
+
+        consumer.consumeBatch(List.of(bad, good), channel);
+
+        assertAll(
+                () -> verify(retryPublisher).toRetry(eq(bad), eq("rk.upsert.retry"), eq(1), any()),
+                () -> verify(indexer, never()).upsert(eq("978-1"), any(), anyLong()),
+                () -> verify(indexer).upsert(eq("978-2"), any(), anyLong()),
+                () -> verify(channel).basicAck(2L, false)
+        );
+    }
+
+    @Test
+    @DisplayName("_bulk 요청 자체 실패: 마지막 재시도였던 메시지는 DLQ, 나머지는 재시도")
+    void consumeBatch_bulkRequestFails_eachRoutedByOwnRetryCount() throws Exception {
+        Message fresh = message(1, "978-1");
+        Message exhausted = message(2, "978-2");
+        when(retryPublisher.getRetryCount(exhausted.getMessageProperties())).thenReturn(RabbitRetryPublisher.MAX_RETRY_COUNT);
+        when(embeddingClient.embedAll(anyList())).thenReturn(List.of(vec(1024), vec(1024)));
+        when(indexer.upsert(anyString(), any(), anyLong())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("es down")));
+
+        consumer.consumeBatch(List.of(fresh, exhausted), channel);
+
+        assertAll(
+                () -> verify(retryPublisher).toRetry(eq(fresh), eq("rk.upsert.retry"), eq(1), any()),
+                () -> verify(retryPublisher).toDlq(eq(exhausted), eq("rk.upsert.fail"), any()),
+                () -> verify(channel).basicAck(1L, false),
+                () -> verify(channel).basicAck(2L, false)
+        );
+    }
+
+    @Test
+    @DisplayName("임베딩 입력 그대로인 문서는 임베딩에서 빼고 벡터 없이 색인한다")
+    void consumeBatch_unchangedEmbeddingInput_skipped() throws Exception {
+        Message unchanged = message(1, "978-1");
+        Message changed = message(2, "978-2");
+        when(es.findEmbeddingFingerprints(any())).thenReturn(Map.of(
+                "978-1", fingerprint.of("text"),
+                "978-2", fingerprint.of("old text")));
+        when(embeddingClient.embedAll(anyList())).thenReturn(List.of(vec(1024)));
+        when(indexer.upsert(anyString(), any(), anyLong())).thenAnswer(inv -> result(inv.getArgument(0), 200, null));
+
+        consumer.consumeBatch(List.of(unchanged, changed), channel);
+
+        ArgumentCaptor<Object> unchangedDoc = ArgumentCaptor.forClass(Object.class);
+        ArgumentCaptor<Object> changedDoc = ArgumentCaptor.forClass(Object.class);
+        assertAll(
+                () -> verify(embeddingClient).embedAll(argThat(texts -> texts.size() == 1)),
+                () -> verify(indexer).upsert(eq("978-1"), unchangedDoc.capture(), anyLong()),
+                () -> verify(indexer).upsert(eq("978-2"), changedDoc.capture(), anyLong()),
+                () -> assertThat(((BookUpsertDoc) unchangedDoc.getValue()).embedding()).isNull(),
+                () -> assertThat(((BookUpsertDoc) changedDoc.getValue()).embedding()).hasSize(1024),
+                () -> verify(channel).basicAck(1L, false),
+                () -> verify(channel).basicAck(2L, false)
+        );
+    }
+
+    @Test
+    @DisplayName("같은 isbn이 배치에 두 번 있으면 지문이 같아도 모두 다시 임베딩한다")
+    void consumeBatch_duplicateIsbn_alwaysEmbedded() throws Exception {
+        Message first = message(1, "978-1");
+        Message second = message(2, "978-1");
+        when(es.findEmbeddingFingerprints(any())).thenReturn(Map.of("978-1", fingerprint.of("text")));
+        when(embeddingClient.embedAll(anyList())).thenReturn(List.of(vec(1024), vec(1024)));
+        when(indexer.upsert(anyString(), any(), anyLong())).thenAnswer(inv -> result(inv.getArgument(0), 200, null));
+
+        consumer.consumeBatch(List.of(first, second), channel);
+
+        assertAll(
+                () -> verify(embeddingClient).embedAll(argThat(texts -> texts.size() == 2)),
+                () -> verify(indexer, times(2)).upsert(eq("978-1"), any(), anyLong()),
+                () -> verify(channel).basicAck(1L, false),
+                () -> verify(channel).basicAck(2L, false)
+        );
+    }
+}
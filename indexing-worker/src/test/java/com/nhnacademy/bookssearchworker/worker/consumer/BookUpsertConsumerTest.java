@@ -0,0 +1,338 @@
+/*
+ * NOTE:
+ * - This test suite intentionally avoids any real external calls (RabbitMQ / ES / AI).
+ * - All external dependencies are replaced using @MockitoBean (Spring Boot Mockito override).
+ * - If your project uses older Spring Boot (without @MockitoBean), replace @MockitoBean with @MockBean.
+ */
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.nhnacademy.bookssearchworker.resilience.Dependency;
+import com.nhnacademy.bookssearchworker.resilience.DependencyUnavailableException;
+import com.nhnacademy.bookssearchworker.support.InMemoryTracing;
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingFingerprint;
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingTextBuilder;
+import com.nhnacademy.bookssearchworker.worker.embedding.OllamaEmbeddingClient;
+import com.nhnacademy.bookssearchworker.worker.es.BulkIndexer;
+import com.nhnacademy.bookssearchworker.worker.es.BookUpsertDoc;
+import com.nhnacademy.bookssearchworker.worker.es.BulkItemResult;
+import com.nhnacademy.bookssearchworker.worker.es.EsBookDocumentClient;
+import com.nhnacademy.bookssearchworker.worker.exception.WorkerProcessingException;
+import com.nhnacademy.bookssearchworker.worker.message.BookUpsertMessage;
+import com.nhnacademy.bookssearchworker.worker.rabbit.RabbitRetryPublisher;
+import com.rabbitmq.client.Channel;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = BookUpsertConsumerTest.TestConfig.class)
+@TestPropertySource(properties = {
+        "rabbitmq.routing.book-upsert-retry=rk.upsert.retry",
+        "rabbitmq.routing.book-upsert-fail=rk.upsert.fail",
+        "app.ai.embedding-model=bge-m3"
+})
+class BookUpsertConsumerTest {
+
+    static final InMemoryTracing TRACING = new InMemoryTracing();
+
+    @Import({BookUpsertConsumer.class, BookUpsertFailureHandler.class, WorkerTracing.class, EmbeddingReuse.class, EmbeddingFingerprint.class,
+            IsbnStripedExecutor.class, UpsertCoalescer.class})
+    static class TestConfig {
+        @Bean ObservationRegistry observationRegistry() { return TRACING.observationRegistry(); }
+    }
+
+    @MockitoBean BulkIndexer indexer;
+    @MockitoBean EsBookDocumentClient es;
+    @MockitoBean EmbeddingTextBuilder textBuilder;
+    @MockitoBean OllamaEmbeddingClient embeddingClient;
+    @MockitoBean RabbitRetryPublisher retryPublisher;
+    @MockitoBean Channel channel; // 파라미터로 전달할 Channel도 MockitoBean으로 준비
+
+    @Autowired
+    BookUpsertConsumer consumer;
+
+    @Autowired
+    EmbeddingFingerprint fingerprint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(indexer.upsert(anyString(), any(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(new BulkItemResult("9780000000001", 200, null)));
+    }
+
+    private static BookUpsertMessage validMessage() {
+        BookUpsertMessage.BookPayload book = new BookUpsertMessage.BookPayload(
+                1L, "9780000000001", "Title", "Author", "Publisher",
+                "Desc", LocalDate.of(2025, 1, 1), 10000, List.of("C1"),
+                "img", 10L, 20L
+        );
+        return new BookUpsertMessage("req-1", book, System.currentTimeMillis(), "test");
+    }
+
+    private static List<Float> vec(int dims) {
+        ArrayList<Float> v = new ArrayList<>(dims);
+        for (int i = 0; i < dims; i++) v.add(0.01f);
+        return v;
+    }
+
+    @Test
+    @DisplayName("정상 처리: build->embed->BulkIndexer upsert + ack")
+    void consume_success() throws Exception {
+        BookUpsertMessage msg = validMessage();
+        Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        when(retryPublisher.getRetryCount(any())).thenReturn(0);
+        when(textBuilder.build(any(BookUpsertMessage.BookPayload.class))).thenReturn("text");
+        when(embeddingClient.embed("text")).thenReturn(vec(1024));
+
+        consumer.consume(msg, amqp, channel, 100L);
+
+        assertAll(
+                () -> verify(indexer).upsert(eq("9780000000001"), any(), anyLong()),
+                () -> verify(channel).basicAck(100L, false),
+                () -> verify(retryPublisher, never()).toRetry(any(), anyString(), anyInt(), any()),
+                () -> verify(retryPublisher, never()).toDlq(any(), anyString(), any())
+        );
+    }
+
+    @Test
+    @DisplayName("실패/재시도: isbn null/blank면 INVALID_MESSAGE -> retry + ack")
+    void consume_invalidIsbn_toRetry() throws Exception {
+        BookUpsertMessage.BookPayload book = new BookUpsertMessage.BookPayload(
+                1L, "  ", "Title", "Author", "Publisher",
+                "Desc", LocalDate.now(), 10000, List.of("C1"),
+                "img", 10L, 20L
+        );
+        BookUpsertMessage msg = new BookUpsertMessage("req-2", book, System.currentTimeMillis(), "test");
+        Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        when(retryPublisher.getRetryCount(any())).thenReturn(0);
+
+        consumer.consume(msg, amqp, channel, 101L);
+
+        assertAll(
+                () -> verify(retryPublisher).toRetry(eq(amqp), eq("rk.upsert.retry"), eq(1), any()),
+                () -> verify(channel).basicAck(101L, false),
+                () -> verify(indexer, never()).upsert(anyString(), any(), anyLong())
+        );
+    }
+
+    @Test
+    @DisplayName("실패/재시도: 임베딩 입력 텍스트가 blank면 retry + ack")
+    void consume_blankText_toRetry() throws Exception {
+        BookUpsertMessage msg = validMessage();
+        Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        when(retryPublisher.getRetryCount(any())).thenReturn(0);
+        when(textBuilder.build(any(BookUpsertMessage.BookPayload.class))).thenReturn("   "); // blank
+
+        consumer.consume(msg, amqp, channel, 102L);
+
+        assertAll(
+                () -> verify(retryPublisher).toRetry(eq(amqp), eq("rk.upsert.retry"), eq(1), any()),
+                () -> verify(channel).basicAck(102L, false),
+                () -> verify(embeddingClient, never()).embed(anyString()),
+                () -> verify(indexer, never()).upsert(anyString(), any(), anyLong())
+        );
+    }
+
+    @Test
+    @DisplayName("실패/재시도: 임베딩 결과가 empty면 EMBEDDING_FAILED -> retry + ack")
+    void consume_emptyEmbedding_toRetry() throws Exception {
+        BookUpsertMessage msg = validMessage();
+        Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        when(retryPublisher.getRetryCount(any())).thenReturn(0);
+        when(textBuilder.build(any(BookUpsertMessage.BookPayload.class))).thenReturn("text");
+        when(embeddingClient.embed("text")).thenReturn(List.of()); // empty
+
+        consumer.consume(msg, amqp, channel, 103L);
+
+        assertAll(
+                () -> verify(retryPublisher).toRetry(eq(amqp), eq("rk.upsert.retry"), eq(1), any()),
+                () -> verify(channel).basicAck(103L, false),
+                () -> verify(indexer, never()).upsert(anyString(), any(), anyLong())
+        );
+    }
+
+    @Test
+    @DisplayName("실패/재시도: 임베딩 차원 불일치면 EMBEDDING_FAILED -> retry + ack")
+    void consume_dimMismatch_toRetry() throws Exception {
+        BookUpsertMessage msg = validMessage();
+        Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        when(retryPublisher.getRetryCount(any())).thenReturn(0);
+        when(textBuilder.build(any(BookUpsertMessage.BookPayload.class))).thenReturn("text");
+        when(embeddingClient.embed("text")).thenReturn(vec(3)); // mismatch
+
+        consumer.consume(msg, amqp, channel, 104L);
+
+        assertAll(
+                () -> verify(retryPublisher).toRetry(eq(amqp), eq("rk.upsert.retry"), eq(1), any()),
+                () -> verify(channel).basicAck(104L, false),
+                () -> verify(indexer, never()).upsert(anyString(), any(), anyLong())
+        );
+    }
+
+    @Test
+    @DisplayName("실패/최종: retryCount==MAX면 DLQ 발행 + ack (원인 예외가 Runtime/NPE라도 wrap 처리)")
+    void consume_whenMaxRetry_toDlq() throws Exception {
+        BookUpsertMessage msg = validMessage();
+        Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        when(retryPublisher.getRetryCount(any())).thenReturn(RabbitRetryPublisher.MAX_RETRY_COUNT);
+        when(textBuilder.build(any(BookUpsertMessage.BookPayload.class))).thenReturn("text");
+        when(embeddingClient.embed("text")).thenThrow(new NullPointerException("boom"));
+
+        consumer.consume(msg, amqp, channel, 105L);
+
+        assertAll(
+                () -> verify(retryPublisher).toDlq(eq(amqp), eq("rk.upsert.fail"), any()),
+                () -> verify(channel).basicAck(105L, false),
+                () -> verify(retryPublisher, never()).toRetry(any(), anyString(), anyInt(), any()),
+                () -> verify(indexer, never()).upsert(anyString(), any(), anyLong())
+        );
+    }
+
+    @Test
+    @DisplayName("실패/지연 재시도: 임베딩 서버 과부하(동시 호출 한도 초과)면 DOWNSTREAM_UNAVAILABLE 단계 지연 재시도 + ack")
+    void consume_downstreamUnavailable_toDelayedRetry() throws Exception {
+        BookUpsertMessage msg = validMessage();
+        Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        when(retryPublisher.getRetryCount(any())).thenReturn(1);
+        when(textBuilder.build(any(BookUpsertMessage.BookPayload.class))).thenReturn("text");
+        when(embeddingClient.embed("text")).thenThrow(new DependencyUnavailableException(
+                Dependency.EMBEDDING_WORKER, DependencyUnavailableException.Reason.LIMIT_EXCEEDED));
+
+        consumer.consume(msg, amqp, channel, 106L);
+
+        assertAll(
+                () -> verify(retryPublisher).toRetry(eq(amqp), eq("rk.upsert.retry"), eq(2), eq(WorkerProcessingException.ErrorCode.DOWNSTREAM_UNAVAILABLE)),
+                () -> verify(channel).basicAck(106L, false),
+                () -> verify(indexer, never()).upsert(anyString(), any(), anyLong())
+        );
+    }
+
+    @Test
+    @DisplayName("임베딩 입력 그대로: 저장된 지문과 같으면 임베딩 없이 나머지 필드만 upsert")
+    void consume_unchangedEmbeddingInput_skipsEmbedding() throws Exception {
+        BookUpsertMessage msg = validMessage();
+        Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        when(retryPublisher.getRetryCount(any())).thenReturn(0);
+        when(textBuilder.build(any(BookUpsertMessage.BookPayload.class))).thenReturn("text");
+        when(es.findEmbeddingFingerprints(any())).thenReturn(Map.of("9780000000001", fingerprint.of("text")));
+
+        consumer.consume(msg, amqp, channel, 109L);
+
+        ArgumentCaptor<Object> doc = ArgumentCaptor.forClass(Object.class);
+        assertAll(
+                () -> verify(embeddingClient, never()).embed(anyString()),
+                () -> verify(indexer).upsert(eq("9780000000001"), doc.capture(), anyLong()),
+                () -> assertThat(((BookUpsertDoc) doc.getValue()).embedding()).isNull(),
+                () -> assertThat(((BookUpsertDoc) doc.getValue()).embedding_fingerprint()).isNull(),
+                () -> assertThat(((BookUpsertDoc) doc.getValue()).price()).isEqualTo(10000),
+                () -> verify(channel).basicAck(109L, false)
+        );
+    }
+
+    @Test
+    @DisplayName("임베딩 입력 변경: 지문이 다르면 다시 임베딩하고 새 지문을 같이 저장")
+    void consume_changedEmbeddingInput_reembedsWithFingerprint() throws Exception {
+        BookUpsertMessage msg = validMessage();
+        Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        when(retryPublisher.getRetryCount(any())).thenReturn(0);
+        when(textBuilder.build(any(BookUpsertMessage.BookPayload.class))).thenReturn("text");
+        when(embeddingClient.embed("text")).thenReturn(vec(1024));
+        when(es.findEmbeddingFingerprints(any())).thenReturn(Map.of("9780000000001", fingerprint.of("old text")));
+
+        consumer.consume(msg, amqp, channel, 110L);
+
+        ArgumentCaptor<Object> doc = ArgumentCaptor.forClass(Object.class);
+        assertAll(
+                () -> verify(embeddingClient).embed("text"),
+                () -> verify(indexer).upsert(eq("9780000000001"), doc.capture(), anyLong()),
+                () -> assertThat(((BookUpsertDoc) doc.getValue()).embedding()).hasSize(1024),
+                () -> assertThat(((BookUpsertDoc) doc.getValue()).embedding_fingerprint()).isEqualTo(fingerprint.of("text"))
+        );
+    }
+
+    @Test
+    @DisplayName("ES 문서 단위 실패: bulk 결과가 실패면 retry 발행 + ack")
+    void consume_bulkItemFailed_toRetry() throws Exception {
+        BookUpsertMessage msg = validMessage();
+        Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        when(retryPublisher.getRetryCount(any())).thenReturn(0);
+        when(textBuilder.build(any(BookUpsertMessage.BookPayload.class))).thenReturn("text");
+        when(embeddingClient.embed("text")).thenReturn(vec(1024));
+        when(indexer.upsert(anyString(), any(), anyLong())).thenReturn(CompletableFuture.completedFuture(
+                new BulkItemResult("9780000000001", 429, "es_rejected_execution_exception: rejected")));
+
+        consumer.consume(msg, amqp, channel, 108L);
+
+        assertAll(
+                () -> verify(retryPublisher).toRetry(eq(amqp), eq("rk.upsert.retry"), eq(1), any()),
+                () -> verify(channel).basicAck(108L, false),
+                () -> verify(retryPublisher, never()).toDlq(any(), anyString(), any())
+        );
+    }
+
+    @Test
+    @DisplayName("트레이싱: 수신 스팬 아래에 build-text/embedding/es-write 스팬이 같은 트레이스로 남고 requestId가 태깅된다")
+    void consume_success_emitsStageSpansUnderMessageTrace() throws Exception {
+        BookUpsertMessage msg = validMessage();
+        Message amqp = new Message("x".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        when(retryPublisher.getRetryCount(any())).thenReturn(0);
+        when(textBuilder.build(any(BookUpsertMessage.BookPayload.class))).thenReturn("text");
+        when(embeddingClient.embed("text")).thenReturn(vec(1024));
+        TRACING.reset();
+
+        // 리스너 스팬 역할 (실제로는 RabbitMQ 헤더의 traceparent를 이어받은 스팬)
+        Tracer tracer = TRACING.tracer();
+        Span listener = tracer.nextSpan().name("book-upsert receive").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(listener)) {
+            consumer.consume(msg, amqp, channel, 107L);
+        } finally {
+            listener.end();
+        }
+
+        List<SpanData> stages = TRACING.spans().stream()
+                .filter(s -> s.getName().startsWith("worker."))
+                .toList();
+
+        assertThat(stages).extracting(SpanData::getName)
+                .containsExactly("worker.build-text", "worker.embedding", "worker.es-write");
+        assertThat(stages).allSatisfy(s -> {
+            assertThat(s.getTraceId()).isEqualTo(listener.context().traceId());
+            assertThat(s.getParentSpanId()).isEqualTo(listener.context().spanId());
+            assertThat(s.getAttributes().asMap().toString()).contains("req-1", "9780000000001");
+        });
+    }
+}
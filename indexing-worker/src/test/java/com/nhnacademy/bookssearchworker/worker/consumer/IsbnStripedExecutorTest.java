@@ -0,0 +1,102 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IsbnStripedExecutorTest {
+
+    private IsbnStripedExecutor executor;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (executor != null) executor.destroy();
+    }
+
+    @Test
+    @DisplayName("stripes=1이면 호출한 스레드에서 바로 실행한다")
+    void singleStripe_runsInline() {
+        executor = new IsbnStripedExecutor(1);
+        AtomicReference<Thread> ran = new AtomicReference<>();
+
+        executor.execute("978-1", () -> ran.set(Thread.currentThread()));
+
+        assertThat(ran.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    @DisplayName("몰아 처리가 켜져 있으면 stripes=1이어도 stripe 스레드에서 실행한다 (타이머 스레드에서 처리하지 않음)")
+    void singleStripe_withCoalescing_usesStripeThread() throws Exception {
+        executor = new IsbnStripedExecutor(1, 500);
+        AtomicReference<Thread> ran = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute("978-1", () -> {
+            ran.set(Thread.currentThread());
+            done.countDown();
+        });
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran.get()).isNotSameAs(Thread.currentThread());
+        assertThat(ran.get().getName()).isEqualTo("worker-stripe-0");
+        assertThat(executor.stripeCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 isbn의 작업은 넣은 순서대로 실행된다")
+    void sameIsbn_keepsOrder() throws Exception {
+        executor = new IsbnStripedExecutor(4);
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(300);
+
+        for (int i = 0; i < 300; i++) {
+            String isbn = "978-" + (i % 7);
+            int seq = i;
+            executor.execute(isbn, () -> {
+                seen.computeIfAbsent(isbn, k -> new ArrayList<>()).add(seq);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        seen.values().forEach(order -> assertThat(order).isSorted());
+    }
+
+    @Test
+    @DisplayName("다른 stripe의 isbn은 동시에 처리된다 (앞 작업이 막혀도 진행)")
+    void differentStripes_runConcurrently() throws Exception {
+        executor = new IsbnStripedExecutor(2);
+        String first = isbnOnStripe(0, 2);
+        String second = isbnOnStripe(1, 2);
+        CountDownLatch secondRan = new CountDownLatch(1);
+        CountDownLatch firstDone = new CountDownLatch(1);
+
+        executor.execute(first, () -> {
+            try {
+                if (secondRan.await(5, TimeUnit.SECONDS)) firstDone.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(second, secondRan::countDown);
+
+        assertThat(firstDone.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static String isbnOnStripe(int stripe, int stripes) {
+        for (int i = 0; ; i++) {
+            String isbn = "978-" + i;
+            if (Math.floorMod(isbn.hashCode(), stripes) == stripe) return isbn;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.nhnacademy.bookssearchworker.worker.consumer;
+
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UpsertCoalescerTest {
+
+    private Channel channel;
+    private UpsertCoalescer coalescer;
+    private List<Long> ran;
+
+    @BeforeEach
+    void setUp() {
+        channel = mock(Channel.class);
+        ran = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) coalescer.destroy();
+    }
+
+    private Runnable task(long deliveryTag) {
+        return () -> ran.add(deliveryTag);
+    }
+
+    private void awaitNothingHeld() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (coalescer.heldCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(coalescer.heldCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("delay-ms=0이면 바로 실행한다 (기존 동작)")
+    void disabled_runsImmediately() {
+        coalescer = new UpsertCoalescer(0, new SimpleMeterRegistry());
+
+        coalescer.submit("978-1", 100L, channel, 1L, task(1L));
+        coalescer.submit("978-1", 200L, channel, 2L, task(2L));
+
+        assertThat(ran).containsExactly(1L, 2L);
+        verifyNoInteractions(channel);
+    }
+
+    @Test
+    @DisplayName("delay 안에 온 같은 isbn은 마지막 한 건만 실행하고 밀려난 메시지는 ack 한다")
+    void burst_keepsLatestAndAcksSuperseded() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        coalescer = new UpsertCoalescer(200, registry);
+        CountDownLatch done = new CountDownLatch(1);
+
+        coalescer.submit("978-1", 100L, channel, 1L, task(1L));
+        coalescer.submit("978-1", 200L, channel, 2L, task(2L));
+        coalescer.submit("978-1", 300L, channel, 3L, () -> { ran.add(3L); done.countDown(); });
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).containsExactly(3L);
+        verify(channel).basicAck(1L, false);
+        verify(channel).basicAck(2L, false);
+        verify(channel, never()).basicAck(3L, false);
+        assertThat(registry.counter("worker.coalesce.superseded").count()).isEqualTo(2.0);
+        awaitNothingHeld();
+    }
+
+    @Test
+    @DisplayName("창에서 꺼내 넘기는 중인 메시지도 heldCount에 잡힌다 (재색인 전 대기에서 빠지지 않음)")
+    void firing_countsAsHeld() throws Exception {
+        coalescer = new UpsertCoalescer(50, new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        coalescer.submit("978-1", 100L, channel, 1L, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(coalescer.heldCount()).isEqualTo(1);
+
+        release.countDown();
+        awaitNothingHeld();
+    }
+
+    @Test
+    @DisplayName("늦게 도착한 옛 메시지(ts가 더 작음)는 잡아 둔 최신 메시지를 밀어내지 못한다")
+    void olderTs_doesNotReplaceHeld() throws Exception {
+        coalescer = new UpsertCoalescer(200, new SimpleMeterRegistry());
+        CountDownLatch done = new CountDownLatch(1);
+
+        coalescer.submit("978-1", 300L, channel, 1L, () -> { ran.add(1L); done.countDown(); });
+        coalescer.submit("978-1", 100L, channel, 2L, task(2L));
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).containsExactly(1L);
+        verify(channel).basicAck(2L, false);
+    }
+
+    @Test
+    @DisplayName("삭제보다 오래된 대기 upsert는 버리고(ack), 더 최신 upsert는 남긴다")
+    void discard_dropsOnlyOlderUpsert() throws Exception {
+        coalescer = new UpsertCoalescer(200, new SimpleMeterRegistry());
+        CountDownLatch done = new CountDownLatch(1);
+
+        coalescer.submit("978-1", 100L, channel, 1L, task(1L));
+        coalescer.submit("978-2", 500L, channel, 2L, () -> { ran.add(2L); done.countDown(); });
+        coalescer.discard("978-1", 200L);
+        coalescer.discard("978-2", 200L);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).containsExactly(2L);
+        verify(channel).basicAck(1L, false);
+        verify(channel, never()).basicAck(2L, false);
+    }
+
+    @Test
+    @DisplayName("isbn이 없는 메시지는 잡아 두지 않고 바로 실행한다 (검증 실패 처리)")
+    void missingIsbn_runsImmediately() {
+        coalescer = new UpsertCoalescer(60_000, new SimpleMeterRegistry());
+
+        coalescer.submit(null, 0L, channel, 1L, task(1L));
+
+        assertThat(ran).containsExactly(1L);
+    }
+}
@@ -0,0 +1,21 @@
+package com.nhnacademy.bookssearchworker.worker.embedding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddingFingerprintTest {
+
+    @Test
+    @DisplayName("같은 모델/입력이면 같은 지문, 입력이나 모델이 바뀌면 다른 지문")
+    void fingerprint_dependsOnModelAndText() {
+        EmbeddingFingerprint bge = new EmbeddingFingerprint("bge-m3");
+        EmbeddingFingerprint other = new EmbeddingFingerprint("other-model");
+
+        assertThat(bge.of("text")).isEqualTo(new EmbeddingFingerprint("bge-m3").of("text")).hasSize(64);
+        assertThat(bge.of("text")).isNotEqualTo(bge.of("text2"));
+        assertThat(bge.of("text")).isNotEqualTo(other.of("text"));
+        assertThat(bge.of("other-model", "text")).isEqualTo(other.of("text"));
+    }
+}
@@ -1,10 +1,14 @@
 package com.nhnacademy.bookssearchworker.worker.embedding;
 
+import com.nhnacademy.bookssearchworker.resilience.Dependency;
+import com.nhnacademy.bookssearchworker.resilience.DependencyGuardRegistry;
+import com.nhnacademy.bookssearchworker.resilience.DownstreamWebClients;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
@@ -16,19 +20,28 @@ import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class OllamaEmbeddingClientTest {
 
     private static OllamaEmbeddingClient newClientWithJsonResponse(String jsonBody, int expectedDim) {
-        ExchangeFunction exchange = req -> Mono.just(jsonResponse(jsonBody));
+        return newClient(req -> Mono.just(jsonResponse(jsonBody)), expectedDim);
+    }
+
+    private static OllamaEmbeddingClient newClient(ExchangeFunction exchange, int expectedDim) {
+        return newClient(exchange, expectedDim, new DependencyGuardRegistry(new MockEnvironment()));
+    }
+
+    private static OllamaEmbeddingClient newClient(ExchangeFunction exchange, int expectedDim, DependencyGuardRegistry guards) {
         WebClient webClient = WebClient.builder()
                 .baseUrl("http://localhost")
                 .exchangeFunction(exchange)
                 .build();
 
-        OllamaEmbeddingClient client = new OllamaEmbeddingClient(webClient);
+        OllamaEmbeddingClient client = new OllamaEmbeddingClient(
+                new DownstreamWebClients(Map.of(Dependency.EMBEDDING_WORKER, webClient)), guards);
         ReflectionTestUtils.setField(client, "embeddingUrl", "/api/embeddings");
         ReflectionTestUtils.setField(client, "model", "test-model");
         ReflectionTestUtils.setField(client, "expectedDim", expectedDim);
@@ -137,4 +150,72 @@ class OllamaEmbeddingClientTest {
         assertTrue(ex.getMessage().toLowerCase().contains("unknown"),
                 "Unknown schema 예외 메시지가 포함되어야 합니다. actual=" + ex.getMessage());
     }
+
+    @Test
+    @DisplayName("embedAll: Ollama /api/embed {embeddings:[[...],[...]]}를 입력 순서대로 파싱 + input 배열 한 번 호출")
+    void embedAll_embeddingsKey_oneCall() {
+        List<String> paths = new java.util.ArrayList<>();
+        ExchangeFunction exchange = req -> {
+            paths.add(req.url().getPath());
+            return Mono.just(jsonResponse("""
+                    {"embeddings":[[1,2,3],[4,5,6]]}
+                    """));
+        };
+        OllamaEmbeddingClient client = newClient(exchange, 3);
+        ReflectionTestUtils.setField(client, "embeddingBatchUrl", "/api/embed");
+
+        List<List<Float>> vectors = client.embedAll(List.of("a", "b"));
+
+        assertEquals(List.of(List.of(1f, 2f, 3f), List.of(4f, 5f, 6f)), vectors);
+        assertEquals(List.of("/api/embed"), paths, "배치는 /api/embed 한 번만 호출해야 합니다.");
+    }
+
+    @Test
+    @DisplayName("embedAll: 배치 호출은 단건과 다른 guard에 응답 시간/결과를 기록한다 (단건 타임아웃/서킷에 섞이지 않음)")
+    void embedAll_usesSeparateBatchGuard() {
+        DependencyGuardRegistry guards = new DependencyGuardRegistry(new MockEnvironment());
+        OllamaEmbeddingClient client = newClient(req -> Mono.just(jsonResponse("""
+                {"embeddings":[[1,2,3],[4,5,6]]}
+                """)), 3, guards);
+        ReflectionTestUtils.setField(client, "embeddingBatchUrl", "/api/embed");
+
+        client.embedAll(List.of("a", "b"));
+
+        assertEquals(1, guards.get(Dependency.EMBEDDING_WORKER_BATCH).latency().sampleCount());
+        assertEquals(0, guards.get(Dependency.EMBEDDING_WORKER).latency().sampleCount());
+    }
+
+    @Test
+    @DisplayName("embedAll: 응답 벡터 개수가 입력 개수와 다르면 예외")
+    void embedAll_countMismatch_throws() {
+        OllamaEmbeddingClient client = newClientWithJsonResponse("""
+                {"embeddings":[[1,2,3]]}
+                """, 3);
+        ReflectionTestUtils.setField(client, "embeddingBatchUrl", "/api/embed");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> client.embedAll(List.of("a", "b")));
+        assertTrue(ex.getMessage().contains("count"), "count 관련 메시지가 포함되어야 합니다. actual=" + ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("embedAll: 배치 URL이 없으면 한 건씩 embed()로 처리")
+    void embedAll_withoutBatchUrl_fallsBackToSingle() {
+        OllamaEmbeddingClient client = newClientWithJsonResponse("""
+                {"embedding":[0.1, 0.2, 0.3]}
+                """, 3);
+
+        List<List<Float>> vectors = client.embedAll(List.of("a", "b"));
+
+        assertEquals(2, vectors.size());
+        assertEquals(3, vectors.get(1).size());
+    }
+
+    @Test
+    @DisplayName("parseEmbeddings: {data:[{embedding:[...]}, ...]} 스키마도 지원")
+    void parseEmbeddings_dataSchema() {
+        List<List<Float>> vectors = OllamaEmbeddingClient.parseEmbeddings(Map.of(
+                "data", List.of(Map.of("embedding", List.of(1, 2)), Map.of("embedding", List.of(3, 4)))));
+
+        assertEquals(List.of(List.of(1f, 2f), List.of(3f, 4f)), vectors);
+    }
 }
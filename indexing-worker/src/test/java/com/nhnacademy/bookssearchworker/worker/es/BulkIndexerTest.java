@@ -0,0 +1,173 @@
+package com.nhnacademy.bookssearchworker.worker.es;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BulkIndexerTest {
+
+    private EsBookDocumentClient es;
+    private BulkIndexer indexer;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        es = mock(EsBookDocumentClient.class);
+        registry = new SimpleMeterRegistry();
+        when(es.upsertOperation(anyString(), any(), anyLong())).thenAnswer(inv ->
+                new BulkOperation(BulkOperation.Action.UPDATE, inv.getArgument(0), "{}"));
+        when(es.deleteOperation(anyString(), anyLong())).thenAnswer(inv ->
+                new BulkOperation(BulkOperation.Action.DELETE, inv.getArgument(0), null));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (indexer != null) indexer.destroy();
+    }
+
+    private BulkIndexer newIndexer(int initial, int min, int max, long flushIntervalMs, int rejectedRetries) {
+        return new BulkIndexer(es, new BulkIndexer.Settings(
+                initial, min, max, 5_242_880, flushIntervalMs, 1000, 5000, rejectedRetries, 1
+        ), registry);
+    }
+
+    // 모든 작업 성공 응답
+    private static List<BulkItemResult> allOk(List<BulkOperation> ops) {
+        return ops.stream().map(op -> new BulkItemResult(op.id(), 200, null)).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<BulkOperation>> opsCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("flush-interval 안에 들어온 upsert/delete는 _bulk 한 번으로 나가고 각자 결과를 받는다")
+    void interval_coalescesIntoOneBulk() throws Exception {
+        when(es.bulk(anyList())).thenAnswer(inv -> allOk(inv.getArgument(0)));
+        indexer = newIndexer(100, 1, 1000, 200, 3);
+
+        CompletableFuture<BulkItemResult> a = indexer.upsert("A", Map.of(), 0);
+        CompletableFuture<BulkItemResult> b = indexer.upsert("B", Map.of(), 0);
+        CompletableFuture<BulkItemResult> c = indexer.delete("C", 0);
+
+        assertThat(await(a).id()).isEqualTo("A");
+        assertThat(await(b).isSuccess()).isTrue();
+        assertThat(await(c).id()).isEqualTo("C");
+
+        ArgumentCaptor<List<BulkOperation>> ops = opsCaptor();
+        verify(es, times(1)).bulk(ops.capture());
+        assertThat(ops.getValue()).extracting(BulkOperation::action)
+                .containsExactly(BulkOperation.Action.UPDATE, BulkOperation.Action.UPDATE, BulkOperation.Action.DELETE);
+    }
+
+    @Test
+    @DisplayName("배치 한도를 채우면 flush-interval을 기다리지 않고 바로 보낸다")
+    void sizeLimit_flushesImmediately() throws Exception {
+        when(es.bulk(anyList())).thenAnswer(inv -> allOk(inv.getArgument(0)));
+        indexer = newIndexer(2, 1, 2, 60_000, 3);
+
+        CompletableFuture<BulkItemResult> a = indexer.upsert("A", Map.of(), 0);
+        CompletableFuture<BulkItemResult> b = indexer.upsert("B", Map.of(), 0);
+
+        assertThat(await(a).isSuccess()).isTrue();
+        assertThat(await(b).isSuccess()).isTrue();
+    }
+
+    @Test
+    @DisplayName("429로 거절된 작업만 다시 보내고, 배치 한도는 절반으로 줄어든다")
+    void rejected_retriedAndLimitHalved() throws Exception {
+        when(es.bulk(anyList()))
+                .thenReturn(List.of(
+                        new BulkItemResult("A", 200, null),
+                        new BulkItemResult("B", 429, "es_rejected_execution_exception: rejected")))
+                .thenReturn(List.of(new BulkItemResult("B", 200, null)));
+        indexer = newIndexer(8, 2, 100, 200, 3);
+
+        CompletableFuture<BulkItemResult> a = indexer.upsert("A", Map.of(), 0);
+        CompletableFuture<BulkItemResult> b = indexer.upsert("B", Map.of(), 0);
+
+        assertThat(await(a).isSuccess()).isTrue();
+        assertThat(await(b).isSuccess()).isTrue();
+
+        ArgumentCaptor<List<BulkOperation>> ops = opsCaptor();
+        verify(es, times(2)).bulk(ops.capture());
+        assertThat(ops.getAllValues().get(1)).extracting(BulkOperation::id).containsExactly("B");
+        assertThat(indexer.currentLimit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("rejected-retries번 넘게 거절되면 429 결과를 그대로 돌려준다 (한도는 min 아래로 안 내려감)")
+    void rejected_exhausted_returnsRejectedResult() throws Exception {
+        when(es.bulk(anyList())).thenAnswer(inv -> List.of(new BulkItemResult("A", 429, "es_rejected_execution_exception: rejected")));
+        indexer = newIndexer(4, 2, 100, 1, 2);
+
+        BulkItemResult result = await(indexer.upsert("A", Map.of(), 0));
+
+        assertThat(result.isRejected()).isTrue();
+        verify(es, times(3)).bulk(anyList());
+        assertThat(indexer.currentLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("한도를 꽉 채운 배치가 빨리 끝나면 한도를 늘린다 (max 이하)")
+    void fullFastBatch_growsLimit() throws Exception {
+        when(es.bulk(anyList())).thenAnswer(inv -> allOk(inv.getArgument(0)));
+        indexer = newIndexer(10, 1, 11, 60_000, 3);
+
+        for (int round = 0; round < 2; round++) {
+            int limit = indexer.currentLimit();
+            List<CompletableFuture<BulkItemResult>> futures = new ArrayList<>();
+            for (int i = 0; i < limit; i++) futures.add(indexer.upsert(round + "-" + i, Map.of(), 0));
+            for (CompletableFuture<BulkItemResult> f : futures) await(f);
+        }
+
+        assertThat(indexer.currentLimit()).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("_bulk 요청 자체가 실패하면 배치의 모든 future가 예외로 끝난다")
+    void requestFailure_completesExceptionally() throws Exception {
+        when(es.bulk(anyList())).thenThrow(new RuntimeException("es down"));
+        indexer = newIndexer(100, 1, 1000, 1, 3);
+
+        CompletableFuture<BulkItemResult> a = indexer.upsert("A", Map.of(), 0);
+
+        assertThatThrownBy(() -> await(a))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("es down");
+    }
+
+    @Test
+    @DisplayName("ts 조건부 쓰기가 noop으로 끝나면(오래된 메시지) 성공으로 돌려주고 worker.bulk.stale을 센다")
+    void guardedNoop_countedAsStale() throws Exception {
+        when(es.upsertOperation(anyString(), any(), anyLong())).thenAnswer(inv ->
+                new BulkOperation(BulkOperation.Action.UPDATE, inv.getArgument(0), "{}", inv.getArgument(2)));
+        when(es.bulk(anyList())).thenReturn(List.of(new BulkItemResult("A", 200, null, "noop")));
+        indexer = newIndexer(100, 1, 1000, 1, 3);
+
+        BulkItemResult result = await(indexer.upsert("A", Map.of(), 1000L));
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.isNoop()).isTrue();
+        assertThat(registry.counter("worker.bulk.stale").count()).isEqualTo(1.0);
+    }
+}
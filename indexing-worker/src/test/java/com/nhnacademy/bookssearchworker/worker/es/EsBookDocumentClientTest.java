@@ -0,0 +1,532 @@
+package com.nhnacademy.bookssearchworker.worker.es;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.*;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicRequestLine;
+import org.apache.http.message.BasicStatusLine;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {
+        EsBookDocumentClient.class,
+        EsBookDocumentClientTest.TestConfig.class
+})
+@TestPropertySource(properties = {
+        "booksearch.es.index=test-index"
+})
+class EsBookDocumentClientTest {
+
+    @Autowired
+    EsBookDocumentClient client;
+
+    @Autowired
+    ObjectMapper om;
+
+    @MockitoBean
+    RestClient restClient;
+
+    @BeforeEach
+    void setUp() {
+        reset(restClient);
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+        // RestClient 실제 빈(더미) 만들어두고 -> @MockitoBean이 override
+        @Bean
+        RestClient restClient() {
+            // 실제로 호출 안됨(override되므로). null 반환은 컨텍스트가 싫어해서 더미 생성.
+            return RestClient.builder(new HttpHost("localhost", 9200, "http")).build();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    // ---------------- helpers ----------------
+
+    /**
+     * org.elasticsearch.client.Response 는 public 생성자가 없을 수 있어서
+     * 테스트에서 리플렉션으로 "진짜 Response"를 만든다.
+     */
+    private static Response newEsResponse(int statusCode, String bodyJson) {
+        try {
+            ProtocolVersion pv = new ProtocolVersion("HTTP", 1, 1);
+
+            RequestLine requestLine = new BasicRequestLine("GET", "/", pv);
+            HttpHost host = new HttpHost("localhost", 9200, "http");
+
+            StatusLine statusLine = new BasicStatusLine(pv, statusCode, "");
+            BasicHttpResponse httpResponse = new BasicHttpResponse(statusLine);
+            httpResponse.setEntity(new StringEntity(bodyJson, ContentType.APPLICATION_JSON));
+
+            Constructor<Response> ctor =
+                    Response.class.getDeclaredConstructor(RequestLine.class, HttpHost.class, HttpResponse.class);
+            ctor.setAccessible(true);
+            return ctor.newInstance(requestLine, host, httpResponse);
+        } catch (NoSuchMethodException e) {
+            // 버전에 따라 시그니처가 다를 수 있어서, 터지면 메시지를 선명하게
+            throw new AssertionError(
+                    "Response 생성자 시그니처가 예상과 다릅니다. " +
+                            "elasticsearch-rest-client 버전을 확인하고 Response 생성 방식을 맞춰야 합니다.", e);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // ==========================================================
+    // getSourceById()
+    // ==========================================================
+
+    @Nested
+    @DisplayName("getSourceById()")
+    class GetSourceByIdTests {
+
+        @Test
+        @DisplayName("성공: _source JSON을 JsonNode로 파싱해 Optional로 반환한다 + 요청 경로 검증")
+        void success_returnsParsedJson_andVerifiesPath() throws Exception {
+            // given
+            String isbnId = "9780000000001";
+            String respJson = "{\"title\":\"abc\",\"price\":12000}";
+
+            when(restClient.performRequest(any(Request.class)))
+                    .thenReturn(newEsResponse(200, respJson));
+
+            // when
+            Optional<JsonNode> result = client.getSourceById(isbnId);
+
+            // then
+            assertThat(result).isPresent();
+            assertThat(result.get().get("title").asText()).isEqualTo("abc");
+            assertThat(result.get().get("price").asInt()).isEqualTo(12000);
+
+            // request 검증 (정확히 어디가 문제인지 보이게)
+            var captor = org.mockito.ArgumentCaptor.forClass(Request.class);
+            verify(restClient, times(1)).performRequest(captor.capture());
+
+            Request sent = captor.getValue();
+            assertThat(sent.getMethod()).as("HTTP method").isEqualTo("GET");
+            assertThat(sent.getEndpoint()).as("endpoint path")
+                    .isEqualTo("/test-index/_source/" + isbnId);
+        }
+
+        @Test
+        @DisplayName("예외 전파: RestClient가 예외를 던지면 그대로 throws 된다")
+        void throws_whenRestClientFails() throws Exception {
+            when(restClient.performRequest(any(Request.class)))
+                    .thenThrow(new RuntimeException("ES down"));
+
+            assertThatThrownBy(() -> client.getSourceById("978X"))
+                    .as("getSourceById는 예외를 잡지 않고 던져야 함")
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("ES down");
+
+            verify(restClient, times(1)).performRequest(any(Request.class));
+        }
+    }
+
+    // ==========================================================
+    // updateById()
+    // ==========================================================
+
+    @Nested
+    @DisplayName("updateById()")
+    class UpdateByIdTests {
+
+        @Test
+        @DisplayName("성공: POST /{index}/_update/{id} + body에 doc/doc_as_upsert가 들어간다")
+        void success_sendsUpdateRequest_withExpectedBody() throws Exception {
+            // given
+            String isbnId = "9780000000002";
+            Map<String, Object> partialDoc = Map.of("title", "new-title", "stock", 3);
+
+            // RestClient.performRequest는 Response를 반환하지만 updateById는 반환값을 쓰진 않음
+            when(restClient.performRequest(any(Request.class)))
+                    .thenReturn(newEsResponse(200, "{\"result\":\"updated\"}"));
+
+            // when
+            client.updateById(isbnId, partialDoc);
+
+            // then
+            var captor = org.mockito.ArgumentCaptor.forClass(Request.class);
+            verify(restClient, times(1)).performRequest(captor.capture());
+
+            Request sent = captor.getValue();
+            assertThat(sent.getMethod()).as("HTTP method").isEqualTo("POST");
+            assertThat(sent.getEndpoint()).as("endpoint path")
+                    .isEqualTo("/test-index/_update/" + isbnId);
+
+            // body 검증: 문자열 그대로 비교하면 순서 때문에 깨질 수 있으니 JsonNode로 파싱해서 비교
+            String body = sent.getEntity().toString(); // 내부 구현상 StringEntity면 toString에 요약이 섞일 수 있음
+            // 그래서 안전하게 "StringEntity로 들어간 JSON을 다시 만든다" 방식 대신,
+            // Request.getEntity()가 HttpEntity면 content를 읽는 방식으로 검증한다.
+            HttpEntity entity = sent.getEntity();
+            assertThat(entity).as("update request must have body").isNotNull();
+
+            String json = org.apache.http.util.EntityUtils.toString(entity, StandardCharsets.UTF_8);
+            JsonNode node = om.readTree(json);
+
+            assertThat(node.has("doc")).as("body must contain 'doc'").isTrue();
+            assertThat(node.get("doc").get("title").asText()).isEqualTo("new-title");
+            assertThat(node.get("doc").get("stock").asInt()).isEqualTo(3);
+
+            assertThat(node.has("doc_as_upsert")).as("body must contain 'doc_as_upsert'").isTrue();
+            assertThat(node.get("doc_as_upsert").asBoolean()).isTrue();
+        }
+
+        @Test
+        @DisplayName("예외 전파: update 중 RestClient 예외는 그대로 throws")
+        void throws_whenRestClientFails() throws Exception {
+            when(restClient.performRequest(any(Request.class)))
+                    .thenThrow(new RuntimeException("update failed"));
+
+            assertThatThrownBy(() -> client.updateById("978Y", Map.of("a", 1)))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("update failed");
+
+            verify(restClient, times(1)).performRequest(any(Request.class));
+        }
+    }
+
+    // ==========================================================
+    // deleteById()
+    // ==========================================================
+
+    @Nested
+    @DisplayName("deleteById()")
+    class DeleteByIdTests {
+
+        @Test
+        @DisplayName("성공: DELETE /{index}/_doc/{id} 요청을 보낸다")
+        void success_sendsDeleteRequest() throws Exception {
+            when(restClient.performRequest(any(Request.class)))
+                    .thenReturn(newEsResponse(200, "{\"result\":\"deleted\"}"));
+
+            String isbnId = "9780000000003";
+            client.deleteById(isbnId);
+
+            var captor = org.mockito.ArgumentCaptor.forClass(Request.class);
+            verify(restClient, times(1)).performRequest(captor.capture());
+
+            Request sent = captor.getValue();
+            assertThat(sent.getMethod()).as("HTTP method").isEqualTo("DELETE");
+            assertThat(sent.getEndpoint()).as("endpoint path")
+                    .isEqualTo("/test-index/_doc/" + isbnId);
+        }
+
+        @Test
+        @DisplayName("예외 전파: delete 중 RestClient 예외는 그대로 throws")
+        void throws_whenRestClientFails() throws Exception {
+            when(restClient.performRequest(any(Request.class)))
+                    .thenThrow(new RuntimeException("delete failed"));
+
+            assertThatThrownBy(() -> client.deleteById("978Z"))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("delete failed");
+
+            verify(restClient, times(1)).performRequest(any(Request.class));
+        }
+    }
+
+    // ==========================================================
+    // bulk()
+    // ==========================================================
+
+    @Nested
+    @DisplayName("bulk()")
+    class BulkTests {
+
+        @Test
+        @DisplayName("성공: POST /_bulk 에 update(doc/doc_as_upsert) / delete 액션 NDJSON 을 보낸다")
+        void success_sendsNdjson() throws Exception {
+            when(restClient.performRequest(any(Request.class)))
+                    .thenReturn(newEsResponse(200, """
+                            {"items":[
+                              {"update":{"_id":"A","status":200}},
+                              {"update":{"_id":"B","status":201}},
+                              {"delete":{"_id":"C","status":200}}
+                            ]}
+                            """));
+
+            List<BulkItemResult> results = client.bulk(List.of(
+                    client.upsertOperation("A", Map.of("title", "a"), 0),
+                    client.upsertOperation("B", Map.of("title", "b"), 0),
+                    client.deleteOperation("C", 0)));
+
+            var captor = org.mockito.ArgumentCaptor.forClass(Request.class);
+            verify(restClient, times(1)).performRequest(captor.capture());
+            Request sent = captor.getValue();
+            assertThat(sent.getMethod()).isEqualTo("POST");
+            assertThat(sent.getEndpoint()).isEqualTo("/_bulk");
+
+            String[] lines = org.apache.http.util.EntityUtils.toString(sent.getEntity(), StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(5);
+            assertThat(om.readTree(lines[0]).path("update").path("_index").asText()).isEqualTo("test-index");
+            assertThat(om.readTree(lines[0]).path("update").path("_id").asText()).isEqualTo("A");
+            assertThat(om.readTree(lines[1]).path("doc").path("title").asText()).isEqualTo("a");
+            assertThat(om.readTree(lines[1]).path("doc_as_upsert").asBoolean()).isTrue();
+            assertThat(om.readTree(lines[2]).path("update").path("_id").asText()).isEqualTo("B");
+            assertThat(om.readTree(lines[4]).path("delete").path("_id").asText()).isEqualTo("C");
+
+            assertThat(results).extracting(BulkItemResult::isSuccess).containsExactly(true, true, true);
+        }
+
+        @Test
+        @DisplayName("문서 단위 실패: item의 status/error를 요청 순서대로 돌려준다")
+        void itemFailure_returnsPerItemResult() throws Exception {
+            when(restClient.performRequest(any(Request.class)))
+                    .thenReturn(newEsResponse(200, """
+                            {"items":[
+                              {"update":{"_id":"A","status":200}},
+                              {"update":{"_id":"B","status":400,"error":{"type":"mapper_parsing_exception","reason":"bad"}}}
+                            ]}
+                            """));
+
+            List<BulkItemResult> results = client.bulk(List.of(
+                    client.upsertOperation("A", Map.of(), 0), client.upsertOperation("B", Map.of(), 0)));
+
+            assertThat(results.get(0).isSuccess()).isTrue();
+            assertThat(results.get(1).isSuccess()).isFalse();
+            assertThat(results.get(1).status()).isEqualTo(400);
+            assertThat(results.get(1).error()).isEqualTo("mapper_parsing_exception: bad");
+        }
+
+        @Test
+        @DisplayName("429 거절 / 없는 문서 삭제: 거절은 isRejected, not_found 삭제는 성공으로 본다")
+        void rejectedAndNotFound() throws Exception {
+            when(restClient.performRequest(any(Request.class)))
+                    .thenReturn(newEsResponse(200, """
+                            {"items":[
+                              {"update":{"_id":"A","status":429,"error":{"type":"es_rejected_execution_exception","reason":"rejected execution"}}},
+                              {"delete":{"_id":"B","status":404}}
+                            ]}
+                            """));
+
+            List<BulkItemResult> results = client.bulk(List.of(
+                    client.upsertOperation("A", Map.of(), 0), client.deleteOperation("B", 0)));
+
+            assertThat(results.get(0).isRejected()).isTrue();
+            assertThat(results.get(0).isSuccess()).isFalse();
+            assertThat(results.get(1).isSuccess()).isTrue();
+        }
+
+        @Test
+        @DisplayName("부분 update는 doc_as_upsert=false로 바뀐 필드만 보낸다")
+        void partialUpdate_noUpsert() throws Exception {
+            BulkOperation op = client.partialUpdateOperation("A", Map.of("price", 9000), 0);
+
+            JsonNode body = om.readTree(op.body());
+            assertThat(op.action()).isEqualTo(BulkOperation.Action.UPDATE);
+            assertThat(body.path("doc_as_upsert").asBoolean()).isFalse();
+            assertThat(body.path("doc").size()).isEqualTo(1);
+            assertThat(body.path("doc").path("price").asInt()).isEqualTo(9000);
+        }
+
+        @Test
+        @DisplayName("ts가 있으면 source_ts를 비교하는 스크립트 update로 보내고, 없는 문서는 upsert로 만든다")
+        void guardedUpsert_scriptComparesSourceTs() throws Exception {
+            BulkOperation op = client.upsertOperation("A", Map.of("title", "a"), 1000L);
+
+            JsonNode body = om.readTree(op.body());
+            assertThat(op.isGuarded()).isTrue();
+            assertThat(body.has("doc")).isFalse();
+            assertThat(body.path("script").path("lang").asText()).isEqualTo("painless");
+            assertThat(body.path("script").path("source").asText()).contains("source_ts", "ctx.op = 'noop'");
+            assertThat(body.path("script").path("params").path("ts").asLong()).isEqualTo(1000L);
+            assertThat(body.path("script").path("params").path("doc").path("title").asText()).isEqualTo("a");
+            assertThat(body.path("upsert").path("title").asText()).isEqualTo("a");
+            assertThat(body.path("upsert").path("source_ts").asLong()).isEqualTo(1000L);
+        }
+
+        @Test
+        @DisplayName("필드 단위 변경은 필드별 field_ts와만 비교하고 source_ts는 갱신하지 않는다")
+        void guardedPartialUpdate_comparesFieldTs() throws Exception {
+            BulkOperation op = client.partialUpdateOperation("A", Map.of("price", 9000), 2000L);
+
+            JsonNode body = om.readTree(op.body());
+            String script = body.path("script").path("source").asText();
+            assertThat(op.isGuarded()).isTrue();
+            assertThat(body.has("upsert")).isFalse();
+            assertThat(script).contains("fieldTs.put(entry.getKey(), params.ts)", "ctx.op = 'noop'");
+            assertThat(script).doesNotContain("ctx._source.source_ts =");
+            assertThat(body.path("script").path("params").path("doc").path("price").asInt()).isEqualTo(9000);
+        }
+
+        @Test
+        @DisplayName("t2 가격 변경 뒤 늦게 온 t1 전체 upsert: 문서 전체는 source_ts로만 noop 판단, 더 최신 field_ts가 있는 필드만 건너뛴다")
+        void olderFullUpsertAfterNewerPriceUpdate_keepsContent() throws Exception {
+            BulkOperation priceUpdate = client.partialUpdateOperation("A", Map.of("price", 9000), 2000L);
+            BulkOperation upsert = client.upsertOperation("A", Map.of("title", "new title", "price", 8000), 1000L);
+
+            String upsertScript = om.readTree(upsert.body()).path("script").path("source").asText();
+            String updateScript = om.readTree(priceUpdate.body()).path("script").path("source").asText();
+            // 문서 전체 noop 조건은 source_ts 비교 하나뿐 (field_ts는 필드 하나만 건너뛰게 한다)
+            assertThat(upsertScript).containsOnlyOnce("ctx.op = 'noop'");
+            assertThat(upsertScript).contains("ctx._source.source_ts > params.ts) { ctx.op = 'noop'; }");
+            assertThat(upsertScript).contains("fieldTs.get(entry.getKey())", "last == null || last <= params.ts");
+            assertThat(upsertScript).contains("ctx._source.source_ts = params.ts");
+            // 가격 변경은 source_ts를 올리지 않으므로 t1 upsert가 source_ts 비교에서 밀리지 않는다
+            assertThat(updateScript).doesNotContain("ctx._source.source_ts =");
+        }
+
+        @Test
+        @DisplayName("ts 조건부 삭제: 문서를 지우지 않고 tombstone(deleted + source_ts)으로 바꾸고, 없는 문서에도 남긴다, 오래된 삭제는 noop")
+        void guardedDelete_leavesTombstone() throws Exception {
+            when(restClient.performRequest(any(Request.class)))
+                    .thenReturn(newEsResponse(200, """
+                            {"items":[
+                              {"update":{"_id":"A","status":200,"result":"noop"}},
+                              {"update":{"_id":"B","status":201,"result":"created"}}
+                            ]}
+                            """));
+
+            BulkOperation deleteA = client.deleteOperation("A", 1000L);
+            List<BulkItemResult> results = client.bulk(List.of(deleteA, client.deleteOperation("B", 1000L)));
+
+            JsonNode body = om.readTree(deleteA.body());
+            String script = body.path("script").path("source").asText();
+            assertThat(deleteA.action()).isEqualTo(BulkOperation.Action.GUARDED_DELETE);
+            assertThat(script).contains("ctx._source.clear()", "ctx._source.deleted = true", "ctx._source.source_ts = params.ts");
+            assertThat(script).doesNotContain("ctx.op = 'delete'");
+            assertThat(body.path("scripted_upsert").asBoolean()).isTrue();
+            assertThat(body.path("upsert").isObject()).isTrue();
+            assertThat(results.get(0).isSuccess()).isTrue();
+            assertThat(results.get(0).isNoop()).isTrue();
+            assertThat(results.get(1).isSuccess()).isTrue();
+        }
+
+        @Test
+        @DisplayName("tombstone보다 최신인 upsert는 deleted를 지워 다시 보이게 한다 (ts 없는 upsert는 deleted=false로 덮는다)")
+        void upsert_revivesTombstone() throws Exception {
+            String guarded = om.readTree(client.upsertOperation("A", Map.of("title", "a"), 2000L).body())
+                    .path("script").path("source").asText();
+            JsonNode unguarded = om.readTree(client.upsertOperation("A", Map.of("title", "a"), 0).body());
+
+            assertThat(guarded).contains("ctx._source.remove('deleted')");
+            assertThat(unguarded.path("doc").path("deleted").isBoolean()).isTrue();
+            assertThat(unguarded.path("doc").path("deleted").asBoolean()).isFalse();
+        }
+
+        @Test
+        @DisplayName("이중 쓰기 중이면 작업마다 새 인덱스에도 보내고, 새 인덱스의 429는 그 작업 결과로 돌려주고 그 밖의 실패는 센다")
+        void shadowWrites_duplicateToTargetIndex() throws Exception {
+            when(restClient.performRequest(any(Request.class)))
+                    .thenReturn(newEsResponse(200, """
+                            {"items":[
+                              {"update":{"_id":"A","status":200,"result":"updated"}},
+                              {"update":{"_id":"A","status":429,"error":{"type":"es_rejected_execution_exception","reason":"rejected execution"}}},
+                              {"update":{"_id":"B","status":200,"result":"updated"}},
+                              {"update":{"_id":"B","status":201,"result":"created"}},
+                              {"update":{"_id":"C","status":200,"result":"updated"}},
+                              {"update":{"_id":"C","status":400,"error":{"type":"mapper_parsing_exception","reason":"bad"}}}
+                            ]}
+                            """));
+
+            client.startShadowWrites("test-index-v2");
+            List<BulkItemResult> results;
+            try {
+                results = client.bulk(List.of(
+                        client.upsertOperation("A", Map.of("title", "a"), 1000L),
+                        client.partialUpdateOperation("B", Map.of("price", 9000), 2000L),
+                        client.upsertOperation("C", Map.of("title", "c"), 1000L)));
+            } finally {
+                client.stopShadowWrites();
+            }
+
+            var captor = org.mockito.ArgumentCaptor.forClass(Request.class);
+            verify(restClient).performRequest(captor.capture());
+            String[] lines = org.apache.http.util.EntityUtils.toString(captor.getValue().getEntity(), StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(12);
+            assertThat(om.readTree(lines[0]).path("update").path("_index").asText()).isEqualTo("test-index");
+            assertThat(om.readTree(lines[2]).path("update").path("_index").asText()).isEqualTo("test-index-v2");
+            assertThat(lines[3]).isEqualTo(lines[1]);
+            // 필드 단위 변경은 새 인덱스에 문서가 아직 없을 수 있어 숨긴 문서로 upsert
+            assertThat(om.readTree(lines[5]).has("upsert")).isFalse();
+            assertThat(om.readTree(lines[7]).path("scripted_upsert").asBoolean()).isTrue();
+            assertThat(om.readTree(lines[7]).path("upsert").path("deleted").asBoolean()).isTrue();
+
+            assertThat(results.get(0).isRejected()).isTrue();
+            assertThat(results.get(1).isSuccess()).isTrue();
+            assertThat(results.get(2).isSuccess()).isTrue();
+            assertThat(client.shadowFailures()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("빈 목록이면 요청하지 않는다")
+        void empty_noRequest() throws Exception {
+            assertThat(client.bulk(List.of())).isEmpty();
+            verify(restClient, never()).performRequest(any(Request.class));
+        }
+    }
+
+    // ==========================================================
+    // findEmbeddingFingerprints()
+    // ==========================================================
+
+    @Nested
+    @DisplayName("findEmbeddingFingerprints()")
+    class FindEmbeddingFingerprintsTests {
+
+        @Test
+        @DisplayName("_mget으로 지문 필드만 조회하고, 없는 문서/지문 없는 문서는 빠진다")
+        void mget_returnsOnlyStoredFingerprints() throws Exception {
+            when(restClient.performRequest(any(Request.class)))
+                    .thenReturn(newEsResponse(200, """
+                            {"docs":[
+                              {"_id":"A","_source":{"embedding_fingerprint":"fp-a"}},
+                              {"_id":"B","_source":{}},
+                              {"_id":"C"}
+                            ]}
+                            """));
+
+            Map<String, String> fingerprints = client.findEmbeddingFingerprints(List.of("A", "B", "C"));
+
+            var captor = org.mockito.ArgumentCaptor.forClass(Request.class);
+            verify(restClient).performRequest(captor.capture());
+            assertThat(captor.getValue().getEndpoint()).isEqualTo("/test-index/_mget");
+            assertThat(captor.getValue().getParameters()).containsEntry("_source_includes", "embedding_fingerprint");
+            assertThat(fingerprints).containsExactly(Map.entry("A", "fp-a"));
+        }
+
+        @Test
+        @DisplayName("임베딩 없는 부분 문서는 embedding / embedding_fingerprint 필드를 보내지 않는다")
+        void upsertOperation_omitsNullEmbedding() throws Exception {
+            BookUpsertDoc doc = new BookUpsertDoc("A", 1L, "T", null, null, null, null, 1000,
+                    List.of(), null, null, null, null, null);
+
+            JsonNode body = om.readTree(client.upsertOperation("A", doc, 0).body()).path("doc");
+
+            assertThat(body.has("embedding")).isFalse();
+            assertThat(body.has("embedding_fingerprint")).isFalse();
+            assertThat(body.path("price").asInt()).isEqualTo(1000);
+            // 다른 필드는 null도 그대로 보낸다 (기존 동작)
+            assertThat(body.has("author")).isTrue();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.nhnacademy.bookssearchworker.worker.es;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EsIndexAdminClientTest {
+
+    private final ObjectMapper om = new ObjectMapper();
+    private RestClient restClient;
+    private EsIndexAdminClient client;
+
+    @BeforeEach
+    void setUp() {
+        restClient = mock(RestClient.class);
+        client = new EsIndexAdminClient(restClient, om);
+    }
+
+    private static Response response(String json) {
+        Response resp = mock(Response.class);
+        when(resp.getEntity()).thenReturn(new StringEntity(json, ContentType.APPLICATION_JSON));
+        return resp;
+    }
+
+    private Request lastRequest() throws Exception {
+        ArgumentCaptor<Request> captor = ArgumentCaptor.forClass(Request.class);
+        verify(restClient, atLeastOnce()).performRequest(captor.capture());
+        return captor.getValue();
+    }
+
+    private JsonNode body(Request req) throws Exception {
+        return om.readTree(EntityUtils.toString(req.getEntity(), StandardCharsets.UTF_8));
+    }
+
+    private static final String BOOKS_V1 = """
+            {"books-v1":{
+              "aliases":{"books":{}},
+              "mappings":{"properties":{"title":{"type":"text"}}},
+              "settings":{"index":{"number_of_shards":"1","number_of_replicas":"1","refresh_interval":"1s",
+                                   "uuid":"abc","creation_date":"1","provided_name":"books-v1",
+                                   "analysis":{"analyzer":{"ko":{"type":"custom","tokenizer":"nori_tokenizer"}}}}}
+            }}
+            """;
+
+    @Test
+    @DisplayName("describe(): alias면 실제 인덱스 이름과 alias 여부, 원래 replicas/refresh를 돌려준다")
+    void describe_alias() throws Exception {
+        when(restClient.performRequest(any(Request.class))).thenAnswer(inv -> response(BOOKS_V1));
+
+        EsIndexAdminClient.IndexDefinition def = client.describe("books");
+
+        assertThat(def.index()).isEqualTo("books-v1");
+        assertThat(def.alias()).isTrue();
+        assertThat(def.replicas()).isEqualTo("1");
+        assertThat(def.refreshInterval()).isEqualTo("1s");
+    }
+
+    @Test
+    @DisplayName("createForBulkLoad(): 매핑/분석기는 복사하고 인덱스 고유 값은 빼며 replicas=0, refresh=-1로 만든다")
+    void createForBulkLoad_copiesMappingAndDisablesRefresh() throws Exception {
+        when(restClient.performRequest(any(Request.class))).thenAnswer(inv -> response(BOOKS_V1));
+        EsIndexAdminClient.IndexDefinition def = client.describe("books");
+
+        client.createForBulkLoad("books-v2", def);
+
+        Request req = lastRequest();
+        JsonNode settings = body(req).path("settings").path("index");
+        assertThat(req.getMethod()).isEqualTo("PUT");
+        assertThat(req.getEndpoint()).isEqualTo("/books-v2");
+        assertThat(settings.path("number_of_replicas").asInt()).isZero();
+        assertThat(settings.path("refresh_interval").asText()).isEqualTo("-1");
+        assertThat(settings.path("analysis").path("analyzer").has("ko")).isTrue();
+        assertThat(settings.has("uuid")).isFalse();
+        assertThat(settings.has("provided_name")).isFalse();
+        assertThat(body(req).path("mappings").path("properties").path("title").path("type").asText()).isEqualTo("text");
+    }
+
+    @Test
+    @DisplayName("swapAlias(): alias면 add/remove, 같은 이름의 실제 인덱스면 add/remove_index를 한 요청으로 보낸다")
+    void swapAlias_singleAtomicRequest() throws Exception {
+        when(restClient.performRequest(any(Request.class))).thenAnswer(inv -> response("{}"));
+        JsonNode empty = om.createObjectNode();
+
+        client.swapAlias("books", new EsIndexAdminClient.IndexDefinition("books-v1", true, empty, empty), "books-v2");
+        JsonNode aliasActions = body(lastRequest()).path("actions");
+        client.swapAlias("books", new EsIndexAdminClient.IndexDefinition("books", false, empty, empty), "books-v2");
+        JsonNode concreteActions = body(lastRequest()).path("actions");
+
+        assertThat(aliasActions.get(0).path("add").path("index").asText()).isEqualTo("books-v2");
+        assertThat(aliasActions.get(1).path("remove").path("index").asText()).isEqualTo("books-v1");
+        assertThat(concreteActions.get(1).path("remove_index").path("index").asText()).isEqualTo("books");
+    }
+
+    @Test
+    @DisplayName("scan()/bulkIndex(): PIT + search_after 페이지를 읽고, 원본 그대로 index 액션으로 적재한다")
+    void scanAndBulkIndex() throws Exception {
+        when(restClient.performRequest(any(Request.class)))
+                .thenAnswer(inv -> response("""
+                        {"pit_id":"pit-2","hits":{"hits":[{"_id":"A","_source":{"title":"a"},"sort":[7]}]}}
+                        """))
+                .thenAnswer(inv -> response("""
+                        {"items":[{"index":{"_id":"A","status":201}}]}
+                        """));
+
+        EsIndexAdminClient.ScanPage page = client.scan("pit-1", "5m", 500, om.readTree("[3]"));
+        Request search = lastRequest();
+        List<BulkItemResult> results = client.bulkIndex("books-v2", page.hits());
+        Request bulk = lastRequest();
+
+        assertThat(body(search).path("search_after").get(0).asInt()).isEqualTo(3);
+        assertThat(page.pitId()).isEqualTo("pit-2");
+        assertThat(page.hits()).extracting(EsIndexAdminClient.Hit::id).containsExactly("A");
+        String[] lines = EntityUtils.toString(bulk.getEntity(), StandardCharsets.UTF_8).split("\n");
+        assertThat(om.readTree(lines[0]).path("index").path("_index").asText()).isEqualTo("books-v2");
+        assertThat(om.readTree(lines[1]).path("title").asText()).isEqualTo("a");
+        assertThat(results.getFirst().isSuccess()).isTrue();
+    }
+}
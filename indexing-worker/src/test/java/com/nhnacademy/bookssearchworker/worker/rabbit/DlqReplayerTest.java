@@ -0,0 +1,183 @@
+package com.nhnacademy.bookssearchworker.worker.rabbit;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DlqReplayerTest {
+
+    private RabbitTemplate rabbitTemplate;
+    private Channel channel;
+    private DlqReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        channel = mock(Channel.class);
+        when(rabbitTemplate.execute(any())).thenAnswer(inv -> ((ChannelCallback<?>) inv.getArgument(0)).doInRabbit(channel));
+        replayer = new DlqReplayer(rabbitTemplate, "ex.main",
+                "q.upsert.fail", "q.delete.fail", "q.field-update.fail",
+                "rk.upsert", "rk.delete", "rk.field-update", 1000, 20, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replayer.destroy();
+    }
+
+    private static GetResponse dlqMessage(long tag, String errorCode) {
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .headers(Map.of(
+                        RabbitRetryPublisher.HDR_RETRY_COUNT, 3,
+                        RabbitRetryPublisher.HDR_ERROR_CODE, errorCode,
+                        RabbitRetryPublisher.HDR_ERROR_MESSAGE, "failed",
+                        "h", "v"))
+                .build();
+        return new GetResponse(new Envelope(tag, false, "ex.dlx", "rk.upsert.fail"), props,
+                ("body-" + tag).getBytes(StandardCharsets.UTF_8), 0);
+    }
+
+    private DlqReplayer.Status run(String errorCode, boolean dryRun, int max) {
+        DlqReplayer.Job job = new DlqReplayer.Job(new DlqReplayer.Request("book-upsert", errorCode, dryRun, max, 0));
+        replayer.run(job);
+        return job.status();
+    }
+
+    @Test
+    @DisplayName("필터에 맞는 메시지만 메인 exchange로 다시 발행(재시도/에러 헤더 제거)하고 발행 확인 뒤 ack, 나머지는 DLQ 맨 뒤로 보낸다")
+    void replay_filtersByErrorCode() throws Exception {
+        when(channel.messageCount("q.upsert.fail")).thenReturn(2L);
+        when(channel.basicGet("q.upsert.fail", false))
+                .thenReturn(dlqMessage(1, "DOWNSTREAM_UNAVAILABLE"), dlqMessage(2, "INVALID_MESSAGE"), null);
+
+        DlqReplayer.Status status = run("DOWNSTREAM_UNAVAILABLE", false, 100);
+
+        ArgumentCaptor<AMQP.BasicProperties> props = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        InOrder inOrder = inOrder(channel);
+        inOrder.verify(channel).confirmSelect();
+        inOrder.verify(channel).basicPublish(eq("ex.main"), eq("rk.upsert"), eq(false), props.capture(),
+                eq("body-1".getBytes(StandardCharsets.UTF_8)));
+        inOrder.verify(channel).waitForConfirmsOrDie(5000);
+        inOrder.verify(channel).basicAck(1L, false);
+        assertThat(props.getValue().getHeaders())
+                .containsEntry("h", "v")
+                .doesNotContainKeys(RabbitRetryPublisher.HDR_RETRY_COUNT, RabbitRetryPublisher.HDR_ERROR_CODE,
+                        RabbitRetryPublisher.HDR_ERROR_MESSAGE);
+
+        // 불일치 메시지는 기본 exchange로 DLQ 맨 뒤에 (에러 헤더 유지) 넣고 확인 뒤 ack
+        ArgumentCaptor<AMQP.BasicProperties> tailProps = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        inOrder.verify(channel).basicPublish(eq(""), eq("q.upsert.fail"), eq(false), tailProps.capture(),
+                eq("body-2".getBytes(StandardCharsets.UTF_8)));
+        inOrder.verify(channel).waitForConfirmsOrDie(5000);
+        inOrder.verify(channel).basicAck(2L, false);
+        assertThat(tailProps.getValue().getHeaders()).containsEntry(RabbitRetryPublisher.HDR_ERROR_CODE, "INVALID_MESSAGE");
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+
+        assertThat(status.state()).isEqualTo(DlqReplayer.State.COMPLETED);
+        assertThat(status.scanned()).isEqualTo(2);
+        assertThat(status.matched()).isEqualTo(1);
+        assertThat(status.replayed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("불일치 메시지는 max-messages에 세지 않아 앞쪽에 쌓여 있어도 뒤의 대상 메시지까지 간다")
+    void nonMatching_notCountedTowardMax() throws Exception {
+        when(channel.messageCount("q.upsert.fail")).thenReturn(3L);
+        when(channel.basicGet("q.upsert.fail", false))
+                .thenReturn(dlqMessage(1, "INVALID_MESSAGE"), dlqMessage(2, "INVALID_MESSAGE"), dlqMessage(3, "ES_ERROR"));
+
+        DlqReplayer.Status status = run("ES_ERROR", false, 1);
+
+        verify(channel, times(3)).basicGet("q.upsert.fail", false);
+        verify(channel).basicPublish(eq("ex.main"), eq("rk.upsert"), eq(false), any(),
+                eq("body-3".getBytes(StandardCharsets.UTF_8)));
+        assertThat(status.scanned()).isEqualTo(3);
+        assertThat(status.replayed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("시작할 때 DLQ에 있던 건수까지만 본다 (맨 뒤로 보낸 메시지를 다시 꺼내지 않음)")
+    void stopsAtInitialDepth() throws Exception {
+        when(channel.messageCount("q.upsert.fail")).thenReturn(2L);
+        when(channel.basicGet("q.upsert.fail", false))
+                .thenReturn(dlqMessage(1, "INVALID_MESSAGE"), dlqMessage(2, "INVALID_MESSAGE"), dlqMessage(3, "INVALID_MESSAGE"));
+
+        DlqReplayer.Status status = run("ES_ERROR", false, 100);
+
+        verify(channel, times(2)).basicGet("q.upsert.fail", false);
+        assertThat(status.scanned()).isEqualTo(2);
+        assertThat(status.replayed()).isZero();
+    }
+
+    @Test
+    @DisplayName("발행 확인이 오지 않으면 ack 하지 않고 DLQ로 되돌린 뒤 작업 실패")
+    void confirmTimeout_notAcked() throws Exception {
+        when(channel.messageCount("q.upsert.fail")).thenReturn(1L);
+        when(channel.basicGet("q.upsert.fail", false)).thenReturn(dlqMessage(1, "ES_ERROR"));
+        doThrow(new TimeoutException("confirm timeout")).when(channel).waitForConfirmsOrDie(5000);
+
+        DlqReplayer.Status status = run(null, false, 100);
+
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(channel).basicNack(1L, true, true);
+        assertThat(status.state()).isEqualTo(DlqReplayer.State.FAILED);
+        assertThat(status.replayed()).isZero();
+    }
+
+    @Test
+    @DisplayName("dry-run은 발행/ack 없이 건수만 세고 전부 DLQ로 되돌린다")
+    void dryRun_onlyCounts() throws Exception {
+        when(channel.messageCount("q.upsert.fail")).thenReturn(2L);
+        when(channel.basicGet("q.upsert.fail", false))
+                .thenReturn(dlqMessage(1, "ES_ERROR"), dlqMessage(2, "ES_ERROR"), null);
+
+        DlqReplayer.Status status = run(null, true, 100);
+
+        verify(channel, never()).confirmSelect();
+        verify(channel, never()).basicPublish(anyString(), anyString(), anyBoolean(), any(), any());
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(channel).basicNack(2L, true, true);
+        assertThat(status.matched()).isEqualTo(2);
+        assertThat(status.replayed()).isZero();
+    }
+
+    @Test
+    @DisplayName("max-messages건까지만 재발행한다")
+    void stopsAtMaxMessages() throws Exception {
+        when(channel.messageCount("q.upsert.fail")).thenReturn(3L);
+        when(channel.basicGet("q.upsert.fail", false))
+                .thenReturn(dlqMessage(1, "ES_ERROR"), dlqMessage(2, "ES_ERROR"), dlqMessage(3, "ES_ERROR"));
+
+        DlqReplayer.Status status = run(null, false, 2);
+
+        verify(channel, times(2)).basicGet("q.upsert.fail", false);
+        assertThat(status.replayed()).isEqualTo(2);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("알 수 없는 source면 시작하지 않는다")
+    void start_unknownSource() {
+        assertThatThrownBy(() -> replayer.start("book-unknown", null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(replayer.status()).isNull();
+    }
+}
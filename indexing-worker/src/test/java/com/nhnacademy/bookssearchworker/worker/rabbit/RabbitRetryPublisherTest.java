@@ -28,11 +28,14 @@ import static org.mockito.Mockito.*;
 @TestPropertySource(properties = {
         "rabbitmq.exchange.main=ex.main",
         "rabbitmq.exchange.retry=ex.retry",
-        "rabbitmq.exchange.dlx=ex.dlx"
+        "rabbitmq.exchange.dlx=ex.dlx",
+        "rabbitmq.exchange.retry-delay=ex.retry.delay",
+        "app.worker.retry.delays-ms=1000,10000,60000",
+        "app.worker.retry.jitter=0"
 })
 class RabbitRetryPublisherTest {
 
-    @Import(RabbitRetryPublisher.class)
+    @Import({RabbitRetryPublisher.class, RetryBackoff.class})
     static class TestConfig { }
 
     @MockitoBean
@@ -66,28 +69,6 @@ class RabbitRetryPublisherTest {
         assertEquals(0, publisher.getRetryCount(p4), "String non-numeric -> 0");
     }
 
-    @Test
-    @DisplayName("toRetry(): retry exchange로 메시지 발행 + x-retry-count 갱신")
-    void toRetry_setsHeaderAndSends() {
-        MessageProperties props = new MessageProperties();
-        props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
-        props.getHeaders().put("h", "v");
-        Message original = new Message("body".getBytes(StandardCharsets.UTF_8), props);
-
-        publisher.toRetry(original, "rk.retry", 2);
-
-        ArgumentCaptor<Message> cap = ArgumentCaptor.forClass(Message.class);
-        verify(rabbitTemplate).send(eq("ex.retry"), eq("rk.retry"), cap.capture());
-
-        Message sent = cap.getValue();
-        assertAll(
-                () -> assertArrayEquals(original.getBody(), sent.getBody(), "body는 동일해야 함"),
-                () -> assertEquals(2, sent.getMessageProperties().getHeaders().get(RabbitRetryPublisher.HDR_RETRY_COUNT), "retry header 갱신"),
-                () -> assertEquals("v", sent.getMessageProperties().getHeaders().get("h"), "기존 header 유지"),
-                () -> assertEquals(MessageProperties.CONTENT_TYPE_JSON, sent.getMessageProperties().getContentType(), "메타 정보 복사")
-        );
-    }
-
     @Test
     @DisplayName("toDlq(): dlx exchange로 메시지 발행 + error headers 포함 + 메시지 길이 제한")
     void toDlq_setsErrorHeadersAndTruncates() {
@@ -114,20 +95,19 @@ class RabbitRetryPublisherTest {
     }
 
     @Test
-    @DisplayName("publishToRetryWithDelay(): TTL(expiration)을 String으로 설정한다")
-    void publishToRetryWithDelay_setsExpiration() {
-        MessageProperties props = new MessageProperties();
-        Message original = new Message("b".getBytes(StandardCharsets.UTF_8), props);
+    @DisplayName("toRetry(errorCode): 재시도 횟수에 맞는 단계 대기 큐로 TTL을 달아 발행한다")
+    void toRetry_withErrorCode_publishesToTierQueue() {
+        Message original = new Message("b".getBytes(StandardCharsets.UTF_8), new MessageProperties());
 
-        publisher.publishToRetryWithDelay(original, "rk.retry", 1, 5000L);
+        publisher.toRetry(original, "rk.retry", 2, WorkerProcessingException.ErrorCode.ES_ERROR);
 
         ArgumentCaptor<Message> cap = ArgumentCaptor.forClass(Message.class);
-        verify(rabbitTemplate).send(eq("ex.retry"), eq("rk.retry"), cap.capture());
+        verify(rabbitTemplate).send(eq("ex.retry.delay"), eq("rk.retry.delay.10000"), cap.capture());
 
         MessageProperties sent = cap.getValue().getMessageProperties();
         assertAll(
-                () -> assertEquals("5000", sent.getExpiration(), "expiration은 String이어야 함"),
-                () -> assertEquals(1, sent.getHeaders().get(RabbitRetryPublisher.HDR_RETRY_COUNT), "retry count 저장")
+                () -> assertEquals("10000", sent.getExpiration(), "두 번째 재시도는 두 번째 단계 지연"),
+                () -> assertEquals(2, sent.getHeaders().get(RabbitRetryPublisher.HDR_RETRY_COUNT), "retry count 저장")
         );
     }
 }
@@ -0,0 +1,50 @@
+package com.nhnacademy.bookssearchworker.worker.rabbit;
+
+import com.nhnacademy.bookssearchworker.worker.exception.WorkerProcessingException.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryBackoffTest {
+
+    private static final long[] TIERS = {1000, 10000, 60000};
+
+    @Test
+    @DisplayName("n번째 재시도는 n번째 단계, 단계보다 많으면 마지막 단계")
+    void tierIndex_followsRetryCount() {
+        RetryBackoff backoff = new RetryBackoff(TIERS, 0, () -> 0.5);
+
+        assertThat(backoff.tierIndex(1, ErrorCode.ES_ERROR)).isZero();
+        assertThat(backoff.tierIndex(2, ErrorCode.EMBEDDING_FAILED)).isEqualTo(1);
+        assertThat(backoff.tierIndex(3, ErrorCode.UNKNOWN)).isEqualTo(2);
+        assertThat(backoff.tierIndex(5, ErrorCode.UNKNOWN)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("DOWNSTREAM_UNAVAILABLE은 한 단계 건너뛰고, INVALID_MESSAGE는 항상 첫 단계")
+    void tierIndex_byErrorCode() {
+        RetryBackoff backoff = new RetryBackoff(TIERS, 0, () -> 0.5);
+
+        assertThat(backoff.tierIndex(1, ErrorCode.DOWNSTREAM_UNAVAILABLE)).isEqualTo(1);
+        assertThat(backoff.tierIndex(3, ErrorCode.DOWNSTREAM_UNAVAILABLE)).isEqualTo(2);
+        assertThat(backoff.tierIndex(3, ErrorCode.INVALID_MESSAGE)).isZero();
+    }
+
+    @Test
+    @DisplayName("지연은 단계 값 ± jitter 비율 안에서 정해진다")
+    void jitteredDelay_withinRange() {
+        assertThat(new RetryBackoff(TIERS, 0.2, () -> 0.0).jitteredDelayMs(1)).isEqualTo(8000);
+        assertThat(new RetryBackoff(TIERS, 0.2, () -> 0.5).jitteredDelayMs(1)).isEqualTo(10000);
+        assertThat(new RetryBackoff(TIERS, 0.2, () -> 0.999).jitteredDelayMs(1)).isBetween(11_990L, 12_000L);
+    }
+
+    @Test
+    @DisplayName("단계 대기 큐 이름은 재시도 routing key + .delay. + 단계 ms, 단계가 비어 있으면 기동 실패")
+    void delayQueue_andEmptyTiers() {
+        assertThat(RetryBackoff.delayQueue("rk.retry", 60000)).isEqualTo("rk.retry.delay.60000");
+        assertThatThrownBy(() -> new RetryBackoff(new long[0], 0.2, () -> 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
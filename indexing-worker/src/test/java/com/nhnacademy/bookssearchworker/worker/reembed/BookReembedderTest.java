@@ -0,0 +1,188 @@
+package com.nhnacademy.bookssearchworker.worker.reembed;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingFingerprint;
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingTextBuilder;
+import com.nhnacademy.bookssearchworker.worker.embedding.OllamaEmbeddingClient;
+import com.nhnacademy.bookssearchworker.worker.es.BulkItemResult;
+import com.nhnacademy.bookssearchworker.worker.es.BulkOperation;
+import com.nhnacademy.bookssearchworker.worker.es.EsBookDocumentClient;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient.Hit;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient.IndexDefinition;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient.ScanPage;
+import com.nhnacademy.bookssearchworker.worker.reembed.ReembedCheckpointStore.Checkpoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookReembedderTest {
+
+    private static final String MODEL = "new-model";
+
+    private final ObjectMapper om = new ObjectMapper();
+    private final EmbeddingTextBuilder textBuilder = new EmbeddingTextBuilder();
+    private final EmbeddingFingerprint fingerprint = new EmbeddingFingerprint("bge-m3");
+    private EsIndexAdminClient es;
+    private EsBookDocumentClient documents;
+    private OllamaEmbeddingClient embeddings;
+    private ReembedCheckpointStore checkpoints;
+    private BookReembedder reembedder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        es = mock(EsIndexAdminClient.class);
+        documents = mock(EsBookDocumentClient.class);
+        embeddings = mock(OllamaEmbeddingClient.class);
+        checkpoints = mock(ReembedCheckpointStore.class);
+        reembedder = new BookReembedder(es, documents, embeddings, textBuilder, fingerprint, checkpoints,
+                new SimpleMeterRegistry(), "books", MODEL, 3, "embedding_next", 2);
+
+        when(checkpoints.lock(eq("books"), eq("embedding_next"), anyString(), any())).thenReturn(true);
+        when(checkpoints.renew(eq("books"), eq("embedding_next"), anyString(), any())).thenReturn(true);
+        when(checkpoints.load("books", "embedding_next")).thenReturn(Optional.empty());
+        when(es.describe("books")).thenReturn(definition());
+        when(es.openPit(anyString(), anyString())).thenReturn("pit");
+        when(es.countLive("books")).thenReturn(3L);
+        when(embeddings.embedAll(anyList(), eq(MODEL), eq(3))).thenAnswer(inv ->
+                Collections.nCopies(((List<?>) inv.getArgument(0)).size(), List.of(0.1f, 0.2f, 0.3f)));
+        when(documents.partialUpdateOperation(anyString(), anyMap(), eq(0L))).thenAnswer(inv ->
+                new BulkOperation(BulkOperation.Action.UPDATE, inv.getArgument(0), "{}"));
+        when(documents.bulk(anyList())).thenAnswer(inv -> {
+            List<BulkOperation> ops = inv.getArgument(0);
+            return ops.stream().map(op -> new BulkItemResult(op.id(), 200, null)).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        reembedder.destroy();
+    }
+
+    private IndexDefinition definition() throws Exception {
+        JsonNode mappings = om.readTree("""
+                {"properties":{"isbn":{"type":"keyword"},
+                               "embedding":{"type":"dense_vector","dims":1024,"index":true,"similarity":"cosine"}}}
+                """);
+        return new IndexDefinition("books-v1", true, om.createObjectNode(), mappings);
+    }
+
+    private Hit hit(String isbn, String title, boolean alreadyEmbedded) {
+        ObjectNode source = om.createObjectNode().put("title", title);
+        if (alreadyEmbedded) {
+            source.put("embedding_next_fingerprint", fingerprint.of(MODEL, textBuilder.build(source)));
+        }
+        // PIT 검색의 sort 값: [isbn, _shard_doc]
+        return new Hit(isbn, source, om.createArrayNode().add(isbn).add(isbn.hashCode()));
+    }
+
+    private BookReembedder.Status run(boolean restart) {
+        BookReembedder.Job job = reembedder.new Job(restart);
+        reembedder.run(job);
+        return job.status();
+    }
+
+    @Test
+    @DisplayName("shadow 필드를 매핑하고, 새 모델 지문이 같은 문서는 건너뛰며 배치마다 체크포인트를 남긴다")
+    void run_embedsIntoShadowFieldAndCheckpoints() throws Exception {
+        when(es.scanSorted(eq("pit"), anyString(), eq(2), eq("isbn"), any(), anyList()))
+                .thenReturn(new ScanPage("pit", List.of(hit("A", "a", false), hit("B", "b", true))))
+                .thenReturn(new ScanPage("pit", List.of(hit("C", "c", false))))
+                .thenReturn(new ScanPage("pit", List.of()));
+
+        BookReembedder.Status status = run(false);
+
+        ArgumentCaptor<JsonNode> mapping = ArgumentCaptor.forClass(JsonNode.class);
+        verify(es).putMapping(eq("books"), mapping.capture());
+        assertThat(mapping.getValue().path("embedding_next").path("dims").asInt()).isEqualTo(3);
+        assertThat(mapping.getValue().path("embedding_next").path("similarity").asText()).isEqualTo("cosine");
+        assertThat(mapping.getValue().path("embedding_next_fingerprint").path("type").asText()).isEqualTo("keyword");
+
+        verify(embeddings, times(2)).embedAll(argThat(texts -> texts.size() == 1), eq(MODEL), eq(3));
+        verify(documents).partialUpdateOperation(eq("A"), argThat(fields -> fields.containsKey("embedding_next")
+                && fields.get("embedding_next_fingerprint").equals(fingerprint.of(MODEL, textBuilder.build(hit("A", "a", false).source())))), eq(0L));
+        verify(documents, never()).partialUpdateOperation(eq("B"), anyMap(), anyLong());
+
+        ArgumentCaptor<Checkpoint> saved = ArgumentCaptor.forClass(Checkpoint.class);
+        verify(checkpoints, times(2)).save(eq("books"), eq("embedding_next"), saved.capture());
+        assertThat(saved.getAllValues()).extracting(Checkpoint::after).containsExactly("B", "C");
+        verify(checkpoints).delete("books", "embedding_next");
+        verify(checkpoints).unlock(eq("books"), eq("embedding_next"), anyString());
+        verify(es).closePit("pit");
+
+        assertThat(status.state()).isEqualTo(BookReembedder.State.COMPLETED);
+        assertThat(status.processed()).isEqualTo(3);
+        assertThat(status.embedded()).isEqualTo(2);
+        assertThat(status.skipped()).isEqualTo(1);
+        assertThat(status.etaSeconds()).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 모델의 체크포인트가 있으면 [isbn, 최대 tiebreaker]부터 이어서 스캔하고 건수를 이어받는다")
+    void run_resumesFromCheckpoint() throws Exception {
+        when(checkpoints.load("books", "embedding_next"))
+                .thenReturn(Optional.of(new Checkpoint(MODEL, "B", 2, 1, 1, 0)));
+        when(es.scanSorted(eq("pit"), anyString(), eq(2), eq("isbn"), any(), anyList()))
+                .thenReturn(new ScanPage("pit", List.of(hit("C", "c", false))))
+                .thenReturn(new ScanPage("pit", List.of()));
+
+        BookReembedder.Status status = run(false);
+
+        ArgumentCaptor<JsonNode> after = ArgumentCaptor.forClass(JsonNode.class);
+        verify(es, times(2)).scanSorted(eq("pit"), anyString(), eq(2), eq("isbn"), after.capture(), anyList());
+        // PIT가 _shard_doc tiebreaker를 붙이므로 search_after도 두 값이어야 ES가 받아준다
+        JsonNode resumed = after.getAllValues().getFirst();
+        assertThat(resumed.size()).isEqualTo(2);
+        assertThat(resumed.get(0).asText()).isEqualTo("B");
+        assertThat(resumed.get(1).asLong()).isEqualTo(Long.MAX_VALUE);
+        // 다음 페이지는 마지막 hit의 sort 값 그대로
+        assertThat(after.getAllValues().get(1)).isEqualTo(hit("C", "c", false).sort());
+        verify(documents, never()).partialUpdateOperation(eq("A"), anyMap(), anyLong());
+        assertThat(status.resumedAfter()).isEqualTo("B");
+        assertThat(status.processed()).isEqualTo(3);
+        assertThat(status.embedded()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("다른 워커가 잠금을 잡고 있으면 아무것도 하지 않고 실패")
+    void run_lockBusy_fails() throws Exception {
+        when(checkpoints.lock(eq("books"), eq("embedding_next"), anyString(), any())).thenReturn(false);
+
+        BookReembedder.Status status = run(false);
+
+        verify(es, never()).openPit(anyString(), anyString());
+        verify(checkpoints, never()).unlock(anyString(), anyString(), anyString());
+        assertThat(status.state()).isEqualTo(BookReembedder.State.FAILED);
+        assertThat(status.error()).contains("lock");
+    }
+
+    @Test
+    @DisplayName("대상 필드가 다른 차원으로 이미 매핑돼 있으면 시작하지 않는다")
+    void run_targetFieldDimsMismatch_fails() throws Exception {
+        JsonNode mappings = om.readTree("""
+                {"properties":{"embedding_next":{"type":"dense_vector","dims":1024}}}
+                """);
+        when(es.describe("books")).thenReturn(new IndexDefinition("books-v1", true, om.createObjectNode(), mappings));
+
+        BookReembedder.Status status = run(false);
+
+        verify(es, never()).putMapping(anyString(), any());
+        verify(embeddings, never()).embedAll(anyList(), anyString(), anyInt());
+        verify(checkpoints).unlock(eq("books"), eq("embedding_next"), anyString());
+        assertThat(status.state()).isEqualTo(BookReembedder.State.FAILED);
+        assertThat(status.error()).contains("dims=1024");
+    }
+}
@@ -0,0 +1,66 @@
+package com.nhnacademy.bookssearchworker.worker.reembed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.bookssearchworker.worker.reembed.ReembedCheckpointStore.Checkpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReembedCheckpointStoreTest {
+
+    private static final String KEY = "booksearch:reembed:books:embedding_next";
+
+    private StringRedisTemplate redis;
+    private ValueOperations<String, String> values;
+    private ReembedCheckpointStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redis = mock(StringRedisTemplate.class);
+        values = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(values);
+        store = new ReembedCheckpointStore(redis, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("save()로 저장한 JSON을 load()가 그대로 읽는다, 없으면 empty")
+    void saveAndLoad() throws Exception {
+        Checkpoint checkpoint = new Checkpoint("new-model", "9788900000001", 128, 100, 27, 1);
+
+        store.save("books", "embedding_next", checkpoint);
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(values).set(eq(KEY), json.capture());
+        when(values.get(KEY)).thenReturn(json.getValue());
+
+        assertThat(store.load("books", "embedding_next")).contains(checkpoint);
+        assertThat(store.load("books", "other_field")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("잠금은 SET NX + TTL, 연장/해제는 잠금이 아직 내 것일 때만")
+    void lockRenewUnlock_onlyByOwner() {
+        Duration ttl = Duration.ofMinutes(5);
+        when(values.setIfAbsent(KEY + ":lock", "job-1", ttl)).thenReturn(true);
+        when(values.get(KEY + ":lock")).thenReturn("job-1");
+        when(redis.expire(KEY + ":lock", ttl)).thenReturn(true);
+
+        assertThat(store.lock("books", "embedding_next", "job-1", ttl)).isTrue();
+        assertThat(store.renew("books", "embedding_next", "job-1", ttl)).isTrue();
+        assertThat(store.renew("books", "embedding_next", "job-2", ttl)).isFalse();
+
+        store.unlock("books", "embedding_next", "job-2");
+        verify(redis, never()).delete(anyString());
+        store.unlock("books", "embedding_next", "job-1");
+        verify(redis).delete(KEY + ":lock");
+    }
+}
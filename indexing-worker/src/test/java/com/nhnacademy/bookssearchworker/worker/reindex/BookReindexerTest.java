@@ -0,0 +1,274 @@
+package com.nhnacademy.bookssearchworker.worker.reindex;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.bookssearchworker.config.JacksonConfig;
+import com.nhnacademy.bookssearchworker.worker.consumer.IsbnStripedExecutor;
+import com.nhnacademy.bookssearchworker.worker.consumer.UpsertCoalescer;
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingFingerprint;
+import com.nhnacademy.bookssearchworker.worker.embedding.EmbeddingTextBuilder;
+import com.nhnacademy.bookssearchworker.worker.embedding.OllamaEmbeddingClient;
+import com.nhnacademy.bookssearchworker.worker.es.BulkIndexer;
+import com.nhnacademy.bookssearchworker.worker.es.BulkItemResult;
+import com.nhnacademy.bookssearchworker.worker.es.BulkOperation;
+import com.nhnacademy.bookssearchworker.worker.es.EsBookDocumentClient;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient.Hit;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient.IndexDefinition;
+import com.nhnacademy.bookssearchworker.worker.es.EsIndexAdminClient.ScanPage;
+import com.nhnacademy.bookssearchworker.worker.message.BookUpsertMessage.BookPayload;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookReindexerTest {
+
+    private final ObjectMapper om = new JacksonConfig().objectMapper();
+    private EsIndexAdminClient es;
+    private EsBookDocumentClient documents;
+    private RabbitListenerEndpointRegistry registry;
+    private BulkIndexer indexer;
+    private CatalogBookReader catalog;
+    private OllamaEmbeddingClient embeddings;
+    private final EmbeddingTextBuilder textBuilder = new EmbeddingTextBuilder();
+    private final EmbeddingFingerprint fingerprint = new EmbeddingFingerprint("bge-m3");
+    private BookReindexer reindexer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        es = mock(EsIndexAdminClient.class);
+        documents = mock(EsBookDocumentClient.class);
+        registry = mock(RabbitListenerEndpointRegistry.class);
+        indexer = mock(BulkIndexer.class);
+        catalog = mock(CatalogBookReader.class);
+        embeddings = mock(OllamaEmbeddingClient.class);
+        ObjectProvider<RabbitListenerEndpointRegistry> listeners = mock(ObjectProvider.class);
+        when(listeners.getIfAvailable()).thenReturn(registry);
+        when(registry.isRunning()).thenReturn(true);
+
+        reindexer = new BookReindexer(es, documents, listeners, new IsbnStripedExecutor(1), mock(UpsertCoalescer.class), indexer,
+                catalog, embeddings, textBuilder, fingerprint, "books", 2, 2, 1000, 2);
+
+        when(es.openPit(anyString(), anyString())).thenReturn("pit");
+        when(es.bulkIndex(anyString(), anyList())).thenAnswer(inv -> {
+            List<Hit> hits = inv.getArgument(1);
+            return hits.stream().map(h -> new BulkItemResult(h.id(), 201, null)).toList();
+        });
+        when(documents.upsertOperation(anyString(), any(), anyLong())).thenAnswer(inv -> new BulkOperation(
+                BulkOperation.Action.UPDATE, inv.getArgument(0), om.writeValueAsString(inv.getArgument(1)), inv.getArgument(2)));
+        when(documents.deleteOperation(anyString(), anyLong())).thenAnswer(inv -> new BulkOperation(
+                BulkOperation.Action.GUARDED_DELETE, inv.getArgument(0), "{}", inv.getArgument(1)));
+        when(documents.bulk(anyString(), anyList())).thenAnswer(inv -> {
+            List<BulkOperation> ops = inv.getArgument(1);
+            return ops.stream().map(op -> new BulkItemResult(op.id(), 201, null, "created")).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        reindexer.destroy();
+    }
+
+    private IndexDefinition definition(String index, boolean alias) {
+        return new IndexDefinition(index, alias, om.createObjectNode().put("number_of_replicas", "1"), om.createObjectNode());
+    }
+
+    private Hit hit(String id, int sort) {
+        return new Hit(id, om.createObjectNode().put("title", id), om.createArrayNode().add(sort));
+    }
+
+    private BookPayload book(String isbn, String title) {
+        return new BookPayload(1L, isbn, title, "author", "publisher", "desc", LocalDate.of(2024, 1, 2), 15000,
+                List.of("소설"), "http://img/" + isbn, 10L, 20L);
+    }
+
+    private BookReindexer.Status run(boolean replaceConcreteIndex) {
+        return run(BookReindexer.Mode.INDEX_COPY, replaceConcreteIndex);
+    }
+
+    private BookReindexer.Status run(BookReindexer.Mode mode, boolean replaceConcreteIndex) {
+        BookReindexer.Job job = new BookReindexer.Job("books", "books-v2", mode, replaceConcreteIndex);
+        reindexer.run(job);
+        return job.status();
+    }
+
+    @Test
+    @DisplayName("리스너를 멈추고 전체를 새 인덱스에 적재한 뒤 설정 원복, 건수 확인, alias 교체 후 리스너를 다시 켠다")
+    void run_copiesAndSwapsAlias() throws Exception {
+        IndexDefinition source = definition("books-v1", true);
+        when(es.describe("books")).thenReturn(source);
+        when(es.scan(eq("pit"), anyString(), eq(2), any()))
+                .thenReturn(new ScanPage("pit", List.of(hit("A", 1), hit("B", 2))))
+                .thenReturn(new ScanPage("pit", List.of(hit("C", 3))))
+                .thenReturn(new ScanPage("pit", List.of()));
+        when(es.count("books-v2")).thenReturn(3L);
+
+        BookReindexer.Status status = run(false);
+
+        var order = inOrder(registry, es);
+        order.verify(es).createForBulkLoad("books-v2", source);
+        order.verify(registry).stop();
+        order.verify(es).restoreSettings("books-v2", "1", null);
+        order.verify(es).swapAlias("books", source, "books-v2");
+        order.verify(registry).start();
+        verify(es).closePit("pit");
+        assertThat(status.state()).isEqualTo(BookReindexer.State.COMPLETED);
+        assertThat(status.scanned()).isEqualTo(3);
+        assertThat(status.indexed()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("카탈로그 모드: DB 행을 배치마다 embedAll로 임베딩(지문 포함)해 스냅숏 시각의 조건부 upsert로 적재하고 alias를 옮긴다, isbn 없는 행은 건너뜀")
+    void run_catalog_embedsAndLoads() throws Exception {
+        IndexDefinition source = definition("books-v1", true);
+        when(es.describe("books")).thenReturn(source);
+        when(catalog.stream()).thenReturn(Stream.of(book("A", "a"), book("B", "b"), book(null, "x"), book("C", "c")));
+        when(embeddings.embedAll(anyList())).thenAnswer(inv ->
+                Collections.nCopies(((List<?>) inv.getArgument(0)).size(), List.of(0.1f, 0.2f)));
+        when(es.scanDeleted(eq("pit"), anyString(), eq(2), any())).thenReturn(new ScanPage("pit", List.of()));
+
+        long before = System.currentTimeMillis();
+        BookReindexer.Status status = run(BookReindexer.Mode.CATALOG, false);
+        long after = System.currentTimeMillis();
+
+        // 배치 크기 2: [A, B] / [null, C] -> 두 번째 배치는 C만 임베딩
+        verify(embeddings, times(2)).embedAll(anyList());
+        verify(es, never()).bulkIndex(anyString(), anyList());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BulkOperation>> loaded = ArgumentCaptor.forClass(List.class);
+        verify(documents, times(2)).bulk(eq("books-v2"), loaded.capture());
+        // 배치는 동시에 적재되므로 순서는 정해져 있지 않다
+        List<BulkOperation> ops = loaded.getAllValues().stream().flatMap(List::stream).toList();
+        assertThat(ops).extracting(BulkOperation::id).containsExactlyInAnyOrder("A", "B", "C");
+        // 모든 문서가 같은 스냅숏 시각으로 쓰인다
+        assertThat(ops).extracting(BulkOperation::version).containsOnly(ops.getFirst().version());
+        assertThat(ops.getFirst().version()).isBetween(before, after);
+        BulkOperation a = ops.stream().filter(op -> op.id().equals("A")).findFirst().orElseThrow();
+        JsonNode doc = om.readTree(a.body());
+        assertThat(doc.path("title").asText()).isEqualTo("a");
+        assertThat(doc.path("embedding").size()).isEqualTo(2);
+        assertThat(doc.path("embedding_fingerprint").asText())
+                .isEqualTo(fingerprint.of(textBuilder.build(book("A", "a"))));
+        // 리스너는 멈추지 않고 이중 쓰기를 켰다가 alias를 옮긴 뒤 끈다 (적재 중 메시지 건수가 달라지므로 건수 확인 없음)
+        var order = inOrder(documents, es);
+        order.verify(documents).startShadowWrites("books-v2");
+        order.verify(documents, atLeastOnce()).bulk(eq("books-v2"), anyList());
+        order.verify(es).swapAlias("books", source, "books-v2");
+        order.verify(documents).stopShadowWrites();
+        verify(registry, never()).stop();
+        verify(es, never()).count(anyString());
+
+        assertThat(status.state()).isEqualTo(BookReindexer.State.COMPLETED);
+        assertThat(status.mode()).isEqualTo(BookReindexer.Mode.CATALOG);
+        assertThat(status.scanned()).isEqualTo(4);
+        assertThat(status.skipped()).isEqualTo(1);
+        assertThat(status.indexed()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("카탈로그 모드: 기존 인덱스의 tombstone을 같은 source_ts의 조건부 삭제로 옮긴다")
+    void run_catalog_copiesTombstones() throws Exception {
+        IndexDefinition source = definition("books-v1", true);
+        when(es.describe("books")).thenReturn(source);
+        when(catalog.stream()).thenReturn(Stream.of(book("A", "a")));
+        when(embeddings.embedAll(anyList())).thenReturn(List.of(List.of(0.1f, 0.2f)));
+        when(es.scanDeleted(eq("pit"), anyString(), eq(2), any()))
+                .thenReturn(new ScanPage("pit", List.of(
+                        new Hit("Z", om.createObjectNode().put("source_ts", 5L), om.createArrayNode().add(1)))))
+                .thenReturn(new ScanPage("pit", List.of()));
+
+        BookReindexer.Status status = run(BookReindexer.Mode.CATALOG, false);
+
+        verify(es).openPit("books-v1", "5m");
+        verify(documents).deleteOperation("Z", 5L);
+        verify(es).closePit("pit");
+        verify(es).swapAlias("books", source, "books-v2");
+        assertThat(status.state()).isEqualTo(BookReindexer.State.COMPLETED);
+        assertThat(status.indexed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("카탈로그 모드: 적재 중 메시지의 새 인덱스 쓰기가 실패했으면 alias를 옮기지 않고, 이중 쓰기는 끈다")
+    void run_catalog_shadowFailures_doesNotSwap() throws Exception {
+        when(es.describe("books")).thenReturn(definition("books-v1", true));
+        when(catalog.stream()).thenReturn(Stream.of(book("A", "a")));
+        when(embeddings.embedAll(anyList())).thenReturn(List.of(List.of(0.1f, 0.2f)));
+        when(es.scanDeleted(eq("pit"), anyString(), eq(2), any())).thenReturn(new ScanPage("pit", List.of()));
+        when(documents.shadowFailures()).thenReturn(1L);
+
+        BookReindexer.Status status = run(BookReindexer.Mode.CATALOG, false);
+
+        verify(es, never()).swapAlias(anyString(), any(), anyString());
+        verify(documents).stopShadowWrites();
+        assertThat(status.state()).isEqualTo(BookReindexer.State.FAILED);
+        assertThat(status.error()).contains("new index failed");
+    }
+
+    @Test
+    @DisplayName("카탈로그 모드: 임베딩이 계속 실패하면 alias를 옮기지 않고 실패")
+    void run_catalog_embeddingFails_doesNotSwap() throws Exception {
+        when(es.describe("books")).thenReturn(definition("books-v1", true));
+        when(catalog.stream()).thenReturn(Stream.of(book("A", "a")));
+        when(embeddings.embedAll(anyList())).thenThrow(new IllegalStateException("embedding down"));
+        BookReindexer.Job job = new BookReindexer.Job("books", "books-v2", BookReindexer.Mode.CATALOG, false);
+
+        // 재시도 대기(1s, 2s, 4s)를 다 기다리지 않도록 첫 실패 뒤 중단 -> 다음 재시도에서 바로 포기
+        Thread canceller = Thread.ofPlatform().start(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException ignored) {
+            }
+            job.cancelled = true;
+        });
+        reindexer.run(job);
+        canceller.join();
+
+        verify(documents, never()).bulk(anyString(), anyList());
+        verify(es, never()).swapAlias(anyString(), any(), anyString());
+        assertThat(job.status().state()).isEqualTo(BookReindexer.State.FAILED);
+        assertThat(job.status().error()).contains("embedding down");
+    }
+
+    @Test
+    @DisplayName("적재 건수가 스캔 건수와 다르면 alias를 옮기지 않고 실패, 리스너는 다시 켠다")
+    void run_countMismatch_doesNotSwap() throws Exception {
+        when(es.describe("books")).thenReturn(definition("books-v1", true));
+        when(es.scan(eq("pit"), anyString(), eq(2), any()))
+                .thenReturn(new ScanPage("pit", List.of(hit("A", 1))))
+                .thenReturn(new ScanPage("pit", List.of()));
+        when(es.count("books-v2")).thenReturn(0L);
+
+        BookReindexer.Status status = run(false);
+
+        verify(es, never()).swapAlias(anyString(), any(), anyString());
+        verify(registry).start();
+        assertThat(status.state()).isEqualTo(BookReindexer.State.FAILED);
+        assertThat(status.error()).contains("count mismatch");
+    }
+
+    @Test
+    @DisplayName("books가 실제 인덱스면 replaceConcreteIndex 없이는 아무것도 만들지 않는다")
+    void run_concreteIndexWithoutFlag_fails() throws Exception {
+        when(es.describe("books")).thenReturn(definition("books", false));
+
+        BookReindexer.Status status = run(false);
+
+        verify(es, never()).createForBulkLoad(anyString(), any());
+        verify(registry, never()).stop();
+        assertThat(status.state()).isEqualTo(BookReindexer.State.FAILED);
+    }
+}
@@ -0,0 +1,83 @@
+package com.nhnacademy.bookssearchworker.worker.reindex;
+
+import com.nhnacademy.bookssearchworker.worker.message.BookUpsertMessage.BookPayload;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogBookReaderTest {
+
+    private static final String QUERY = """
+            SELECT isbn, id, title, author, publisher, description, pub_date, price, categories, image_url, publisher_id, category_id
+            FROM book_search_catalog ORDER BY isbn
+            """;
+
+    private EmbeddedDatabase db;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try (var conn = db.getConnection(); var st = conn.createStatement()) {
+            st.execute("""
+                    CREATE TABLE book_search_catalog (
+                      isbn VARCHAR(20), id BIGINT, title VARCHAR(200), author VARCHAR(100), publisher VARCHAR(100),
+                      description VARCHAR(1000), pub_date DATE, price INT, categories VARCHAR(200), image_url VARCHAR(200),
+                      publisher_id BIGINT, category_id BIGINT)
+                    """);
+            st.execute("""
+                    INSERT INTO book_search_catalog VALUES
+                      ('9788900000001', 1, '제목1', '저자1', '출판사1', '설명1', DATE '2024-01-02', 15000, '소설, 한국소설', 'http://img/1', 10, 20),
+                      ('9788900000002', 2, '제목2', NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL)
+                    """);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    @DisplayName("쿼리 결과를 한 행씩 BookPayload로 읽는다 (categories는 쉼표로 나누고, NULL 숫자/날짜는 null)")
+    void stream_mapsRows() {
+        CatalogBookReader reader = new CatalogBookReader(db, QUERY, 1);
+
+        List<BookPayload> books;
+        try (Stream<BookPayload> rows = reader.stream()) {
+            books = rows.toList();
+        }
+
+        assertThat(books).hasSize(2);
+        BookPayload first = books.getFirst();
+        assertThat(first.isbn()).isEqualTo("9788900000001");
+        assertThat(first.id()).isEqualTo(1L);
+        assertThat(first.title()).isEqualTo("제목1");
+        assertThat(first.pubDate()).isEqualTo(LocalDate.of(2024, 1, 2));
+        assertThat(first.price()).isEqualTo(15000);
+        assertThat(first.categories()).containsExactly("소설", "한국소설");
+        assertThat(first.imageUrl()).isEqualTo("http://img/1");
+        assertThat(first.publisherId()).isEqualTo(10L);
+        assertThat(first.categoryId()).isEqualTo(20L);
+
+        BookPayload second = books.get(1);
+        assertThat(second.price()).isNull();
+        assertThat(second.pubDate()).isNull();
+        assertThat(second.publisherId()).isNull();
+        assertThat(second.categories()).isEmpty();
+    }
+}
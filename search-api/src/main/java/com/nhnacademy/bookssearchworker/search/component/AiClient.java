@@ -1,15 +1,22 @@
 package com.nhnacademy.bookssearchworker.search.component;
 
+import com.nhnacademy.bookssearchworker.resilience.Dependency;
+import com.nhnacademy.bookssearchworker.resilience.DependencyGuard;
+import com.nhnacademy.bookssearchworker.resilience.DependencyGuardRegistry;
+import com.nhnacademy.bookssearchworker.resilience.DependencyUnavailableException;
+import com.nhnacademy.bookssearchworker.resilience.DownstreamWebClients;
+import com.nhnacademy.bookssearchworker.resilience.HedgingPolicy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
@@ -18,50 +25,55 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class AiClient {
 
-    // WebClient 주입
-    private final WebClient webClient;
+    // 의존성별로 풀/이벤트 루프가 분리된 WebClient
+    private final DownstreamWebClients webClients;
+
+    // 의존성별 서킷 브레이커 + 적응형 타임아웃
+    private final DependencyGuardRegistry guards;
 
     // AI 서비스 URL 설정
     @Value("${app.ai.embedding-url}")
     private String embeddingUrl;
 
+    // 헤지 요청을 보낼 임베딩 엔드포인트 (비어 있으면 embeddingUrl 재사용)
+    @Value("${app.ai.embedding-hedge-url:}")
+    private String embeddingHedgeUrl;
+
     @Value("${app.ai.reranker-url}")
     private String rerankerUrl;
 
     @Value("${app.ai.gemini-url}")
     private String geminiUrl;
 
+    @Value("${app.ai.gemini-stream-url:}")
+    private String geminiStreamUrl;
+
     @Value("${app.ai.gemini-api-key}")
     private String geminiApiKey;
 
-    // 타임아웃 설정
-    @Value("${app.ai.timeout.embedding-seconds}")
-    private long embeddingTimeoutSeconds;
-
-    @Value("${app.ai.timeout.rerank-seconds}")
-    private long rerankTimeoutSeconds;
-
+    // 스트리밍 응답의 조각 사이 최대 대기 시간
     @Value("${app.ai.timeout.gemini-seconds}")
     private long geminiTimeoutSeconds;
 
     // Embedding 생성
     public List<Double> generateEmbedding(String text) {
         long start = System.currentTimeMillis();
+        DependencyGuard guard = guards.get(Dependency.EMBEDDING);
+        HedgingPolicy hedging = guards.hedging(Dependency.EMBEDDING);
+        String hedgeUrl = (embeddingHedgeUrl == null || embeddingHedgeUrl.isBlank()) ? embeddingUrl : embeddingHedgeUrl;
         try {
-            EmbeddingResponse response = webClient.post()
-                    .uri(embeddingUrl)
-                    .bodyValue(Map.of("model", "bge-m3", "prompt", text))
-                    .retrieve()
-                    .onStatus(HttpStatusCode::isError,
-                            resp -> toRuntimeException("embedding", resp.statusCode(), resp.bodyToMono(String.class)))
-                    .bodyToMono(EmbeddingResponse.class)
-                    .timeout(Duration.ofSeconds(embeddingTimeoutSeconds))
+            // p95 안에 응답이 없으면 헤지 요청을 보내고 먼저 온 응답을 사용 (비활성화 시 단일 요청)
+            EmbeddingResponse response = hedging
+                    .hedge(() -> embeddingAttempt(embeddingUrl, text).transform(guard::timed),
+                            () -> embeddingAttempt(hedgeUrl, text).transform(guard::timed))
+                    .transform(guard::protect)
                     .retryWhen(retrySpec("embedding"))
                     .block();
 
@@ -73,6 +85,9 @@ public class AiClient {
             log.debug("[AiClient] embedding 성공 ({}ms)", System.currentTimeMillis() - start);
             return response.embedding();
 
+        } catch (DependencyUnavailableException e) {
+            log.debug("[AiClient] embedding 호출 생략(서킷 오픈/동시 호출 한도 초과): {}", e.getMessage());
+            return Collections.emptyList();
         } catch (WebClientResponseException e) {
             log.error("[AiClient] embedding 실패 ({}ms) status={} body={}",
                     System.currentTimeMillis() - start, e.getStatusCode(), truncate(e.getResponseBodyAsString(), 500));
@@ -83,18 +98,30 @@ public class AiClient {
         }
     }
 
+    private Mono<EmbeddingResponse> embeddingAttempt(String url, String text) {
+        return webClients.get(Dependency.EMBEDDING).post()
+                .uri(url)
+                .bodyValue(Map.of("model", "bge-m3", "prompt", text))
+                .retrieve()
+                .onStatus(HttpStatusCode::isError,
+                        resp -> toRuntimeException("embedding", resp.statusCode(), resp.bodyToMono(String.class)))
+                .bodyToMono(EmbeddingResponse.class);
+    }
+
     // Rerank 수행
     public List<Map<String, Object>> rerank(String query, List<String> texts) {
         long start = System.currentTimeMillis();
+        DependencyGuard guard = guards.get(Dependency.RERANKER);
         try {
-            List<Map<String, Object>> response = webClient.post()
+            List<Map<String, Object>> response = webClients.get(Dependency.RERANKER).post()
                     .uri(rerankerUrl)
                     .bodyValue(Map.of("query", query, "texts", texts))
                     .retrieve()
                     .onStatus(HttpStatusCode::isError,
                             resp -> toRuntimeException("rerank", resp.statusCode(), resp.bodyToMono(String.class)))
                     .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
-                    .timeout(Duration.ofSeconds(rerankTimeoutSeconds))
+                    .transform(guard::timed)
+                    .transform(guard::protect)
                     .retryWhen(retrySpec("rerank"))
                     .block();
 
@@ -106,6 +133,9 @@ public class AiClient {
             log.debug("[AiClient] rerank 성공 ({}ms)", System.currentTimeMillis() - start);
             return response;
 
+        } catch (DependencyUnavailableException e) {
+            log.debug("[AiClient] rerank 호출 생략(서킷 오픈/동시 호출 한도 초과): {}", e.getMessage());
+            return Collections.emptyList();
         } catch (WebClientResponseException e) {
             log.error("[AiClient] rerank 실패 ({}ms) status={} body={}",
                     System.currentTimeMillis() - start, e.getStatusCode(), truncate(e.getResponseBodyAsString(), 500));
@@ -119,6 +149,7 @@ public class AiClient {
     // Gemini LLM 응답 생성
     public String generateAnswer(String prompt) {
         long start = System.currentTimeMillis();
+        DependencyGuard guard = guards.get(Dependency.GEMINI);
         try {
             GeminiRequest request = new GeminiRequest(List.of(new Content(List.of(new Part(prompt)))));
 
@@ -128,14 +159,15 @@ public class AiClient {
                     .build(true)
                     .toUri();
 
-            GeminiResponse response = webClient.post()
+            GeminiResponse response = webClients.get(Dependency.GEMINI).post()
                     .uri(uri)
                     .bodyValue(request)
                     .retrieve()
                     .onStatus(HttpStatusCode::isError,
                             resp -> toRuntimeException("gemini", resp.statusCode(), resp.bodyToMono(String.class)))
                     .bodyToMono(GeminiResponse.class)
-                    .timeout(Duration.ofSeconds(geminiTimeoutSeconds))
+                    .transform(guard::timed)
+                    .transform(guard::protect)
                     .retryWhen(retrySpec("gemini"))
                     .block();
 
@@ -154,6 +186,9 @@ public class AiClient {
             log.warn("[AiClient] gemini 응답 포맷이 예상과 다름 ({}ms)", System.currentTimeMillis() - start);
             return "{}";
 
+        } catch (DependencyUnavailableException e) {
+            log.debug("[AiClient] gemini 호출 생략(서킷 오픈/동시 호출 한도 초과): {}", e.getMessage());
+            return "{}";
         } catch (WebClientResponseException e) {
             // Gemini는 "추천" 성격이면 실패해도 계속 진행하는 전략 OK
             log.warn("[AiClient] Gemini 실패 ({}ms) status={} body={}",
@@ -166,7 +201,57 @@ public class AiClient {
         }
     }
 
-    // 재시도 정책
+    // Gemini LLM 스트리밍 응답 생성 (streamGenerateContent, SSE)
+    // - 텍스트 조각을 도착하는 대로 흘려보낸다
+    // - 이미 일부를 내보낸 뒤에는 재시도하면 조각이 중복되므로 재시도하지 않는다
+    // - 타임아웃은 조각 사이의 유휴 시간 기준
+    public Flux<String> streamAnswer(String prompt) {
+        return streamAnswer(prompt, Function.identity());
+    }
+
+    // 조각 스트림을 reader로 읽는다 (서킷/리미터는 reader 바깥에서 판정)
+    // - reader가 필요한 만큼 읽고 스스로 끝내면(takeWhile 등) 원본 스트림을 끊어도 성공으로 기록된다
+    // - 구독자가 도중에 취소할 때만 결과를 알 수 없는 호출(ignored)로 본다
+    public <T> Flux<T> streamAnswer(String prompt, Function<Flux<String>, Flux<T>> reader) {
+        GeminiRequest request = new GeminiRequest(List.of(new Content(List.of(new Part(prompt)))));
+
+        var uri = UriComponentsBuilder
+                .fromHttpUrl(geminiStreamUrl)
+                .queryParam("alt", "sse")
+                .queryParam("key", geminiApiKey)
+                .build(true)
+                .toUri();
+
+        return webClients.get(Dependency.GEMINI).post()
+                .uri(uri)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(request)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError,
+                        resp -> toRuntimeException("gemini-stream", resp.statusCode(), resp.bodyToMono(String.class)))
+                .bodyToFlux(GeminiResponse.class)
+                .timeout(Duration.ofSeconds(geminiTimeoutSeconds))
+                .map(AiClient::firstText)
+                .filter(text -> !text.isEmpty())
+                .transform(reader)
+                .transform(guards.get(Dependency.GEMINI)::protectMany);
+    }
+
+    // 응답에서 첫 번째 후보의 텍스트를 꺼낸다 (없으면 빈 문자열)
+    private static String firstText(GeminiResponse response) {
+        if (response == null || response.candidates() == null || response.candidates().isEmpty()) return "";
+
+        Candidate candidate = response.candidates().get(0);
+        if (candidate == null || candidate.content() == null || candidate.content().parts() == null) return "";
+
+        StringBuilder sb = new StringBuilder();
+        for (Part part : candidate.content().parts()) {
+            if (part != null && part.text() != null) sb.append(part.text());
+        }
+        return sb.toString();
+    }
+
+    // 재시도 정책 (protect 바깥: 시도마다 서킷/리미터에 따로 반영돼 재시도 대기 시간이 RTT로 잡히지 않는다)
     private Retry retrySpec(String name) {
         return Retry.backoff(2, Duration.ofMillis(300)) // 총 2회 재시도
                 .maxBackoff(Duration.ofSeconds(2))
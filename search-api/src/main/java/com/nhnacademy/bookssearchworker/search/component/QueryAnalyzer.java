@@ -0,0 +1,142 @@
+package com.nhnacademy.bookssearchworker.search.component;
+
+import com.nhnacademy.bookssearchworker.search.component.query.Morpheme;
+import com.nhnacademy.bookssearchworker.search.component.query.QueryAnalysis;
+import kr.co.shineware.nlp.komoran.constant.DEFAULT_MODEL;
+import kr.co.shineware.nlp.komoran.core.Komoran;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 검색어를 요청마다 한 번 분석해서 QueryAnalysis로 돌려준다.
+ * 정규화(QueryPreprocessor)는 바로 하고, Komoran 형태소 분석은 캐시 키처럼 필요한 단계가 처음 찾을 때 한다.
+ */
+@Slf4j
+@Component
+public class QueryAnalyzer {
+
+    static final int DEFAULT_POOL_SIZE = 4;
+    static final int DEFAULT_MEMO_SIZE = 10_000;
+
+    /** 형태소 분석기 한 개 (Komoran 인스턴스). 한 번에 한 스레드만 쓴다. */
+    @FunctionalInterface
+    interface Analyzer {
+        List<Morpheme> analyze(String sentence);
+    }
+
+    private final QueryPreprocessor queryPreprocessor;
+
+    // Komoran 인스턴스는 스레드 안전성이 보장되지 않으므로 풀에서 빌려 한 스레드만 쓰게 한다.
+    // 모델 로딩이 무거워 첫 인스턴스만 미리 만들고, 나머지는 동시 요청이 몰릴 때 poolSize까지 늘린다.
+    private final Supplier<Analyzer> analyzerFactory;
+    private final BlockingQueue<Analyzer> idleAnalyzers = new LinkedBlockingQueue<>();
+    private final AtomicInteger createdAnalyzers = new AtomicInteger();
+    private final int poolSize;
+
+    // 정규화된 검색어 -> 형태소 목록
+    // 조회가 락 없이 되도록 ConcurrentHashMap을 쓰고, memoSize를 넘으면 먼저 들어온 것부터 버린다
+    private final ConcurrentHashMap<String, List<Morpheme>> memo;
+    private final Queue<String> memoOrder = new ConcurrentLinkedQueue<>();
+    private final int memoSize;
+
+    public QueryAnalyzer(int poolSize, int memoSize) {
+        this(new QueryPreprocessor(), poolSize, memoSize);
+    }
+
+    @Autowired
+    public QueryAnalyzer(
+            QueryPreprocessor queryPreprocessor,
+            @Value("${app.search.morpheme.analyzer-pool-size:" + DEFAULT_POOL_SIZE + "}") int poolSize,
+            @Value("${app.search.morpheme.memo-size:" + DEFAULT_MEMO_SIZE + "}") int memoSize) {
+        this(queryPreprocessor, QueryAnalyzer::newKomoran, poolSize, memoSize);
+    }
+
+    QueryAnalyzer(QueryPreprocessor queryPreprocessor, Supplier<Analyzer> analyzerFactory, int poolSize, int memoSize) {
+        this.queryPreprocessor = queryPreprocessor;
+        this.analyzerFactory = analyzerFactory;
+        this.poolSize = Math.max(1, poolSize);
+        this.memoSize = memoSize;
+        this.memo = memoSize > 0 ? new ConcurrentHashMap<>() : null;
+
+        createdAnalyzers.incrementAndGet();
+        idleAnalyzers.add(analyzerFactory.get());
+    }
+
+    public QueryAnalysis analyze(String userQuery) {
+        String normalized = queryPreprocessor.extractKeywords(userQuery);
+        return new QueryAnalysis(userQuery, normalized, () -> morphemes(normalized));
+    }
+
+    private List<Morpheme> morphemes(String normalized) {
+        if (normalized.isEmpty()) return List.of();
+        if (memo == null) return analyzeWithPool(normalized);
+
+        List<Morpheme> cached = memo.get(normalized);
+        if (cached != null) return cached;
+
+        // 같은 검색어가 동시에 처음 들어오면 중복 분석될 수 있지만 결과는 같다
+        List<Morpheme> analyzed = List.copyOf(analyzeWithPool(normalized));
+        if (memo.putIfAbsent(normalized, analyzed) == null) {
+            memoOrder.add(normalized);
+            while (memo.size() > memoSize) {
+                String eldest = memoOrder.poll();
+                if (eldest == null) break;
+                memo.remove(eldest);
+            }
+        }
+        return analyzed;
+    }
+
+    private List<Morpheme> analyzeWithPool(String text) {
+        Analyzer analyzer = borrow();
+        try {
+            return analyzer.analyze(text);
+        } finally {
+            idleAnalyzers.add(analyzer);
+        }
+    }
+
+    private Analyzer borrow() {
+        Analyzer analyzer = idleAnalyzers.poll();
+        if (analyzer != null) return analyzer;
+
+        // 노는 인스턴스가 없으면 poolSize까지 새로 만들고, 다 만들었으면 반납을 기다린다
+        int created = createdAnalyzers.get();
+        while (created < poolSize) {
+            if (createdAnalyzers.compareAndSet(created, created + 1)) {
+                log.info("[QueryAnalyzer] 형태소 분석기 추가 생성 ({}/{})", created + 1, poolSize);
+                try {
+                    return analyzerFactory.get();
+                } catch (RuntimeException e) {
+                    createdAnalyzers.decrementAndGet();
+                    throw e;
+                }
+            }
+            created = createdAnalyzers.get();
+        }
+        try {
+            return idleAnalyzers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("형태소 분석기 대기 중 인터럽트", e);
+        }
+    }
+
+    private static Analyzer newKomoran() {
+        Komoran komoran = new Komoran(DEFAULT_MODEL.FULL);
+        return sentence -> komoran.analyze(sentence).getTokenList().stream()
+                .map(token -> new Morpheme(token.getMorph(), token.getPos()))
+                .toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.nhnacademy.bookssearchworker.search.component;
+
+import com.nhnacademy.bookssearchworker.search.component.query.QueryDictionary;
+import com.nhnacademy.bookssearchworker.search.component.query.QueryNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class QueryPreprocessor {
+
+    static final String DEFAULT_DICTIONARY = "search/query-dictionary.txt";
+
+    // 불용어/표기 보정 사전 (파일이면 수정 시각을 보고 다시 읽는다)
+    private final Resource dictionary;
+    private final long reloadIntervalNanos;
+    private final AtomicLong nextReloadCheck = new AtomicLong();
+
+    private volatile QueryNormalizer normalizer;
+    private volatile long dictionaryModified;
+
+    public QueryPreprocessor() {
+        this(new ClassPathResource(DEFAULT_DICTIONARY), 0);
+    }
+
+    @Autowired
+    public QueryPreprocessor(
+            @Value("${app.search.query-dictionary.location:classpath:" + DEFAULT_DICTIONARY + "}") Resource dictionary,
+            @Value("${app.search.query-dictionary.reload-interval-ms:5000}") long reloadIntervalMs) {
+        this.dictionary = dictionary;
+        this.reloadIntervalNanos = TimeUnit.MILLISECONDS.toNanos(reloadIntervalMs);
+        this.dictionaryModified = lastModified();
+        try {
+            this.normalizer = load();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("검색어 사전을 읽을 수 없습니다: " + dictionary, e);
+        }
+        this.nextReloadCheck.set(System.nanoTime() + reloadIntervalNanos);
+    }
+
+    public String extractKeywords(String sentence) {
+        if (sentence == null || sentence.isBlank()) return "";
+
+        reloadIfChanged();
+
+        // 한 번의 순회로
+        // 1) 자주 들어오는 기술 키워드의 대소문자/표기 보정 (예: c언어 -> C언어, sql -> SQL)
+        // 2) 불용어 제거
+        // 3) 특수문자 제거 (C++, C# 등은 살려야 하므로 +, # 는 유지)
+        // 4) 연속 공백 정리
+        return normalizer.normalize(sentence);
+    }
+
+    /**
+     * 사전 파일이 바뀌었으면 다시 읽는다.
+     * 요청마다 파일 시스템을 보지 않도록 reload-interval 간격으로 한 스레드만 확인한다.
+     * 새 사전에 문제가 있으면 기존 사전을 그대로 쓴다.
+     */
+    private void reloadIfChanged() {
+        if (reloadIntervalNanos <= 0) return;
+
+        long now = System.nanoTime();
+        long due = nextReloadCheck.get();
+        if (now - due < 0 || !nextReloadCheck.compareAndSet(due, now + reloadIntervalNanos)) return;
+
+        long modified = lastModified();
+        if (modified == dictionaryModified) return;
+
+        try {
+            normalizer = load();
+            dictionaryModified = modified;
+            log.info("[QueryPreprocessor] 검색어 사전 다시 읽음: {}", dictionary);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("[QueryPreprocessor] 검색어 사전 다시 읽기 실패, 기존 사전 유지: {}", e.getMessage());
+        }
+    }
+
+    private QueryNormalizer load() throws IOException {
+        try (InputStream in = dictionary.getInputStream()) {
+            return new QueryNormalizer(QueryDictionary.parse(in));
+        }
+    }
+
+    // jar 안의 classpath 리소스처럼 수정 시각이 없으면 0 (다시 읽지 않음)
+    private long lastModified() {
+        try {
+            return dictionary.isFile() ? dictionary.lastModified() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.nhnacademy.bookssearchworker.search.component;
+
+import com.nhnacademy.bookssearchworker.search.dto.DegradationLevel;
+import com.nhnacademy.bookssearchworker.search.exception.SearchOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SearchService 앞단의 입장 제어
+ *
+ * AI/기본 검색이 각자의 동시 처리 예산을 가진다.
+ * AI 검색은 진행 중인 요청 수(부하 신호)에 따라 단계를 줄이고,
+ * AI 예산이 다 차면 기본 검색 예산으로 넘겨 기본 파이프라인으로 처리한다.
+ * 기본 예산까지 다 차면 기다리지 않고 SearchOverloadedException(-> 503)
+ *
+ * 설정 (괄호는 기본값)
+ * app.search.admission.ai.max-concurrent (16)
+ * app.search.admission.ai.drop-llm-ratio (0.5, AI 예산 사용률이 이 이상이면 Gemini 생략)
+ * app.search.admission.ai.drop-rerank-ratio (0.75, 이 이상이면 리랭킹도 생략)
+ * app.search.admission.basic.max-concurrent (64)
+ */
+@Slf4j
+@Component
+public class SearchAdmission {
+
+    private final AtomicInteger aiInFlight = new AtomicInteger();
+    private final AtomicInteger basicInFlight = new AtomicInteger();
+
+    private final int aiMaxConcurrent;
+    private final double dropLlmRatio;
+    private final double dropRerankRatio;
+    private final int basicMaxConcurrent;
+
+    public SearchAdmission(
+            @Value("${app.search.admission.ai.max-concurrent:16}") int aiMaxConcurrent,
+            @Value("${app.search.admission.ai.drop-llm-ratio:0.5}") double dropLlmRatio,
+            @Value("${app.search.admission.ai.drop-rerank-ratio:0.75}") double dropRerankRatio,
+            @Value("${app.search.admission.basic.max-concurrent:64}") int basicMaxConcurrent
+    ) {
+        this.aiMaxConcurrent = aiMaxConcurrent;
+        this.dropLlmRatio = dropLlmRatio;
+        this.dropRerankRatio = dropRerankRatio;
+        this.basicMaxConcurrent = basicMaxConcurrent;
+    }
+
+    /**
+     * AI 검색 입장. 반환된 Permit의 level만큼 단계를 생략한다.
+     */
+    public Permit admitAi() {
+        int inFlight = tryAcquire(aiInFlight, aiMaxConcurrent);
+        if (inFlight < 0) {
+            // AI 예산 소진 -> 기본 검색 예산으로 처리
+            log.warn("[SearchAdmission] AI 동시 처리 한도({}) 초과 -> 기본 검색으로 전환", aiMaxConcurrent);
+            return admitBasic(DegradationLevel.BASIC);
+        }
+
+        double utilization = (double) inFlight / aiMaxConcurrent;
+        DegradationLevel level;
+        if (utilization >= dropRerankRatio) level = DegradationLevel.SKIP_RERANK;
+        else if (utilization >= dropLlmRatio) level = DegradationLevel.SKIP_LLM;
+        else level = DegradationLevel.NONE;
+
+        if (level != DegradationLevel.NONE) {
+            log.info("[SearchAdmission] AI 부하 {}/{} -> {}", inFlight, aiMaxConcurrent, level);
+        }
+        return new Permit(aiInFlight, level);
+    }
+
+    // 기본 검색 입장
+    public Permit admitBasic() {
+        return admitBasic(DegradationLevel.NONE);
+    }
+
+    public int aiInFlight() {
+        return aiInFlight.get();
+    }
+
+    public int basicInFlight() {
+        return basicInFlight.get();
+    }
+
+    private Permit admitBasic(DegradationLevel level) {
+        if (tryAcquire(basicInFlight, basicMaxConcurrent) < 0) {
+            throw new SearchOverloadedException("검색 요청이 많아 잠시 후 다시 시도해 주세요.");
+        }
+        return new Permit(basicInFlight, level);
+    }
+
+    // 성공하면 획득 후 진행 중인 수, 한도 초과면 -1
+    private static int tryAcquire(AtomicInteger counter, int max) {
+        while (true) {
+            int current = counter.get();
+            if (current >= max) return -1;
+            if (counter.compareAndSet(current, current + 1)) return current + 1;
+        }
+    }
+
+    /**
+     * 입장권. try-with-resources로 반드시 반환한다. (중복 close는 무시)
+     */
+    public static final class Permit implements AutoCloseable {
+        private final AtomicInteger counter;
+        private final DegradationLevel level;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AtomicInteger counter, DegradationLevel level) {
+            this.counter = counter;
+            this.level = level;
+        }
+
+        public DegradationLevel level() {
+            return level;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) counter.decrementAndGet();
+        }
+    }
+}
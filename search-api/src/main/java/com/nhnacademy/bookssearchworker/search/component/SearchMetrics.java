@@ -0,0 +1,80 @@
+package com.nhnacademy.bookssearchworker.search.component;
+
+import com.nhnacademy.bookssearchworker.search.dto.DegradationLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * 검색 파이프라인 지표/트레이싱 (/actuator/prometheus 로 노출)
+ *
+ * search.stage{pipeline, stage}      : 단계별 Observation -> 소요 시간 타이머 + 트레이스 스팬(search.<stage>)
+ *                                      (히스토그램/퍼센타일은 management.metrics.distribution.* 설정)
+ * search.fallback{stage}             : 단계 실패로 폴백한 횟수
+ * search.cache{result=hit|miss}      : AI 검색 캐시 조회 결과
+ * search.degraded{level}             : 과부하로 단계를 생략한 횟수
+ *
+ * 외부 호출 상태 코드는 downstream.http.requests (core의 DownstreamWebClientFactory) 참고
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchMetrics {
+
+    public static final String AI = "ai";
+    public static final String BASIC = "basic";
+
+    public enum Stage {
+        PREPROCESS, CACHE, EMBEDDING, ES, RERANK, LLM, ASSEMBLE, DISCOUNT;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final ObservationRegistry observationRegistry;
+
+    // 현재 스팬(HTTP 요청)의 자식 스팬으로 기록된다
+    public <T> T time(String pipeline, Stage stage, Supplier<T> work) {
+        return Observation.createNotStarted("search.stage", observationRegistry)
+                .contextualName("search." + stage.tag())
+                .lowCardinalityKeyValue("pipeline", pipeline)
+                .lowCardinalityKeyValue("stage", stage.tag())
+                .observe(work);
+    }
+
+    public void time(String pipeline, Stage stage, Runnable work) {
+        time(pipeline, stage, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public void fallback(Stage stage) {
+        Counter.builder("search.fallback")
+                .tag("stage", stage.tag())
+                .register(registry)
+                .increment();
+    }
+
+    public void cache(boolean hit) {
+        Counter.builder("search.cache")
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+    }
+
+    public void degraded(DegradationLevel level) {
+        if (level == DegradationLevel.NONE) return;
+        Counter.builder("search.degraded")
+                .tag("level", level.name().toLowerCase(Locale.ROOT))
+                .register(registry)
+                .increment();
+    }
+}
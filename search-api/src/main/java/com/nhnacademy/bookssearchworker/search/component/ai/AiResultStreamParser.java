@@ -0,0 +1,163 @@
+package com.nhnacademy.bookssearchworker.search.component.ai;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.nhnacademy.bookssearchworker.search.dto.AiResultDto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gemini 응답({"isbn": {"reason": ..., "matchRate": ...}, ...})을 조각 단위로 받아서
+ * ISBN별 객체가 닫히는 즉시 AiResultDto로 내보내는 증분 파서.
+ * - 첫 '{' 이전의 텍스트(```json 코드펜스 등)는 무시
+ * - 루트 객체가 닫힌 뒤의 텍스트(닫는 코드펜스 등)도 무시
+ * - 응답이 중간에 끊기면 그때까지 완성된 항목만 남는다
+ *
+ * 상태를 가지므로 응답 하나당 인스턴스 하나를 사용한다. (thread-safe 아님)
+ */
+@Slf4j
+public class AiResultStreamParser {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader resultReader;
+
+    private final StringBuilder keyBuf = new StringBuilder();
+    private final StringBuilder valueBuf = new StringBuilder();
+
+    private boolean started;
+    private boolean complete;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+    private boolean expectingKey;
+    private boolean capturingKey;
+    private boolean capturingValue;
+    private String currentKey;
+
+    public AiResultStreamParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.resultReader = objectMapper.readerFor(AiResultDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * 텍스트 조각을 이어서 파싱하고, 이번 조각으로 완성된 항목들을 반환한다.
+     */
+    public List<Map.Entry<String, AiResultDto>> feed(String chunk) {
+        if (chunk == null || chunk.isEmpty() || complete) return List.of();
+
+        List<Map.Entry<String, AiResultDto>> completed = new ArrayList<>();
+        for (int i = 0; i < chunk.length() && !complete; i++) {
+            accept(chunk.charAt(i), completed);
+        }
+        return completed;
+    }
+
+    // 루트 객체 '{'를 한 번이라도 만났는지
+    public boolean isStarted() {
+        return started;
+    }
+
+    // 루트 객체가 정상적으로 닫혔는지
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private void accept(char c, List<Map.Entry<String, AiResultDto>> out) {
+        if (!started) {
+            if (c == '{') {
+                started = true;
+                depth = 1;
+                expectingKey = true;
+            }
+            return;
+        }
+
+        if (inString) {
+            append(c);
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                inString = false;
+                if (capturingKey) {
+                    capturingKey = false;
+                    currentKey = readKey(keyBuf.toString());
+                }
+            }
+            return;
+        }
+
+        switch (c) {
+            case '"' -> {
+                inString = true;
+                if (depth == 1 && expectingKey) {
+                    capturingKey = true;
+                    keyBuf.setLength(0);
+                }
+                append(c);
+            }
+            case ':' -> {
+                if (depth == 1) expectingKey = false;
+                else append(c);
+            }
+            case ',' -> {
+                if (depth == 1) {
+                    expectingKey = true;
+                    currentKey = null;
+                } else {
+                    append(c);
+                }
+            }
+            case '{', '[' -> {
+                depth++;
+                if (depth == 2 && c == '{' && currentKey != null) {
+                    capturingValue = true;
+                    valueBuf.setLength(0);
+                }
+                append(c);
+            }
+            case '}', ']' -> {
+                append(c);
+                depth--;
+                if (depth == 1 && capturingValue) {
+                    capturingValue = false;
+                    emit(out);
+                } else if (depth == 0) {
+                    complete = true;
+                }
+            }
+            default -> append(c);
+        }
+    }
+
+    private void append(char c) {
+        if (capturingKey) keyBuf.append(c);
+        else if (capturingValue) valueBuf.append(c);
+    }
+
+    private String readKey(String rawKey) {
+        try {
+            return objectMapper.readValue(rawKey, String.class);
+        } catch (Exception e) {
+            log.warn("[AiResultStreamParser] 키 파싱 실패. raw={}", rawKey);
+            return null;
+        }
+    }
+
+    private void emit(List<Map.Entry<String, AiResultDto>> out) {
+        try {
+            AiResultDto dto = resultReader.readValue(valueBuf.toString());
+            out.add(new AbstractMap.SimpleImmutableEntry<>(currentKey, dto));
+        } catch (Exception e) {
+            // 항목 하나가 깨져도 나머지 항목은 계속 살린다
+            log.warn("[AiResultStreamParser] 항목 파싱 실패. key={}, msg={}", currentKey, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.nhnacademy.bookssearchworker.search.component.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.bookssearchworker.search.component.AiClient;
+import com.nhnacademy.bookssearchworker.search.domain.Book;
+import com.nhnacademy.bookssearchworker.search.dto.AiResultDto;
+import com.nhnacademy.bookssearchworker.search.exception.LlmAnalysisException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LlmAnalysisClient {
+
+    private final AiClient aiClient;
+    private final ObjectMapper objectMapper;
+
+    // streamGenerateContent 사용 여부
+    @Value("${app.ai.gemini-stream-enabled:false}")
+    private boolean streamEnabled;
+
+    public Map<String, AiResultDto> analyzeBooks(String userQuery, List<Book> books) {
+        if (streamEnabled) {
+            return analyzeBooksStreaming(userQuery, books);
+        }
+
+        try {
+            String prompt = createEvaluationPrompt(userQuery, books);
+            String rawResponse = aiClient.generateAnswer(prompt);
+
+            if (rawResponse == null || rawResponse.isBlank() || rawResponse.equals("{}")) {
+                log.warn("Gemini가 분석 결과로 빈 JSON을 반환했습니다.");
+                return Collections.emptyMap();
+            }
+            log.info("[LlmAnalysisClient] 도서 분석 성공. Query: {}", userQuery);
+
+            // 코드펜스(```json)는 파서가 건너뛰고, 응답이 잘려도 완성된 항목까지는 살린다
+            AiResultStreamParser parser = new AiResultStreamParser(objectMapper);
+            Map<String, AiResultDto> result = new LinkedHashMap<>();
+            parser.feed(rawResponse).forEach(e -> result.put(e.getKey(), e.getValue()));
+
+            if (!parser.isStarted()) {
+                throw new IllegalStateException("응답에 JSON 객체가 없음: " + rawResponse);
+            }
+            if (!parser.isComplete()) {
+                log.warn("[LlmAnalysisClient] Gemini 응답이 중간에 끊김 -> 완성된 {}건만 사용합니다. Query: {}", result.size(), userQuery);
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("[LlmAnalysisClient] 도서 분석 실패. Query: {}", userQuery, e);
+            throw new LlmAnalysisException("Gemini 분석 및 파싱 오류", e);
+        }
+    }
+
+    /**
+     * 스트리밍 분석: ISBN별 결과 객체가 완성되는 즉시 하나씩 내보낸다.
+     * 루트 JSON 객체가 닫히면 나머지 스트림은 취소한다 (서킷에는 성공으로 기록된다).
+     */
+    public Flux<Map.Entry<String, AiResultDto>> streamAnalysis(String userQuery, List<Book> books) {
+        String prompt = createEvaluationPrompt(userQuery, books);
+
+        return Flux.defer(() -> {
+            AiResultStreamParser parser = new AiResultStreamParser(objectMapper);
+            return aiClient.streamAnswer(prompt, chunks -> chunks
+                    .takeWhile(chunk -> !parser.isComplete())
+                    .concatMapIterable(parser::feed));
+        });
+    }
+
+    // 스트리밍 결과를 모은다. 도중에 실패해도 이미 받은 추천 이유는 유지
+    private Map<String, AiResultDto> analyzeBooksStreaming(String userQuery, List<Book> books) {
+        Map<String, AiResultDto> result = new LinkedHashMap<>();
+        try {
+            streamAnalysis(userQuery, books)
+                    .doOnNext(e -> result.put(e.getKey(), e.getValue()))
+                    .blockLast();
+        } catch (Exception e) {
+            if (result.isEmpty()) {
+                log.error("[LlmAnalysisClient] 도서 분석(스트리밍) 실패. Query: {}", userQuery, e);
+                throw new LlmAnalysisException("Gemini 스트리밍 분석 오류", e);
+            }
+            log.warn("[LlmAnalysisClient] Gemini 스트림이 중간에 끊김 -> 완성된 {}건만 사용합니다. Query: {}, msg={}",
+                    result.size(), userQuery, e.getMessage());
+            return result;
+        }
+
+        // 스트림은 정상 종료했지만 JSON 객체가 하나도 없었던 경우 (블로킹 경로와 같이 실패로 본다)
+        if (result.isEmpty()) {
+            log.error("[LlmAnalysisClient] 도서 분석(스트리밍) 실패: 응답에 JSON 결과가 없음. Query: {}", userQuery);
+            throw new LlmAnalysisException("Gemini 스트리밍 응답에 분석 결과 없음", null);
+        }
+        log.info("[LlmAnalysisClient] 도서 분석(스트리밍) 성공. Query: {}, 결과 {}건", userQuery, result.size());
+        return result;
+    }
+
+    // package-private: benchmarks 모듈에서 직접 측정
+    static String createEvaluationPrompt(String userQuery, List<Book> books) {
+        StringBuilder bookInfo = new StringBuilder();
+
+        for (Book book : books) {
+            String desc = stripHtml(book.getDescription());
+            if (desc.length() > 150) desc = desc.substring(0, 150);
+
+            bookInfo.append(String.format("| ISBN: %s | 제목: %s | 설명: %s... |\n",
+                    book.getIsbn(), book.getTitle(), desc));
+        }
+
+        return String.format("""
+                질문: "%s"
+                위 목록(총 %d권)을 분석해.
+
+                [규칙]
+                1. **matchRate**: 질문 관련성(0~99). 관련 없으면 최소 10점을 줄 것.
+                2. **reason**: **장점/단점 없이**, 오직 질문에 맞춘 '추천 이유'만 작성할 것.
+                   - **하나의 문자열**로 반환할 것.
+                   - 길이는 **100~150자**로 제한할 것.
+                   - 질문('%s')과의 연결고리를 반드시 포함할 것.
+                3. **중요: 점수가 낮아도 절대 제외하지 말고, 목록에 있는 모든 책을 포함할 것.**
+                4. 결과는 **JSON** 포맷만 반환.
+
+                [도서 목록]
+                %s
+
+                [JSON 반환 예시]
+                {
+                  "9791162244222": {
+                    "reason": "질문과 직접 연결되는 추천 이유(100~150자). 예: 사용자의 요구를 충족하는 실무 중심 예제와 최신 사례를 제공하여 빠른 적용이 가능함.",
+                    "matchRate": 95
+                  }
+                }
+                """, userQuery, books.size(), userQuery, bookInfo.toString());
+    }
+
+    private static String stripHtml(String html) {
+        if (html == null) return "";
+        // 간단한 HTML 태그 제거
+        String stripped = html.replaceAll("<[^>]*>", "");
+        return stripped.substring(0, Math.min(stripped.length(), 150));
+    }
+}
@@ -1,6 +1,8 @@
 package com.nhnacademy.bookssearchworker.search.component.assembler;
 
 import com.nhnacademy.bookssearchworker.search.component.BookMapper;
+import com.nhnacademy.bookssearchworker.search.component.SearchMetrics;
+import com.nhnacademy.bookssearchworker.search.component.SearchMetrics.Stage;
 import com.nhnacademy.bookssearchworker.search.domain.Book;
 import com.nhnacademy.bookssearchworker.search.dto.AiResultDto;
 import com.nhnacademy.bookssearchworker.search.dto.BookResponseDto;
@@ -21,34 +23,38 @@ public class SearchResultAssembler {
 
     private final BookMapper bookMapper;
     private final DiscountPolicyService discountPolicyService;
+    private final SearchMetrics metrics;
     private static final int FINAL_RESULT_SIZE = 50;
 
     // 1. 일반 검색 결과 조립
     public SearchResponseDto assembleBasicResult(List<Book> books) {
-        List<BookResponseDto> dtos = books.stream()
+        List<BookResponseDto> dtos = metrics.time(SearchMetrics.BASIC, Stage.ASSEMBLE, () -> books.stream()
                 .limit(FINAL_RESULT_SIZE)
                 .map(b -> bookMapper.toDto(b, 50)) // 기본 점수 50
-                .toList();
+                .toList());
 
-        discountPolicyService.applyDiscounts(dtos);
+        metrics.time(SearchMetrics.BASIC, Stage.DISCOUNT, () -> discountPolicyService.applyDiscounts(dtos));
         return SearchResponseDto.builder().bookList(dtos).build();
     }
 
     // 2. AI 검색 결과 조립 (리랭킹 + AI 분석 병합)
     public SearchResponseDto assembleAiResult(List<BookWithScore> rankedBooks, Map<String, AiResultDto> aiAnalysis) {
-        // 상위 50개 자르기
-        List<Book> targetBooks = rankedBooks.stream()
-                .limit(FINAL_RESULT_SIZE)
-                .map(BookWithScore::book)
-                .toList();
-
-        // DTO 변환
-        List<BookResponseDto> dtos = bookMapper.toDtoList(targetBooks, 0);
-
-        // AI 결과 매핑 (Mapper 위임)
-        bookMapper.applyAiEvaluation(dtos, aiAnalysis);
-
-        discountPolicyService.applyDiscounts(dtos);
+        List<BookResponseDto> dtos = metrics.time(SearchMetrics.AI, Stage.ASSEMBLE, () -> {
+            // 상위 50개 자르기
+            List<Book> targetBooks = rankedBooks.stream()
+                    .limit(FINAL_RESULT_SIZE)
+                    .map(BookWithScore::book)
+                    .toList();
+
+            // DTO 변환
+            List<BookResponseDto> mapped = bookMapper.toDtoList(targetBooks, 0);
+
+            // AI 결과 매핑 (Mapper 위임)
+            bookMapper.applyAiEvaluation(mapped, aiAnalysis);
+            return mapped;
+        });
+
+        metrics.time(SearchMetrics.AI, Stage.DISCOUNT, () -> discountPolicyService.applyDiscounts(dtos));
 
         // 최종 정렬 (점수 높은 순)
         dtos.sort(Comparator.comparingInt(BookResponseDto::getMatchRate).reversed());
@@ -0,0 +1,41 @@
+package com.nhnacademy.bookssearchworker.search.component.engine;
+
+import com.nhnacademy.bookssearchworker.resilience.Dependency;
+import com.nhnacademy.bookssearchworker.resilience.DependencyGuardRegistry;
+import com.nhnacademy.bookssearchworker.resilience.DependencyUnavailableException;
+import com.nhnacademy.bookssearchworker.search.domain.Book;
+import com.nhnacademy.bookssearchworker.search.exception.ElasticsearchException;
+import com.nhnacademy.bookssearchworker.search.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class ElasticsearchEngine {
+
+    private final BookRepository bookRepository;
+    private final DependencyGuardRegistry guards;
+    private static final int DEFAULT_FETCH_SIZE = 50;
+
+    public List<Book> search(String query, List<Float> embedding) {
+        List<Book> candidates = guarded(() -> bookRepository.searchHybrid(query, embedding, DEFAULT_FETCH_SIZE));
+        return candidates == null ? Collections.emptyList() : candidates;
+    }
+
+    public List<Book> searchByIsbn(String isbn) {
+        return guarded(() -> bookRepository.findByIsbn(isbn));
+    }
+
+    // ES 장애가 이어지거나 동시 호출 한도를 넘으면 소켓 타임아웃까지 기다리지 않고 바로 실패시킨다
+    private List<Book> guarded(Supplier<List<Book>> call) {
+        try {
+            return guards.get(Dependency.ELASTICSEARCH).call(call);
+        } catch (DependencyUnavailableException e) {
+            throw new ElasticsearchException("Elasticsearch 호출 생략: " + e.getReason(), e);
+        }
+    }
+}
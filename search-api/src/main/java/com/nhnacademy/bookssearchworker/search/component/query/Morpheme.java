@@ -0,0 +1,17 @@
+package com.nhnacademy.bookssearchworker.search.component.query;
+
+/**
+ * 형태소 분석 결과 한 개
+ * @param surface 형태소 (예: "스프링")
+ * @param pos     품사 태그 (예: NNG 일반명사, NNP 고유명사, SL 외국어)
+ */
+public record Morpheme(String surface, String pos) {
+
+    public boolean isNoun() {
+        return pos.startsWith("NN");
+    }
+
+    public boolean isForeign() {
+        return pos.equals("SL");
+    }
+}
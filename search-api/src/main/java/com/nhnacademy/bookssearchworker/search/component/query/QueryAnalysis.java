@@ -0,0 +1,94 @@
+package com.nhnacademy.bookssearchworker.search.component.query;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 요청 하나의 검색어 분석 결과 (QueryAnalyzer가 요청마다 한 번 만든다)
+ * - raw         : 사용자가 입력한 원문 (Gemini 프롬프트, ISBN 검색에 그대로 사용)
+ * - normalized  : 불용어/특수문자를 정리한 검색용 텍스트 (임베딩, ES, 리랭킹 입력)
+ * - isbnLike    : 숫자/하이픈만으로 된 검색어인지 (ISBN 전용 검색으로 분기)
+ * - morphemes   : normalized의 형태소. Komoran 분석이 무거워 처음 필요할 때 한 번만 계산한다
+ * - fingerprint : 명사/영문을 정렬한 캐시 키 본문 (예: "부트:스프링")
+ */
+public final class QueryAnalysis {
+
+    private static final Pattern ISBN_LIKE = Pattern.compile("[0-9-]+");
+
+    // 캐시 키에서 제외할 단어들
+    private static final Set<String> KEY_STOP_WORDS = Set.of(
+            "추천", "책", "도서", "좀", "해줘", "알려줘", "찾아줘", "무슨", "어떤", "검색"
+    );
+
+    private final String raw;
+    private final String normalized;
+    private final boolean isbnLike;
+    private final Supplier<List<Morpheme>> morphemeSource;
+
+    private volatile List<Morpheme> morphemes;
+    private volatile String fingerprint;
+
+    public QueryAnalysis(String raw, String normalized, Supplier<List<Morpheme>> morphemeSource) {
+        this.raw = raw;
+        this.normalized = normalized;
+        this.isbnLike = raw != null && ISBN_LIKE.matcher(raw).matches();
+        this.morphemeSource = morphemeSource;
+    }
+
+    public String raw() {
+        return raw;
+    }
+
+    public String normalized() {
+        return normalized;
+    }
+
+    public boolean isbnLike() {
+        return isbnLike;
+    }
+
+    public List<Morpheme> morphemes() {
+        List<Morpheme> result = morphemes;
+        if (result == null) {
+            result = List.copyOf(morphemeSource.get());
+            morphemes = result;
+        }
+        return result;
+    }
+
+    /** 명사(NNG, NNP 등)와 영문(SL), 캐시 키 불용어는 제외 */
+    public List<String> nouns() {
+        return morphemes().stream()
+                .filter(m -> m.isNoun() || m.isForeign())
+                .map(Morpheme::surface)
+                .filter(word -> !KEY_STOP_WORDS.contains(word))
+                .toList();
+    }
+
+    public String fingerprint() {
+        String result = fingerprint;
+        if (result == null) {
+            // 가나다순 정렬 (어순과 무관하게 같은 키)
+            List<String> keywords = nouns().stream().sorted().toList();
+            // 키워드가 없으면 원문 사용 (예: "안녕하세요")
+            result = keywords.isEmpty() ? fallbackFingerprint() : String.join(":", keywords);
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    /**
+     * @param type "basic" 또는 "ai"
+     * @return 예: "ai:부트:스프링"
+     */
+    public String cacheKey(String type) {
+        return type + ":" + fingerprint();
+    }
+
+    private String fallbackFingerprint() {
+        String text = normalized.isEmpty() && raw != null ? raw.strip() : normalized;
+        return text.replaceAll("\\s+", "_");
+    }
+}
@@ -0,0 +1,54 @@
+package com.nhnacademy.bookssearchworker.search.component.query;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 검색어 정규화 사전
+ * - stopPhrases : 지울 불용어 구문 (지운 자리는 공백)
+ * - caseTerms   : 대소문자 무시로 찾아서 이 표기로 바꿀 키워드
+ *
+ * 파일 형식은 [stop] / [case] 섹션 아래에 한 줄에 하나, '#' 주석과 빈 줄은 무시한다.
+ */
+public record QueryDictionary(List<String> stopPhrases, List<String> caseTerms) {
+
+    public QueryDictionary {
+        stopPhrases = List.copyOf(stopPhrases);
+        caseTerms = List.copyOf(caseTerms);
+    }
+
+    public static QueryDictionary parse(InputStream in) throws IOException {
+        List<String> stop = new ArrayList<>();
+        List<String> cases = new ArrayList<>();
+        List<String> current = null;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            String entry = line.strip();
+            if (entry.isEmpty() || entry.startsWith("#")) continue;
+
+            switch (entry) {
+                case "[stop]" -> current = stop;
+                case "[case]" -> current = cases;
+                default -> {
+                    if (entry.startsWith("[")) {
+                        throw new IllegalArgumentException("알 수 없는 섹션 (line " + lineNo + "): " + entry);
+                    }
+                    if (current == null) {
+                        throw new IllegalArgumentException("섹션 밖의 항목 (line " + lineNo + "): " + entry);
+                    }
+                    current.add(entry);
+                }
+            }
+        }
+        return new QueryDictionary(stop, cases);
+    }
+}
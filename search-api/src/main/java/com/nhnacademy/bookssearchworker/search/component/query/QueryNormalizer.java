@@ -0,0 +1,271 @@
+package com.nhnacademy.bookssearchworker.search.component.query;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 불용어 제거 + 키워드 표기 보정 + 특수문자/공백 정리를 한 번의 순회로 처리하는 정규화기
+ * - 사전의 모든 구문을 Aho-Corasick 오토마톤 하나로 만들어, 입력을 한 글자씩 한 번만 훑는다
+ * - 보정 키워드는 겹치는 것까지 모두 바꾸고, 겹친 글자는 사전에서 뒤에 있는 표기를 따른다
+ *   (예전 replaceAll 연쇄와 같은 결과: msapi -> MSA가 먼저, 이어서 API가 덮어써 MSAPI)
+ * - 겹치는 불용어는 leftmost-longest (더 앞에서 시작하는 것, 같으면 더 긴 것)
+ * - ASCII 대소문자는 접어서 비교한다. 불용어에 영문이 들어 있으면 보정이 끝난 글자와 다시 대조해 대소문자를 구분한다
+ *
+ * 만들어진 뒤에는 바뀌지 않으므로 여러 스레드가 공유해도 된다.
+ */
+public final class QueryNormalizer {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    // 노드별 전이: 정렬된 문자 배열 + 같은 위치의 다음 노드 (이진 탐색)
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    // 이 노드에서 끝나는 구문 id, 없으면 NONE
+    private final int[] terminal;
+    // fail 체인을 따라가며 만나는 다음 terminal 노드 (출력 링크)
+    private final int[] outputLink;
+
+    // 구문 id별 정보
+    private final String[] phrases;
+    // null이면 불용어(공백으로 치환), 아니면 보정된 표기
+    private final String[] replacements;
+    private final boolean[] caseSensitive;
+
+    public QueryNormalizer(QueryDictionary dictionary) {
+        List<String> phraseList = new ArrayList<>();
+        List<String> replacementList = new ArrayList<>();
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> terminals = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminals.add(NONE);
+
+        // 불용어를 먼저 넣는다: 접은 결과가 같은 구문이 있으면 먼저 넣은 쪽이 남는다
+        for (String phrase : dictionary.stopPhrases()) {
+            insert(trie, terminals, phraseList, replacementList, phrase, null);
+        }
+        for (String term : dictionary.caseTerms()) {
+            insert(trie, terminals, phraseList, replacementList, term, term);
+        }
+
+        int size = trie.size();
+        keys = new char[size][];
+        targets = new int[size][];
+        for (int node = 0; node < size; node++) {
+            Map<Character, Integer> edges = trie.get(node);
+            keys[node] = new char[edges.size()];
+            targets[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> e : edges.entrySet()) {
+                keys[node][i] = e.getKey();
+                targets[node][i] = e.getValue();
+                i++;
+            }
+        }
+        terminal = terminals.stream().mapToInt(Integer::intValue).toArray();
+        fail = new int[size];
+        outputLink = new int[size];
+        linkFailures();
+
+        phrases = phraseList.toArray(String[]::new);
+        replacements = replacementList.toArray(String[]::new);
+        caseSensitive = new boolean[phrases.length];
+        for (int id = 0; id < phrases.length; id++) {
+            caseSensitive[id] = replacements[id] == null && hasAsciiLetter(phrases[id]);
+        }
+    }
+
+    /**
+     * 검색어를 정규화한다.
+     * 보정 키워드를 사전 표기로 바꾼 뒤 불용어는 공백으로 바꾸고,
+     * 영문/숫자/한글/+/# 외의 문자는 공백으로 바꾼 뒤 연속 공백을 하나로 줄이고 앞뒤를 자른다.
+     */
+    public String normalize(String text) {
+        if (text == null || text.isEmpty()) return "";
+
+        int length = text.length();
+        char[] chars = text.toCharArray();
+        Matches stops = scan(text, chars);
+
+        StringBuilder out = new StringBuilder(length);
+        boolean pendingSpace = false;
+        int next = 0;
+        int i = 0;
+        while (i < length) {
+            // 이미 지나간(앞 매칭과 겹치는) 매칭과, 보정 후 대소문자가 맞지 않는 매칭은 버린다
+            while (next < stops.size && (stops.starts[next] < i || !matchesCase(chars, stops.starts[next], stops.ids[next]))) next++;
+
+            if (next < stops.size && stops.starts[next] == i) {
+                pendingSpace = true;
+                i += phrases[stops.ids[next++]].length();
+                continue;
+            }
+
+            char c = chars[i++];
+            if (isKept(c)) {
+                if (pendingSpace && !out.isEmpty()) out.append(' ');
+                pendingSpace = false;
+                out.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return out.toString();
+    }
+
+    // 한 번 훑으면서 보정 키워드는 chars에 바로 적용하고, 불용어 매칭은 (시작 위치 오름차순, 길이 내림차순)으로 모은다
+    private Matches scan(String text, char[] chars) {
+        Matches stops = new Matches();
+        // 글자별로 마지막에 적용한 보정 키워드 id (겹치면 사전에서 뒤에 있는 것이 이긴다)
+        int[] owners = null;
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            int to;
+            while ((to = step(state, c)) == NONE && state != ROOT) {
+                state = fail[state];
+            }
+            state = to == NONE ? ROOT : to;
+
+            for (int node = terminal[state] != NONE ? state : outputLink[state]; node != NONE; node = outputLink[node]) {
+                int id = terminal[node];
+                int start = i - phrases[id].length() + 1;
+                if (replacements[id] == null) {
+                    stops.add(start, id);
+                    continue;
+                }
+                if (owners == null) {
+                    owners = new int[chars.length];
+                    Arrays.fill(owners, NONE);
+                }
+                String replacement = replacements[id];
+                for (int k = 0; k < replacement.length(); k++) {
+                    if (owners[start + k] < id) {
+                        owners[start + k] = id;
+                        chars[start + k] = replacement.charAt(k);
+                    }
+                }
+            }
+        }
+        stops.sort(phrases);
+        return stops;
+    }
+
+    private boolean matchesCase(char[] chars, int start, int id) {
+        if (!caseSensitive[id]) return true;
+        String phrase = phrases[id];
+        for (int k = 0; k < phrase.length(); k++) {
+            if (chars[start + k] != phrase.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    private int step(int node, char c) {
+        int index = Arrays.binarySearch(keys[node], c);
+        return index < 0 ? NONE : targets[node][index];
+    }
+
+    private void linkFailures() {
+        Arrays.fill(outputLink, NONE);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < keys[node].length; i++) {
+                char c = keys[node][i];
+                int child = targets[node][i];
+
+                int f = fail[node];
+                int to;
+                while ((to = step(f, c)) == NONE && f != ROOT) {
+                    f = fail[f];
+                }
+                fail[child] = to == NONE ? ROOT : to;
+                outputLink[child] = terminal[fail[child]] != NONE ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    private static void insert(List<Map<Character, Integer>> trie, List<Integer> terminals,
+                               List<String> phrases, List<String> replacements,
+                               String phrase, String replacement) {
+        int node = ROOT;
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = fold(phrase.charAt(i));
+            Integer next = trie.get(node).get(c);
+            if (next == null) {
+                next = trie.size();
+                trie.get(node).put(c, next);
+                trie.add(new TreeMap<>());
+                terminals.add(NONE);
+            }
+            node = next;
+        }
+        if (terminals.get(node) != NONE) return;
+
+        terminals.set(node, phrases.size());
+        phrases.add(phrase);
+        replacements.add(replacement);
+    }
+
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static boolean hasAsciiLetter(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = fold(s.charAt(i));
+            if (c >= 'a' && c <= 'z') return true;
+        }
+        return false;
+    }
+
+    // 영문, 숫자, 한글 음절, 그리고 C++ / C# 을 위한 + # 만 남긴다
+    private static boolean isKept(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || (c >= '가' && c <= '힣') || c == '+' || c == '#';
+    }
+
+    /** 매칭 목록 (검색어 길이가 짧아 매칭은 보통 몇 개 안 된다) */
+    private static final class Matches {
+        int[] starts = new int[8];
+        int[] ids = new int[8];
+        int size;
+
+        void add(int start, int id) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            starts[size] = start;
+            ids[size] = id;
+            size++;
+        }
+
+        // 삽입 정렬: 끝 위치 순으로 들어오므로 거의 정렬된 상태다
+        void sort(String[] phrases) {
+            for (int i = 1; i < size; i++) {
+                int start = starts[i];
+                int id = ids[i];
+                int j = i - 1;
+                while (j >= 0 && (starts[j] > start
+                        || (starts[j] == start && phrases[ids[j]].length() < phrases[id].length()))) {
+                    starts[j + 1] = starts[j];
+                    ids[j + 1] = ids[j];
+                    j--;
+                }
+                starts[j + 1] = start;
+                ids[j + 1] = id;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.nhnacademy.bookssearchworker.search.config;
+
+import com.nhnacademy.bookssearchworker.resilience.Dependency;
+import com.nhnacademy.bookssearchworker.resilience.DownstreamWebClientFactory;
+import com.nhnacademy.bookssearchworker.resilience.DownstreamWebClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+@Configuration
+public class SearchConfig {
+
+    // 검색 API가 HTTP로 호출하는 의존성 (ES는 Spring Data 클라이언트)
+    private static final List<Dependency> HTTP_DEPENDENCIES = List.of(
+            Dependency.EMBEDDING, Dependency.RERANKER, Dependency.GEMINI);
+
+    /**
+     * 외부 HTTP 의존성별 WebClient (임베딩-검색, 리랭커, Gemini)
+     * 풀/타임아웃 설정은 DownstreamWebClientFactory 참고
+     */
+    @Bean
+    public DownstreamWebClients downstreamWebClients(
+            Environment env,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<ObservationRegistry> observationRegistry
+    ) {
+        return DownstreamWebClientFactory.create(
+                env,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP),
+                HTTP_DEPENDENCIES);
+    }
+}
@@ -0,0 +1,15 @@
+package com.nhnacademy.bookssearchworker.search.dto;
+
+/**
+ * 과부하 시 AI 검색에서 생략한 단계
+ * NONE        : 전체 파이프라인 수행
+ * SKIP_LLM    : Gemini 분석 생략
+ * SKIP_RERANK : Gemini 분석 + 리랭킹 생략
+ * BASIC       : AI 예산이 없어 기본 검색 파이프라인으로 처리
+ */
+public enum DegradationLevel {
+    NONE,
+    SKIP_LLM,
+    SKIP_RERANK,
+    BASIC
+}
@@ -18,6 +18,17 @@ import java.util.List;
 public class SearchResponseDto {
     private List<BookResponseDto> bookList;
 
+    // 과부하로 일부 단계를 생략했는지 여부와 생략 수준
+    private boolean degraded;
+
+    @Builder.Default
+    private DegradationLevel degradation = DegradationLevel.NONE;
+
+    public void markDegraded(DegradationLevel level) {
+        this.degraded = level != DegradationLevel.NONE;
+        this.degradation = level;
+    }
+
     public static SearchResponseDto empty() {
         return SearchResponseDto.builder()
                 .bookList(Collections.emptyList())
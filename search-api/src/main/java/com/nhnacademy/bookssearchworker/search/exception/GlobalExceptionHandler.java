@@ -1,6 +1,8 @@
 package com.nhnacademy.bookssearchworker.search.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -29,7 +31,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body("오류: " + e.getMessage());
     }
 
-    // 3. 그 외 알 수 없는 서버 에러 (Elasticsearch 연결 실패 등)
+    // 3. 과부하로 기본 검색 예산까지 소진된 경우 (기다리게 하지 않고 바로 503)
+    @ExceptionHandler(SearchOverloadedException.class)
+    public ResponseEntity<String> handleOverloaded(SearchOverloadedException e) {
+        log.warn("검색 과부하: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
+    // 4. 그 외 알 수 없는 서버 에러 (Elasticsearch 연결 실패 등)
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralException(Exception e) {
         log.error("서버 내부 오류 발생", e);
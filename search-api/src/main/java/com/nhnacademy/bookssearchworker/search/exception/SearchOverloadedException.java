@@ -0,0 +1,6 @@
+package com.nhnacademy.bookssearchworker.search.exception;
+
+// 기본 검색 동시 처리 예산까지 모두 소진된 경우 (-> 503)
+public class SearchOverloadedException extends RuntimeException {
+    public SearchOverloadedException(String message) { super(message); }
+}
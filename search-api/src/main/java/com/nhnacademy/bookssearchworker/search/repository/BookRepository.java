@@ -1,15 +1,17 @@
 package com.nhnacademy.bookssearchworker.search.repository;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.util.ObjectBuilder;
 import com.nhnacademy.bookssearchworker.search.domain.Book;
+import com.nhnacademy.bookssearchworker.search.exception.ElasticsearchException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,6 +22,8 @@ public class BookRepository {
 
     private final ElasticsearchClient esClient;
     private static final String INDEX_NAME = "books";
+    // 색인 워커가 삭제 시 남기는 표시 문서(tombstone): 내용이 비어 있지만 혹시 걸리지 않도록 모든 검색에서 뺀다
+    private static final String DELETED = "deleted";
 
     /**
      * 1. ISBN 단건 조회 (정확도 100%)
@@ -28,11 +32,14 @@ public class BookRepository {
         try {
             SearchResponse<Book> response = esClient.search(s -> s
                     .index(INDEX_NAME)
-                    .query(q -> q.term(t -> t.field("isbn").value(isbn))), Book.class);
+                    .query(q -> q.bool(b -> b
+                            .must(m -> m.term(t -> t.field("isbn").value(isbn)))
+                            .mustNot(BookRepository::deleted))), Book.class);
             return extractHits(response);
         } catch (IOException e) {
+            // 통신 실패는 빈 결과가 아니라 장애로 올려서 서킷 브레이커가 감지하게 한다
             log.error(" [Repository] ISBN 조회 실패: isbn={}", isbn, e);
-            return Collections.emptyList();
+            throw new ElasticsearchException("ISBN 조회 실패", e);
         }
     }
 
@@ -57,6 +64,7 @@ public class BookRepository {
                             .k(size)
                             .numCandidates(100)
                             .boost(3.0f)
+                            .filter(f -> f.bool(b -> b.mustNot(BookRepository::deleted)))
                     );
                 }
 
@@ -81,6 +89,7 @@ public class BookRepository {
                                 .value(query)
                                 .boost(15.0f)
                         ))
+                        .mustNot(BookRepository::deleted)
                 ));
 
                 // 성능 최적화: 임베딩 필드는 결과 JSON에서 제외
@@ -93,10 +102,15 @@ public class BookRepository {
 
         } catch (IOException e) {
             log.error(" [Repository] 하이브리드 검색 실패: query={}", query, e);
-            return Collections.emptyList();
+            throw new ElasticsearchException("하이브리드 검색 실패", e);
         }
     }
 
+    // Helper: 삭제 표시 문서
+    private static ObjectBuilder<Query> deleted(Query.Builder q) {
+        return q.term(t -> t.field(DELETED).value(true));
+    }
+
     // Helper: SearchResponse -> List<Book> 변환
     private List<Book> extractHits(SearchResponse<Book> response) {
         return response.hits().hits().stream().map(Hit::source).collect(Collectors.toList());
@@ -0,0 +1,221 @@
+package com.nhnacademy.bookssearchworker.search.service;
+
+import com.nhnacademy.bookssearchworker.search.component.QueryAnalyzer;
+import com.nhnacademy.bookssearchworker.search.component.SearchAdmission;
+import com.nhnacademy.bookssearchworker.search.component.SearchMetrics;
+import com.nhnacademy.bookssearchworker.search.component.SearchMetrics.Stage;
+import com.nhnacademy.bookssearchworker.search.component.ai.EmbeddingClient;
+import com.nhnacademy.bookssearchworker.search.component.ai.LlmAnalysisClient;
+import com.nhnacademy.bookssearchworker.search.component.ai.RerankingClient;
+import com.nhnacademy.bookssearchworker.search.component.assembler.SearchResultAssembler;
+import com.nhnacademy.bookssearchworker.search.component.engine.ElasticsearchEngine;
+import com.nhnacademy.bookssearchworker.search.component.query.QueryAnalysis;
+import com.nhnacademy.bookssearchworker.search.domain.Book;
+import com.nhnacademy.bookssearchworker.search.dto.AiResultDto;
+import com.nhnacademy.bookssearchworker.search.dto.BookWithScore;
+import com.nhnacademy.bookssearchworker.search.dto.DegradationLevel;
+import com.nhnacademy.bookssearchworker.search.dto.SearchResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private final ElasticsearchEngine elasticsearchEngine;
+    private final EmbeddingClient embeddingClient;
+    private final RerankingClient rerankingClient;
+    private final LlmAnalysisClient llmClient;
+
+    private final SearchResultAssembler assembler;
+    private final QueryAnalyzer queryAnalyzer;
+    private final RedisCacheService redisCacheService;
+    private final SearchAdmission admission;
+    private final SearchMetrics metrics;
+
+    private static final int RERANK_LIMIT = 10;
+    private static final int AI_EVAL_SIZE = 5;
+
+    /**
+     * AI 검색
+     * - 하이브리드 검색(키워드+벡터)
+     * - 상위 10권 리랭킹
+     * - Gemini로 책별 추천 이유 생성
+     *
+     * 외부 서비스 장애 시에는 단계별로 가능한 만큼만 수행합니다.
+     * 과부하 시에는 SearchAdmission이 정한 수준만큼 Gemini -> 리랭킹 순으로 생략하고,
+     * AI 예산이 없으면 기본 검색 파이프라인으로 처리합니다. (응답의 degraded로 표시)
+     *
+     * 검색어는 요청마다 한 번만 분석(QueryAnalysis)하고, 캐시 키/검색/프롬프트가 같은 결과를 나눠 씁니다.
+     */
+    public SearchResponseDto aiSearch(String userQuery) {
+        // 형태소 분석은 지연 실행이라 실제로는 cacheKey()에서 돈다 -> 둘을 한 번의 PREPROCESS로 측정
+        QueryAnalysis query = metrics.time(SearchMetrics.AI, Stage.PREPROCESS, () -> {
+            QueryAnalysis analysis = queryAnalyzer.analyze(userQuery);
+            analysis.cacheKey("ai");
+            return analysis;
+        });
+        String cacheKey = query.cacheKey("ai");
+        SearchResponseDto cached = metrics.time(SearchMetrics.AI, Stage.CACHE,
+                () -> redisCacheService.get(cacheKey, SearchResponseDto.class));
+        metrics.cache(cached != null);
+        if (cached != null) {
+            log.debug("[AiSearch] 캐시 히트. key={}", cacheKey);
+            return cached;
+        }
+
+        try (SearchAdmission.Permit permit = admission.admitAi()) {
+            DegradationLevel level = permit.level();
+            metrics.degraded(level);
+            SearchResponseDto result = level == DegradationLevel.BASIC
+                    ? hybridSearch("[AiSearch]", query)
+                    : aiPipeline(query, cacheKey, level);
+            if (result != null) result.markDegraded(level);
+            return result;
+        }
+    }
+
+    private SearchResponseDto aiPipeline(QueryAnalysis query, String cacheKey, DegradationLevel level) {
+        String refinedQuery = query.normalized();
+        log.info("[AiSearch] 정제된 쿼리: {}", refinedQuery);
+
+        // 1) 임베딩 생성: 실패하면 벡터 검색을 제외하고 키워드 검색만 수행
+        List<Float> embedding = embed(SearchMetrics.AI, refinedQuery);
+
+        // 2) Elasticsearch 하이브리드 검색 (여기서 실패하면 검색 자체가 불가능하므로 예외를 그대로 올립니다.)
+        List<Book> candidates;
+        try {
+            candidates = metrics.time(SearchMetrics.AI, Stage.ES, () -> elasticsearchEngine.search(refinedQuery, embedding));
+            log.info("[AiSearch] Elasticsearch 검색 결과 수: {}", candidates.size());
+        } catch (Exception e) {
+            log.error("[Search] Elasticsearch 검색 실패: query='{}'", refinedQuery, e);
+            throw e;
+        }
+        if (candidates.isEmpty()) return SearchResponseDto.empty();
+
+        // 3) 리랭킹: 실패하거나 과부하로 생략하면 ES 결과 순서를 그대로 사용
+        List<BookWithScore> rankedBooks;
+        if (level == DegradationLevel.SKIP_RERANK) {
+            log.info("[Degrade] 과부하 -> 리랭킹/Gemini 분석 생략");
+            rankedBooks = withDefaultScore(candidates);
+        } else {
+            rankedBooks = rerank(refinedQuery, candidates);
+        }
+
+        // 4) Gemini 분석: 실패하거나 과부하로 생략하면 AI 답변 없이 결과만 반환
+        Map<String, AiResultDto> aiAnalysis;
+        if (level == DegradationLevel.NONE) {
+            aiAnalysis = analyze(query.raw(), rankedBooks);
+        } else {
+            if (level == DegradationLevel.SKIP_LLM) log.info("[Degrade] 과부하 -> Gemini 분석 생략");
+            aiAnalysis = Collections.emptyMap();
+        }
+
+        // 5) 최종 조립 및 캐싱(AI 검색만 캐싱)
+        SearchResponseDto result = assembler.assembleAiResult(rankedBooks, aiAnalysis);
+        if(!aiAnalysis.isEmpty()) {
+            // AI 분석이 포함된 경우에만 캐싱
+            metrics.time(SearchMetrics.AI, Stage.CACHE, () -> redisCacheService.save(cacheKey, result, Duration.ofHours(12)));
+            log.info("[AiSearch] 결과 캐싱 완료. key={}", cacheKey);
+        }
+        else {
+            log.info("[AiSearch] AI 분석 없음 -> 캐싱 생략");
+        }
+
+        return result;
+    }
+
+    // 일반 검색: 하이브리드 검색만 수행 (캐싱 없음, 기본 예산까지 차면 503)
+    public SearchResponseDto basicSearch(String userQuery) {
+        try (SearchAdmission.Permit ignored = admission.admitBasic()) {
+            QueryAnalysis query = metrics.time(SearchMetrics.BASIC, Stage.PREPROCESS, () -> queryAnalyzer.analyze(userQuery));
+
+            // ISBN 전용 검색
+            if (query.isbnLike()) {
+                log.info("[BasicSearch] ISBN 전용 검색 수행: {}", userQuery);
+                List<Book> books = metrics.time(SearchMetrics.BASIC, Stage.ES, () -> elasticsearchEngine.searchByIsbn(userQuery));
+                return assembler.assembleBasicResult(books);
+            }
+            return hybridSearch("[BasicSearch]", query);
+        }
+    }
+
+    private List<BookWithScore> rerank(String refinedQuery, List<Book> candidates) {
+        try {
+            // 상위 N개만 리랭킹 시도
+            int targetSize = Math.min(candidates.size(), RERANK_LIMIT);
+            List<Map<String, Object>> scores = metrics.time(SearchMetrics.AI, Stage.RERANK,
+                    () -> rerankingClient.rerank(refinedQuery, candidates.subList(0, targetSize)));
+
+            // 점수 반영
+            List<BookWithScore> rankedBooks = assembler.applyRerankScores(candidates, scores, RERANK_LIMIT);
+            log.info("[AiSearch] 리랭킹 완료. 상위 권 점수 반영됨.");
+            return rankedBooks;
+
+        } catch (Exception e) {
+            log.warn("[Fallback] 리랭킹 서버 통신 실패 -> 리랭킹 없이 다음 단계로 진행합니다. msg={}", e.getMessage());
+            metrics.fallback(Stage.RERANK);
+
+            // 리랭킹 실패 시에도 기존 후보 목록은 유지합니다.
+            return withDefaultScore(candidates);
+        }
+    }
+
+    private Map<String, AiResultDto> analyze(String userQuery, List<BookWithScore> rankedBooks) {
+        try {
+            List<Book> topBooks = rankedBooks.stream()
+                    .limit(AI_EVAL_SIZE)
+                    .map(BookWithScore::book)
+                    .toList();
+
+            return metrics.time(SearchMetrics.AI, Stage.LLM, () -> llmClient.analyzeBooks(userQuery, topBooks));
+
+        } catch (Exception e) {
+            log.warn("[Fallback] Gemini API 통신 실패 -> AI 답변 없이 결과만 반환합니다. msg={}", e.getMessage());
+            metrics.fallback(Stage.LLM);
+            return Collections.emptyMap(); // 빈 맵 반환 -> 조립기가 알아서 멘트 생략함
+        }
+    }
+
+    private List<BookWithScore> withDefaultScore(List<Book> candidates) {
+        return candidates.stream()
+                .map(b -> new BookWithScore(b, 0.5)) // 기본 점수 부여
+                .toList();
+    }
+
+    // 임베딩 생성: 실패하면 빈 리스트 (Repository가 알아서 벡터 검색을 뺌)
+    private List<Float> embed(String pipeline, String refinedQuery) {
+        try {
+            return metrics.time(pipeline, Stage.EMBEDDING, () -> embeddingClient.createEmbedding(refinedQuery));
+        } catch (Exception e) {
+            log.warn("[Fallback] 임베딩 서버 통신 실패 -> 벡터 검색 제외하고 키워드 검색만 진행합니다. msg={}", e.getMessage());
+            metrics.fallback(Stage.EMBEDDING);
+            return Collections.emptyList();
+        }
+    }
+
+    private SearchResponseDto hybridSearch(String tag, QueryAnalysis query) {
+        String refinedQuery = query.normalized();
+        log.info("{} 정제된 쿼리: {}", tag, refinedQuery);
+
+        List<Float> embedding = embed(SearchMetrics.BASIC, refinedQuery);
+
+        List<Book> books;
+        try {
+            books = metrics.time(SearchMetrics.BASIC, Stage.ES, () -> elasticsearchEngine.search(refinedQuery, embedding));
+            log.info("{} Elasticsearch 검색 결과 수: {}", tag, books.size());
+        } catch (Exception e) {
+            log.error("[Search] Elasticsearch 검색 실패: query='{}'", refinedQuery, e);
+            throw e;
+        }
+        SearchResponseDto result = assembler.assembleBasicResult(books);
+        return result;
+    }
+}
\ No newline at end of file
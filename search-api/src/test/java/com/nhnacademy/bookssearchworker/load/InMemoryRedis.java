@@ -0,0 +1,67 @@
+package com.nhnacademy.bookssearchworker.load;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 부하 테스트용 Redis 대역
+ * - 서비스가 쓰는 get / set(key, value, ttl) / multiGet만 메모리 맵으로 처리 (TTL은 무시)
+ * - StringRedisTemplate 빈을 직접 등록하므로 Boot 기본 템플릿(실제 Redis 연결)은 만들어지지 않는다
+ */
+@TestConfiguration
+class InMemoryRedis {
+
+    static final Map<String, String> STORE = new ConcurrentHashMap<>();
+
+    @Bean
+    StringRedisTemplate stringRedisTemplate() {
+        ValueOperations<String, String> ops = valueOperations();
+        return new StringRedisTemplate() {
+            @Override
+            public void afterPropertiesSet() {
+                // 연결 팩토리 없이 사용
+            }
+
+            @Override
+            public ValueOperations<String, String> opsForValue() {
+                return ops;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueOperations<String, String> valueOperations() {
+        return (ValueOperations<String, String>) Proxy.newProxyInstance(
+                ValueOperations.class.getClassLoader(),
+                new Class<?>[]{ValueOperations.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "get" -> STORE.get((String) args[0]);
+                    case "set" -> {
+                        if (args.length != 3 || !(args[2] instanceof Duration)) {
+                            throw new UnsupportedOperationException("set" + List.of(args));
+                        }
+                        STORE.put((String) args[0], (String) args[1]);
+                        yield null;
+                    }
+                    case "multiGet" -> {
+                        List<String> values = new ArrayList<>();
+                        for (Object key : (Collection<?>) args[0]) values.add(STORE.get((String) key));
+                        yield values;
+                    }
+                    case "toString" -> "InMemoryValueOperations";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,58 @@
+package com.nhnacademy.bookssearchworker.load;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 스텁 응답 지연/오류 분포
+ * - 지연: 중앙값과 p99를 맞춘 로그정규분포 (실제 원격 호출처럼 꼬리가 긴 분포)
+ * - 오류: errorRate 확률로 503 응답
+ *
+ * 시스템 속성으로 덮어쓸 때는 "중앙값ms,p99ms,오류율" 형식 (예: -Dload.stub.gemini=800,3000,0.05)
+ */
+record LatencyProfile(Duration median, Duration p99, double errorRate) {
+
+    // 표준정규분포의 99% 분위수
+    private static final double Z_99 = 2.3263;
+
+    static LatencyProfile of(long medianMs, long p99Ms, double errorRate) {
+        return new LatencyProfile(Duration.ofMillis(medianMs), Duration.ofMillis(p99Ms), errorRate);
+    }
+
+    static LatencyProfile healthy(long medianMs) {
+        return of(medianMs, medianMs * 3, 0.0);
+    }
+
+    static LatencyProfile down() {
+        return of(0, 0, 1.0);
+    }
+
+    static LatencyProfile fromProperty(String name, LatencyProfile defaultProfile) {
+        String spec = System.getProperty(name);
+        if (spec == null || spec.isBlank()) return defaultProfile;
+
+        String[] parts = spec.split(",");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException(name + " 형식 오류(중앙값ms,p99ms,오류율): " + spec);
+        }
+        return of(Long.parseLong(parts[0].trim()), Long.parseLong(parts[1].trim()), Double.parseDouble(parts[2].trim()));
+    }
+
+    long sampleMillis() {
+        long medianMs = median.toMillis();
+        if (medianMs <= 0) return 0;
+
+        double sigma = p99.toMillis() > medianMs ? Math.log((double) p99.toMillis() / medianMs) / Z_99 : 0.0;
+        double gaussian = ThreadLocalRandom.current().nextGaussian();
+        return Math.round(medianMs * Math.exp(sigma * gaussian));
+    }
+
+    boolean shouldFail() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    @Override
+    public String toString() {
+        return "p50=" + median.toMillis() + "ms p99=" + p99.toMillis() + "ms error=" + errorRate;
+    }
+}
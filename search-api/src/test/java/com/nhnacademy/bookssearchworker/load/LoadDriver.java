@@ -0,0 +1,149 @@
+package com.nhnacademy.bookssearchworker.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * 고정 RPS(open-loop) 부하 발생기
+ * - 응답을 기다리지 않고 정해진 시각마다 요청을 보낸다 (서버가 느려져도 도착률은 그대로)
+ * - 지연은 "보내기로 한 시각"부터 측정해서, 발생기 쪽 대기까지 포함한다 (coordinated omission 방지)
+ * - 대상마다 별도 스레드로 동시에 돌린다
+ */
+@Slf4j
+final class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final HttpClient client;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param name  리포트에 표시할 이름
+     * @param path  n번째 요청의 경로 (쿼리 포함)
+     * @param rps   초당 요청 수
+     */
+    record Target(String name, LongFunction<String> path, int rps) {
+
+        static Target search(String name, String endpoint, List<String> queries, boolean uniqueQueries, int rps) {
+            return new Target(name, n -> endpoint + "?query=" + encode(query(queries, n, uniqueQueries)), rps);
+        }
+    }
+
+    LoadDriver(URI baseUri) {
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    List<LoadReport> run(Duration duration, List<Target> targets) throws Exception {
+        List<Thread> pacers = new ArrayList<>();
+        Map<Target, List<Future<Sample>>> futures = new LinkedHashMap<>();
+        long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+
+        for (Target target : targets) {
+            List<Future<Sample>> list = new ArrayList<>();
+            futures.put(target, list);
+            pacers.add(Thread.ofPlatform().name("load-" + target.name()).start(() -> pace(target, duration, startNanos, list)));
+        }
+        for (Thread pacer : pacers) pacer.join();
+
+        List<LoadReport> reports = new ArrayList<>();
+        for (Map.Entry<Target, List<Future<Sample>>> e : futures.entrySet()) {
+            List<Sample> samples = new ArrayList<>(e.getValue().size());
+            for (Future<Sample> f : e.getValue()) {
+                samples.add(f.get(REQUEST_TIMEOUT.toSeconds() + 10, TimeUnit.SECONDS));
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            reports.add(LoadReport.of(e.getKey().name(), e.getKey().rps(), samples, elapsedNanos));
+        }
+        return reports;
+    }
+
+    void close() {
+        executor.shutdownNow();
+    }
+
+    private void pace(Target target, Duration duration, long startNanos, List<Future<Sample>> out) {
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / target.rps();
+        long total = duration.toSeconds() * target.rps();
+
+        for (long n = 0; n < total; n++) {
+            long intended = startNanos + n * periodNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            long index = n;
+            out.add(executor.submit(() -> send(target.path().apply(index), intended)));
+        }
+    }
+
+    private Sample send(String path, long intendedNanos) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long latency = System.nanoTime() - intendedNanos;
+            boolean degraded = response.body() != null && response.body().contains("\"degraded\":true");
+            return new Sample(response.statusCode(), latency, degraded);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Sample(Sample.IO_ERROR, System.nanoTime() - intendedNanos, false);
+        } catch (Exception e) {
+            log.debug("[LoadDriver] 요청 실패: {} {}", path, e.toString());
+            return new Sample(Sample.IO_ERROR, System.nanoTime() - intendedNanos, false);
+        }
+    }
+
+    // 같은 검색어는 AI 결과가 Redis에 캐싱되므로, 파이프라인 자체를 보려면 검색어마다 다른 영문 토큰을 붙인다
+    // (캐시 키는 명사/영문만 남기므로 숫자를 붙이면 같은 키가 된다)
+    private static String query(List<String> queries, long n, boolean unique) {
+        String base = queries.get((int) (n % queries.size()));
+        if (!unique) return base;
+
+        StringBuilder suffix = new StringBuilder();
+        long v = n;
+        do {
+            suffix.append((char) ('a' + v % 26));
+            v /= 26;
+        } while (v > 0);
+        return base + " q" + suffix;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 요청 1건 결과
+     * @param status HTTP 상태 코드 (연결 실패/타임아웃은 IO_ERROR)
+     */
+    record Sample(int status, long latencyNanos, boolean degraded) {
+        static final int IO_ERROR = -1;
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.nhnacademy.bookssearchworker.load;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 대상 하나의 부하 결과 요약
+ * - 지연 분위수는 실패 응답까지 포함 (빠른 실패도 사용자가 받은 응답이므로)
+ * - throughput은 2xx 응답 기준
+ */
+record LoadReport(
+        String name,
+        int targetRps,
+        int requests,
+        Map<Integer, Long> statuses,
+        long degraded,
+        double p50Ms,
+        double p99Ms,
+        double maxMs,
+        double throughput
+) {
+
+    static LoadReport of(String name, int targetRps, List<LoadDriver.Sample> samples, long elapsedNanos) {
+        long[] latencies = samples.stream().mapToLong(LoadDriver.Sample::latencyNanos).sorted().toArray();
+        long ok = samples.stream().filter(LoadDriver.Sample::ok).count();
+        long degraded = samples.stream().filter(LoadDriver.Sample::degraded).count();
+        Map<Integer, Long> statuses = samples.stream()
+                .collect(Collectors.groupingBy(LoadDriver.Sample::status, TreeMap::new, Collectors.counting()));
+
+        return new LoadReport(
+                name,
+                targetRps,
+                samples.size(),
+                statuses,
+                degraded,
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : toMillis(latencies[latencies.length - 1]),
+                ok / (elapsedNanos / 1e9)
+        );
+    }
+
+    long okCount() {
+        return count(status -> status >= 200 && status < 300);
+    }
+
+    long count(Function<Integer, Boolean> statusFilter) {
+        return statuses.entrySet().stream()
+                .filter(e -> statusFilter.apply(e.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    double errorRate() {
+        return requests == 0 ? 0 : 1.0 - (double) okCount() / requests;
+    }
+
+    String format() {
+        return String.format("%-8s target=%3drps requests=%5d ok=%5d degraded=%5d status=%s p50=%8.1fms p99=%8.1fms max=%8.1fms throughput=%6.1f/s",
+                name, targetRps, requests, okCount(), degraded, statuses, p50Ms, p99Ms, maxMs, throughput);
+    }
+
+    private static double percentile(long[] sorted, double q) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(q * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,58 @@
+package com.nhnacademy.bookssearchworker.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 부하 중 게이지(바쁜 스레드 수, 커넥션 풀 사용/대기 수, 동시 처리 수)의 최대값을 주기적으로 기록한다.
+ * 끝난 뒤 값만 보면 이미 0으로 돌아와 있으므로, 포화 여부는 실행 중 피크로 판단한다.
+ */
+final class PeakSampler implements AutoCloseable {
+
+    private static final long INTERVAL_MS = 20;
+
+    private final Map<String, DoubleSupplier> gauges = new LinkedHashMap<>();
+    private final Map<String, Double> peaks = new ConcurrentHashMap<>();
+    private Thread thread;
+
+    PeakSampler track(String label, DoubleSupplier gauge) {
+        gauges.put(label, gauge);
+        return this;
+    }
+
+    PeakSampler start() {
+        thread = Thread.ofPlatform().daemon().name("load-peak-sampler").start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                gauges.forEach((label, gauge) -> {
+                    double value = gauge.getAsDouble();
+                    if (!Double.isNaN(value)) peaks.merge(label, value, Math::max);
+                });
+                try {
+                    Thread.sleep(INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        return this;
+    }
+
+    double peak(String label) {
+        return peaks.getOrDefault(label, 0.0);
+    }
+
+    String format() {
+        StringBuilder sb = new StringBuilder("peaks:");
+        gauges.keySet().forEach(label -> sb.append(' ').append(label).append('=').append(String.format("%.0f", peak(label))));
+        return sb.toString();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (thread == null) return;
+        thread.interrupt();
+        thread.join();
+    }
+}
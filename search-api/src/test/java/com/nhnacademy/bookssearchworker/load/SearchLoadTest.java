@@ -0,0 +1,264 @@
+package com.nhnacademy.bookssearchworker.load;
+
+import com.nhnacademy.bookssearchworker.load.StubBackends.Route;
+import com.nhnacademy.bookssearchworker.search.component.SearchAdmission;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 검색 API 부하 테스트 (기본 빌드에서는 제외, ./mvnw test -Pload 로 실행)
+ *
+ * 애플리케이션 전체를 실제 포트로 띄우고, 외부 의존성은 모두 프로세스 내 대역으로 바꾼다.
+ * - Ollama / Reranker / Gemini / ES: StubBackends (지연 분포, 오류율 조절)
+ * - Redis: InMemoryRedis
+ *
+ * 시나리오마다 /api/search/basic, /api/search/ai 에 고정 RPS로 요청을 보내고
+ * p50/p99/max, 처리량, 상태 코드 분포와 함께 폴백/강등 횟수, 풀/스레드 피크를 로그로 남긴다.
+ *
+ * 조절 가능한 시스템 속성
+ * - load.duration-seconds (15), load.basic-rps (20), load.ai-rps (4)
+ * - load.warmup-seconds (10): 측정 전 낮은 RPS로 JIT/커넥션 풀/지연 통계를 데운다 (장애 주입 전, 측정에서 제외)
+ * - load.stub.embedding / reranker / gemini / es ("중앙값ms,p99ms,오류율", 정상 시나리오 기준값)
+ *
+ * 시나리오마다 컨텍스트를 새로 띄워서 서킷 브레이커/리미터/지연 통계가 이어지지 않게 한다.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.elasticsearch.username=load",
+                "spring.elasticsearch.password=load",
+                "spring.data.redis.host=127.0.0.1",
+                "spring.data.redis.port=6379",
+                "spring.data.redis.password=",
+                "spring.data.redis.database=0",
+                "eureka.client.enabled=false",
+                "eureka.client.service-url.defaultZone=http://127.0.0.1/eureka",
+                "management.health.redis.enabled=false",
+                "management.health.elasticsearch.enabled=false",
+                "server.tomcat.mbeanregistry.enabled=true",
+                "app.ai.gemini-api-key=load-test",
+                "logging.level.com.nhnacademy.bookssearchworker=WARN",
+                "logging.level.com.nhnacademy.bookssearchworker.load=INFO"
+        }
+)
+@Import(InMemoryRedis.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SearchLoadTest {
+
+    private static final StubBackends STUBS = StubBackends.start(50);
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 15));
+    private static final int BASIC_RPS = Integer.getInteger("load.basic-rps", 20);
+    private static final int AI_RPS = Integer.getInteger("load.ai-rps", 4);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+
+    private static final LatencyProfile EMBEDDING = LatencyProfile.fromProperty("load.stub.embedding", LatencyProfile.of(30, 120, 0.0));
+    private static final LatencyProfile RERANKER = LatencyProfile.fromProperty("load.stub.reranker", LatencyProfile.of(80, 300, 0.0));
+    private static final LatencyProfile GEMINI = LatencyProfile.fromProperty("load.stub.gemini", LatencyProfile.of(600, 2000, 0.0));
+    private static final LatencyProfile ES = LatencyProfile.fromProperty("load.stub.es", LatencyProfile.of(20, 80, 0.0));
+
+    // Gemini 지연 시나리오의 기본 검색 p99 상한: Gemini 중앙값(4s)보다 충분히 작으면 풀이 분리돼 있다는 뜻
+    private static final double GEMINI_SLOW_BASIC_P99_LIMIT_MS = 2_000;
+
+    // ES 장애 시나리오의 p99 상한: 소켓 타임아웃(60s)까지 기다리지 않고 실패한다는 뜻
+    private static final double FAIL_FAST_P99_LIMIT_MS = 2_000;
+
+    private static final List<String> QUERIES = List.of(
+            "스프링 부트로 웹 서비스 만들 때 도움이 될만한 책 추천해줘",
+            "c언어 처음 공부하고 싶은데 입문서 좀 알려줘",
+            "자바 ORM 표준 JPA 프로그래밍 관련 도서",
+            "sql 튜닝에 대해서 공부하고 싶어",
+            "해리포터"
+    );
+
+    @DynamicPropertySource
+    static void stubProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.elasticsearch.uris", () -> STUBS.url(""));
+        registry.add("app.ai.embedding-url", () -> STUBS.url("/api/embeddings"));
+        registry.add("app.ai.reranker-url", () -> STUBS.url("/rerank"));
+        registry.add("app.ai.gemini-url", () -> STUBS.url("/gemini/models/stub:generateContent"));
+        registry.add("app.ai.gemini-stream-url", () -> STUBS.url("/gemini/models/stub:streamGenerateContent"));
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    SearchAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        STUBS.resetCounts();
+        InMemoryRedis.STORE.clear();
+        STUBS.profile(Route.EMBEDDING, EMBEDDING);
+        STUBS.profile(Route.RERANK, RERANKER);
+        STUBS.profile(Route.GEMINI, GEMINI);
+        STUBS.profile(Route.ELASTICSEARCH, ES);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        STUBS.close();
+    }
+
+    @Test
+    @DisplayName("정상: 모든 의존성이 기준 지연으로 응답하면 두 API 모두 실패 없이 처리")
+    void healthy() throws Exception {
+        Map<String, LoadReport> reports = run("healthy", () -> { });
+
+        assertThat(reports.get("basic").errorRate()).isLessThan(0.01);
+        assertThat(reports.get("ai").errorRate()).isLessThan(0.01);
+    }
+
+    @Test
+    @DisplayName("임베딩 50% 오류: 벡터 검색을 빼고 키워드 검색으로 폴백해서 응답은 실패하지 않는다")
+    void embeddingErrors() throws Exception {
+        Map<String, LoadReport> reports = run("embedding-errors",
+                () -> STUBS.profile(Route.EMBEDDING, LatencyProfile.of(30, 120, 0.5)));
+
+        assertThat(STUBS.failures(Route.EMBEDDING)).isPositive();
+        assertThat(reports.get("basic").errorRate()).isLessThan(0.01);
+        assertThat(reports.get("ai").errorRate()).isLessThan(0.01);
+    }
+
+    @Test
+    @DisplayName("Gemini 지연(p50 4s): AI 동시 처리 한도에서 강등되고, 기본 검색은 Gemini 풀 포화의 영향을 받지 않는다")
+    void geminiSlow() throws Exception {
+        Map<String, LoadReport> reports = run("gemini-slow", BASIC_RPS, AI_RPS * 2,
+                () -> STUBS.profile(Route.GEMINI, LatencyProfile.of(4_000, 10_000, 0.0)));
+
+        assertThat(reports.get("ai").errorRate()).isLessThan(0.01);
+        assertThat(reports.get("ai").degraded()).isPositive();
+        assertThat(reports.get("basic").errorRate()).isLessThan(0.01);
+        assertThat(reports.get("basic").p99Ms()).isLessThan(GEMINI_SLOW_BASIC_P99_LIMIT_MS);
+    }
+
+    @Test
+    @DisplayName("리랭커 장애: 서킷이 열려 리랭커 호출이 AI 요청 수보다 훨씬 적고, AI 검색은 리랭킹 없이 응답")
+    void rerankerDown() throws Exception {
+        Map<String, LoadReport> reports = run("reranker-down",
+                () -> STUBS.profile(Route.RERANK, LatencyProfile.down()));
+
+        assertThat(reports.get("ai").errorRate()).isLessThan(0.01);
+        assertThat(STUBS.hits(Route.RERANK)).isLessThan(reports.get("ai").requests());
+    }
+
+    @Test
+    @DisplayName("ES 20% 오류: ES는 대체 경로가 없어 5xx가 나지만, 서킷/리미터 덕분에 빠르게 실패하고 타임아웃으로 번지지 않는다")
+    void elasticsearchErrors() throws Exception {
+        Map<String, LoadReport> reports = run("es-errors",
+                () -> STUBS.profile(Route.ELASTICSEARCH, LatencyProfile.of(20, 80, 0.2)));
+
+        // 오류율 자체는 서킷이 열리는 시점에 따라 크게 달라지므로(열리면 대기 시간 동안 전부 실패) 검증하지 않는다
+        LoadReport basic = reports.get("basic");
+        assertThat(basic.count(status -> status >= 500)).isPositive();
+        assertThat(basic.count(status -> status == LoadDriver.Sample.IO_ERROR)).isZero();
+        assertThat(basic.p99Ms()).isLessThan(FAIL_FAST_P99_LIMIT_MS);
+    }
+
+    private Map<String, LoadReport> run(String scenario, Runnable injectFault) throws Exception {
+        return run(scenario, BASIC_RPS, AI_RPS, injectFault);
+    }
+
+    private Map<String, LoadReport> run(String scenario, int basicRps, int aiRps, Runnable injectFault) throws Exception {
+        LoadDriver driver = new LoadDriver(URI.create("http://127.0.0.1:" + port));
+        try {
+            if (!WARMUP.isZero()) {
+                driver.run(WARMUP, targets(Math.max(1, basicRps / 4), 1));
+            }
+            STUBS.resetCounts();
+            injectFault.run();
+            Map<String, Double> fallbackBefore = counters("search.fallback", "stage");
+            Map<String, Double> degradedBefore = counters("search.degraded", "level");
+
+            List<LoadReport> reports;
+            PeakSampler peaks = peakSampler();
+            try (peaks) {
+                peaks.start();
+                reports = driver.run(DURATION, targets(basicRps, aiRps));
+            }
+
+            log.info("===== [Load] {} ({}s, warmup {}s) =====", scenario, DURATION.toSeconds(), WARMUP.toSeconds());
+            reports.forEach(r -> log.info("[Load] {}", r.format()));
+            log.info("[Load] {}", peaks.format());
+            log.info("[Load] stub hits={} failures={}", stubCounts(true), stubCounts(false));
+            log.info("[Load] fallback={} degraded={}",
+                    since(fallbackBefore, counters("search.fallback", "stage")),
+                    since(degradedBefore, counters("search.degraded", "level")));
+
+            return reports.stream().collect(Collectors.toMap(LoadReport::name, r -> r));
+        } finally {
+            driver.close();
+        }
+    }
+
+    private static List<LoadDriver.Target> targets(int basicRps, int aiRps) {
+        return List.of(
+                LoadDriver.Target.search("basic", "/api/search/basic", QUERIES, false, basicRps),
+                // AI 결과는 캐싱되므로 검색어를 매번 다르게 해서 파이프라인 전체를 태운다
+                LoadDriver.Target.search("ai", "/api/search/ai", QUERIES, true, aiRps)
+        );
+    }
+
+    private PeakSampler peakSampler() {
+        PeakSampler sampler = new PeakSampler()
+                .track("tomcat.busy", () -> gauge("tomcat.threads.busy", null))
+                .track("admission.ai", admission::aiInFlight)
+                .track("admission.basic", admission::basicInFlight);
+        for (String pool : List.of("embedding", "reranker", "gemini")) {
+            sampler.track("pool.active[" + pool + "]", () -> gauge("reactor.netty.connection.provider.active.connections", pool));
+            sampler.track("pool.pending[" + pool + "]", () -> gauge("reactor.netty.connection.provider.pending.connections", pool));
+        }
+        return sampler;
+    }
+
+    // 같은 이름의 게이지를 합산 (커넥션 풀 게이지는 원격 주소별로 나뉜다, 음수는 값 없음)
+    private double gauge(String name, String poolName) {
+        var search = meterRegistry.find(name);
+        if (poolName != null) search = search.tag("name", poolName);
+        return search.gauges().stream().mapToDouble(Gauge::value).filter(v -> v >= 0).sum();
+    }
+
+    private Map<String, Double> counters(String name, String tag) {
+        return meterRegistry.find(name).counters().stream()
+                .collect(Collectors.toMap(c -> c.getId().getTag(tag), Counter::count, Double::sum));
+    }
+
+    private static Map<String, Double> since(Map<String, Double> before, Map<String, Double> after) {
+        return after.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue() - before.getOrDefault(e.getKey(), 0.0)));
+    }
+
+    private Map<Route, Long> stubCounts(boolean hits) {
+        return Arrays.stream(Route.values())
+                .collect(Collectors.toMap(r -> r, r -> hits ? STUBS.hits(r) : STUBS.failures(r)));
+    }
+}
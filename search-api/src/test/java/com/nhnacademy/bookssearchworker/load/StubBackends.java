@@ -0,0 +1,277 @@
+package com.nhnacademy.bookssearchworker.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 부하 테스트용 프로세스 내 HTTP 스텁 (JDK HttpServer, 요청마다 가상 스레드)
+ * - Ollama      POST /api/embeddings                 -> {"embedding": [1024차원]}
+ * - Reranker    POST /rerank                         -> [{"index": i, "score": s}, ...]
+ * - Gemini      POST /gemini/...:generateContent      -> 프롬프트의 ISBN별 추천 이유 JSON
+ *               POST /gemini/...:streamGenerateContent -> 같은 내용을 SSE 조각으로
+ * - ES          POST /books/_search                  -> 고정 카탈로그의 hit 목록 (term 쿼리면 1건)
+ *
+ * 경로별 LatencyProfile은 실행 중에도 바꿀 수 있고, 실제 처리/실패 횟수를 센다.
+ */
+@Slf4j
+final class StubBackends implements AutoCloseable {
+
+    enum Route { EMBEDDING, RERANK, GEMINI, ELASTICSEARCH }
+
+    private static final int DIMENSIONS = 1024;
+    private static final Pattern ISBN_IN_PROMPT = Pattern.compile("ISBN: (\\d{10,13})");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<Route, LatencyProfile> profiles = new ConcurrentHashMap<>();
+    private final Map<Route, LongAdder> hits = new EnumMap<>(Route.class);
+    private final Map<Route, LongAdder> failures = new EnumMap<>(Route.class);
+
+    private final String embeddingJson;
+    private final List<Map<String, Object>> catalog;
+
+    private StubBackends(int catalogSize) throws IOException {
+        for (Route route : Route.values()) {
+            hits.put(route, new LongAdder());
+            failures.put(route, new LongAdder());
+        }
+        embeddingJson = createEmbeddingJson();
+        catalog = createCatalog(catalogSize);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/api/embeddings", ex -> handle(ex, Route.EMBEDDING, this::embedding));
+        server.createContext("/rerank", ex -> handle(ex, Route.RERANK, this::rerank));
+        server.createContext("/gemini/", ex -> handle(ex, Route.GEMINI, this::gemini));
+        server.createContext("/books/_search", ex -> handle(ex, Route.ELASTICSEARCH, this::search));
+        server.createContext("/", this::elasticsearchInfo);
+        server.start();
+    }
+
+    static StubBackends start(int catalogSize) {
+        try {
+            return new StubBackends(catalogSize);
+        } catch (IOException e) {
+            throw new IllegalStateException("스텁 서버 기동 실패", e);
+        }
+    }
+
+    String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    void profile(Route route, LatencyProfile profile) {
+        profiles.put(route, profile);
+        log.info("[StubBackends] {} -> {}", route, profile);
+    }
+
+    long hits(Route route) {
+        return hits.get(route).sum();
+    }
+
+    long failures(Route route) {
+        return failures.get(route).sum();
+    }
+
+    void resetCounts() {
+        hits.values().forEach(LongAdder::reset);
+        failures.values().forEach(LongAdder::reset);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange, JsonNode body) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, Route route, Handler handler) throws IOException {
+        try (exchange) {
+            hits.get(route).increment();
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+
+            LatencyProfile profile = profiles.getOrDefault(route, LatencyProfile.healthy(0));
+            sleep(profile.sampleMillis());
+
+            if (profile.shouldFail()) {
+                failures.get(route).increment();
+                String error = route == Route.ELASTICSEARCH
+                        ? "{\"error\":{\"type\":\"stub_exception\",\"reason\":\"injected\"},\"status\":503}"
+                        : "{\"error\":\"injected\"}";
+                write(exchange, 503, "application/json", error);
+                return;
+            }
+            handler.handle(exchange, body);
+        } catch (IOException e) {
+            // 클라이언트가 타임아웃으로 먼저 끊은 경우
+            log.debug("[StubBackends] {} 응답 중단: {}", route, e.getMessage());
+        }
+    }
+
+    private void embedding(HttpExchange exchange, JsonNode body) throws IOException {
+        write(exchange, 200, "application/json", embeddingJson);
+    }
+
+    private void rerank(HttpExchange exchange, JsonNode body) throws IOException {
+        int size = body.path("texts").size();
+        SplittableRandom random = new SplittableRandom(body.path("query").asText().hashCode());
+
+        List<Map<String, Object>> scores = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            scores.add(Map.of("index", i, "score", random.nextDouble()));
+        }
+        write(exchange, 200, "application/json", objectMapper.writeValueAsString(scores));
+    }
+
+    private void gemini(HttpExchange exchange, JsonNode body) throws IOException {
+        String prompt = body.path("contents").path(0).path("parts").path(0).path("text").asText();
+        String answer = "```json\n" + objectMapper.writeValueAsString(analysis(prompt)) + "\n```";
+
+        if (!exchange.getRequestURI().getPath().endsWith(":streamGenerateContent")) {
+            write(exchange, 200, "application/json", objectMapper.writeValueAsString(candidate(answer)));
+            return;
+        }
+
+        // SSE: 응답을 몇 조각으로 나눠서 흘려보낸다
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            int chunk = Math.max(1, answer.length() / 4);
+            for (int i = 0; i < answer.length(); i += chunk) {
+                String piece = answer.substring(i, Math.min(answer.length(), i + chunk));
+                out.write(("data: " + objectMapper.writeValueAsString(candidate(piece)) + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        }
+    }
+
+    private void search(HttpExchange exchange, JsonNode body) throws IOException {
+        // ISBN 단건 조회(term 쿼리)는 1건, 하이브리드 검색은 요청한 size만큼
+        boolean isbnLookup = body.path("query").has("term");
+        int size = isbnLookup ? 1 : Math.min(body.path("size").asInt(10), catalog.size());
+
+        List<Map<String, Object>> hitList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> source = catalog.get(i);
+            hitList.add(Map.of("_index", "books", "_id", source.get("isbn"), "_score", 1.0 - i * 0.01, "_source", source));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("took", 1);
+        response.put("timed_out", false);
+        response.put("_shards", Map.of("total", 1, "successful", 1, "skipped", 0, "failed", 0));
+        response.put("hits", Map.of(
+                "total", Map.of("value", size, "relation", "eq"),
+                "max_score", 1.0,
+                "hits", hitList));
+        write(exchange, 200, "application/json", objectMapper.writeValueAsString(response));
+    }
+
+    // ES 클라이언트의 제품 확인/루트 요청용
+    private void elasticsearchInfo(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String info = """
+                    {"name":"stub","cluster_name":"load-test","version":{"number":"8.15.0","build_flavor":"default"},"tagline":"You Know, for Search"}
+                    """;
+            write(exchange, 200, "application/json", info);
+        }
+    }
+
+    private Map<String, Object> analysis(String prompt) {
+        Set<String> isbns = new LinkedHashSet<>();
+        Matcher m = ISBN_IN_PROMPT.matcher(prompt);
+        while (m.find()) isbns.add(m.group(1));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        int rate = 95;
+        for (String isbn : isbns) {
+            result.put(isbn, Map.of(
+                    "reason", "질문과 직접 연결되는 내용을 예제 중심으로 다루고 있어 바로 적용해 보기 좋은 책입니다.",
+                    "matchRate", rate));
+            rate -= 5;
+        }
+        return result;
+    }
+
+    private static Map<String, Object> candidate(String text) {
+        return Map.of("candidates", List.of(Map.of("content", Map.of("parts", List.of(Map.of("text", text))))));
+    }
+
+    private void write(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        // ES 클라이언트는 이 헤더가 없으면 "Elasticsearch가 아님"으로 판단해 실패시킨다
+        exchange.getResponseHeaders().add("X-Elastic-Product", "Elasticsearch");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String createEmbeddingJson() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        double[] vector = new double[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = random.nextDouble(-1, 1);
+        }
+        return objectMapper.writeValueAsString(Map.of("embedding", vector));
+    }
+
+    private static List<Map<String, Object>> createCatalog(int size) {
+        List<Map<String, Object>> books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String isbn = String.format("979116224%04d", i);
+            Map<String, Object> book = new LinkedHashMap<>();
+            book.put("isbn", isbn);
+            book.put("title", "부하 테스트 도서 " + i);
+            book.put("author", "저자 " + (i % 7));
+            book.put("publisher", "출판사 " + (i % 5));
+            book.put("description", "<p>실무 예제로 배우는 핵심 개념과 테스트, 배포, 운영까지 다루는 책.</p>");
+            book.put("categories", List.of("IT", "프로그래밍"));
+            book.put("pubDate", "2025-01-01");
+            book.put("price", 15000 + i * 100);
+            book.put("image_url", "https://img.example/" + isbn);
+            book.put("publisherId", (long) (i % 5));
+            book.put("categoryId", (long) (i % 3));
+            books.add(book);
+        }
+        return books;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.nhnacademy.bookssearchworker.search.component;
 
+import com.nhnacademy.bookssearchworker.resilience.CircuitBreaker;
+import com.nhnacademy.bookssearchworker.resilience.Dependency;
+import com.nhnacademy.bookssearchworker.resilience.DependencyGuardRegistry;
+import com.nhnacademy.bookssearchworker.resilience.DownstreamWebClients;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +18,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import org.springframework.web.reactive.function.client.*;
 import reactor.core.publisher.Mono;
@@ -25,18 +31,21 @@ import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 
 @SpringBootTest(classes = {
         AiClient.class,
+        DependencyGuardRegistry.class,
         AiClientTest.WebClientTestConfig.class
 })
 @TestPropertySource(properties = {
         "app.ai.embedding-url=http://fake.local/embedding",
         "app.ai.reranker-url=http://fake.local/rerank",
         "app.ai.gemini-url=http://fake.local/gemini",
+        "app.ai.gemini-stream-url=http://fake.local/gemini-stream",
         "app.ai.gemini-api-key=test-key",
         "app.ai.timeout.embedding-seconds=1",
         "app.ai.timeout.rerank-seconds=1",
@@ -47,6 +56,9 @@ class AiClientTest {
     @Autowired
     AiClient aiClient;
 
+    @Autowired
+    DownstreamWebClients webClients;
+
     @MockitoBean
     ExchangeFunction exchangeFunction;
 
@@ -64,10 +76,15 @@ class AiClientTest {
         }
 
         @Bean
-        WebClient webClient(ExchangeFunction exchangeFunction) {
-            return WebClient.builder()
+        DownstreamWebClients downstreamWebClients(ExchangeFunction exchangeFunction) {
+            WebClient webClient = WebClient.builder()
                     .exchangeFunction(exchangeFunction)
                     .build();
+            return new DownstreamWebClients(Map.of(
+                    Dependency.EMBEDDING, webClient,
+                    Dependency.RERANKER, webClient,
+                    Dependency.GEMINI, webClient
+            ));
         }
     }
 
@@ -336,4 +353,87 @@ class AiClientTest {
             verify(exchangeFunction, times(1)).exchange(any(ClientRequest.class));
         }
     }
+
+    // Gemini 스트리밍 테스트
+    @Nested
+    @DisplayName("streamAnswer()")
+    class StreamAnswerTests {
+
+        @Test
+        @DisplayName("성공: SSE 이벤트마다 텍스트 조각을 순서대로 흘려보낸다")
+        void success_emitsChunks() {
+            when(exchangeFunction.exchange(any(ClientRequest.class)))
+                    .thenAnswer(inv -> {
+                        ClientRequest req = inv.getArgument(0);
+                        assertThat(req.url().toString())
+                                .contains("http://fake.local/gemini-stream")
+                                .contains("alt=sse")
+                                .contains("key=test-key");
+
+                        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                                .body("""
+                                        data: {"candidates":[{"content":{"parts":[{"text":"{\\"111\\":"}]}}]}
+
+                                        data: {"candidates":[]}
+
+                                        data: {"candidates":[{"content":{"parts":[{"text":" {}}"}]}}]}
+
+                                        """)
+                                .build());
+                    });
+
+            List<String> chunks = aiClient.streamAnswer("prompt").collectList().block();
+
+            assertThat(chunks).containsExactly("{\"111\":", " {}}");
+        }
+
+        @Test
+        @DisplayName("reader가 필요한 만큼 읽고 끝내면 원본 스트림을 끊어도 서킷에 성공으로 기록한다 (HALF_OPEN -> CLOSED)")
+        void readerCompletesEarly_recordsSuccess() {
+            MockEnvironment env = new MockEnvironment()
+                    .withProperty("app.resilience.gemini.sliding-window-size", "1")
+                    .withProperty("app.resilience.gemini.minimum-calls", "1")
+                    .withProperty("app.resilience.gemini.open-duration-ms", "0");
+            DependencyGuardRegistry registry = new DependencyGuardRegistry(env);
+            AiClient client = new AiClient(webClients, registry);
+            ReflectionTestUtils.setField(client, "geminiStreamUrl", "http://fake.local/gemini-stream");
+            ReflectionTestUtils.setField(client, "geminiApiKey", "test-key");
+            ReflectionTestUtils.setField(client, "geminiTimeoutSeconds", 1L);
+
+            // 실패 1건으로 OPEN, 유지 시간 0이라 다음 호출은 시험 호출
+            CircuitBreaker breaker = registry.get(Dependency.GEMINI).circuitBreaker();
+            breaker.tryAcquirePermission();
+            breaker.onError();
+            assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+            when(exchangeFunction.exchange(any(ClientRequest.class)))
+                    .thenReturn(Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                            .body("""
+                                    data: {"candidates":[{"content":{"parts":[{"text":"{}"}]}}]}
+
+                                    data: {"candidates":[{"content":{"parts":[{"text":"\\n```"}]}}]}
+
+                                    """)
+                            .build()));
+
+            // JSON이 닫히면 뒤따르는 코드펜스 조각은 읽지 않고 끝낸다 (LlmAnalysisClient의 takeWhile과 같은 모양)
+            List<String> read = client.streamAnswer("prompt", chunks -> chunks.take(1)).collectList().block();
+
+            assertThat(read).containsExactly("{}");
+            assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("HTTP 에러는 재시도 없이 에러 신호로 전달한다")
+        void httpError_propagatesWithoutRetry() {
+            when(exchangeFunction.exchange(any(ClientRequest.class)))
+                    .thenReturn(Mono.just(errorJson(503, "{\"message\":\"busy\"}")));
+
+            assertThatThrownBy(() -> aiClient.streamAnswer("prompt").blockLast())
+                    .hasMessageContaining("gemini-stream");
+            verify(exchangeFunction, times(1)).exchange(any(ClientRequest.class));
+        }
+    }
 }
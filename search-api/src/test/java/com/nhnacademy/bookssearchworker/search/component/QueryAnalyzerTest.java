@@ -0,0 +1,160 @@
+package com.nhnacademy.bookssearchworker.search.component;
+
+import com.nhnacademy.bookssearchworker.search.component.query.Morpheme;
+import com.nhnacademy.bookssearchworker.search.component.query.QueryAnalysis;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class QueryAnalyzerTest {
+
+    private final QueryPreprocessor preprocessor = new QueryPreprocessor();
+
+    /**
+     * 스레드 안전하지 않은 분석기 흉내: 공유 버퍼에 토큰을 쌓았다가 돌려준다.
+     * 두 스레드가 한 인스턴스를 동시에 쓰면 inUse 검사에 걸리거나 결과가 섞인다.
+     */
+    static final class UnsafeAnalyzer implements QueryAnalyzer.Analyzer {
+        static final AtomicInteger created = new AtomicInteger();
+        static final AtomicInteger calls = new AtomicInteger();
+        static final AtomicInteger concurrentUse = new AtomicInteger();
+
+        private final AtomicInteger inUse = new AtomicInteger();
+        private final List<Morpheme> buffer = new ArrayList<>();
+
+        UnsafeAnalyzer() {
+            created.incrementAndGet();
+        }
+
+        @Override
+        public List<Morpheme> analyze(String sentence) {
+            if (inUse.incrementAndGet() > 1) concurrentUse.incrementAndGet();
+            try {
+                calls.incrementAndGet();
+                buffer.clear();
+                for (String word : sentence.trim().split("\\s+")) {
+                    if (word.isEmpty()) continue;
+                    buffer.add(new Morpheme(word, word.matches("[A-Za-z]+") ? "SL" : "NNG"));
+                    Thread.onSpinWait();
+                }
+                return List.copyOf(buffer);
+            } finally {
+                inUse.decrementAndGet();
+            }
+        }
+
+        static void reset() {
+            created.set(0);
+            calls.set(0);
+            concurrentUse.set(0);
+        }
+    }
+
+    @Test
+    @DisplayName("정규화 텍스트, ISBN 여부, 명사/영문을 정렬한 캐시 키를 한 번에 만든다")
+    void analyzesOnceForAllStages() {
+        QueryAnalyzer analyzer = new QueryAnalyzer(preprocessor, UnsafeAnalyzer::new, 1, 100);
+
+        QueryAnalysis analysis = analyzer.analyze("스프링 부트 책 추천");
+        assertThat(analysis.normalized()).isEqualTo("스프링 부트 추천");
+        assertThat(analysis.isbnLike()).isFalse();
+        assertThat(analysis.nouns()).containsExactly("스프링", "부트");
+        assertThat(analysis.cacheKey("ai")).isEqualTo("ai:부트:스프링");
+
+        assertThat(analyzer.analyze("jpa, 스프링!").cacheKey("basic")).isEqualTo("basic:JPA:스프링");
+        assertThat(analyzer.analyze("979-11-6224-422-2").isbnLike()).isTrue();
+    }
+
+    @Test
+    @DisplayName("형태소는 처음 필요할 때 한 번만 분석한다 (정규화만 쓰는 경로는 Komoran을 타지 않음)")
+    void analyzesMorphemesLazilyAndOnce() {
+        UnsafeAnalyzer.reset();
+        QueryAnalyzer analyzer = new QueryAnalyzer(preprocessor, UnsafeAnalyzer::new, 1, 0);
+
+        QueryAnalysis analysis = analyzer.analyze("자바 스프링");
+        assertThat(analysis.normalized()).isEqualTo("자바 스프링");
+        assertThat(UnsafeAnalyzer.calls).hasValue(0);
+
+        analysis.cacheKey("ai");
+        analysis.nouns();
+        analysis.morphemes();
+        assertThat(UnsafeAnalyzer.calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("명사가 없으면 정규화 텍스트, 그것도 비면 원문으로 키를 만든다")
+    void fallsBackWhenNoNouns() {
+        QueryAnalysis noNouns = new QueryAnalysis("안녕 하세요", "안녕 하세요", () -> List.of(new Morpheme("안녕", "IC")));
+        QueryAnalysis allStopWords = new QueryAnalysis(" 추천해줘  책 ", "", List::of);
+
+        assertThat(noNouns.cacheKey("ai")).isEqualTo("ai:안녕_하세요");
+        assertThat(allStopWords.cacheKey("ai")).isEqualTo("ai:추천해줘_책");
+    }
+
+    @Test
+    @DisplayName("같은 검색어는 형태소 분석을 다시 하지 않고, 메모 크기를 넘으면 오래된 것부터 버린다")
+    void memoizesAnalysisWithBoundedSize() {
+        UnsafeAnalyzer.reset();
+        QueryAnalyzer analyzer = new QueryAnalyzer(preprocessor, UnsafeAnalyzer::new, 1, 2);
+
+        analyzer.analyze("스프링 부트").cacheKey("ai");
+        analyzer.analyze("스프링 부트 책 추천해줘!").cacheKey("basic");   // 정규화하면 같은 검색어
+        assertThat(UnsafeAnalyzer.calls).hasValue(1);
+
+        analyzer.analyze("자바").cacheKey("ai");
+        analyzer.analyze("코틀린").cacheKey("ai");            // "스프링 부트"가 밀려남
+        analyzer.analyze("스프링 부트").cacheKey("ai");
+        assertThat(UnsafeAnalyzer.calls).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("64개 스레드가 동시에 호출해도 분석기 인스턴스를 동시에 쓰지 않고, 풀 크기까지만 만든다")
+    void neverSharesAnalyzerAcrossThreads() throws Exception {
+        UnsafeAnalyzer.reset();
+        // 메모를 끄고 매번 분석하게 해서 풀 경합을 최대로 만든다
+        QueryAnalyzer analyzer = new QueryAnalyzer(preprocessor, UnsafeAnalyzer::new, 4, 0);
+
+        int threads = 64;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentHashMap<String, String> mismatches = new ConcurrentHashMap<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        String word = "단어" + id + "x" + (i % 7);
+                        String key = analyzer.analyze("스프링 " + word + " 부트").cacheKey("ai");
+                        String expected = "ai:" + String.join(":", new TreeSet<>(List.of("스프링", word, "부트")));
+                        if (!key.equals(expected)) mismatches.put(expected, key);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(mismatches).isEmpty();
+        assertThat(UnsafeAnalyzer.concurrentUse).hasValue(0);
+        assertThat(UnsafeAnalyzer.calls).hasValue(threads * perThread);
+        assertThat(UnsafeAnalyzer.created.get()).isBetween(1, 4);
+    }
+}
@@ -0,0 +1,96 @@
+
+package com.nhnacademy.bookssearchworker.search.component;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class QueryPreprocessorTest {
+
+    private final QueryPreprocessor preprocessor = new QueryPreprocessor();
+
+    @Test
+    @DisplayName("불용어를 제거하고 공백을 정리한다")
+    void removesStopPatternsAndNormalizesSpaces() {
+        String input = "도움이 될만한 스프링 부트 책 추천해줘";
+        String result = preprocessor.extractKeywords(input);
+
+        assertThat(result).contains("스프링").contains("부트");
+        assertThat(result).doesNotContain("도움").doesNotContain("추천");
+        assertThat(result).doesNotContain("  ");
+    }
+
+    @Test
+    @DisplayName("기술 키워드 표기를 보정한다(c언어/C++/sql/jpa/api 등)")
+    void fixesCapitalizationForTechKeywords() {
+        assertThat(preprocessor.extractKeywords("c언어")).isEqualTo("C언어");
+        assertThat(preprocessor.extractKeywords("c++")).isEqualTo("C++");
+        assertThat(preprocessor.extractKeywords("sql")).isEqualTo("SQL");
+        assertThat(preprocessor.extractKeywords("msa")).isEqualTo("MSA");
+        assertThat(preprocessor.extractKeywords("jpa")).isEqualTo("JPA");
+        assertThat(preprocessor.extractKeywords("api")).isEqualTo("API");
+        assertThat(preprocessor.extractKeywords("c#")).isEqualTo("C#");
+    }
+
+    @Test
+    @DisplayName("특수문자는 제거하되 C++ / C# 기호는 유지한다")
+    void removesSpecialCharsButKeepsPlusAndSharp() {
+        String input = "C++!! C#@@ 스프링??";
+        String result = preprocessor.extractKeywords(input);
+
+        assertThat(result).contains("C++").contains("C#").contains("스프링");
+        assertThat(result).doesNotContain("!").doesNotContain("@").doesNotContain("?");
+    }
+
+    @Test
+    @DisplayName("기존 정규식 단계별 구현과 같은 결과를 낸다 (골든 검색어 목록)")
+    void matchesGoldenCorpus() throws IOException {
+        // 각 줄: 입력<TAB>기대값 (기대값은 정규식 replace/replaceAll 구현으로 뽑아 둔 것)
+        List<String> lines;
+        try (var in = new ClassPathResource("search/query-golden.tsv").getInputStream()) {
+            lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+        assertThat(lines).hasSizeGreaterThan(50);
+
+        SoftAssertions softly = new SoftAssertions();
+        for (String line : lines) {
+            int tab = line.lastIndexOf('\t');
+            String input = line.substring(0, tab);
+            String expected = line.substring(tab + 1);
+            softly.assertThat(preprocessor.extractKeywords(input)).as(input).isEqualTo(expected);
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    @DisplayName("사전 파일이 바뀌면 재시작 없이 다시 읽고, 잘못된 사전이면 기존 사전을 유지한다")
+    void reloadsDictionaryWhenFileChanges(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("dictionary.txt");
+        Files.writeString(file, "[stop]\n추천해줘\n[case]\nSQL\n", StandardCharsets.UTF_8);
+        QueryPreprocessor reloading = new QueryPreprocessor(new FileSystemResource(file), 1);
+
+        assertThat(reloading.extractKeywords("sql 입문서 추천해줘")).isEqualTo("SQL 입문서");
+
+        Files.writeString(file, "[stop]\n추천해줘\n입문서\n[case]\nSQL\n", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        Thread.sleep(5);
+        assertThat(reloading.extractKeywords("sql 입문서 추천해줘")).isEqualTo("SQL");
+
+        Files.writeString(file, "추천해줘\n", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 20_000));
+        Thread.sleep(5);
+        assertThat(reloading.extractKeywords("sql 입문서 추천해줘")).isEqualTo("SQL");
+    }
+}
@@ -0,0 +1,50 @@
+package com.nhnacademy.bookssearchworker.search.component;
+
+import com.nhnacademy.bookssearchworker.search.dto.DegradationLevel;
+import com.nhnacademy.bookssearchworker.search.exception.SearchOverloadedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SearchAdmissionTest {
+
+    // AI 4개(2개째부터 Gemini 생략, 3개째부터 리랭킹 생략), 기본 2개
+    private final SearchAdmission admission = new SearchAdmission(4, 0.5, 0.75, 2);
+
+    @Test
+    @DisplayName("AI 부하가 올라갈수록 LLM -> 리랭킹 -> 기본 검색 순으로 단계를 줄인다")
+    void aiLevels_followLoad() {
+        assertThat(admission.admitAi().level()).isEqualTo(DegradationLevel.NONE);
+        assertThat(admission.admitAi().level()).isEqualTo(DegradationLevel.SKIP_LLM);
+        assertThat(admission.admitAi().level()).isEqualTo(DegradationLevel.SKIP_RERANK);
+        assertThat(admission.admitAi().level()).isEqualTo(DegradationLevel.SKIP_RERANK);
+
+        SearchAdmission.Permit routed = admission.admitAi();
+        assertThat(routed.level()).isEqualTo(DegradationLevel.BASIC);
+        assertThat(admission.aiInFlight()).isEqualTo(4);
+        assertThat(admission.basicInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("기본 예산까지 다 차면 기다리지 않고 SearchOverloadedException")
+    void basicExhausted_throws() {
+        admission.admitBasic();
+        admission.admitBasic();
+
+        assertThatThrownBy(admission::admitBasic).isInstanceOf(SearchOverloadedException.class);
+    }
+
+    @Test
+    @DisplayName("Permit을 닫으면 예산이 반환되고, 중복 close는 무시한다")
+    void close_releasesOnce() {
+        SearchAdmission.Permit permit = admission.admitBasic();
+        admission.admitBasic();
+
+        permit.close();
+        permit.close();
+
+        assertThat(admission.basicInFlight()).isEqualTo(1);
+        assertThatCode(admission::admitBasic).doesNotThrowAnyException();
+    }
+}
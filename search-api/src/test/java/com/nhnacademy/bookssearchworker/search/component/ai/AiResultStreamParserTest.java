@@ -0,0 +1,84 @@
+package com.nhnacademy.bookssearchworker.search.component.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.bookssearchworker.search.dto.AiResultDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AiResultStreamParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String FULL = """
+            ```json
+            {
+              "111": { "reason": "첫 번째, {괄호} 포함 \\"따옴표\\"", "matchRate": 90 },
+              "222": { "reason": "두 번째", "matchRate": 70 }
+            }
+            ```
+            """;
+
+    @Test
+    @DisplayName("코드펜스를 무시하고 ISBN별 결과를 순서대로 파싱한다")
+    void parsesWholeResponseWithFence() {
+        AiResultStreamParser parser = new AiResultStreamParser(objectMapper);
+
+        List<Map.Entry<String, AiResultDto>> entries = parser.feed(FULL);
+
+        assertThat(entries).extracting(Map.Entry::getKey).containsExactly("111", "222");
+        assertThat(entries.get(0).getValue().reason()).isEqualTo("첫 번째, {괄호} 포함 \"따옴표\"");
+        assertThat(entries.get(1).getValue().matchRate()).isEqualTo(70);
+        assertThat(parser.isComplete()).isTrue();
+    }
+
+    @Test
+    @DisplayName("객체가 닫히는 조각이 들어오는 순간 해당 ISBN을 내보낸다")
+    void emitsAsSoonAsEachObjectCloses() {
+        AiResultStreamParser parser = new AiResultStreamParser(objectMapper);
+        int firstClose = FULL.indexOf("},");
+
+        assertThat(parser.feed(FULL.substring(0, firstClose))).isEmpty();
+        assertThat(parser.feed("}")).extracting(Map.Entry::getKey).containsExactly("111");
+        assertThat(parser.feed(FULL.substring(firstClose + 1))).extracting(Map.Entry::getKey).containsExactly("222");
+    }
+
+    @Test
+    @DisplayName("응답이 중간에 끊기면 완성된 항목만 남기고 complete=false")
+    void truncatedResponse_keepsCompletedEntries() {
+        AiResultStreamParser parser = new AiResultStreamParser(objectMapper);
+
+        List<Map.Entry<String, AiResultDto>> entries = parser.feed("""
+                {"111": {"reason": "완성", "matchRate": 80}, "222": {"reason": "잘린 문장""");
+
+        assertThat(entries).extracting(Map.Entry::getKey).containsExactly("111");
+        assertThat(parser.isStarted()).isTrue();
+        assertThat(parser.isComplete()).isFalse();
+    }
+
+    @Test
+    @DisplayName("깨진 항목은 건너뛰고, 루트 객체가 닫힌 뒤의 입력은 무시한다")
+    void skipsBrokenEntry_andIgnoresTrailingInput() {
+        AiResultStreamParser parser = new AiResultStreamParser(objectMapper);
+
+        List<Map.Entry<String, AiResultDto>> entries = parser.feed("""
+                {"111": {"reason": "ok", "matchRate": "not-a-number"}, "222": {"reason": "ok", "matchRate": 50, "extra": true}}
+                {"333": {"reason": "무시", "matchRate": 10}}""");
+
+        assertThat(entries).extracting(Map.Entry::getKey).containsExactly("222");
+        assertThat(parser.feed("{\"444\": {}}")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("JSON 객체가 없으면 시작되지 않은 상태로 남는다")
+    void noObject_notStarted() {
+        AiResultStreamParser parser = new AiResultStreamParser(objectMapper);
+
+        assertThat(parser.feed("not-json")).isEmpty();
+        assertThat(parser.isStarted()).isFalse();
+    }
+}
@@ -14,9 +14,12 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.BDDMockito.*;
@@ -39,6 +42,13 @@ class LlmAnalysisClientTest {
     @MockitoBean
     AiClient aiClient;
 
+    // streamAnswer(prompt, reader): 받은 reader를 주어진 조각 스트림에 그대로 적용한다
+    @SuppressWarnings("unchecked")
+    private void givenStream(Flux<String> chunks) {
+        willAnswer(inv -> ((Function<Flux<String>, Flux<?>>) inv.getArgument(1)).apply(chunks))
+                .given(aiClient).streamAnswer(anyString(), any());
+    }
+
     @Test
     @DisplayName("Gemini 응답이 null/blank/{} 이면 빈 맵을 반환한다")
     void blankOrEmptyJson_returnsEmptyMap() {
@@ -93,4 +103,60 @@ class LlmAnalysisClientTest {
                 .isInstanceOf(LlmAnalysisException.class)
                 .hasCauseInstanceOf(RuntimeException.class);
     }
+
+    @Test
+    @DisplayName("응답이 중간에 잘리면 완성된 ISBN 결과까지만 반환한다")
+    void truncatedResponse_keepsParsedReasons() {
+        Book b = Book.builder().isbn("111").title("A").description("d").build();
+
+        given(aiClient.generateAnswer(anyString())).willReturn("""
+```json
+{ "111": { "reason": "완성된 이유", "matchRate": 88 }, "222": { "reason": "잘린""");
+
+        Map<String, AiResultDto> result = llmAnalysisClient.analyzeBooks("q", List.of(b));
+
+        assertThat(result).containsOnlyKeys("111");
+        assertThat(result.get("111").reason()).isEqualTo("완성된 이유");
+    }
+
+    @Test
+    @DisplayName("스트리밍 모드: 조각으로 나뉜 응답을 모으고, 스트림이 실패해도 받은 결과는 유지한다")
+    void streaming_keepsPartialResultsOnError() {
+        Book b = Book.builder().isbn("111").title("A").description("d").build();
+        ReflectionTestUtils.setField(llmAnalysisClient, "streamEnabled", true);
+        try {
+            givenStream(Flux.concat(
+                    Flux.just("```json\n{ \"111\": { \"reason\": \"스트", "리밍\", \"matchRate\": 77 },"),
+                    Flux.error(new RuntimeException("stream cut"))
+            ));
+
+            Map<String, AiResultDto> result = llmAnalysisClient.analyzeBooks("q", List.of(b));
+
+            assertThat(result).containsOnlyKeys("111");
+            assertThat(result.get("111").reason()).isEqualTo("스트리밍");
+            assertThat(result.get("111").matchRate()).isEqualTo(77);
+
+            givenStream(Flux.error(new RuntimeException("down")));
+
+            assertThatThrownBy(() -> llmAnalysisClient.analyzeBooks("q", List.of(b)))
+                    .isInstanceOf(LlmAnalysisException.class);
+        } finally {
+            ReflectionTestUtils.setField(llmAnalysisClient, "streamEnabled", false);
+        }
+    }
+
+    @Test
+    @DisplayName("스트리밍 모드: 스트림이 JSON 결과 없이 정상 종료하면 LlmAnalysisException (블로킹 경로와 같이)")
+    void streaming_completesWithoutJson_throws() {
+        Book b = Book.builder().isbn("111").title("A").description("d").build();
+        ReflectionTestUtils.setField(llmAnalysisClient, "streamEnabled", true);
+        try {
+            givenStream(Flux.just("죄송하지만 ", "분석할 수 없습니다."));
+
+            assertThatThrownBy(() -> llmAnalysisClient.analyzeBooks("q", List.of(b)))
+                    .isInstanceOf(LlmAnalysisException.class);
+        } finally {
+            ReflectionTestUtils.setField(llmAnalysisClient, "streamEnabled", false);
+        }
+    }
 }
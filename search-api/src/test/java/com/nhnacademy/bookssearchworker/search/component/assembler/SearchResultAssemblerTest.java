@@ -2,15 +2,20 @@
 package com.nhnacademy.bookssearchworker.search.component.assembler;
 
 import com.nhnacademy.bookssearchworker.search.component.BookMapper;
+import com.nhnacademy.bookssearchworker.search.component.SearchMetrics;
 import com.nhnacademy.bookssearchworker.search.domain.Book;
 import com.nhnacademy.bookssearchworker.search.dto.AiResultDto;
 import com.nhnacademy.bookssearchworker.search.dto.BookResponseDto;
 import com.nhnacademy.bookssearchworker.search.dto.BookWithScore;
 import com.nhnacademy.bookssearchworker.search.dto.SearchResponseDto;
 import com.nhnacademy.bookssearchworker.search.service.DiscountPolicyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -28,8 +33,11 @@ import static org.mockito.BDDMockito.*;
 class SearchResultAssemblerTest {
 
     @Configuration
-    @Import(SearchResultAssembler.class)
-    static class Config {}
+    @Import({SearchResultAssembler.class, SearchMetrics.class})
+    static class Config {
+        @Bean MeterRegistry meterRegistry() { return new SimpleMeterRegistry(); }
+        @Bean ObservationRegistry observationRegistry() { return ObservationRegistry.create(); }
+    }
 
     @Autowired
     SearchResultAssembler assembler;
@@ -1,6 +1,7 @@
 
 package com.nhnacademy.bookssearchworker.search.component.engine;
 
+import com.nhnacademy.bookssearchworker.resilience.DependencyGuardRegistry;
 import com.nhnacademy.bookssearchworker.search.domain.Book;
 import com.nhnacademy.bookssearchworker.search.repository.BookRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -21,7 +22,7 @@ import static org.mockito.BDDMockito.*;
 class ElasticsearchEngineTest {
 
     @Configuration
-    @Import(ElasticsearchEngine.class)
+    @Import({ElasticsearchEngine.class, DependencyGuardRegistry.class})
     static class Config {}
 
     @Autowired
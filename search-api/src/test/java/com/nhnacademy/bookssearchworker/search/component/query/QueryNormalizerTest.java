@@ -0,0 +1,85 @@
+package com.nhnacademy.bookssearchworker.search.component.query;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class QueryNormalizerTest {
+
+    private static QueryNormalizer normalizer(List<String> stop, List<String> cases) {
+        return new QueryNormalizer(new QueryDictionary(stop, cases));
+    }
+
+    @Test
+    @DisplayName("겹치는 불용어는 더 앞에서 시작하는 것, 같은 위치면 더 긴 것을 지운다")
+    void prefersLeftmostLongestMatch() {
+        QueryNormalizer n = normalizer(List.of("추천 좀", "추천 좀 해줄수 있어", "좀", "있어"), List.of());
+
+        assertThat(n.normalize("스프링 책 추천 좀 해줄수 있어")).isEqualTo("스프링 책");
+        assertThat(n.normalize("스프링 추천 좀 봐")).isEqualTo("스프링 봐");
+    }
+
+    @Test
+    @DisplayName("표기 보정은 ASCII 대소문자를 무시하고, 영문 불용어는 대소문자를 구분한다")
+    void foldsAsciiCaseOnlyForCaseTerms() {
+        QueryNormalizer n = normalizer(List.of("with"), List.of("SQL", "C++"));
+
+        assertThat(n.normalize("Sql 과 c++ with 파이썬")).isEqualTo("SQL 과 C++ 파이썬");
+        assertThat(n.normalize("Python With SQL")).isEqualTo("Python With SQL");
+    }
+
+    @Test
+    @DisplayName("겹치는 보정 키워드는 모두 적용하고, 겹친 글자는 사전에서 뒤에 있는 표기를 따른다")
+    void appliesOverlappingCaseTermsInDictionaryOrder() {
+        QueryNormalizer n = normalizer(List.of(), List.of("MSA", "JPA", "API"));
+        assertThat(n.normalize("msapi jpapi")).isEqualTo("MSAPI JPAPI");
+
+        // 영문 불용어는 보정이 끝난 표기와 대조한다
+        QueryNormalizer withStop = normalizer(List.of("MSAPI"), List.of("MSA", "API"));
+        assertThat(withStop.normalize("msapi 설계")).isEqualTo("설계");
+    }
+
+    @Test
+    @DisplayName("특수문자와 공백류는 공백 하나로 합치고 앞뒤 공백을 자른다")
+    void collapsesSeparators() {
+        QueryNormalizer n = normalizer(List.of("책"), List.of());
+
+        assertThat(n.normalize("\t(자바)  책!!\n스프링 ")).isEqualTo("자바 스프링");
+        assertThat(n.normalize("책")).isEmpty();
+        assertThat(n.normalize("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("사전 파일은 섹션별로 읽고 주석과 빈 줄은 무시한다")
+    void parsesDictionarySections() throws IOException {
+        String text = """
+                # 주석
+                [stop]
+                추천해줘
+
+                  도움 되는\s
+                [case]
+                SQL
+                """;
+
+        QueryDictionary dictionary = QueryDictionary.parse(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(dictionary.stopPhrases()).containsExactly("추천해줘", "도움 되는");
+        assertThat(dictionary.caseTerms()).containsExactly("SQL");
+    }
+
+    @Test
+    @DisplayName("섹션 밖의 항목이나 알 수 없는 섹션은 거부한다")
+    void rejectsMalformedDictionary() {
+        assertThatThrownBy(() -> QueryDictionary.parse(new ByteArrayInputStream("책\n".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QueryDictionary.parse(new ByteArrayInputStream("[synonym]\n".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
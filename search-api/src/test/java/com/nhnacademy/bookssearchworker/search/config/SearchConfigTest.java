@@ -0,0 +1,37 @@
+package com.nhnacademy.bookssearchworker.search.config;
+
+import com.nhnacademy.bookssearchworker.resilience.Dependency;
+import com.nhnacademy.bookssearchworker.resilience.DownstreamWebClients;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = SearchConfig.class)
+class SearchConfigTest {
+
+    @Autowired
+    DownstreamWebClients webClients;
+
+    @Test
+    @DisplayName("SearchConfig: 검색 HTTP 의존성마다 별도 WebClient가 생성된다(외부 호출 없음)")
+    void webClients_arePerDependency() {
+        WebClient embedding = webClients.get(Dependency.EMBEDDING);
+        WebClient reranker = webClients.get(Dependency.RERANKER);
+        WebClient gemini = webClients.get(Dependency.GEMINI);
+
+        assertNotNull(embedding, "embedding WebClient should exist");
+        assertNotSame(embedding, reranker, "임베딩/리랭커는 풀을 공유하면 안 됨");
+        assertNotSame(reranker, gemini, "리랭커/Gemini는 풀을 공유하면 안 됨");
+    }
+
+    @Test
+    @DisplayName("SearchConfig: 워커 임베딩/ES WebClient는 검색 API에 없다")
+    void webClients_noWorkerOrElasticsearch() {
+        assertThrows(IllegalStateException.class, () -> webClients.get(Dependency.EMBEDDING_WORKER));
+        assertThrows(IllegalStateException.class, () -> webClients.get(Dependency.ELASTICSEARCH));
+    }
+}
@@ -1,27 +1,43 @@
 
 package com.nhnacademy.bookssearchworker.search.service;
 
-import com.nhnacademy.bookssearchworker.search.component.CacheKeyGenerator;
-import com.nhnacademy.bookssearchworker.search.component.QueryPreprocessor;
+import com.nhnacademy.bookssearchworker.search.component.QueryAnalyzer;
+import com.nhnacademy.bookssearchworker.search.component.SearchAdmission;
+import com.nhnacademy.bookssearchworker.search.component.SearchMetrics;
 import com.nhnacademy.bookssearchworker.search.component.ai.EmbeddingClient;
 import com.nhnacademy.bookssearchworker.search.component.ai.LlmAnalysisClient;
 import com.nhnacademy.bookssearchworker.search.component.ai.RerankingClient;
 import com.nhnacademy.bookssearchworker.search.component.assembler.SearchResultAssembler;
 import com.nhnacademy.bookssearchworker.search.component.engine.ElasticsearchEngine;
+import com.nhnacademy.bookssearchworker.search.component.query.Morpheme;
+import com.nhnacademy.bookssearchworker.search.component.query.QueryAnalysis;
 import com.nhnacademy.bookssearchworker.search.domain.Book;
 import com.nhnacademy.bookssearchworker.search.dto.AiResultDto;
 import com.nhnacademy.bookssearchworker.search.dto.BookWithScore;
+import com.nhnacademy.bookssearchworker.search.dto.DegradationLevel;
 import com.nhnacademy.bookssearchworker.search.dto.SearchResponseDto;
+import com.nhnacademy.bookssearchworker.support.InMemoryTracing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -34,17 +50,34 @@ import static org.mockito.BDDMockito.*;
 class SearchServiceTest {
 
     @Configuration
-    @Import(SearchService.class)
-    static class Config {}
+    @Import({SearchService.class, SearchAdmission.class, SearchMetrics.class})
+    static class Config {
+        @Bean MeterRegistry meterRegistry() { return new SimpleMeterRegistry(); }
+
+        @Bean InMemoryTracing tracing() { return new InMemoryTracing(); }
+
+        // 단계별 Observation -> 타이머(meter handler) + 스팬(in-memory exporter)
+        @Bean ObservationRegistry observationRegistry(MeterRegistry meterRegistry, InMemoryTracing tracing) {
+            ObservationRegistry registry = tracing.observationRegistry();
+            registry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+            return registry;
+        }
+    }
 
     @Autowired
     SearchService searchService;
 
-    @MockitoBean
-    CacheKeyGenerator keyGenerator;
+    @Autowired
+    SearchAdmission admission;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    InMemoryTracing tracing;
 
     @MockitoBean
-    QueryPreprocessor queryPreprocessor;
+    QueryAnalyzer queryAnalyzer;
 
     @MockitoBean
     EmbeddingClient embeddingClient;
@@ -64,6 +97,19 @@ class SearchServiceTest {
     @MockitoBean
     RedisCacheService redisCacheService;
 
+    // 정규화 결과가 refined이고, 형태소가 aiCacheKey("ai:<키워드>")의 키워드 하나인 분석 결과
+    private static QueryAnalysis analysis(String userQuery, String refined, String aiCacheKey) {
+        String keyword = aiCacheKey.substring("ai:".length());
+        return new QueryAnalysis(userQuery, refined, () -> List.of(new Morpheme(keyword, "NNG")));
+    }
+
+    // 형태소 분석을 하면 실패하는 분석 결과 (Komoran을 타면 안 되는 경로 확인용)
+    private static QueryAnalysis analysisWithoutMorphemes(String userQuery, String refined) {
+        return new QueryAnalysis(userQuery, refined, () -> {
+            throw new AssertionError("형태소 분석이 호출되면 안 됨");
+        });
+    }
+
     private static Book book(String isbn, String title) {
         return Book.builder()
                 .id("id-" + isbn)
@@ -90,14 +136,14 @@ class SearchServiceTest {
                     .bookList(Collections.emptyList())
                     .build();
 
-            given(keyGenerator.generateKey("ai", userQuery)).willReturn(cacheKey);
+            given(queryAnalyzer.analyze(userQuery)).willReturn(analysis(userQuery, "자바", cacheKey));
             given(redisCacheService.get(cacheKey, SearchResponseDto.class)).willReturn(cached);
 
             SearchResponseDto result = searchService.aiSearch(userQuery);
 
             assertThat(result).isSameAs(cached);
 
-            then(queryPreprocessor).shouldHaveNoInteractions();
+            then(queryAnalyzer).should(times(1)).analyze(userQuery);
             then(embeddingClient).shouldHaveNoInteractions();
             then(elasticsearchEngine).shouldHaveNoInteractions();
             then(rerankingClient).shouldHaveNoInteractions();
@@ -130,11 +176,9 @@ class SearchServiceTest {
 
             SearchResponseDto assembled = SearchResponseDto.builder().bookList(Collections.emptyList()).build();
 
-            given(keyGenerator.generateKey("ai", userQuery)).willReturn(cacheKey);
+            given(queryAnalyzer.analyze(userQuery)).willReturn(analysis(userQuery, refined, cacheKey));
             given(redisCacheService.get(cacheKey, SearchResponseDto.class)).willReturn(null);
 
-            given(queryPreprocessor.extractKeywords(userQuery)).willReturn(refined);
-
             given(embeddingClient.createEmbedding(refined)).willThrow(new RuntimeException("embed down"));
 
             given(elasticsearchEngine.search(refined, Collections.emptyList())).willReturn(candidates);
@@ -165,10 +209,9 @@ class SearchServiceTest {
 
             SearchResponseDto assembled = SearchResponseDto.builder().bookList(Collections.emptyList()).build();
 
-            given(keyGenerator.generateKey("ai", userQuery)).willReturn(cacheKey);
+            given(queryAnalyzer.analyze(userQuery)).willReturn(analysis(userQuery, refined, cacheKey));
             given(redisCacheService.get(cacheKey, SearchResponseDto.class)).willReturn(null);
 
-            given(queryPreprocessor.extractKeywords(userQuery)).willReturn(refined);
             given(embeddingClient.createEmbedding(refined)).willReturn(List.of(0.1f, 0.2f));
             given(elasticsearchEngine.search(refined, List.of(0.1f, 0.2f))).willReturn(candidates);
 
@@ -196,9 +239,8 @@ class SearchServiceTest {
             String refined = "테스트";
             String cacheKey = "ai:test";
 
-            given(keyGenerator.generateKey("ai", userQuery)).willReturn(cacheKey);
+            given(queryAnalyzer.analyze(userQuery)).willReturn(analysis(userQuery, refined, cacheKey));
             given(redisCacheService.get(cacheKey, SearchResponseDto.class)).willReturn(null);
-            given(queryPreprocessor.extractKeywords(userQuery)).willReturn(refined);
             given(embeddingClient.createEmbedding(refined)).willReturn(Collections.emptyList());
 
             given(elasticsearchEngine.search(refined, Collections.emptyList()))
@@ -220,9 +262,8 @@ class SearchServiceTest {
             String refined = "없는책";
             String cacheKey = "ai:none";
 
-            given(keyGenerator.generateKey("ai", userQuery)).willReturn(cacheKey);
+            given(queryAnalyzer.analyze(userQuery)).willReturn(analysis(userQuery, refined, cacheKey));
             given(redisCacheService.get(cacheKey, SearchResponseDto.class)).willReturn(null);
-            given(queryPreprocessor.extractKeywords(userQuery)).willReturn(refined);
             given(embeddingClient.createEmbedding(refined)).willReturn(Collections.emptyList());
             given(elasticsearchEngine.search(refined, Collections.emptyList())).willReturn(Collections.emptyList());
 
@@ -249,10 +290,9 @@ class SearchServiceTest {
             List<BookWithScore> ranked = List.of(new BookWithScore(candidates.get(0), 0.7));
             SearchResponseDto assembled = SearchResponseDto.builder().bookList(Collections.emptyList()).build();
 
-            given(keyGenerator.generateKey("ai", userQuery)).willReturn(cacheKey);
+            given(queryAnalyzer.analyze(userQuery)).willReturn(analysis(userQuery, refined, cacheKey));
             given(redisCacheService.get(cacheKey, SearchResponseDto.class)).willReturn(null);
 
-            given(queryPreprocessor.extractKeywords(userQuery)).willReturn(refined);
             given(embeddingClient.createEmbedding(refined)).willReturn(Collections.emptyList());
             given(elasticsearchEngine.search(refined, Collections.emptyList())).willReturn(candidates);
 
@@ -280,6 +320,7 @@ class SearchServiceTest {
             List<Book> byIsbn = List.of(book(isbnQuery, "ISBN Book"));
             SearchResponseDto assembled = SearchResponseDto.builder().bookList(Collections.emptyList()).build();
 
+            given(queryAnalyzer.analyze(isbnQuery)).willReturn(analysisWithoutMorphemes(isbnQuery, isbnQuery));
             given(elasticsearchEngine.searchByIsbn(isbnQuery)).willReturn(byIsbn);
             given(assembler.assembleBasicResult(byIsbn)).willReturn(assembled);
 
@@ -287,7 +328,6 @@ class SearchServiceTest {
 
             assertThat(result).isSameAs(assembled);
 
-            then(queryPreprocessor).shouldHaveNoInteractions();
             then(embeddingClient).shouldHaveNoInteractions();
             then(elasticsearchEngine).should(never()).search(anyString(), anyList());
         }
@@ -302,7 +342,7 @@ class SearchServiceTest {
 
             SearchResponseDto assembled = SearchResponseDto.builder().bookList(Collections.emptyList()).build();
 
-            given(queryPreprocessor.extractKeywords(userQuery)).willReturn(refined);
+            given(queryAnalyzer.analyze(userQuery)).willReturn(analysisWithoutMorphemes(userQuery, refined));
             given(embeddingClient.createEmbedding(refined)).willThrow(new RuntimeException("embed down"));
             given(elasticsearchEngine.search(refined, Collections.emptyList())).willReturn(books);
             given(assembler.assembleBasicResult(books)).willReturn(assembled);
@@ -319,7 +359,7 @@ class SearchServiceTest {
             String userQuery = "스프링";
             String refined = "스프링";
 
-            given(queryPreprocessor.extractKeywords(userQuery)).willReturn(refined);
+            given(queryAnalyzer.analyze(userQuery)).willReturn(analysisWithoutMorphemes(userQuery, refined));
             given(embeddingClient.createEmbedding(refined)).willReturn(Collections.emptyList());
             given(elasticsearchEngine.search(refined, Collections.emptyList()))
                     .willThrow(new IllegalStateException("ES down"));
@@ -329,4 +369,161 @@ class SearchServiceTest {
                     .hasMessageContaining("ES down");
         }
     }
+
+    @Nested
+    @DisplayName("과부하 단계 생략 (AI 예산 16, Gemini 생략 50%, 리랭킹 생략 75%)")
+    class Degradation {
+
+        private final List<SearchAdmission.Permit> held = new ArrayList<>();
+
+        @AfterEach
+        void release() {
+            held.forEach(SearchAdmission.Permit::close);
+            held.clear();
+        }
+
+        private void occupyAi(int count) {
+            for (int i = 0; i < count; i++) held.add(admission.admitAi());
+        }
+
+        private void givenCandidates(String userQuery, String refined, List<Book> candidates) {
+            given(queryAnalyzer.analyze(userQuery)).willReturn(analysis(userQuery, refined, "ai:" + refined));
+            given(redisCacheService.get("ai:" + refined, SearchResponseDto.class)).willReturn(null);
+            given(embeddingClient.createEmbedding(refined)).willReturn(List.of(0.1f));
+            given(elasticsearchEngine.search(refined, List.of(0.1f))).willReturn(candidates);
+        }
+
+        @Test
+        @DisplayName("AI 부하가 절반을 넘으면 Gemini만 생략하고 degraded=SKIP_LLM 으로 표시한다")
+        void halfLoaded_skipsLlm() {
+            List<Book> candidates = List.of(book("111", "A"));
+            givenCandidates("부하1", "부하1", candidates);
+            given(rerankingClient.rerank(eq("부하1"), anyList())).willReturn(List.of(Map.of("score", 0.9)));
+            given(assembler.applyRerankScores(eq(candidates), anyList(), eq(10)))
+                    .willReturn(List.of(new BookWithScore(candidates.get(0), 0.9)));
+            given(assembler.assembleAiResult(anyList(), eq(Collections.emptyMap())))
+                    .willReturn(SearchResponseDto.empty());
+            occupyAi(8);
+
+            SearchResponseDto result = searchService.aiSearch("부하1");
+
+            assertThat(result.isDegraded()).isTrue();
+            assertThat(result.getDegradation()).isEqualTo(DegradationLevel.SKIP_LLM);
+            then(rerankingClient).should().rerank(eq("부하1"), anyList());
+            then(llmClient).shouldHaveNoInteractions();
+            then(redisCacheService).should(never()).save(anyString(), any(), any());
+        }
+
+        @Test
+        @DisplayName("AI 부하가 75%를 넘으면 리랭킹과 Gemini를 모두 생략한다")
+        void heavilyLoaded_skipsRerankAndLlm() {
+            givenCandidates("부하2", "부하2", List.of(book("111", "A")));
+            given(assembler.assembleAiResult(anyList(), eq(Collections.emptyMap())))
+                    .willReturn(SearchResponseDto.empty());
+            occupyAi(12);
+
+            SearchResponseDto result = searchService.aiSearch("부하2");
+
+            assertThat(result.getDegradation()).isEqualTo(DegradationLevel.SKIP_RERANK);
+            then(rerankingClient).shouldHaveNoInteractions();
+            then(llmClient).shouldHaveNoInteractions();
+        }
+
+        @Test
+        @DisplayName("AI 예산이 다 차면 기본 검색 파이프라인으로 처리하고, 끝나면 예산을 반환한다")
+        void aiBudgetExhausted_routesToBasic() {
+            givenCandidates("부하3", "부하3", List.of(book("111", "A")));
+            given(assembler.assembleBasicResult(anyList())).willReturn(SearchResponseDto.empty());
+            occupyAi(16);
+
+            SearchResponseDto result = searchService.aiSearch("부하3");
+
+            assertThat(result.getDegradation()).isEqualTo(DegradationLevel.BASIC);
+            then(assembler).should(never()).assembleAiResult(anyList(), anyMap());
+            assertThat(admission.aiInFlight()).isEqualTo(16);
+            assertThat(admission.basicInFlight()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("지표")
+    class Metrics {
+
+        private double count(String name, String tagKey, String tagValue) {
+            var counter = meterRegistry.find(name).tag(tagKey, tagValue).counter();
+            return counter == null ? 0 : counter.count();
+        }
+
+        @Test
+        @DisplayName("캐시 히트/미스와 임베딩 폴백을 카운트하고, 단계별 타이머를 기록한다")
+        void countsCacheAndFallback_andTimesStages() {
+            double hitBefore = count("search.cache", "result", "hit");
+            double missBefore = count("search.cache", "result", "miss");
+            double fallbackBefore = count("search.fallback", "stage", "embedding");
+            Timer preprocess = meterRegistry.find("search.stage").tags("pipeline", "ai", "stage", "preprocess").timer();
+            long preprocessBefore = preprocess == null ? 0 : preprocess.count();
+
+            given(queryAnalyzer.analyze("지표")).willReturn(analysis("지표", "지표", "ai:hit"), analysis("지표", "지표", "ai:miss"));
+            given(redisCacheService.get("ai:hit", SearchResponseDto.class)).willReturn(SearchResponseDto.empty());
+            given(redisCacheService.get("ai:miss", SearchResponseDto.class)).willReturn(null);
+            given(embeddingClient.createEmbedding("지표")).willThrow(new RuntimeException("embed down"));
+            given(elasticsearchEngine.search("지표", Collections.emptyList())).willReturn(Collections.emptyList());
+
+            searchService.aiSearch("지표");
+            searchService.aiSearch("지표");
+
+            assertThat(count("search.cache", "result", "hit")).isEqualTo(hitBefore + 1);
+            assertThat(count("search.cache", "result", "miss")).isEqualTo(missBefore + 1);
+            assertThat(count("search.fallback", "stage", "embedding")).isEqualTo(fallbackBefore + 1);
+            assertThat(meterRegistry.find("search.stage").tags("pipeline", "ai", "stage", "es").timer())
+                    .isNotNull()
+                    .satisfies(t -> assertThat(t.count()).isPositive());
+            assertThat(meterRegistry.find("search.stage").tags("pipeline", "ai", "stage", "preprocess").timer())
+                    .as("요청당 PREPROCESS 샘플 1건 (분석 + 캐시 키)")
+                    .satisfies(t -> assertThat(t.count()).isEqualTo(preprocessBefore + 2));
+        }
+    }
+
+    @Nested
+    @DisplayName("트레이싱")
+    class Tracing {
+
+        @Test
+        @DisplayName("AI 검색 단계마다 요청 스팬의 자식 스팬(search.<stage>)이 같은 트레이스로 남는다")
+        void aiSearch_emitsChildSpanPerStage() {
+            List<Book> candidates = List.of(book("111", "A"));
+            List<BookWithScore> ranked = List.of(new BookWithScore(candidates.get(0), 0.9));
+            Map<String, AiResultDto> ai = Map.of("111", new AiResultDto("이유", 90));
+
+            given(queryAnalyzer.analyze("트레이스")).willReturn(analysis("트레이스", "트레이스", "ai:trace"));
+            given(redisCacheService.get("ai:trace", SearchResponseDto.class)).willReturn(null);
+            given(embeddingClient.createEmbedding("트레이스")).willReturn(List.of(0.1f));
+            given(elasticsearchEngine.search("트레이스", List.of(0.1f))).willReturn(candidates);
+            given(rerankingClient.rerank(eq("트레이스"), anyList())).willReturn(List.of(Map.of("score", 0.9)));
+            given(assembler.applyRerankScores(eq(candidates), anyList(), eq(10))).willReturn(ranked);
+            given(llmClient.analyzeBooks(eq("트레이스"), anyList())).willReturn(ai);
+            given(assembler.assembleAiResult(ranked, ai)).willReturn(SearchResponseDto.empty());
+            tracing.reset();
+
+            // BookController 요청 스팬 역할
+            Tracer tracer = tracing.tracer();
+            Span request = tracer.nextSpan().name("GET /api/search/ai").start();
+            try (Tracer.SpanInScope ignored = tracer.withSpan(request)) {
+                searchService.aiSearch("트레이스");
+            } finally {
+                request.end();
+            }
+
+            List<SpanData> stages = tracing.spans().stream()
+                    .filter(s -> s.getName().startsWith("search."))
+                    .toList();
+
+            assertThat(stages).extracting(SpanData::getName)
+                    .contains("search.preprocess", "search.cache", "search.embedding", "search.es", "search.rerank", "search.llm");
+            assertThat(stages).allSatisfy(s -> {
+                assertThat(s.getTraceId()).isEqualTo(request.context().traceId());
+                assertThat(s.getParentSpanId()).isEqualTo(request.context().spanId());
+            });
+        }
+    }
 }
@@ -1,56 +0,0 @@
-package com.nhnacademy.bookssearchworker.worker.config;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.netty.http.client.HttpClient;
-import reactor.netty.resources.ConnectionProvider;
-
-import java.time.Duration;
-import java.util.concurrent.TimeUnit;
-
-@Configuration
-public class WorkerConfig {
-
-    @Bean
-    public ObjectMapper objectMapper() {
-        ObjectMapper om = new ObjectMapper();
-        om.registerModule(new JavaTimeModule());
-        om.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        return om;
-    }
-
-    @Bean
-    public WebClient webClient() {
-        ConnectionProvider provider = ConnectionProvider.builder("custom-provider")
-                .maxConnections(20)
-                .pendingAcquireMaxCount(1000)
-                .pendingAcquireTimeout(Duration.ofMinutes(3))
-                .maxIdleTime(Duration.ofSeconds(30))
-                .lifo()
-                .build();
-
-        HttpClient httpClient = HttpClient.create(provider)
-                // 연결 시도 타임아웃 (서버가 꺼진 경우엔 10초면 충분)
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000)
-
-                // 응답 타임아웃: 5분 (300초)
-                .responseTimeout(Duration.ofMinutes(5))
-                .doOnConnected(conn ->
-                        conn.addHandlerLast(new ReadTimeoutHandler(300, TimeUnit.SECONDS)) // 읽기 5분
-                                .addHandlerLast(new WriteTimeoutHandler(300, TimeUnit.SECONDS)) // 쓰기 5분
-                );
-        return WebClient.builder()
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(20 * 1024 * 1024))
-                .build();
-    }
-}